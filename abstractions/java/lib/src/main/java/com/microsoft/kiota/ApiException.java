@@ -1,5 +1,12 @@
 package com.microsoft.kiota;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
 /** Parent type for exceptions thrown by the client when receiving failed responses to its requests. */
 public class ApiException extends Exception {
     /** {@inheritdoc} */
@@ -18,4 +25,35 @@ public class ApiException extends Exception {
     public ApiException(Throwable cause) {
         super(cause);
     }
+    private int responseStatusCode;
+    /**
+     * Gets the status code of the response that caused the exception.
+     * @return the status code of the response, 0 when it is not known.
+     */
+    public int getResponseStatusCode() {
+        return responseStatusCode;
+    }
+    /**
+     * Sets the status code of the response that caused the exception.
+     * @param value the status code of the response.
+     */
+    public void setResponseStatusCode(final int value) {
+        responseStatusCode = value;
+    }
+    private Map<String, List<String>> responseHeaders = new HashMap<>();
+    /**
+     * Gets the headers of the response that caused the exception, like Retry-After for throttled requests.
+     * @return the headers of the response, empty when they are not known.
+     */
+    @Nonnull
+    public Map<String, List<String>> getResponseHeaders() {
+        return responseHeaders;
+    }
+    /**
+     * Sets the headers of the response that caused the exception.
+     * @param value the headers of the response.
+     */
+    public void setResponseHeaders(@Nonnull final Map<String, List<String>> value) {
+        responseHeaders = Objects.requireNonNull(value, "parameter value cannot be null");
+    }
 }
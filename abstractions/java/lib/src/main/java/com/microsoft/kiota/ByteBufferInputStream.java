@@ -0,0 +1,82 @@
+package com.microsoft.kiota;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+/** Input stream reading from a byte buffer without copying it, the buffer can be memory mapped. Supports mark and reset so the content can be replayed. */
+public class ByteBufferInputStream extends InputStream implements RewindableContent {
+    private final ByteBuffer buffer;
+    /**
+     * Initializes a new instance of the ByteBufferInputStream class.
+     * @param buffer the buffer to read from, reading starts at the buffer's current position.
+     */
+    public ByteBufferInputStream(@Nonnull final ByteBuffer buffer) {
+        this.buffer = Objects.requireNonNull(buffer, "parameter buffer cannot be null").slice();
+        this.buffer.mark();
+    }
+    /** {@inheritDoc} */
+    @Override
+    public long getLength() {
+        return buffer.limit();
+    }
+    /** {@inheritDoc} */
+    @Override
+    public long transferTo(@Nonnull final WritableByteChannel target) throws IOException {
+        Objects.requireNonNull(target, "parameter target cannot be null");
+        long written = 0;
+        while(buffer.hasRemaining()) {
+            written += target.write(buffer);
+        }
+        return written;
+    }
+    @Override
+    public int read() {
+        if(!buffer.hasRemaining()) {
+            return -1;
+        }
+        return buffer.get() & 0xFF;
+    }
+    @Override
+    public int read(@Nonnull final byte[] b, final int off, final int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if(len == 0) {
+            return 0;
+        }
+        if(!buffer.hasRemaining()) {
+            return -1;
+        }
+        final int count = Math.min(len, buffer.remaining());
+        buffer.get(b, off, count);
+        return count;
+    }
+    @Override
+    public long skip(final long n) {
+        if(n <= 0) {
+            return 0;
+        }
+        final int count = (int)Math.min(n, buffer.remaining());
+        buffer.position(buffer.position() + count);
+        return count;
+    }
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+    @Override
+    public synchronized void mark(final int readlimit) {
+        buffer.mark();
+    }
+    @Override
+    public synchronized void reset() {
+        buffer.reset();
+    }
+}
@@ -0,0 +1,108 @@
+package com.microsoft.kiota;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Input stream reading a region of a file through positional reads, so the content can be rewound any number of times without being buffered in memory.
+ * Closing the stream does not close the channel.
+ */
+public class FileChannelInputStream extends InputStream implements RewindableContent {
+    private final FileChannel channel;
+    private final long start;
+    private final long length;
+    private final byte[] singleByte = new byte[1];
+    private long position;
+    private long mark;
+    /**
+     * Initializes a new instance of the FileChannelInputStream class.
+     * @param channel the channel of the file to read from.
+     * @param start the position in the file of the first byte to read.
+     * @param length the number of bytes to read.
+     */
+    public FileChannelInputStream(@Nonnull final FileChannel channel, final long start, final long length) {
+        this.channel = Objects.requireNonNull(channel, "parameter channel cannot be null");
+        if(start < 0)
+            throw new IllegalArgumentException("start cannot be negative");
+        if(length < 0)
+            throw new IllegalArgumentException("length cannot be negative");
+        this.start = start;
+        this.length = length;
+    }
+    /** {@inheritDoc} */
+    @Override
+    public long getLength() {
+        return length;
+    }
+    /**
+     * Writes the remaining content to the target channel with {@link FileChannel#transferTo}.
+     * The bytes are sent without going through user space only when the target is a file or socket channel, other targets like okio sinks receive them through the transfer buffer of the file channel.
+     * @param target the channel to write the content to.
+     * @return the number of bytes written.
+     * @throws IOException if the file cannot be read or the target cannot be written to.
+     */
+    @Override
+    public long transferTo(@Nonnull final WritableByteChannel target) throws IOException {
+        Objects.requireNonNull(target, "parameter target cannot be null");
+        final long initialPosition = position;
+        while(position < length) {
+            final long transferred = channel.transferTo(start + position, length - position, target);
+            if(transferred <= 0) {
+                break; // the file is shorter than expected
+            }
+            position += transferred;
+        }
+        return position - initialPosition;
+    }
+    @Override
+    public int read() throws IOException {
+        return read(singleByte, 0, 1) == -1 ? -1 : singleByte[0] & 0xFF;
+    }
+    @Override
+    public int read(@Nonnull final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if(len == 0) {
+            return 0;
+        }
+        if(position >= length) {
+            return -1;
+        }
+        final int count = channel.read(ByteBuffer.wrap(b, off, (int)Math.min(len, length - position)), start + position);
+        if(count < 0) {
+            return -1;
+        }
+        position += count;
+        return count;
+    }
+    @Override
+    public long skip(final long n) {
+        if(n <= 0) {
+            return 0;
+        }
+        final long count = Math.min(n, length - position);
+        position += count;
+        return count;
+    }
+    @Override
+    public int available() {
+        return (int)Math.min(length - position, Integer.MAX_VALUE);
+    }
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+    @Override
+    public synchronized void mark(final int readlimit) {
+        mark = position;
+    }
+    @Override
+    public synchronized void reset() {
+        position = mark;
+    }
+}
@@ -0,0 +1,93 @@
+package com.microsoft.kiota;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+/** Extracts the query parameters of a query parameters class, the fields are only inspected once per class. Not public by intention. */
+final class QueryParametersBinder {
+    private static final ClassValue<QueryParametersBinder> binders = new ClassValue<QueryParametersBinder>() {
+        @Override
+        protected QueryParametersBinder computeValue(final Class<?> type) {
+            return new QueryParametersBinder(type);
+        }
+    };
+    private static final MethodType getterType = MethodType.methodType(Object.class, Object.class);
+    /**
+     * Gets the binder for a query parameters class.
+     * @param parametersClass the query parameters class.
+     * @return the binder.
+     */
+    @Nonnull
+    static QueryParametersBinder forClass(@Nonnull final Class<?> parametersClass) {
+        return binders.get(parametersClass);
+    }
+    private final String[] names;
+    private final MethodHandle[] getters;
+    private QueryParametersBinder(@Nonnull final Class<?> parametersClass) {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final List<String> names = new ArrayList<>();
+        final List<MethodHandle> getters = new ArrayList<>();
+        for(final Field field : parametersClass.getFields()) {
+            if(Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            String name = field.getName();
+            final QueryParameter annotation = field.getAnnotation(QueryParameter.class);
+            if(annotation != null) {
+                final String annotationName = annotation.name();
+                if(annotationName != null && !annotationName.isEmpty()) {
+                    name = annotationName;
+                }
+            }
+            try {
+                getters.add(lookup.unreflectGetter(field).asType(getterType));
+                names.add(name);
+            } catch (IllegalAccessException ex) {
+                // skipping the field would silently drop a query parameter from the request
+                throw new IllegalArgumentException("could not access query parameter " + name + " of " + parametersClass.getName(), ex);
+            }
+        }
+        this.names = names.toArray(new String[0]);
+        this.getters = getters.toArray(new MethodHandle[0]);
+    }
+    /**
+     * Adds the query parameters with a value to the target map.
+     * @param parameters the query parameters object.
+     * @param target the map to add the query parameters to.
+     */
+    void bind(@Nonnull final Object parameters, @Nonnull final Map<String, Object> target) {
+        for(int i = 0; i < this.getters.length; i++) {
+            final Object value;
+            try {
+                value = this.getters[i].invokeExact(parameters);
+            } catch (Throwable ex) {
+                throw new RuntimeException("could not read query parameter " + this.names[i], ex);
+            }
+            if(value instanceof Object[]) {
+                target.put(this.names[i], Arrays.asList((Object[])value));
+            } else if(value != null && value.getClass().isArray()) {
+                target.put(this.names[i], boxArray(value));
+            } else if(value != null) {
+                target.put(this.names[i], value);
+            }
+        }
+    }
+    private static List<Object> boxArray(@Nonnull final Object array) {
+        final int length = Array.getLength(array);
+        final List<Object> result = new ArrayList<>(length);
+        for(int i = 0; i < length; i++) {
+            result.add(Array.get(array, i));
+        }
+        return result;
+    }
+}
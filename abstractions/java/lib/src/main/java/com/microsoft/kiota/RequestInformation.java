@@ -4,8 +4,8 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Field;
 import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -77,28 +77,7 @@ public class RequestInformation {
      */
     public void addQueryParameters(@Nullable final Object parameters) {
         if (parameters == null) return;
-        final Field[] fields = parameters.getClass().getFields();
-        for(final Field field : fields) {
-            try {
-                final var value = field.get(parameters);
-                var name = field.getName();
-                if (field.isAnnotationPresent(QueryParameter.class)) {
-                    final var annotationName = field.getAnnotation(QueryParameter.class).name();
-                    if(annotationName != null && !annotationName.isEmpty()) {
-                        name = annotationName;
-                    }
-                }
-                if(value != null) {
-                    if(value.getClass().isArray()) {
-                        queryParameters.put(name, Arrays.asList((Object[])value));
-                    } else {
-                        queryParameters.put(name, value);
-                    }
-                }
-            } catch (IllegalAccessException ex) {
-                //TODO log
-            }
-        }
+        QueryParametersBinder.forClass(parameters.getClass()).bind(parameters, queryParameters);
     }
     /**
      * Adds query parameters to the request.
@@ -205,6 +184,25 @@ public class RequestInformation {
         this.content = value;
         headers.put(contentTypeHeader, binaryContentType);
     }
+    /**
+     * Sets the request body to be the content of a file. The content is read from the channel when the request is sent and can be replayed for retries.
+     * @param file the channel of the file, which must remain open until the request completes.
+     * @throws IOException if the size of the file cannot be read.
+     */
+    public void setFileContent(@Nonnull final FileChannel file) throws IOException {
+        Objects.requireNonNull(file);
+        setFileContent(file, 0, file.size());
+    }
+    /**
+     * Sets the request body to be a region of a file. The content is read from the channel when the request is sent and can be replayed for retries.
+     * @param file the channel of the file, which must remain open until the request completes.
+     * @param position the position in the file of the first byte of the body.
+     * @param length the length of the body.
+     */
+    public void setFileContent(@Nonnull final FileChannel file, final long position, final long length) {
+        Objects.requireNonNull(file);
+        setStreamContent(new FileChannelInputStream(file, position, length));
+    }
     /**
      * Sets the request body from a model with the specified content type.
      * @param values the models.
@@ -0,0 +1,22 @@
+package com.microsoft.kiota;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+import javax.annotation.Nonnull;
+
+/** Defines the contract for request content of a known length that can be rewound with reset and written to a channel without intermediate copies. */
+public interface RewindableContent {
+    /**
+     * Gets the total length of the content, regardless of how much has already been read.
+     * @return the total length of the content.
+     */
+    long getLength();
+    /**
+     * Writes the remaining content to the target channel.
+     * @param target the channel to write the content to.
+     * @return the number of bytes written.
+     * @throws IOException if the content cannot be read or written.
+     */
+    long transferTo(@Nonnull final WritableByteChannel target) throws IOException;
+}
@@ -0,0 +1,156 @@
+package com.microsoft.kiota.serialization;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Converts enum values from and to their serialized representation without reflection once the codec is built.
+ * Codecs are built once per enum type and shared, parse nodes and serialization writers should use them rather than calling the forValue method of generated enums.
+ * @param <T> the type of the enum.
+ */
+public final class EnumCodec<T extends Enum<T>> {
+    private static final ClassValue<EnumCodec<?>> codecs = new ClassValue<EnumCodec<?>>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected EnumCodec<?> computeValue(final Class<?> type) {
+            return new EnumCodec(type);
+        }
+    };
+    /**
+     * Gets the codec for the enum type.
+     * @param enumClass the type of the enum.
+     * @param <T> the type of the enum.
+     * @return the codec for the enum type.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static <T extends Enum<T>> EnumCodec<T> forClass(@Nonnull final Class<T> enumClass) {
+        Objects.requireNonNull(enumClass, "parameter enumClass cannot be null");
+        return (EnumCodec<T>)codecs.get(enumClass);
+    }
+    private final Class<T> enumClass;
+    /** Serialized values indexed by ordinal, null entries for constants without value */
+    private final String[] serializedValues;
+    /** Constants by serialized value, never modified once built */
+    private final Map<String, T> constants;
+    /** Constants found by the forValue method of the enum for values that are not their serialized value */
+    private final Map<String, T> aliases = new ConcurrentHashMap<>();
+    private final MethodHandle forValue;
+    private EnumCodec(@Nonnull final Class<T> enumClass) {
+        this.enumClass = enumClass;
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().findStatic(enumClass, "forValue", MethodType.methodType(enumClass, String.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            handle = null;
+        }
+        this.forValue = handle;
+        final T[] enumConstants = enumClass.getEnumConstants();
+        this.serializedValues = new String[enumConstants.length];
+        this.constants = new HashMap<>(enumConstants.length * 2);
+        for(final T constant : enumConstants) {
+            if(constant instanceof ValuedEnum) {
+                final String value = ((ValuedEnum)constant).getValue();
+                this.serializedValues[constant.ordinal()] = value;
+                if(value != null && (handle == null || this.invokeForValue(value) == constant)) { // forValue stays the source of truth for parsing
+                    this.constants.putIfAbsent(value, constant);
+                }
+            }
+        }
+    }
+    @Nullable
+    private T invokeForValue(@Nonnull final String value) {
+        try {
+            return this.enumClass.cast(this.forValue.invoke(value));
+        } catch (Throwable ex) {
+            return null;
+        }
+    }
+    /**
+     * Gets the constant for a serialized value.
+     * @param value the serialized value.
+     * @return the constant, null if no constant matches the value.
+     */
+    @Nullable
+    public T parse(@Nonnull final String value) {
+        Objects.requireNonNull(value, "parameter value cannot be null");
+        final T constant = this.constants.get(value);
+        if(constant != null) {
+            return constant;
+        }
+        final T alias = this.aliases.get(value);
+        if(alias != null || this.forValue == null) {
+            return alias;
+        }
+        final T result = this.invokeForValue(value);
+        if(result != null) {
+            this.aliases.put(value, result); // only matched values are cached so unknown input cannot grow the cache
+        }
+        return result;
+    }
+    /**
+     * Gets the constants for comma separated serialized values, ignoring values that don't match any constant.
+     * @param values the comma separated serialized values.
+     * @return the constants.
+     */
+    @Nonnull
+    public EnumSet<T> parseSet(@Nonnull final String values) {
+        Objects.requireNonNull(values, "parameter values cannot be null");
+        final EnumSet<T> result = EnumSet.noneOf(this.enumClass);
+        int start = 0;
+        while(start <= values.length()) {
+            int end = values.indexOf(',', start);
+            if(end < 0) {
+                end = values.length();
+            }
+            if(end > start) {
+                final T constant = this.parse(values.substring(start, end));
+                if(constant != null) {
+                    result.add(constant);
+                }
+            }
+            start = end + 1;
+        }
+        return result;
+    }
+    /**
+     * Gets the serialized value of a constant.
+     * @param value the constant.
+     * @return the serialized value, null if the enum doesn't implement ValuedEnum.
+     */
+    @Nullable
+    public String format(@Nonnull final T value) {
+        Objects.requireNonNull(value, "parameter value cannot be null");
+        return this.serializedValues[value.ordinal()];
+    }
+    /**
+     * Gets the comma separated serialized values of constants.
+     * @param values the constants.
+     * @return the comma separated serialized values, null if none of the constants have a serialized value.
+     */
+    @Nullable
+    public String formatSet(@Nonnull final EnumSet<T> values) {
+        Objects.requireNonNull(values, "parameter values cannot be null");
+        StringBuilder builder = null;
+        for(final T value : values) {
+            final String serializedValue = this.serializedValues[value.ordinal()];
+            if(serializedValue != null) {
+                if(builder == null) {
+                    builder = new StringBuilder(serializedValue);
+                } else {
+                    builder.append(',').append(serializedValue);
+                }
+            }
+        }
+        return builder == null ? null : builder.toString();
+    }
+}
@@ -1,5 +1,7 @@
 package com.microsoft.kiota.serialization;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.lang.Enum;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -178,4 +180,13 @@ public interface ParseNode {
      * @return The byte array value of the node.
      */
     byte[] getByteArrayValue();
+    /**
+     * Gets the byte array value of the node as a stream, which implementations decode while it is read instead of holding the whole value in memory.
+     * @return The stream of the byte array value of the node, null when the node has no value.
+     */
+    @Nullable
+    default InputStream getByteArrayStream() {
+        final byte[] value = getByteArrayValue();
+        return value == null ? null : new ByteArrayInputStream(value);
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.microsoft.kiota.serialization;
 
 import java.io.InputStream;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -21,4 +22,16 @@ public interface ParseNodeFactory {
      */
     @Nonnull
     ParseNode getParseNode(@Nonnull final String contentType, @Nonnull final InputStream rawResponse);
+    /**
+     * Creates a {@link ParseNode} from the given {@link InputStream} and content type, reading only the given fields.
+     * Factories that don't support projections return a {@link ParseNode} for the whole content.
+     * @param contentType the content type of the {@link InputStream}.
+     * @param rawResponse the {@link InputStream} to read from.
+     * @param fieldPaths the paths of the fields to read, with segments separated by '/'. Collections are traversed transparently and a path ending on an object reads the whole object.
+     * @return a {@link ParseNode} that can deserialize the given fields of the {@link InputStream}.
+     */
+    @Nonnull
+    default ParseNode getParseNode(@Nonnull final String contentType, @Nonnull final InputStream rawResponse, @Nonnull final Set<String> fieldPaths) {
+        return getParseNode(contentType, rawResponse);
+    }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.microsoft.kiota.serialization;
 
 import java.io.InputStream;
+import java.util.AbstractMap;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import javax.annotation.Nonnull;
@@ -22,18 +25,30 @@ public class ParseNodeFactoryRegistry implements ParseNodeFactory {
     @Override
     @Nonnull
     public ParseNode getParseNode(@Nonnull final String contentType, @Nonnull final InputStream rawResponse) {
-        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
         Objects.requireNonNull(rawResponse, "parameter rawResponse cannot be null");
+        final Map.Entry<String, ParseNodeFactory> factory = getFactory(contentType);
+        return factory.getValue().getParseNode(factory.getKey(), rawResponse);
+    }
+    @Override
+    @Nonnull
+    public ParseNode getParseNode(@Nonnull final String contentType, @Nonnull final InputStream rawResponse, @Nonnull final Set<String> fieldPaths) {
+        Objects.requireNonNull(rawResponse, "parameter rawResponse cannot be null");
+        Objects.requireNonNull(fieldPaths, "parameter fieldPaths cannot be null");
+        final Map.Entry<String, ParseNodeFactory> factory = getFactory(contentType);
+        return factory.getValue().getParseNode(factory.getKey(), rawResponse, fieldPaths);
+    }
+    private Map.Entry<String, ParseNodeFactory> getFactory(@Nonnull final String contentType) {
+        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
         if(contentType.isEmpty()) {
             throw new NullPointerException("contentType cannot be empty");
         }
         final String vendorSpecificContentType = contentType.split(";")[0];
         if(contentTypeAssociatedFactories.containsKey(vendorSpecificContentType)) {
-            return contentTypeAssociatedFactories.get(vendorSpecificContentType).getParseNode(vendorSpecificContentType, rawResponse);
+            return new AbstractMap.SimpleImmutableEntry<>(vendorSpecificContentType, contentTypeAssociatedFactories.get(vendorSpecificContentType));
         }
         final String cleanedContentType = contentTypeVendorCleanupPattern.matcher(vendorSpecificContentType).replaceAll("");
         if(contentTypeAssociatedFactories.containsKey(cleanedContentType)) {
-            return contentTypeAssociatedFactories.get(cleanedContentType).getParseNode(cleanedContentType, rawResponse);
+            return new AbstractMap.SimpleImmutableEntry<>(cleanedContentType, contentTypeAssociatedFactories.get(cleanedContentType));
         }
         throw new RuntimeException("Content type " + cleanedContentType + " does not have a factory to be parsed");
     }
@@ -2,6 +2,7 @@ package com.microsoft.kiota.serialization;
 
 import java.util.function.Consumer;
 import java.util.Objects;
+import java.util.Set;
 
 import java.io.InputStream;
 
@@ -30,7 +31,13 @@ public abstract class ParseNodeProxyFactory implements ParseNodeFactory {
             _onAfter = onAfter;
         }
     public ParseNode getParseNode(final String contentType, final InputStream rawResponse) {
-        final ParseNode node = _concrete.getParseNode(contentType, rawResponse);
+        return wrapCallbacks(_concrete.getParseNode(contentType, rawResponse));
+    }
+    @Override
+    public ParseNode getParseNode(final String contentType, final InputStream rawResponse, final Set<String> fieldPaths) {
+        return wrapCallbacks(_concrete.getParseNode(contentType, rawResponse, fieldPaths));
+    }
+    private ParseNode wrapCallbacks(final ParseNode node) {
         final Consumer<Parsable> originalOnBefore = node.getOnBeforeAssignFieldValues();
         final Consumer<Parsable> originalOnAfter = node.getOnAfterAssignFieldValues();
         node.setOnBeforeAssignFieldValues((x) -> {
@@ -0,0 +1,89 @@
+package com.microsoft.kiota.serialization;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Name of a property encoded once, so serialization writers can copy its bytes instead of encoding the name for every value they write.
+ * Generated models declare one constant per property and write their values with the key returned by {@link SerializationWriter#getPropertyKey(PropertyName)}.
+ */
+public final class PropertyName implements CharSequence {
+    private final String value;
+    private final byte[] utf8Value;
+    private final byte[] escapedUtf8Value;
+    /**
+     * Initializes a new property name.
+     * @param value the name of the property.
+     */
+    public PropertyName(@Nonnull final String value) {
+        this.value = Objects.requireNonNull(value, "parameter value cannot be null");
+        this.utf8Value = value.getBytes(StandardCharsets.UTF_8);
+        this.escapedUtf8Value = escape(value).getBytes(StandardCharsets.UTF_8);
+    }
+    /**
+     * Gets the UTF-8 bytes of the name. The array is shared and must not be modified.
+     * @return the UTF-8 bytes of the name.
+     */
+    @Nonnull
+    public byte[] getUtf8Bytes() {
+        return utf8Value;
+    }
+    /**
+     * Gets the UTF-8 bytes of the name escaped for JSON strings, without the quotes. The array is shared and must not be modified.
+     * @return the UTF-8 bytes of the escaped name.
+     */
+    @Nonnull
+    public byte[] getEscapedUtf8Bytes() {
+        return escapedUtf8Value;
+    }
+    private static String escape(final String value) {
+        final StringBuilder result = new StringBuilder(value.length());
+        for(int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch(c) {
+                case '"': result.append("\\\""); break;
+                case '\\': result.append("\\\\"); break;
+                case '\t': result.append("\\t"); break;
+                case '\b': result.append("\\b"); break;
+                case '\n': result.append("\\n"); break;
+                case '\r': result.append("\\r"); break;
+                case '\f': result.append("\\f"); break;
+                default:
+                    if(c < 0x20 || c == '\u2028' || c == '\u2029') {
+                        result.append(String.format("\\u%04x", (int)c));
+                    } else {
+                        result.append(c);
+                    }
+            }
+        }
+        return result.toString();
+    }
+    @Override
+    public int length() {
+        return value.length();
+    }
+    @Override
+    public char charAt(final int index) {
+        return value.charAt(index);
+    }
+    @Override
+    @Nonnull
+    public CharSequence subSequence(final int start, final int end) {
+        return value.subSequence(start, end);
+    }
+    @Override
+    @Nonnull
+    public String toString() {
+        return value;
+    }
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof PropertyName && value.equals(((PropertyName)other).value);
+    }
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+}
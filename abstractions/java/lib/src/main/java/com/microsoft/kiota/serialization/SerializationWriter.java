@@ -1,12 +1,14 @@
 package com.microsoft.kiota.serialization;
 
 import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.Period;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.EnumSet;
 import java.lang.Enum;
@@ -194,4 +196,28 @@ public interface SerializationWriter extends Closeable {
      * @param value the value to write to the stream.
      */
     void writeByteArrayValue(@Nullable final String key, @Nonnull final byte[] value);
+    /**
+     * Writes the bytes read from the stream to the current stream with an optional given key, implementations encode them while they are read instead of holding the whole value in memory.
+     * The stream is read to its end and is not closed.
+     * @param key the key to write the value with.
+     * @param value the stream of the value to write to the stream.
+     */
+    default void writeByteStreamValue(@Nullable final String key, @Nonnull final InputStream value) {
+        if(value != null) {
+            try {
+                writeByteArrayValue(key, value.readAllBytes());
+            } catch (IOException ex) {
+                throw new RuntimeException("could not read the value", ex);
+            }
+        }
+    }
+    /**
+     * Gets the key to write the value of a property with, see {@link PropertyName}. Writers copying pre-encoded names recognize the returned key when it is passed to the next write method, the others return the name of the property.
+     * @param name the pre-encoded name of the property.
+     * @return the key to pass to the method writing the value of the property.
+     */
+    @Nonnull
+    default String getPropertyKey(@Nonnull final PropertyName name) {
+        return Objects.requireNonNull(name, "parameter name cannot be null").toString();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.microsoft.kiota.serialization;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.microsoft.kiota.TriConsumer;
+
+/**
+ * Selects how to write values which type is only known at runtime, like additional data values, from a table built once per type.
+ * Serialization writers use it instead of testing the value against every supported type.
+ */
+public final class ValueWriterDispatch {
+    private ValueWriterDispatch() {}
+    private static final ClassValue<TriConsumer<SerializationWriter, String, Object>> writers = new ClassValue<TriConsumer<SerializationWriter, String, Object>>() {
+        @Override
+        protected TriConsumer<SerializationWriter, String, Object> computeValue(final Class<?> type) {
+            if(type.equals(String.class))
+                return (w, k, v) -> w.writeStringValue(k, (String)v);
+            else if(type.equals(Boolean.class))
+                return (w, k, v) -> w.writeBooleanValue(k, (Boolean)v);
+            else if(type.equals(Byte.class))
+                return (w, k, v) -> w.writeByteValue(k, (Byte)v);
+            else if(type.equals(Short.class))
+                return (w, k, v) -> w.writeShortValue(k, (Short)v);
+            else if(type.equals(BigDecimal.class))
+                return (w, k, v) -> w.writeBigDecimalValue(k, (BigDecimal)v);
+            else if(type.equals(Float.class))
+                return (w, k, v) -> w.writeFloatValue(k, (Float)v);
+            else if(type.equals(Double.class))
+                return (w, k, v) -> w.writeDoubleValue(k, (Double)v);
+            else if(type.equals(BigInteger.class))
+                return (w, k, v) -> w.writeBigDecimalValue(k, new BigDecimal((BigInteger)v));
+            else if(type.equals(Long.class))
+                return (w, k, v) -> w.writeLongValue(k, (Long)v);
+            else if(type.equals(Integer.class))
+                return (w, k, v) -> w.writeIntegerValue(k, (Integer)v);
+            else if(type.equals(UUID.class))
+                return (w, k, v) -> w.writeUUIDValue(k, (UUID)v);
+            else if(type.equals(OffsetDateTime.class))
+                return (w, k, v) -> w.writeOffsetDateTimeValue(k, (OffsetDateTime)v);
+            else if(type.equals(LocalDate.class))
+                return (w, k, v) -> w.writeLocalDateValue(k, (LocalDate)v);
+            else if(type.equals(LocalTime.class))
+                return (w, k, v) -> w.writeLocalTimeValue(k, (LocalTime)v);
+            else if(type.equals(Period.class))
+                return (w, k, v) -> w.writePeriodValue(k, (Period)v);
+            else if(Iterable.class.isAssignableFrom(type))
+                return (w, k, v) -> w.writeCollectionOfPrimitiveValues(k, (Iterable<?>)v);
+            else if(Parsable.class.isAssignableFrom(type))
+                return (w, k, v) -> w.writeObjectValue(k, (Parsable)v);
+            else if(type.isEnum())
+                return ValueWriterDispatch::writeEnumValue;
+            else
+                return null;
+        }
+    };
+    private static final ClassValue<PublicFieldAccessors> accessors = new ClassValue<PublicFieldAccessors>() {
+        @Override
+        protected PublicFieldAccessors computeValue(final Class<?> type) {
+            return new PublicFieldAccessors(type);
+        }
+    };
+    /**
+     * Gets the writer method for values of the given type.
+     * @param valueClass the type of the value.
+     * @return a consumer calling the writer method with the writer, the key and the value, null if the type is an object without a dedicated writer method.
+     */
+    @Nullable
+    public static TriConsumer<SerializationWriter, String, Object> getWriter(@Nonnull final Class<?> valueClass) {
+        Objects.requireNonNull(valueClass, "parameter valueClass cannot be null");
+        return writers.get(valueClass);
+    }
+    /**
+     * Writes a value using the writer method for its type.
+     * @param writer the writer to write the value with.
+     * @param key the key to write the value with.
+     * @param value the value to write.
+     * @return true if the value was written, false if the value is an object without a dedicated writer method.
+     */
+    public static boolean write(@Nonnull final SerializationWriter writer, @Nullable final String key, @Nonnull final Object value) {
+        Objects.requireNonNull(writer, "parameter writer cannot be null");
+        Objects.requireNonNull(value, "parameter value cannot be null");
+        final TriConsumer<SerializationWriter, String, Object> valueWriter = writers.get(value.getClass());
+        if(valueWriter == null) {
+            return false;
+        }
+        valueWriter.accept(writer, key, value);
+        return true;
+    }
+    /**
+     * Gets whether objects of the given type without a dedicated writer method can be written as objects, from their entries for maps or their public instance fields for public types.
+     * Writers write the other values as strings from their toString method.
+     * @param valueClass the type of the value.
+     * @return whether values of the type can be visited with {@link #forEachProperty(Object, BiConsumer)}.
+     */
+    public static boolean hasProperties(@Nonnull final Class<?> valueClass) {
+        Objects.requireNonNull(valueClass, "parameter valueClass cannot be null");
+        return Map.class.isAssignableFrom(valueClass) || accessors.get(valueClass).isReadable;
+    }
+    /**
+     * Visits the properties of an object without a dedicated writer method, so writers can write them as properties: the entries of maps, or the public instance fields of public types.
+     * @param value the object.
+     * @param visitor the visitor called with the name and value of each property.
+     */
+    public static void forEachProperty(@Nonnull final Object value, @Nonnull final BiConsumer<String, Object> visitor) {
+        Objects.requireNonNull(value, "parameter value cannot be null");
+        Objects.requireNonNull(visitor, "parameter visitor cannot be null");
+        if(value instanceof Map) {
+            for(final Map.Entry<?, ?> entry : ((Map<?, ?>)value).entrySet()) {
+                visitor.accept(String.valueOf(entry.getKey()), entry.getValue());
+            }
+        } else {
+            accessors.get(value.getClass()).forEach(value, visitor);
+        }
+    }
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void writeEnumValue(@Nonnull final SerializationWriter writer, @Nullable final String key, @Nonnull final Object value) {
+        writer.writeEnumValue(key, (Enum)value);
+    }
+    private static final class PublicFieldAccessors {
+        private static final MethodType getterType = MethodType.methodType(Object.class, Object.class);
+        /** Whether the type is public, the fields of other types are not read */
+        final boolean isReadable;
+        private final String[] names;
+        private final MethodHandle[] getters;
+        PublicFieldAccessors(@Nonnull final Class<?> type) {
+            final List<String> names = new ArrayList<>();
+            final List<MethodHandle> getters = new ArrayList<>();
+            this.isReadable = Modifier.isPublic(type.getModifiers());
+            if(this.isReadable) {
+                final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                for(final Field field : type.getFields()) {
+                    if(Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    try {
+                        getters.add(lookup.unreflectGetter(field).asType(getterType));
+                        names.add(field.getName());
+                    } catch (IllegalAccessException ex) {
+                        // the field is declared by a type which is not accessible, it is skipped
+                    }
+                }
+            }
+            this.names = names.toArray(new String[0]);
+            this.getters = getters.toArray(new MethodHandle[0]);
+        }
+        void forEach(@Nonnull final Object value, @Nonnull final BiConsumer<String, Object> visitor) {
+            for(int i = 0; i < this.getters.length; i++) {
+                final Object fieldValue;
+                try {
+                    fieldValue = this.getters[i].invokeExact(value);
+                } catch (Throwable ex) {
+                    throw new RuntimeException("could not read field " + this.names[i], ex);
+                }
+                visitor.accept(this.names[i], fieldValue);
+            }
+        }
+    }
+}
@@ -26,6 +26,27 @@ public interface BackingStore {
     */
     <T> void set(@Nonnull final String key, @Nullable final T value);
     /**
+    * Gets a value from the backing store based on its slot, falling back to its key. Returns null if the value hasn't changed and "ReturnOnlyChangedValues" is true.
+    * Generated models assign each of their properties a stable slot so implementations can avoid looking up the key.
+    * @return The value from the backing store.
+    * @param slot The slot assigned to the key by the model.
+    * @param key The key to lookup the backing store with.
+    */
+    @Nullable
+    default <T> T get(final int slot, @Nonnull final String key) {
+        return get(key);
+    }
+    /**
+    * Sets or updates the stored value for the given slot, falling back to its key.
+    * Will trigger subscriptions callbacks.
+    * @param slot The slot assigned to the key by the model.
+    * @param key The key to store and retrieve the information.
+    * @param value The value to be stored.
+    */
+    default <T> void set(final int slot, @Nonnull final String key, @Nullable final T value) {
+        set(key, value);
+    }
+    /**
     * Enumerates all the values stored in the backing store. Values will be filtered if "ReturnOnlyChangedValues" is true.
     * @return The values available in the backing store.
     */
@@ -38,6 +59,19 @@ public interface BackingStore {
     @Nonnull
     Iterable<String> enumerateKeysForValuesChangedToNull();
     /**
+    * Gets whether any value changed since the initialization of the object, including values of nested backed models.
+    * @return Whether any value changed since the initialization of the object.
+    */
+    default boolean hasChanges() {
+        final boolean returnOnlyChangedValues = getReturnOnlyChangedValues();
+        setReturnOnlyChangedValues(true);
+        try {
+            return !enumerate().isEmpty() || enumerateKeysForValuesChangedToNull().iterator().hasNext();
+        } finally {
+            setReturnOnlyChangedValues(returnOnlyChangedValues);
+        }
+    }
+    /**
     * Creates a subscription to any data change happening.
     * @param callback Callback to be invoked on data changes where the first parameter is the data key, the second the previous value and the third the new value.
     * @return The subscription Id to use when removing the subscription
@@ -0,0 +1,102 @@
+package com.microsoft.kiota.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/** Helper methods to track changes across the backing stores of a model graph, not public by intention */
+final class BackingStoreChanges {
+    private BackingStoreChanges() {}
+    /**
+     * Creates the set of the stores visited while walking a model graph, compared by identity.
+     * @return the empty set.
+     */
+    @Nonnull
+    static Set<BackingStore> newVisitedSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+    /**
+     * Gets whether the value is a backed model, or a collection of backed models, that changed since its initialization.
+     * @param value the value stored in a backing store.
+     * @return whether the value changed in place.
+     */
+    static boolean hasNestedChanges(@Nullable final Object value) {
+        return hasNestedChanges(value, newVisitedSet());
+    }
+    /**
+     * Gets whether the value is a backed model, or a collection of backed models, that changed since its initialization.
+     * @param value the value stored in a backing store.
+     * @param visited the stores already visited, which are not looked at again.
+     * @return whether the value changed in place.
+     */
+    static boolean hasNestedChanges(@Nullable final Object value, @Nonnull final Set<BackingStore> visited) {
+        if(value instanceof BackedModel) {
+            final BackingStore backingStore = ((BackedModel)value).getBackingStore();
+            if(backingStore instanceof TrackedBackingStore) {
+                return ((TrackedBackingStore)backingStore).hasChanges(visited);
+            }
+            return backingStore != null && visited.add(backingStore) && backingStore.hasChanges();
+        } else if(value instanceof Collection) {
+            for(final Object item : (Collection<?>)value) {
+                if(!(item instanceof BackedModel)) {
+                    return false; // collections are not mixed, no need to look further
+                } else if(hasNestedChanges(item, visited)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    /**
+     * Flags the nested models of a value about to be serialized to be written with all their values, as they replace the values of the service.
+     * The items of collections are always flagged since a collection replaces the whole collection of the service.
+     * @param value the value stored in a backing store.
+     * @param includeModel whether to flag the value itself when it is a model, when it was reassigned or its parent is written with all its values.
+     * @param flagged the stores flagged so far, the stores flagged by this call are added to it.
+     * @return the stores flagged so far, null if none were.
+     */
+    @Nullable
+    static List<TrackedBackingStore> serializeNestedModelsInFull(@Nullable final Object value, final boolean includeModel, @Nullable List<TrackedBackingStore> flagged) {
+        if(value instanceof BackedModel) {
+            if(includeModel) {
+                flagged = serializeInFull((BackedModel)value, flagged);
+            }
+        } else if(value instanceof Collection) {
+            for(final Object item : (Collection<?>)value) {
+                if(!(item instanceof BackedModel)) {
+                    break;
+                }
+                flagged = serializeInFull((BackedModel)item, flagged);
+            }
+        }
+        return flagged;
+    }
+    /**
+     * Removes the flags set on nested models once the serialization of their parent completes.
+     * @param flagged the stores flagged when the serialization started, null if none were.
+     */
+    static void completeFullSerializations(@Nullable final List<TrackedBackingStore> flagged) {
+        if(flagged != null) {
+            for(final TrackedBackingStore backingStore : flagged) {
+                backingStore.removeFullSerialization();
+            }
+        }
+    }
+    private static List<TrackedBackingStore> serializeInFull(@Nonnull final BackedModel model, @Nullable List<TrackedBackingStore> flagged) {
+        final BackingStore backingStore = model.getBackingStore();
+        if(backingStore instanceof TrackedBackingStore) {
+            ((TrackedBackingStore)backingStore).addFullSerialization();
+            if(flagged == null) {
+                flagged = new ArrayList<>();
+            }
+            flagged.add((TrackedBackingStore)backingStore);
+        }
+        return flagged;
+    }
+}
@@ -2,6 +2,6 @@ package com.microsoft.kiota.store;
 
 /** This class is used to register the backing store factory. */
 public class BackingStoreFactorySingleton {
-    /** The backing store factory singleton instance. */
-    public static BackingStoreFactory instance = new InMemoryBackingStoreFactory();
+    /** The backing store factory singleton instance. Set it to a ConcurrentBackingStoreFactory when models are shared across threads. */
+    public static volatile BackingStoreFactory instance = new InMemoryBackingStoreFactory();
 }
\ No newline at end of file
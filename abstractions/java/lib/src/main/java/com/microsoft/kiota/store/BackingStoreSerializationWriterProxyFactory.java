@@ -17,7 +17,12 @@ public class BackingStoreSerializationWriterProxyFactory extends SerializationWr
                 final BackedModel backedModel = (BackedModel)x;
                 final var backingStore = backedModel.getBackingStore();
                 if(backingStore != null) {
-                    backingStore.setReturnOnlyChangedValues(true);
+                    // models replacing a value of the service, like the items of a collection, are written with all their values
+                    final boolean serializeAllValues = backingStore instanceof TrackedBackingStore && ((TrackedBackingStore)backingStore).getSerializeAllValues();
+                    backingStore.setReturnOnlyChangedValues(!serializeAllValues);
+                    if(backingStore instanceof TrackedBackingStore) {
+                        ((TrackedBackingStore)backingStore).beginSerialization();
+                    }
                 }
             }
         },(x) -> {
@@ -25,6 +30,9 @@ public class BackingStoreSerializationWriterProxyFactory extends SerializationWr
                 final BackedModel backedModel = (BackedModel)x;
                 final var backingStore = backedModel.getBackingStore();
                 if(backingStore != null) {
+                    if(backingStore instanceof TrackedBackingStore) {
+                        ((TrackedBackingStore)backingStore).completeSerialization();
+                    }
                     backingStore.setReturnOnlyChangedValues(false);
                     backingStore.setIsInitializationCompleted(true);
                 }
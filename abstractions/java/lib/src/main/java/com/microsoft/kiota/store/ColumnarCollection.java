@@ -0,0 +1,346 @@
+package com.microsoft.kiota.store;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Read only collection of backed models stored by column instead of by model.
+ * Numeric and boolean values are kept in primitive arrays and strings are dictionary encoded, which makes large collections much more compact and fast to scan.
+ * Models are materialized from the columns when they are accessed through the list interface, changes made to them are not reflected in the collection.
+ * @param <T> the type of the models.
+ */
+public class ColumnarCollection<T extends BackedModel> extends AbstractList<T> {
+    private final Supplier<T> modelFactory;
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+    private int size;
+    /**
+     * Initializes a new empty collection.
+     * @param modelFactory the factory used to materialize the models, usually the model constructor.
+     */
+    public ColumnarCollection(@Nonnull final Supplier<T> modelFactory) {
+        this.modelFactory = Objects.requireNonNull(modelFactory, "parameter modelFactory cannot be null");
+    }
+    /**
+     * Creates a new collection from models, for example the result of a collection deserialization. The models are not referenced by the collection once it's created.
+     * @param models the models to store.
+     * @param modelFactory the factory used to materialize the models, usually the model constructor.
+     * @param <T> the type of the models.
+     * @return the collection holding the values of the models.
+     */
+    @Nonnull
+    public static <T extends BackedModel> ColumnarCollection<T> of(@Nonnull final Iterable<T> models, @Nonnull final Supplier<T> modelFactory) {
+        Objects.requireNonNull(models, "parameter models cannot be null");
+        final ColumnarCollection<T> result = new ColumnarCollection<>(modelFactory);
+        for(final T model : models) {
+            result.append(model);
+        }
+        return result;
+    }
+    /**
+     * Appends the values of a model at the end of the collection.
+     * @param model the model to append.
+     */
+    public void append(@Nonnull final T model) {
+        Objects.requireNonNull(model, "parameter model cannot be null");
+        final int row = this.size++;
+        for(final Map.Entry<String, Object> entry : model.getBackingStore().enumerate().entrySet()) {
+            final String key = entry.getKey();
+            final Object value = entry.getValue();
+            Column column = this.columns.get(key);
+            if(column == null) {
+                column = Column.forValue(value);
+            } else if(!column.accepts(value)) {
+                column = new ObjectColumn(column, row);
+            }
+            column.set(row, value);
+            this.columns.put(key, column);
+        }
+    }
+    @Override
+    public int size() {
+        return this.size;
+    }
+    /**
+     * Materializes the model stored at the given row.
+     * @param row the row of the model.
+     * @return a new model initialized with the values of the row.
+     */
+    @Override
+    @Nonnull
+    public T get(final int row) {
+        Objects.checkIndex(row, this.size);
+        final T model = this.modelFactory.get();
+        final BackingStore backingStore = model.getBackingStore();
+        backingStore.setIsInitializationCompleted(false);
+        for(final Map.Entry<String, Column> entry : this.columns.entrySet()) {
+            final Object value = entry.getValue().get(row);
+            if(value != null) {
+                backingStore.set(entry.getKey(), value);
+            }
+        }
+        backingStore.setIsInitializationCompleted(true);
+        return model;
+    }
+    /**
+     * Gets a value without materializing the model.
+     * @param row the row of the model.
+     * @param key the key of the value in the backing store of the model.
+     * @return the value, null if the model doesn't have a value for the key.
+     */
+    @Nullable
+    public Object getValue(final int row, @Nonnull final String key) {
+        Objects.checkIndex(row, this.size);
+        Objects.requireNonNull(key, "parameter key cannot be null");
+        final Column column = this.columns.get(key);
+        return column == null ? null : column.get(row);
+    }
+    /**
+     * Gets the keys of the columns.
+     * @return the keys of the columns.
+     */
+    @Nonnull
+    public Set<String> getColumnNames() {
+        return Collections.unmodifiableSet(this.columns.keySet());
+    }
+    /**
+     * Gets a column to scan its values without materializing the models.
+     * @param key the key of the values in the backing store of the models.
+     * @return the column, null if none of the models have a value for the key.
+     */
+    @Nullable
+    public Column getColumn(@Nonnull final String key) {
+        Objects.requireNonNull(key, "parameter key cannot be null");
+        return this.columns.get(key);
+    }
+    /** Values of a key for all the rows of the collection. */
+    public abstract static class Column {
+        private long[] present = new long[1];
+        /**
+         * Gets whether the row has a value.
+         * @param row the row.
+         * @return whether the row has a value.
+         */
+        public boolean hasValue(final int row) {
+            final int word = row >>> 6;
+            return word < this.present.length && (this.present[word] & (1L << row)) != 0;
+        }
+        /**
+         * Gets the value of the row as an object.
+         * @param row the row.
+         * @return the value, null if the row doesn't have a value.
+         */
+        @Nullable
+        public Object get(final int row) {
+            return this.hasValue(row) ? this.getValue(row) : null;
+        }
+        abstract Object getValue(final int row);
+        abstract boolean accepts(final Object value);
+        abstract void setValue(final int row, final Object value);
+        void set(final int row, final Object value) {
+            final int word = row >>> 6;
+            if(word >= this.present.length) {
+                this.present = Arrays.copyOf(this.present, Math.max(this.present.length << 1, word + 1));
+            }
+            this.present[word] |= 1L << row;
+            this.setValue(row, value);
+        }
+        static int grow(final int capacity, final int row) {
+            return Math.max(Math.max(capacity << 1, 16), row + 1);
+        }
+        static Column forValue(final Object value) {
+            if(value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                return new LongColumn(value.getClass());
+            } else if(value instanceof Double || value instanceof Float) {
+                return new DoubleColumn(value.getClass());
+            } else if(value instanceof Boolean) {
+                return new BooleanColumn();
+            } else if(value instanceof String) {
+                return new StringColumn();
+            } else {
+                return new ObjectColumn();
+            }
+        }
+    }
+    /** Column of integral values stored as longs. */
+    public static final class LongColumn extends Column {
+        private final Class<?> valueClass;
+        private long[] values = new long[0];
+        LongColumn(@Nonnull final Class<?> valueClass) {
+            this.valueClass = valueClass;
+        }
+        /**
+         * Gets the value of the row.
+         * @param row the row.
+         * @return the value, 0 if the row doesn't have a value.
+         */
+        public long getLong(final int row) {
+            return row < this.values.length ? this.values[row] : 0L;
+        }
+        @Override
+        Object getValue(final int row) {
+            final long value = this.getLong(row);
+            if(this.valueClass == Integer.class) return Integer.valueOf((int)value);
+            if(this.valueClass == Short.class) return Short.valueOf((short)value);
+            if(this.valueClass == Byte.class) return Byte.valueOf((byte)value);
+            return Long.valueOf(value);
+        }
+        @Override
+        boolean accepts(final Object value) {
+            return value.getClass() == this.valueClass;
+        }
+        @Override
+        void setValue(final int row, final Object value) {
+            if(row >= this.values.length) {
+                this.values = Arrays.copyOf(this.values, grow(this.values.length, row));
+            }
+            this.values[row] = ((Number)value).longValue();
+        }
+    }
+    /** Column of floating point values stored as doubles. */
+    public static final class DoubleColumn extends Column {
+        private final Class<?> valueClass;
+        private double[] values = new double[0];
+        DoubleColumn(@Nonnull final Class<?> valueClass) {
+            this.valueClass = valueClass;
+        }
+        /**
+         * Gets the value of the row.
+         * @param row the row.
+         * @return the value, 0 if the row doesn't have a value.
+         */
+        public double getDouble(final int row) {
+            return row < this.values.length ? this.values[row] : 0d;
+        }
+        @Override
+        Object getValue(final int row) {
+            final double value = this.getDouble(row);
+            return this.valueClass == Float.class ? (Object)Float.valueOf((float)value) : (Object)Double.valueOf(value);
+        }
+        @Override
+        boolean accepts(final Object value) {
+            return value.getClass() == this.valueClass;
+        }
+        @Override
+        void setValue(final int row, final Object value) {
+            if(row >= this.values.length) {
+                this.values = Arrays.copyOf(this.values, grow(this.values.length, row));
+            }
+            this.values[row] = ((Number)value).doubleValue();
+        }
+    }
+    /** Column of boolean values stored as bits. */
+    public static final class BooleanColumn extends Column {
+        private long[] values = new long[0];
+        /**
+         * Gets the value of the row.
+         * @param row the row.
+         * @return the value, false if the row doesn't have a value.
+         */
+        public boolean getBoolean(final int row) {
+            final int word = row >>> 6;
+            return word < this.values.length && (this.values[word] & (1L << row)) != 0;
+        }
+        @Override
+        Object getValue(final int row) {
+            return Boolean.valueOf(this.getBoolean(row));
+        }
+        @Override
+        boolean accepts(final Object value) {
+            return value instanceof Boolean;
+        }
+        @Override
+        void setValue(final int row, final Object value) {
+            final int word = row >>> 6;
+            if(word >= this.values.length) {
+                this.values = Arrays.copyOf(this.values, grow(this.values.length, word));
+            }
+            if((Boolean)value) {
+                this.values[word] |= 1L << row;
+            } else {
+                this.values[word] &= ~(1L << row);
+            }
+        }
+    }
+    /** Column of strings stored as codes of a dictionary, so repeated values are only stored once. */
+    public static final class StringColumn extends Column {
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+        private int[] values = new int[0];
+        /**
+         * Gets the dictionary code of the row value, which can be compared with other codes of this column instead of the strings.
+         * @param row the row.
+         * @return the code, -1 if the row doesn't have a value.
+         */
+        public int getCode(final int row) {
+            return this.hasValue(row) ? this.values[row] : -1;
+        }
+        /**
+         * Gets the distinct values of the column, indexed by code.
+         * @return the distinct values of the column.
+         */
+        @Nonnull
+        public List<String> getDictionary() {
+            return Collections.unmodifiableList(this.dictionary);
+        }
+        @Override
+        Object getValue(final int row) {
+            return this.dictionary.get(this.values[row]);
+        }
+        @Override
+        boolean accepts(final Object value) {
+            return value instanceof String;
+        }
+        @Override
+        void setValue(final int row, final Object value) {
+            if(row >= this.values.length) {
+                this.values = Arrays.copyOf(this.values, grow(this.values.length, row));
+            }
+            Integer code = this.codes.get(value);
+            if(code == null) {
+                code = this.dictionary.size();
+                this.dictionary.add((String)value);
+                this.codes.put((String)value, code);
+            }
+            this.values[row] = code;
+        }
+    }
+    /** Column of values that don't have a specialized representation, like nested models and collections. */
+    public static final class ObjectColumn extends Column {
+        private Object[] values = new Object[0];
+        ObjectColumn() {}
+        ObjectColumn(@Nonnull final Column source, final int rowCount) {
+            for(int row = 0; row < rowCount; row++) {
+                if(source.hasValue(row)) {
+                    this.set(row, source.getValue(row));
+                }
+            }
+        }
+        @Override
+        Object getValue(final int row) {
+            return row < this.values.length ? this.values[row] : null;
+        }
+        @Override
+        boolean accepts(final Object value) {
+            return true;
+        }
+        @Override
+        void setValue(final int row, final Object value) {
+            if(row >= this.values.length) {
+                this.values = Arrays.copyOf(this.values, grow(this.values.length, row));
+            }
+            this.values[row] = value;
+        }
+    }
+}
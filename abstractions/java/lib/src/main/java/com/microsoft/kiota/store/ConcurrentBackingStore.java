@@ -0,0 +1,239 @@
+package com.microsoft.kiota.store;
+
+import java.lang.ClassCastException;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import javax.annotation.Nonnull;
+
+import com.microsoft.kiota.TriConsumer;
+
+/**
+ * Thread safe implementation of the backing store. Allows for dirty tracking of changes.
+ * Reads don't take any lock, values are swapped atomically and subscribers are kept in a copy on write array, which makes it suitable for models shared across threads.
+ * The initialization and return only changed values states are shared by all threads, serializing the same model from several threads concurrently is not supported.
+ */
+public class ConcurrentBackingStore implements TrackedBackingStore {
+    private static final AtomicLong subscriptionIdCounter = new AtomicLong();
+    private static final Subscription[] noSubscriptions = new Subscription[0];
+    private volatile boolean isInitializationCompleted = true;
+    private volatile boolean returnOnlyChangedValues;
+    private final AtomicInteger pendingFullSerializations = new AtomicInteger();
+    /** Stores of the nested models flagged to be written with all their values by the serialization in progress */
+    private List<TrackedBackingStore> fullSerializations;
+    private final ConcurrentHashMap<String, Entry> store = new ConcurrentHashMap<>();
+    private final AtomicReference<Subscription[]> subscriptions = new AtomicReference<>(noSubscriptions);
+    public void setIsInitializationCompleted(final boolean value) {
+        this.isInitializationCompleted = value;
+        for(final Entry entry : this.store.values()) {
+            entry.dirty = !value;
+        }
+    }
+    public boolean getIsInitializationCompleted() {
+        return this.isInitializationCompleted;
+    }
+    public void setReturnOnlyChangedValues(final boolean value) {
+        this.returnOnlyChangedValues = value;
+        for(final Entry entry : this.store.values()) {
+            entry.nestedChanges = Entry.NESTED_CHANGES_UNKNOWN; // nested models may have changed since the last serialization
+        }
+    }
+    public boolean getReturnOnlyChangedValues() {
+        return this.returnOnlyChangedValues;
+    }
+    public void clear() {
+        this.store.clear();
+    }
+    public Map<String, Object> enumerate() {
+        final Map<String, Object> result = new HashMap<>();
+        for(final Entry entry : this.store.values()) {
+            final Object value = this.getValueFromEntry(entry);
+            if(value != null) {
+                result.put(entry.key, value);
+            }
+        }
+        return result;
+    }
+    public Iterable<String> enumerateKeysForValuesChangedToNull() {
+        List<String> result = null;
+        for(final Entry entry : this.store.values()) {
+            if(entry.value == null && entry.dirty) {
+                if(result == null) {
+                    result = new ArrayList<>();
+                }
+                result.add(entry.key);
+            }
+        }
+        return result == null ? Collections.emptyList() : result;
+    }
+    @Override
+    public boolean hasChanges() {
+        return this.hasChanges(BackingStoreChanges.newVisitedSet());
+    }
+    @Override
+    public boolean hasChanges(@Nonnull final Set<BackingStore> visited) {
+        if(!visited.add(this)) {
+            return false; // already being looked at through a back reference
+        }
+        for(final Entry entry : this.store.values()) {
+            if(entry.dirty || BackingStoreChanges.hasNestedChanges(entry.value, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    @Override
+    public boolean getSerializeAllValues() {
+        return this.pendingFullSerializations.get() > 0;
+    }
+    @Override
+    public void beginSerialization() {
+        this.completeSerialization(); // the previous serialization may have failed before completing
+        final boolean serializeAllValues = this.pendingFullSerializations.get() > 0;
+        if(!serializeAllValues && !this.returnOnlyChangedValues) {
+            return;
+        }
+        for(final Entry entry : this.store.values()) {
+            final Object value = entry.value;
+            if(serializeAllValues) {
+                this.fullSerializations = BackingStoreChanges.serializeNestedModelsInFull(value, true, this.fullSerializations);
+            } else {
+                final boolean isDirty = entry.dirty;
+                if(isDirty || hasNestedChanges(entry, value)) {
+                    // reassigned models and the items of collections replace the values of the service
+                    this.fullSerializations = BackingStoreChanges.serializeNestedModelsInFull(value, isDirty, this.fullSerializations);
+                }
+            }
+        }
+    }
+    @Override
+    public void completeSerialization() {
+        BackingStoreChanges.completeFullSerializations(this.fullSerializations);
+        this.fullSerializations = null;
+    }
+    @Override
+    public void addFullSerialization() {
+        this.pendingFullSerializations.incrementAndGet();
+    }
+    @Override
+    public void removeFullSerialization() {
+        this.pendingFullSerializations.getAndUpdate(x -> x > 0 ? x - 1 : 0);
+    }
+    private Object getValueFromEntry(final Entry entry) {
+        if(entry == null) {
+            return null;
+        }
+        final Object value = entry.value;
+        if(this.pendingFullSerializations.get() > 0 || !this.returnOnlyChangedValues || entry.dirty || hasNestedChanges(entry, value)) {
+            return value;
+        }
+        return null;
+    }
+    private static boolean hasNestedChanges(final Entry entry, final Object value) {
+        byte nestedChanges = entry.nestedChanges;
+        if(nestedChanges == Entry.NESTED_CHANGES_UNKNOWN) {
+            nestedChanges = BackingStoreChanges.hasNestedChanges(value) ? Entry.NESTED_CHANGES : Entry.NO_NESTED_CHANGES;
+            entry.nestedChanges = nestedChanges;
+        }
+        return nestedChanges == Entry.NESTED_CHANGES;
+    }
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String key) {
+        Objects.requireNonNull(key);
+        final Object value = this.getValueFromEntry(this.store.get(key));
+        try {
+            return (T)value;
+        } catch(ClassCastException ex) {
+            return null;
+        }
+    }
+    public <T> void set(final String key, final T value) {
+        Objects.requireNonNull(key);
+        Entry entry = this.store.get(key);
+        if(entry == null) {
+            final Entry newEntry = new Entry(key);
+            entry = this.store.putIfAbsent(key, newEntry);
+            if(entry == null) {
+                entry = newEntry;
+            }
+        }
+        final Object oldValue = Entry.VALUE.getAndSet(entry, value);
+        entry.dirty = this.isInitializationCompleted;
+        entry.nestedChanges = Entry.NESTED_CHANGES_UNKNOWN;
+        for(final Subscription subscription : this.subscriptions.get()) {
+            subscription.callback.accept(key, oldValue, value);
+        }
+    }
+    public void unsubscribe(final String subscriptionId) {
+        Objects.requireNonNull(subscriptionId);
+        Subscription[] current;
+        Subscription[] updated;
+        do {
+            current = this.subscriptions.get();
+            updated = Arrays.stream(current).filter(x -> !x.id.equals(subscriptionId)).toArray(Subscription[]::new);
+            if(updated.length == current.length) {
+                return;
+            }
+        } while(!this.subscriptions.compareAndSet(current, updated));
+    }
+    public String subscribe(final TriConsumer<String, Object, Object> callback) {
+        final String subscriptionId = Long.toHexString(subscriptionIdCounter.incrementAndGet());
+        subscribe(callback, subscriptionId);
+        return subscriptionId;
+    }
+    public void subscribe(final TriConsumer<String, Object, Object> callback, final String subscriptionId) {
+        Objects.requireNonNull(callback);
+        Objects.requireNonNull(subscriptionId);
+        final Subscription subscription = new Subscription(subscriptionId, callback);
+        Subscription[] current;
+        Subscription[] updated;
+        do {
+            current = this.subscriptions.get();
+            updated = new Subscription[current.length + 1];
+            int count = 0;
+            for(final Subscription existing : current) {
+                if(!existing.id.equals(subscriptionId)) { // same id replaces the existing subscription
+                    updated[count++] = existing;
+                }
+            }
+            updated[count++] = subscription;
+            if(count < updated.length) {
+                updated = Arrays.copyOf(updated, count);
+            }
+        } while(!this.subscriptions.compareAndSet(current, updated));
+    }
+    private static final class Entry {
+        static final AtomicReferenceFieldUpdater<Entry, Object> VALUE = AtomicReferenceFieldUpdater.newUpdater(Entry.class, Object.class, "value");
+        final String key;
+        volatile Object value;
+        volatile boolean dirty;
+        /** Whether the value has nested changes, looked for once while returning only changed values */
+        volatile byte nestedChanges;
+        static final byte NESTED_CHANGES_UNKNOWN = 0;
+        static final byte NO_NESTED_CHANGES = 1;
+        static final byte NESTED_CHANGES = 2;
+        Entry(@Nonnull final String key) {
+            this.key = key;
+        }
+    }
+    private static final class Subscription {
+        final String id;
+        final TriConsumer<String, Object, Object> callback;
+        Subscription(@Nonnull final String id, @Nonnull final TriConsumer<String, Object, Object> callback) {
+            this.id = id;
+            this.callback = callback;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.microsoft.kiota.store;
+
+/** This class is used to create instances of ConcurrentBackingStore */
+public class ConcurrentBackingStoreFactory implements BackingStoreFactory {
+    @Override
+    public BackingStore createBackingStore() {
+        return new ConcurrentBackingStore();
+    }
+}
@@ -4,26 +4,44 @@ import java.lang.ClassCastException;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
+import javax.annotation.Nonnull;
+
 import com.microsoft.kiota.TriConsumer;
 
-import org.javatuples.Pair;
 /** In-memory implementation of the backing store. Allows for dirty tracking of changes. */
-public class InMemoryBackingStore implements BackingStore {
+public class InMemoryBackingStore implements TrackedBackingStore {
+    private static final int DEFAULT_CAPACITY = 8;
     private boolean isInitializationCompleted = true;
     private boolean returnOnlyChangedValues;
-    private final Map<String, Pair<Boolean, Object>> store = new HashMap<>();
+    private int pendingFullSerializations;
+    /** Stores of the nested models flagged to be written with all their values by the serialization in progress */
+    private List<TrackedBackingStore> fullSerializations;
+    /** Key stored in each slot, null for slots that are not in use */
+    private String[] keys = new String[DEFAULT_CAPACITY];
+    private Object[] values = new Object[DEFAULT_CAPACITY];
+    /** One bit per slot, set when the value changed since the initialization completed */
+    private long[] dirty = new long[1];
+    /** One bit per slot, set once the nested changes of the value were looked for while returning only changed values */
+    private long[] nestedChangesChecked = new long[1];
+    /** One bit per slot, set when the value has nested changes, valid when the checked bit is set */
+    private long[] nestedChanges = new long[1];
+    /** Number of slots in use or reserved, one past the highest slot in use */
+    private int slotCount;
     private final Map<String, TriConsumer<String, Object, Object>> subscriptionStore = new HashMap<>();
     public void setIsInitializationCompleted(final boolean value) {
         this.isInitializationCompleted = value;
-        for(final Map.Entry<String, Pair<Boolean, Object>> entry : this.store.entrySet()) {
-            final var wrapper = entry.getValue();
-            final var updatedValue = wrapper.setAt0(Boolean.valueOf(!value));
-            entry.setValue(updatedValue);
+        for(int slot = 0; slot < this.slotCount; slot++) {
+            if(this.keys[slot] != null) {
+                this.setDirty(slot, !value);
+            }
         }
     }
     public boolean getIsInitializationCompleted() {
@@ -31,51 +49,178 @@ public class InMemoryBackingStore implements BackingStore {
     }
     public void setReturnOnlyChangedValues(final boolean value) {
         this.returnOnlyChangedValues = value;
+        Arrays.fill(this.nestedChangesChecked, 0L); // nested models may have changed since the last serialization
     }
     public boolean getReturnOnlyChangedValues() {
         return this.returnOnlyChangedValues;
     }
     public void clear() {
-        this.store.clear();
+        Arrays.fill(this.keys, 0, this.slotCount, null);
+        Arrays.fill(this.values, 0, this.slotCount, null);
+        Arrays.fill(this.dirty, 0L);
+        Arrays.fill(this.nestedChangesChecked, 0L);
+        this.slotCount = 0;
     }
     public Map<String, Object> enumerate() {
         final Map<String, Object> result = new HashMap<>();
-        for(final Map.Entry<String, Pair<Boolean, Object>> entry : this.store.entrySet()) {
-            final Pair<Boolean, Object> wrapper = entry.getValue();
-            final Object value = this.getValueFromWrapper(wrapper);
-
-            if(value != null) {
-                result.put(entry.getKey(), wrapper.getValue1());
+        for(int slot = 0; slot < this.slotCount; slot++) {
+            if(this.keys[slot] != null) {
+                final Object value = this.getValueFromSlot(slot);
+                if(value != null) {
+                    result.put(this.keys[slot], value);
+                }
             }
         }
         return result;
     }
     public Iterable<String> enumerateKeysForValuesChangedToNull() {
-        final List<String> result = new ArrayList<>();
-        for(final Map.Entry<String, Pair<Boolean, Object>> entry : this.store.entrySet()) {
-            final Pair<Boolean, Object> wrapper = entry.getValue();
-            final Object value = wrapper.getValue1();
-            if(value == null && wrapper.getValue0()) {
-                result.add(entry.getKey());
+        List<String> result = null;
+        for(int slot = 0; slot < this.slotCount; slot++) {
+            if(this.keys[slot] != null && this.values[slot] == null && this.isDirty(slot)) {
+                if(result == null) {
+                    result = new ArrayList<>();
+                }
+                result.add(this.keys[slot]);
             }
         }
-        return result;
+        return result == null ? Collections.emptyList() : result;
+    }
+    @Override
+    public boolean hasChanges() {
+        return this.hasChanges(BackingStoreChanges.newVisitedSet());
     }
-    private Object getValueFromWrapper(final Pair<Boolean, Object> wrapper) {
-        if(wrapper != null) {
-            final Boolean hasChanged = wrapper.getValue0();
-            if(!this.returnOnlyChangedValues ||
-                (this.returnOnlyChangedValues && hasChanged != null && hasChanged.booleanValue())) {
-                return wrapper.getValue1();
+    @Override
+    public boolean hasChanges(@Nonnull final Set<BackingStore> visited) {
+        if(!visited.add(this)) {
+            return false; // already being looked at through a back reference
+        }
+        for(int slot = 0; slot < this.slotCount; slot++) {
+            if(this.keys[slot] != null && (this.isDirty(slot) || BackingStoreChanges.hasNestedChanges(this.values[slot], visited))) {
+                return true;
             }
         }
+        return false;
+    }
+    @Override
+    public boolean getSerializeAllValues() {
+        return this.pendingFullSerializations > 0;
+    }
+    @Override
+    public void beginSerialization() {
+        this.completeSerialization(); // the previous serialization may have failed before completing
+        final boolean serializeAllValues = this.pendingFullSerializations > 0;
+        if(!serializeAllValues && !this.returnOnlyChangedValues) {
+            return;
+        }
+        for(int slot = 0; slot < this.slotCount; slot++) {
+            if(this.keys[slot] == null) {
+                continue;
+            }
+            final Object value = this.values[slot];
+            if(serializeAllValues) {
+                this.fullSerializations = BackingStoreChanges.serializeNestedModelsInFull(value, true, this.fullSerializations);
+            } else {
+                final boolean isDirty = this.isDirty(slot);
+                if(isDirty || this.hasNestedChanges(slot)) {
+                    // reassigned models and the items of collections replace the values of the service
+                    this.fullSerializations = BackingStoreChanges.serializeNestedModelsInFull(value, isDirty, this.fullSerializations);
+                }
+            }
+        }
+    }
+    @Override
+    public void completeSerialization() {
+        BackingStoreChanges.completeFullSerializations(this.fullSerializations);
+        this.fullSerializations = null;
+    }
+    @Override
+    public void addFullSerialization() {
+        this.pendingFullSerializations++;
+    }
+    @Override
+    public void removeFullSerialization() {
+        if(this.pendingFullSerializations > 0) {
+            this.pendingFullSerializations--;
+        }
+    }
+    private Object getValueFromSlot(final int slot) {
+        final Object value = this.values[slot];
+        if(this.pendingFullSerializations > 0 || !this.returnOnlyChangedValues || this.isDirty(slot) || this.hasNestedChanges(slot)) {
+            return value;
+        }
         return null;
     }
-    @SuppressWarnings("unchecked")
+    private boolean hasNestedChanges(final int slot) {
+        if(!isSet(this.nestedChangesChecked, slot)) {
+            setBit(this.nestedChanges, slot, BackingStoreChanges.hasNestedChanges(this.values[slot]));
+            setBit(this.nestedChangesChecked, slot, true);
+        }
+        return isSet(this.nestedChanges, slot);
+    }
+    private boolean isDirty(final int slot) {
+        return isSet(this.dirty, slot);
+    }
+    private void setDirty(final int slot, final boolean value) {
+        setBit(this.dirty, slot, value);
+    }
+    private static boolean isSet(final long[] bits, final int slot) {
+        return (bits[slot >>> 6] & (1L << slot)) != 0;
+    }
+    private static void setBit(final long[] bits, final int slot, final boolean value) {
+        if(value) {
+            bits[slot >>> 6] |= 1L << slot;
+        } else {
+            bits[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+    private int findSlot(final String key) {
+        for(int slot = 0; slot < this.slotCount; slot++) {
+            if(key.equals(this.keys[slot])) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+    /**
+     * Gets the slot currently holding the key, honoring the slot assigned by the model when it is free.
+     * @param slot the slot assigned by the model, negative when the key isn't known to the model.
+     * @param key the key.
+     * @return the slot holding the key, -1 if the key is not stored.
+     */
+    private int resolveSlot(final int slot, final String key) {
+        if(slot >= 0 && slot < this.slotCount) {
+            final String slotKey = this.keys[slot];
+            if(slotKey == key || key.equals(slotKey)) { // generated models pass interned literals
+                return slot;
+            }
+        }
+        return this.findSlot(key);
+    }
+    private void ensureCapacity(final int slotCount) {
+        if(slotCount > this.keys.length) {
+            final int capacity = Math.max(this.keys.length << 1, slotCount);
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+        final int words = ((slotCount - 1) >>> 6) + 1;
+        if(words > this.dirty.length) {
+            this.dirty = Arrays.copyOf(this.dirty, words);
+            this.nestedChangesChecked = Arrays.copyOf(this.nestedChangesChecked, words);
+            this.nestedChanges = Arrays.copyOf(this.nestedChanges, words);
+        }
+    }
     public <T> T get(final String key) {
+        return this.get(-1, key);
+    }
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final int slot, final String key) {
         Objects.requireNonNull(key);
-        final Pair<Boolean, Object> wrapper = this.store.get(key);
-        final Object value = this.getValueFromWrapper(wrapper);
+        final int storedSlot = this.resolveSlot(slot, key);
+        if(storedSlot < 0) {
+            return null;
+        }
+        final Object value = this.getValueFromSlot(storedSlot);
         try {
             return (T)value;
         } catch(ClassCastException ex) {
@@ -83,11 +228,28 @@ public class InMemoryBackingStore implements BackingStore {
         }
     }
     public <T> void set(final String key, final T value) {
+        this.set(-1, key, value);
+    }
+    @Override
+    public <T> void set(final int slot, final String key, final T value) {
         Objects.requireNonNull(key);
-        final Pair<Boolean, Object> valueToAdd = Pair.with(Boolean.valueOf(this.isInitializationCompleted), value);
-        final Pair<Boolean, Object> oldValue = this.store.put(key, valueToAdd);
+        int storedSlot = this.resolveSlot(slot, key);
+        if(storedSlot < 0) {
+            if(slot >= 0 && (slot >= this.slotCount || this.keys[slot] == null)) {
+                storedSlot = slot;
+            } else {
+                storedSlot = Math.max(this.slotCount, slot + 1);
+            }
+            this.ensureCapacity(storedSlot + 1);
+            this.keys[storedSlot] = key;
+            this.slotCount = Math.max(this.slotCount, storedSlot + 1);
+        }
+        final Object oldValue = this.values[storedSlot];
+        this.values[storedSlot] = value;
+        this.setDirty(storedSlot, this.isInitializationCompleted);
+        setBit(this.nestedChangesChecked, storedSlot, false);
         for(final TriConsumer<String, Object, Object> callback : this.subscriptionStore.values()) {
-            callback.accept(key, oldValue.getValue1(), value);
+            callback.accept(key, oldValue, value);
         }
     }
     public void unsubscribe(final String subscriptionId) {
@@ -104,4 +266,4 @@ public class InMemoryBackingStore implements BackingStore {
         Objects.requireNonNull(subscriptionId);
         this.subscriptionStore.put(subscriptionId, callback);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.microsoft.kiota.store;
+
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Backing store taking part in the change tracking of the model graph it belongs to, implemented by the stores of this package.
+ * While their serialization is in progress, stores returning only changed values flag the nested models that replace a value of the service, like the items of a collection, so they're serialized with all their values. Not public by intention.
+ */
+interface TrackedBackingStore extends BackingStore {
+    /**
+     * Gets whether any value changed since the initialization, skipping the stores already visited so back references don't loop.
+     * @param visited the stores already visited, this store is added to it.
+     * @return whether any value of this store or of its nested models changed.
+     */
+    boolean hasChanges(@Nonnull final Set<BackingStore> visited);
+    /**
+     * Gets whether the next serialization of the model writes all its values instead of only the changed ones.
+     * @return whether the next serialization writes all the values.
+     */
+    boolean getSerializeAllValues();
+    /**
+     * Starts a serialization of the model, flagging the nested models that replace a value of the service, like the items of a collection, to be written with all their values until the serialization completes.
+     * Flags left by a previous serialization that didn't complete are removed first.
+     */
+    void beginSerialization();
+    /**
+     * Completes a serialization of the model, removing the flags set on its nested models when it started.
+     */
+    void completeSerialization();
+    /**
+     * Requests the serialization of the model to write all its values, while the serialization of a model it is nested in is in progress. Requests are counted as the same model can appear several times in a payload.
+     */
+    void addFullSerialization();
+    /**
+     * Removes a request to write all the values of the model, once the serialization of the model it is nested in completes.
+     */
+    void removeFullSerialization();
+}
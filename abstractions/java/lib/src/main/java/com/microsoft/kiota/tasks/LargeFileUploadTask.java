@@ -0,0 +1,377 @@
+package com.microsoft.kiota.tasks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.ByteBufferInputStream;
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestAdapter;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+
+/**
+ * Uploads a large file to an upload session by splitting it in slices.
+ * Slices are memory mapped from the file, are uploaded concurrently and are retried individually when they fail with a server error, a throttling response or an I/O error.
+ * Retries wait for the delay of the Retry-After header of the response, or an exponential backoff without it. They come on top of the retries of the request adapter middleware, if any.
+ * The first slice failing for good cancels the slices not started yet.
+ * @param <T> the type of the item returned by the service once the upload is completed.
+ */
+public class LargeFileUploadTask<T extends Parsable> {
+    /** Default maximum size of a slice, a multiple of 320 KiB as required by most upload session services. */
+    public static final long DEFAULT_MAX_SLICE_SIZE = 5L * 1024 * 1024;
+    /** Absolute maximum size of a slice */
+    public static final long MAX_SLICE_SIZE = 60L * 1024 * 1024;
+    /** Default number of slices uploaded concurrently */
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+    /** Default number of retries for a single slice */
+    public static final int DEFAULT_MAX_SLICE_RETRIES = 3;
+    /** Delay before the first retry of a slice without Retry-After header, doubled for every following retry */
+    private static final long BASE_RETRY_DELAY_MILLIS = 1000;
+    /** Maximum delay before retrying a slice */
+    private static final long MAX_RETRY_DELAY_MILLIS = 180_000;
+    private static final String retryAfterHeader = "Retry-After";
+    private final RequestAdapter requestAdapter;
+    private final FileChannel file;
+    private final ParsableFactory<T> itemFactory;
+    private final long maxSliceSize;
+    private final int maxConcurrency;
+    private final int maxSliceRetries;
+    private final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings;
+    private UploadSession uploadSession;
+    /** Delay before the first retry of a slice without Retry-After header, lowered by tests */
+    long baseRetryDelayMillis = BASE_RETRY_DELAY_MILLIS;
+    /**
+     * Initializes a new instance of the LargeFileUploadTask class with the default slice size and concurrency.
+     * @param requestAdapter the request adapter to use to send the slices.
+     * @param uploadSession the upload session created by the service.
+     * @param file the file to upload, opened for reading.
+     * @param itemFactory the factory to create the item returned by the service once the upload is completed.
+     */
+    public LargeFileUploadTask(@Nonnull final RequestAdapter requestAdapter, @Nonnull final UploadSession uploadSession, @Nonnull final FileChannel file, @Nonnull final ParsableFactory<T> itemFactory) {
+        this(requestAdapter, uploadSession, file, itemFactory, DEFAULT_MAX_SLICE_SIZE, DEFAULT_MAX_CONCURRENCY, DEFAULT_MAX_SLICE_RETRIES, null);
+    }
+    /**
+     * Initializes a new instance of the LargeFileUploadTask class.
+     * @param requestAdapter the request adapter to use to send the slices.
+     * @param uploadSession the upload session created by the service.
+     * @param file the file to upload, opened for reading.
+     * @param itemFactory the factory to create the item returned by the service once the upload is completed.
+     * @param maxSliceSize the maximum size of a slice in bytes.
+     * @param maxConcurrency the maximum number of slices uploaded concurrently.
+     * @param maxSliceRetries the maximum number of retries for a single slice.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     */
+    public LargeFileUploadTask(@Nonnull final RequestAdapter requestAdapter, @Nonnull final UploadSession uploadSession, @Nonnull final FileChannel file, @Nonnull final ParsableFactory<T> itemFactory, final long maxSliceSize, final int maxConcurrency, final int maxSliceRetries, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
+        this.requestAdapter = Objects.requireNonNull(requestAdapter, "parameter requestAdapter cannot be null");
+        this.uploadSession = Objects.requireNonNull(uploadSession, "parameter uploadSession cannot be null");
+        this.file = Objects.requireNonNull(file, "parameter file cannot be null");
+        this.itemFactory = Objects.requireNonNull(itemFactory, "parameter itemFactory cannot be null");
+        Objects.requireNonNull(uploadSession.getUploadUrl(), "the upload session must have an upload url");
+        if(maxSliceSize <= 0)
+            throw new IllegalArgumentException("Max slice size must be positive");
+        if(maxSliceSize > MAX_SLICE_SIZE)
+            throw new IllegalArgumentException("Max slice size cannot exceed " + MAX_SLICE_SIZE);
+        if(maxConcurrency <= 0)
+            throw new IllegalArgumentException("Max concurrency must be positive");
+        if(maxSliceRetries < 0)
+            throw new IllegalArgumentException("Max slice retries cannot be negative");
+        this.maxSliceSize = maxSliceSize;
+        this.maxConcurrency = maxConcurrency;
+        this.maxSliceRetries = maxSliceRetries;
+        this.errorMappings = errorMappings;
+    }
+    /**
+     * Gets the upload session, updated with the ranges reported by the service as slices are uploaded.
+     * @return the upload session.
+     */
+    @Nonnull
+    public UploadSession getUploadSession() {
+        return uploadSession;
+    }
+    /**
+     * Uploads the ranges of the file the upload session expects, or the whole file if the session doesn't report any.
+     * @return a {@link CompletableFuture} with the item returned by the service once the upload is completed, null if the service doesn't return it.
+     */
+    @Nonnull
+    public CompletableFuture<T> uploadAsync() {
+        final List<Range> slices;
+        final long fileSize;
+        try {
+            fileSize = file.size();
+            slices = getSlices(uploadSession.getNextExpectedRanges(), fileSize);
+        } catch (IOException | IllegalArgumentException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        final Queue<Range> pending = new ConcurrentLinkedQueue<>(slices);
+        final AtomicReference<T> result = new AtomicReference<>();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final int workersCount = Math.max(1, Math.min(maxConcurrency, slices.size()));
+        final CompletableFuture<?>[] workers = new CompletableFuture<?>[workersCount];
+        for(int i = 0; i < workersCount; i++) {
+            workers[i] = uploadPendingSlicesAsync(pending, result, cancelled, fileSize);
+        }
+        return CompletableFuture.allOf(workers).thenApply(x -> result.get());
+    }
+    /**
+     * Gets the ranges the service is still expecting from the upload session and uploads them.
+     * @return a {@link CompletableFuture} with the item returned by the service once the upload is completed, null if the service doesn't return it.
+     */
+    @Nonnull
+    public CompletableFuture<T> resumeAsync() {
+        final RequestInformation requestInfo;
+        try {
+            requestInfo = getSessionRequestInformation(HttpMethod.GET);
+        } catch (URISyntaxException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return requestAdapter.sendAsync(requestInfo, UploadSession::createFromDiscriminatorValue, null, errorMappings)
+            .thenCompose(session -> {
+                if(session != null) {
+                    if(session.getUploadUrl() == null) {
+                        session.setUploadUrl(uploadSession.getUploadUrl());
+                    }
+                    uploadSession = session;
+                }
+                return uploadAsync();
+            });
+    }
+    private CompletableFuture<Void> uploadPendingSlicesAsync(@Nonnull final Queue<Range> pending, @Nonnull final AtomicReference<T> result, @Nonnull final AtomicBoolean cancelled, final long fileSize) {
+        final Range slice = cancelled.get() ? null : pending.poll();
+        if(slice == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return uploadSliceAsync(slice, 0, cancelled).whenComplete((sliceResult, ex) -> {
+            if(ex != null) {
+                // the other slices can't complete the upload, stop uploading them
+                cancelled.set(true);
+                pending.clear();
+            }
+        }).thenCompose(sliceResult -> {
+            if(sliceResult != null) {
+                final UploadSession session = sliceResult.getSession();
+                if(session == null) {
+                    result.set(sliceResult.getItem());
+                } else {
+                    this.updateSession(session, fileSize);
+                }
+            }
+            return uploadPendingSlicesAsync(pending, result, cancelled, fileSize);
+        });
+    }
+    private CompletableFuture<UploadSliceResult<T>> uploadSliceAsync(@Nonnull final Range slice, final int attempt, @Nonnull final AtomicBoolean cancelled) {
+        final RequestInformation requestInfo;
+        try {
+            requestInfo = getSliceRequestInformation(slice);
+        } catch (IOException | URISyntaxException | IllegalArgumentException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return requestAdapter.sendAsync(requestInfo, (n) -> new UploadSliceResult<>(itemFactory.Create(n)), null, errorMappings)
+            .handle((sliceResult, ex) -> {
+                if(ex == null) {
+                    return CompletableFuture.completedFuture(sliceResult);
+                } else if(attempt < maxSliceRetries && !cancelled.get() && isRetryable(ex)) {
+                    final long delay = getRetryDelayMillis(ex, attempt, baseRetryDelayMillis);
+                    return CompletableFuture.supplyAsync(() -> null, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                        .thenCompose(x -> uploadSliceAsync(slice, attempt + 1, cancelled));
+                } else {
+                    return CompletableFuture.<UploadSliceResult<T>>failedFuture(ex);
+                }
+            }).thenCompose(x -> x);
+    }
+    /**
+     * Gets whether a slice failure is transient: a server error, a throttling response or an I/O error.
+     * Other failures like client errors fail the same way when retried.
+     */
+    static boolean isRetryable(@Nullable final Throwable failure) {
+        Throwable cause = failure;
+        while(cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if(cause instanceof ApiException) {
+            final int statusCode = ((ApiException)cause).getResponseStatusCode();
+            return statusCode >= 500 && statusCode < 600 || statusCode == 429;
+        }
+        for(; cause != null; cause = cause.getCause()) {
+            if(cause instanceof IOException || cause instanceof UncheckedIOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    /**
+     * Gets the delay before retrying a slice: the delay of the Retry-After header of the response when there is one, an exponential backoff otherwise.
+     * @param failure the failure of the slice.
+     * @param attempt the number of the attempt that failed, starting at 0.
+     * @param baseDelayMillis the delay before the first retry without Retry-After header.
+     * @return the delay in milliseconds.
+     */
+    static long getRetryDelayMillis(@Nullable final Throwable failure, final int attempt, final long baseDelayMillis) {
+        Throwable cause = failure;
+        while(cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if(cause instanceof ApiException) {
+            for(final Map.Entry<String, List<String>> header : ((ApiException)cause).getResponseHeaders().entrySet()) {
+                if(retryAfterHeader.equalsIgnoreCase(header.getKey()) && header.getValue() != null && !header.getValue().isEmpty()) {
+                    final long retryAfter = parseRetryAfterMillis(header.getValue().get(0));
+                    if(retryAfter >= 0) {
+                        return Math.min(retryAfter, MAX_RETRY_DELAY_MILLIS);
+                    }
+                }
+            }
+        }
+        return Math.min(baseDelayMillis << Math.min(attempt, 20), MAX_RETRY_DELAY_MILLIS);
+    }
+    /** Parses a Retry-After value in seconds or as a date, -1 when it is neither */
+    private static long parseRetryAfterMillis(@Nonnull final String value) {
+        try {
+            return Math.max(0, Long.parseLong(value.trim())) * 1000;
+        } catch (NumberFormatException ex) {
+            // not a number of seconds, tries a date
+        }
+        try {
+            final Instant retryAt = Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(value.trim()));
+            return Math.max(0, Duration.between(Instant.now(), retryAt).toMillis());
+        } catch (DateTimeParseException ex) {
+            return -1;
+        }
+    }
+    /**
+     * Updates the session with the one returned for a slice. Slices complete in any order, so the expected ranges are intersected with the ones known so far instead of replaced, an older response can't bring back ranges a newer one removed.
+     */
+    private synchronized void updateSession(@Nonnull final UploadSession session, final long fileSize) {
+        if(session.getUploadUrl() == null) {
+            session.setUploadUrl(uploadSession.getUploadUrl());
+        }
+        if(session.getExpirationDateTime() == null) {
+            session.setExpirationDateTime(uploadSession.getExpirationDateTime());
+        }
+        if(session.getNextExpectedRanges() != null && uploadSession.getNextExpectedRanges() != null) {
+            session.setNextExpectedRanges(intersectRanges(uploadSession.getNextExpectedRanges(), session.getNextExpectedRanges(), fileSize));
+        }
+        uploadSession = session;
+    }
+    /**
+     * Gets the ranges expected by both lists of expected ranges, as the service only ever removes ranges from the ones it expects.
+     * @param first the first expected ranges.
+     * @param second the second expected ranges.
+     * @param fileSize the size of the file, to bound the ranges without end.
+     * @return the ranges present in both lists.
+     */
+    static List<String> intersectRanges(@Nonnull final List<String> first, @Nonnull final List<String> second, final long fileSize) {
+        final List<Range> firstRanges = parseRanges(first, fileSize);
+        final List<Range> secondRanges = parseRanges(second, fileSize);
+        final List<String> result = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while(i < firstRanges.size() && j < secondRanges.size()) {
+            final Range a = firstRanges.get(i);
+            final Range b = secondRanges.get(j);
+            final long start = Math.max(a.start, b.start);
+            final long end = Math.min(a.end, b.end);
+            if(start <= end) {
+                result.add(start + "-" + end);
+            }
+            if(a.end < b.end) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result;
+    }
+    private static List<Range> parseRanges(@Nonnull final List<String> expectedRanges, final long fileSize) {
+        final List<Range> result = new ArrayList<>(expectedRanges.size());
+        for(final String expectedRange : expectedRanges) {
+            result.add(parseRange(expectedRange, fileSize));
+        }
+        result.sort(Comparator.comparingLong(x -> x.start));
+        return result;
+    }
+    private static Range parseRange(@Nonnull final String expectedRange, final long fileSize) {
+        final String[] bounds = expectedRange.split("-", -1);
+        if(bounds.length != 2 || bounds[0].isEmpty()) {
+            throw new IllegalArgumentException("invalid expected range " + expectedRange);
+        }
+        final long start = Long.parseLong(bounds[0].trim());
+        final long end = bounds[1].isBlank() ? fileSize - 1 : Math.min(Long.parseLong(bounds[1].trim()), fileSize - 1);
+        return new Range(start, end);
+    }
+    private RequestInformation getSessionRequestInformation(@Nonnull final HttpMethod method) throws URISyntaxException {
+        final RequestInformation requestInfo = new RequestInformation();
+        requestInfo.httpMethod = method;
+        requestInfo.setUri(new URI(uploadSession.getUploadUrl()));
+        return requestInfo;
+    }
+    private RequestInformation getSliceRequestInformation(@Nonnull final Range slice) throws IOException, URISyntaxException {
+        final RequestInformation requestInfo = getSessionRequestInformation(HttpMethod.PUT);
+        final long fileSize = file.size();
+        if(slice.start < 0 || slice.end >= fileSize) {
+            throw new IllegalArgumentException("the slice " + slice.start + "-" + slice.end + " is out of the file bounds");
+        }
+        final ByteBufferInputStream content = new ByteBufferInputStream(file.map(FileChannel.MapMode.READ_ONLY, slice.start, slice.getLength()));
+        if(content.getLength() != slice.getLength()) {
+            throw new IOException("mapped " + content.getLength() + " bytes for a slice of " + slice.getLength() + " bytes");
+        }
+        requestInfo.setStreamContent(content);
+        requestInfo.addRequestHeader(contentRangeHeader, "bytes " + slice.start + "-" + slice.end + "/" + fileSize);
+        requestInfo.addRequestHeader(contentLengthHeader, Long.toString(slice.getLength()));
+        return requestInfo;
+    }
+    private static final String contentRangeHeader = "Content-Range";
+    private static final String contentLengthHeader = "Content-Length";
+    List<Range> getSlices(@Nullable final List<String> expectedRanges, final long fileSize) {
+        final List<Range> result = new ArrayList<>();
+        if(expectedRanges == null || expectedRanges.isEmpty()) {
+            addSlices(result, 0, fileSize - 1);
+        } else {
+            for(final String expectedRange : expectedRanges) {
+                final Range range = parseRange(expectedRange, fileSize);
+                addSlices(result, range.start, range.end);
+            }
+        }
+        return result;
+    }
+    private void addSlices(@Nonnull final List<Range> slices, final long start, final long end) {
+        for(long sliceStart = start; sliceStart <= end; sliceStart += maxSliceSize) {
+            slices.add(new Range(sliceStart, Math.min(sliceStart + maxSliceSize - 1, end)));
+        }
+    }
+    /** A range of bytes of the file, bounds are inclusive. */
+    static class Range {
+        final long start;
+        final long end;
+        Range(final long start, final long end) {
+            this.start = start;
+            this.end = end;
+        }
+        long getLength() {
+            return end - start + 1;
+        }
+    }
+}
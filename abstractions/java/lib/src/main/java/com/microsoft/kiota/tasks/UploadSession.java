@@ -0,0 +1,128 @@
+package com.microsoft.kiota.tasks;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.microsoft.kiota.serialization.AdditionalDataHolder;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.SerializationWriter;
+
+/** Represents the upload session returned by the service for resumable uploads. */
+public class UploadSession implements AdditionalDataHolder, Parsable {
+    /** Stores additional data not described in the OpenAPI description found when deserializing. Can be used for serialization as well. */
+    private Map<String, Object> _additionalData;
+    /** The date and time in UTC when the upload session will expire. */
+    private OffsetDateTime _expirationDateTime;
+    /** The ranges of the file that remain to be uploaded, in the start-end or start- format. */
+    private List<String> _nextExpectedRanges;
+    /** The URL endpoint that accepts the PUT requests for the byte ranges of the file. */
+    private String _uploadUrl;
+    /**
+     * Instantiates a new UploadSession and sets the default values.
+     */
+    public UploadSession() {
+        this.setAdditionalData(new HashMap<>());
+    }
+    /**
+     * Creates a new instance of the appropriate class based on discriminator value
+     * @param parseNode The parse node to use to read the discriminator value and create the object
+     * @return a UploadSession
+     */
+    @Nonnull
+    public static UploadSession createFromDiscriminatorValue(@Nonnull final ParseNode parseNode) {
+        Objects.requireNonNull(parseNode, "parseNode parameter cannot be null");
+        return new UploadSession();
+    }
+    /**
+     * Gets the AdditionalData property value. Stores additional data not described in the OpenAPI description found when deserializing. Can be used for serialization as well.
+     * @return a Map<String, Object>
+     */
+    @Nonnull
+    public Map<String, Object> getAdditionalData() {
+        return this._additionalData;
+    }
+    /**
+     * Gets the expirationDateTime property value. The date and time in UTC when the upload session will expire.
+     * @return a OffsetDateTime
+     */
+    @Nullable
+    public OffsetDateTime getExpirationDateTime() {
+        return this._expirationDateTime;
+    }
+    /**
+     * Gets the nextExpectedRanges property value. The ranges of the file that remain to be uploaded, in the start-end or start- format.
+     * @return a List<String>
+     */
+    @Nullable
+    public List<String> getNextExpectedRanges() {
+        return this._nextExpectedRanges;
+    }
+    /**
+     * Gets the uploadUrl property value. The URL endpoint that accepts the PUT requests for the byte ranges of the file.
+     * @return a String
+     */
+    @Nullable
+    public String getUploadUrl() {
+        return this._uploadUrl;
+    }
+    /**
+     * The deserialization information for the current model
+     * @return a Map<String, Consumer<ParseNode>>
+     */
+    @Nonnull
+    public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+        final UploadSession currentObject = this;
+        return new HashMap<>(3) {{
+            this.put("expirationDateTime", (n) -> { currentObject.setExpirationDateTime(n.getOffsetDateTimeValue()); });
+            this.put("nextExpectedRanges", (n) -> { currentObject.setNextExpectedRanges(n.getCollectionOfPrimitiveValues(String.class)); });
+            this.put("uploadUrl", (n) -> { currentObject.setUploadUrl(n.getStringValue()); });
+        }};
+    }
+    /**
+     * Serializes information the current object
+     * @param writer Serialization writer to use to serialize this model
+     */
+    public void serialize(@Nonnull final SerializationWriter writer) {
+        Objects.requireNonNull(writer);
+        writer.writeOffsetDateTimeValue("expirationDateTime", this.getExpirationDateTime());
+        writer.writeCollectionOfPrimitiveValues("nextExpectedRanges", this.getNextExpectedRanges());
+        writer.writeStringValue("uploadUrl", this.getUploadUrl());
+        writer.writeAdditionalData(this.getAdditionalData());
+    }
+    /**
+     * Sets the AdditionalData property value. Stores additional data not described in the OpenAPI description found when deserializing. Can be used for serialization as well.
+     * @param value Value to set for the AdditionalData property.
+     */
+    public void setAdditionalData(@Nullable final Map<String, Object> value) {
+        this._additionalData = value;
+    }
+    /**
+     * Sets the expirationDateTime property value. The date and time in UTC when the upload session will expire.
+     * @param value Value to set for the expirationDateTime property.
+     */
+    public void setExpirationDateTime(@Nullable final OffsetDateTime value) {
+        this._expirationDateTime = value;
+    }
+    /**
+     * Sets the nextExpectedRanges property value. The ranges of the file that remain to be uploaded, in the start-end or start- format.
+     * @param value Value to set for the nextExpectedRanges property.
+     */
+    public void setNextExpectedRanges(@Nullable final List<String> value) {
+        this._nextExpectedRanges = value;
+    }
+    /**
+     * Sets the uploadUrl property value. The URL endpoint that accepts the PUT requests for the byte ranges of the file.
+     * @param value Value to set for the uploadUrl property.
+     */
+    public void setUploadUrl(@Nullable final String value) {
+        this._uploadUrl = value;
+    }
+}
@@ -0,0 +1,52 @@
+package com.microsoft.kiota.tasks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.SerializationWriter;
+
+/**
+ * Response of a slice upload, the service either returns the updated upload session or the uploaded item once the last slice is received.
+ * Both shapes are deserialized in a single pass and told apart by the presence of the next expected ranges.
+ */
+class UploadSliceResult<T extends Parsable> implements Parsable {
+    private final T item;
+    private final UploadSession session = new UploadSession();
+    UploadSliceResult(@Nonnull final T item) {
+        this.item = Objects.requireNonNull(item);
+    }
+    @Nonnull
+    public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+        final Map<String, Consumer<ParseNode>> result = new HashMap<>(item.getFieldDeserializers());
+        for(final Map.Entry<String, Consumer<ParseNode>> entry : session.getFieldDeserializers().entrySet()) {
+            result.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+    public void serialize(@Nonnull final SerializationWriter writer) {
+        item.serialize(writer);
+    }
+    /**
+     * Gets the upload session returned by the service if the upload is not completed.
+     * @return the upload session, null if the upload is completed.
+     */
+    @Nullable
+    UploadSession getSession() {
+        return session.getNextExpectedRanges() == null ? null : session;
+    }
+    /**
+     * Gets the uploaded item if the upload is completed.
+     * @return the uploaded item, null if the upload is not completed.
+     */
+    @Nullable
+    T getItem() {
+        return session.getNextExpectedRanges() == null ? item : null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.microsoft.kiota;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.EnumSet;
+import java.util.Objects;
+
+import com.microsoft.kiota.serialization.EnumCodec;
+import com.microsoft.kiota.serialization.ValuedEnum;
+
+class EnumCodecTest {
+    @Test
+    void parsesValues() {
+        final var codec = EnumCodec.forClass(TestEnum.class);
+        assertSame(codec, EnumCodec.forClass(TestEnum.class));
+        assertEquals(TestEnum.First, codec.parse("first"));
+        assertEquals(TestEnum.Second, codec.parse("second-value"));
+        assertNull(codec.parse("Second"));
+        assertNull(codec.parse("unknown"));
+        assertEquals(EnumSet.of(TestEnum.First, TestEnum.Second), codec.parseSet("first,,second-value,unknown"));
+    }
+    @Test
+    void formatsValues() {
+        final var codec = EnumCodec.forClass(TestEnum.class);
+        assertEquals("first", codec.format(TestEnum.First));
+        assertEquals("first,Second", codec.formatSet(EnumSet.allOf(TestEnum.class)));
+        assertNull(codec.formatSet(EnumSet.noneOf(TestEnum.class)));
+    }
+    public enum TestEnum implements ValuedEnum {
+        First("first"),
+        Second("Second");
+        public final String value;
+        TestEnum(final String value) {
+            this.value = value;
+        }
+        public String getValue() { return this.value; }
+        public static TestEnum forValue(final String searchValue) {
+            Objects.requireNonNull(searchValue);
+            switch(searchValue) {
+                case "first": return First;
+                case "second-value": return Second;
+                default: return null;
+            }
+        }
+    }
+}
@@ -5,6 +5,11 @@ package com.microsoft.kiota;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
@@ -43,6 +48,70 @@ class RequestInformationTest {
         assertTrue(result.containsKey("%24select"));
         assertFalse(result.containsKey("select"));
     }
+    @Test
+    void bindsQueryParametersFields() throws URISyntaxException {
+        final var requestInfo = new RequestInformation();
+        requestInfo.urlTemplate = "http://localhost/me{?%24select,%24count,%24filter,ids,scores}";
+        final var qParams = new BoundQueryParameters();
+        qParams.Select = new String[] { "id", "displayName" };
+        qParams.Count = true;
+        qParams.ids = new int[] { 1, 2 };
+        qParams.scores = new Double[] { 1.5d };
+
+        requestInfo.addQueryParameters(qParams);
+
+        final var result = requestInfo.getQueryParameters();
+        assertEquals(Arrays.asList("id", "displayName"), result.get("%24select"));
+        assertEquals(Boolean.TRUE, result.get("%24count"));
+        assertEquals(Arrays.asList(1, 2), result.get("ids"));
+        assertEquals(Arrays.asList(1.5d), result.get("scores"));
+        // null fields are skipped and static fields are not query parameters
+        assertFalse(result.containsKey("%24filter"));
+        assertFalse(result.containsKey("Filter"));
+        assertFalse(result.containsKey("Select"));
+        assertFalse(result.containsKey("defaultTop"));
+        assertEquals(4, result.size());
+        assertEquals("http://localhost/me?%24select=id,displayName&%24count=true&ids=1,2&scores=1.5", requestInfo.getUri().toString());
+    }
+    @Test
+    void bindsQueryParametersOfEachInstance() {
+        final var first = new RequestInformation();
+        first.addQueryParameters(new BoundQueryParameters() {{
+            this.Filter = "startsWith(displayName, 'a')";
+        }});
+        final var second = new RequestInformation();
+        second.addQueryParameters(new BoundQueryParameters() {{
+            this.ids = new int[0];
+        }});
+        assertEquals(1, first.getQueryParameters().size());
+        assertEquals("startsWith(displayName, 'a')", first.getQueryParameters().get("%24filter"));
+        assertEquals(1, second.getQueryParameters().size());
+        assertEquals(Arrays.asList(), second.getQueryParameters().get("ids"));
+    }
+    @Test
+    void setsFileContent() throws IOException {
+        final var file = Files.createTempFile("kiota", ".txt");
+        try {
+            Files.writeString(file, "0123456789");
+            try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final var requestInfo = new RequestInformation();
+                requestInfo.setFileContent(channel, 2, 5);
+                assertTrue(requestInfo.content.markSupported());
+                assertEquals(5, ((RewindableContent)requestInfo.content).getLength());
+                assertEquals("23456", new String(requestInfo.content.readAllBytes(), StandardCharsets.UTF_8));
+                requestInfo.content.reset();
+                assertEquals("23456", new String(requestInfo.content.readAllBytes(), StandardCharsets.UTF_8));
+                requestInfo.content.reset();
+                assertEquals('2', requestInfo.content.read());
+                assertEquals('3', requestInfo.content.read());
+                assertEquals(3, requestInfo.content.skip(10));
+                assertEquals(-1, requestInfo.content.read());
+                assertEquals("application/octet-stream", requestInfo.getRequestHeaders().get("Content-Type"));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
 }
 class GetQueryParameters
 {
@@ -57,3 +126,15 @@ class GetQueryParameters
     @QueryParameter(name = "%24search")
     public String Search;
 }
+class BoundQueryParameters
+{
+    public static Integer defaultTop = 10;
+    @QueryParameter(name = "%24select")
+    public String[] Select;
+    @QueryParameter(name = "%24count")
+    public Boolean Count;
+    @QueryParameter(name = "%24filter")
+    public String Filter;
+    public int[] ids;
+    public Double[] scores;
+}
@@ -0,0 +1,81 @@
+package com.microsoft.kiota;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.microsoft.kiota.serialization.ValueWriterDispatch;
+
+class ValueWriterDispatchTest {
+    @Test
+    void writesValuesWithTheirWriterMethod() {
+        final var writer = mock(SerializationWriter.class);
+        assertTrue(ValueWriterDispatch.write(writer, "count", 3));
+        assertTrue(ValueWriterDispatch.write(writer, "tags", List.of("a")));
+        verify(writer).writeIntegerValue("count", 3);
+        verify(writer).writeCollectionOfPrimitiveValues("tags", List.of("a"));
+        assertFalse(ValueWriterDispatch.write(writer, "object", new TestObject()));
+    }
+    @Test
+    void writesNumbersWithoutDedicatedTypesAsNumbers() {
+        final var writer = mock(SerializationWriter.class);
+        assertTrue(ValueWriterDispatch.write(writer, "double", 1.5d));
+        assertTrue(ValueWriterDispatch.write(writer, "big", new BigInteger("123456789012345678901234567890")));
+        verify(writer).writeDoubleValue("double", 1.5d);
+        verify(writer).writeBigDecimalValue("big", new BigDecimal("123456789012345678901234567890"));
+    }
+    @Test
+    void writesModelsAndEnumsWithTheirWriterMethod() {
+        final var writer = mock(SerializationWriter.class);
+        final var model = mock(Parsable.class);
+        assertTrue(ValueWriterDispatch.write(writer, "model", model));
+        assertTrue(ValueWriterDispatch.write(writer, "unit", TimeUnit.SECONDS));
+        verify(writer).writeObjectValue("model", model);
+        verify(writer).writeEnumValue("unit", TimeUnit.SECONDS);
+    }
+    @Test
+    void visitsMapEntries() {
+        final var map = new LinkedHashMap<Object, Object>();
+        map.put("name", "value");
+        map.put(2, null);
+        assertTrue(ValueWriterDispatch.hasProperties(map.getClass()));
+        final var properties = new LinkedHashMap<String, Object>();
+        ValueWriterDispatch.forEachProperty(map, properties::put);
+        assertEquals(2, properties.size());
+        assertEquals("value", properties.get("name"));
+        assertTrue(properties.containsKey("2"));
+    }
+    @Test
+    void doesNotReadFieldsOfNonPublicTypes() {
+        assertFalse(ValueWriterDispatch.hasProperties(NonPublicObject.class));
+        final var fields = new LinkedHashMap<String, Object>();
+        ValueWriterDispatch.forEachProperty(new NonPublicObject(), fields::put);
+        assertTrue(fields.isEmpty());
+    }
+    @Test
+    void visitsPublicFields() {
+        final var fields = new LinkedHashMap<String, Object>();
+        assertTrue(ValueWriterDispatch.hasProperties(TestObject.class));
+        ValueWriterDispatch.forEachProperty(new TestObject(), fields::put);
+        assertEquals(2, fields.size());
+        assertEquals("value", fields.get("name"));
+        assertEquals(Integer.valueOf(2), fields.get("count"));
+    }
+    public static class TestObject {
+        public static final String constant = "constant";
+        public String name = "value";
+        public int count = 2;
+    }
+    static class NonPublicObject {
+        public String name = "value";
+    }
+}
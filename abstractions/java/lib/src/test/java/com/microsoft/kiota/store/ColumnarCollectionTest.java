@@ -0,0 +1,176 @@
+package com.microsoft.kiota.store;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ColumnarCollectionTest {
+    @Test
+    void storesValuesByColumn() {
+        final var models = new ArrayList<TestBackedModel>();
+        for(int i = 0; i < 100; i++) {
+            final var model = new TestBackedModel();
+            model.getBackingStore().set("id", i);
+            model.getBackingStore().set("department", i % 2 == 0 ? "sales" : "marketing");
+            model.getBackingStore().set("enabled", i % 3 == 0);
+            if(i == 99) {
+                model.getBackingStore().set("score", 1.5d);
+            }
+            models.add(model);
+        }
+        final var collection = ColumnarCollection.of(models, TestBackedModel::new);
+        assertEquals(100, collection.size());
+        assertEquals(42L, ((ColumnarCollection.LongColumn)collection.getColumn("id")).getLong(42));
+        assertEquals(List.of("sales", "marketing"), ((ColumnarCollection.StringColumn)collection.getColumn("department")).getDictionary());
+        assertNull(collection.getValue(0, "score"));
+        final var last = collection.get(99);
+        assertEquals(Integer.valueOf(99), last.getBackingStore().get("id"));
+        assertEquals("marketing", last.getBackingStore().get("department"));
+        assertEquals(Boolean.TRUE, last.getBackingStore().get("enabled"));
+        assertEquals(Double.valueOf(1.5d), last.getBackingStore().get("score"));
+        last.getBackingStore().setReturnOnlyChangedValues(true);
+        assertTrue(last.getBackingStore().enumerate().isEmpty());
+    }
+    @Test
+    void promotesColumnsWithMixedTypes() {
+        final var first = new TestBackedModel();
+        first.getBackingStore().set("value", 1);
+        final var second = new TestBackedModel();
+        second.getBackingStore().set("value", "one");
+        final var collection = ColumnarCollection.of(List.of(first, second), TestBackedModel::new);
+        assertTrue(collection.getColumn("value") instanceof ColumnarCollection.ObjectColumn);
+        assertEquals(Integer.valueOf(1), collection.getValue(0, "value"));
+        assertEquals("one", collection.getValue(1, "value"));
+    }
+    @Test
+    void keepsFloatAndDoubleColumnsApart() {
+        final var first = new TestBackedModel();
+        first.getBackingStore().set("ratio", 0.5f);
+        first.getBackingStore().set("score", 0.1d);
+        final var second = new TestBackedModel();
+        second.getBackingStore().set("ratio", 1.5f);
+        second.getBackingStore().set("score", 0.2d);
+        final var collection = ColumnarCollection.of(List.of(first, second), TestBackedModel::new);
+        assertTrue(collection.getColumn("ratio") instanceof ColumnarCollection.DoubleColumn);
+        assertTrue(collection.getColumn("score") instanceof ColumnarCollection.DoubleColumn);
+        assertEquals(Float.valueOf(1.5f), collection.getValue(1, "ratio"));
+        assertEquals(Double.valueOf(0.2d), collection.getValue(1, "score"));
+        final var materialized = collection.get(0);
+        assertEquals(Float.valueOf(0.5f), materialized.getBackingStore().get("ratio"));
+        assertEquals(Double.valueOf(0.1d), materialized.getBackingStore().get("score"));
+
+        final var mixed = new TestBackedModel();
+        mixed.getBackingStore().set("ratio", 2.5d);
+        final var promoted = ColumnarCollection.of(List.of(first, mixed), TestBackedModel::new);
+        assertTrue(promoted.getColumn("ratio") instanceof ColumnarCollection.ObjectColumn);
+        assertEquals(Float.valueOf(0.5f), promoted.getValue(0, "ratio"));
+        assertEquals(Double.valueOf(2.5d), promoted.getValue(1, "ratio"));
+    }
+    @Test
+    void roundTripsIntegralTypes() {
+        final var model = new TestBackedModel();
+        model.getBackingStore().set("long", Long.MAX_VALUE);
+        model.getBackingStore().set("int", Integer.MIN_VALUE);
+        model.getBackingStore().set("short", (short)-12);
+        model.getBackingStore().set("byte", (byte)127);
+        final var collection = ColumnarCollection.of(List.of(model), TestBackedModel::new);
+        assertEquals(Long.MAX_VALUE, ((ColumnarCollection.LongColumn)collection.getColumn("long")).getLong(0));
+        assertEquals(-12L, ((ColumnarCollection.LongColumn)collection.getColumn("short")).getLong(0));
+        final var materialized = collection.get(0).getBackingStore();
+        assertEquals(Long.valueOf(Long.MAX_VALUE), materialized.get("long"));
+        assertEquals(Integer.valueOf(Integer.MIN_VALUE), materialized.get("int"));
+        assertEquals(Short.valueOf((short)-12), materialized.get("short"));
+        assertEquals(Byte.valueOf((byte)127), materialized.get("byte"));
+    }
+    @Test
+    void skipsNullAndAbsentValues() {
+        final var first = new TestBackedModel();
+        first.getBackingStore().set("id", 1);
+        first.getBackingStore().set("name", "first");
+        final var second = new TestBackedModel();
+        second.getBackingStore().set("name", null);
+        final var collection = ColumnarCollection.of(List.of(first, second), TestBackedModel::new);
+        final var ids = (ColumnarCollection.LongColumn)collection.getColumn("id");
+        final var names = (ColumnarCollection.StringColumn)collection.getColumn("name");
+        assertTrue(ids.hasValue(0));
+        assertFalse(ids.hasValue(1));
+        assertEquals(0L, ids.getLong(1));
+        assertNull(ids.get(1));
+        assertFalse(names.hasValue(1));
+        assertEquals(-1, names.getCode(1));
+        assertNull(collection.getValue(1, "name"));
+        final var materialized = collection.get(1).getBackingStore();
+        assertNull(materialized.get("id"));
+        assertNull(materialized.get("name"));
+        assertTrue(materialized.enumerate().isEmpty());
+    }
+    @Test
+    void storesBooleansAcrossWords() {
+        final var models = new ArrayList<TestBackedModel>();
+        for(int i = 0; i < 200; i++) {
+            final var model = new TestBackedModel();
+            if(i % 5 != 4) {
+                model.getBackingStore().set("enabled", i % 3 == 0);
+            }
+            models.add(model);
+        }
+        final var collection = ColumnarCollection.of(models, TestBackedModel::new);
+        final var column = (ColumnarCollection.BooleanColumn)collection.getColumn("enabled");
+        for(int i = 0; i < 200; i++) {
+            assertEquals(i % 5 != 4, column.hasValue(i), "row " + i);
+            assertEquals(i % 5 != 4 && i % 3 == 0, column.getBoolean(i), "row " + i);
+            assertEquals(i % 5 != 4 ? Boolean.valueOf(i % 3 == 0) : null, collection.getValue(i, "enabled"), "row " + i);
+        }
+        assertFalse(column.hasValue(1000));
+        assertFalse(column.getBoolean(1000));
+    }
+    @Test
+    void promotesColumnsAfterManyRows() {
+        final var models = new ArrayList<TestBackedModel>();
+        for(int i = 0; i < 150; i++) {
+            final var model = new TestBackedModel();
+            if(i != 70) {
+                model.getBackingStore().set("value", i);
+            }
+            models.add(model);
+        }
+        final var last = new TestBackedModel();
+        last.getBackingStore().set("value", "last");
+        models.add(last);
+        final var collection = ColumnarCollection.of(models, TestBackedModel::new);
+        final var column = collection.getColumn("value");
+        assertTrue(column instanceof ColumnarCollection.ObjectColumn);
+        for(int i = 0; i < 150; i++) {
+            assertEquals(i == 70 ? null : Integer.valueOf(i), collection.getValue(i, "value"), "row " + i);
+        }
+        assertFalse(column.hasValue(70));
+        assertEquals("last", collection.getValue(150, "value"));
+        assertEquals(151, collection.size());
+    }
+    @Test
+    void readsValuesAndColumnNames() {
+        final var first = new TestBackedModel();
+        first.getBackingStore().set("id", 1);
+        final var second = new TestBackedModel();
+        second.getBackingStore().set("name", "second");
+        final var collection = ColumnarCollection.of(List.of(first, second), TestBackedModel::new);
+        assertEquals(List.of("id", "name"), new ArrayList<>(collection.getColumnNames()));
+        assertThrows(UnsupportedOperationException.class, () -> collection.getColumnNames().remove("id"));
+        assertEquals(Integer.valueOf(1), collection.getValue(0, "id"));
+        assertEquals("second", collection.getValue(1, "name"));
+        assertNull(collection.getValue(0, "missing"));
+        assertNull(collection.getColumn("missing"));
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.getValue(2, "id"));
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.get(-1));
+        assertThrows(NullPointerException.class, () -> collection.getValue(0, null));
+    }
+    static class TestBackedModel implements BackedModel {
+        private final BackingStore backingStore = new InMemoryBackingStore();
+        @Override
+        public BackingStore getBackingStore() {
+            return backingStore;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.microsoft.kiota.store;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+class ConcurrentBackingStoreTest {
+    @Test
+    void tracksChanges() {
+        final var store = new ConcurrentBackingStore();
+        store.setIsInitializationCompleted(false);
+        store.set("id", "1");
+        store.set("displayName", "name");
+        store.setIsInitializationCompleted(true);
+        store.set("displayName", null);
+        assertEquals("1", store.get("id"));
+        store.setReturnOnlyChangedValues(true);
+        assertNull(store.get("id"));
+        assertTrue(store.enumerate().isEmpty());
+        final var changedToNull = new ArrayList<String>();
+        store.enumerateKeysForValuesChangedToNull().forEach(changedToNull::add);
+        assertEquals(1, changedToNull.size());
+        assertEquals("displayName", changedToNull.get(0));
+    }
+    @Test
+    void setsValuesFromSeveralThreads() {
+        final var store = new ConcurrentBackingStore();
+        final var notifications = new AtomicInteger();
+        store.subscribe((key, oldValue, newValue) -> notifications.incrementAndGet());
+        CompletableFuture.allOf(IntStream.range(0, 100)
+            .mapToObj(i -> CompletableFuture.runAsync(() -> store.set("key" + (i % 10), i)))
+            .toArray(CompletableFuture[]::new)).join();
+        assertEquals(10, store.enumerate().size());
+        assertEquals(100, notifications.get());
+    }
+    @Test
+    void unsubscribes() {
+        final var store = new ConcurrentBackingStore();
+        final var notifications = new AtomicInteger();
+        final var subscriptionId = store.subscribe((key, oldValue, newValue) -> notifications.incrementAndGet());
+        store.subscribe((key, oldValue, newValue) -> notifications.incrementAndGet(), "other");
+        store.set("id", "1");
+        store.unsubscribe(subscriptionId);
+        store.set("id", "2");
+        assertEquals(3, notifications.get());
+    }
+    @Test
+    void returnsCollectionsWithChangedItemsWithAllTheirValues() {
+        final var changed = new ConcurrentBackedModel();
+        final var unchanged = new ConcurrentBackedModel();
+        for(final var item : List.of(changed, unchanged)) {
+            item.getBackingStore().setIsInitializationCompleted(false);
+            item.getBackingStore().set("city", "Redmond");
+            item.getBackingStore().setIsInitializationCompleted(true);
+        }
+        final var store = new ConcurrentBackingStore();
+        store.setIsInitializationCompleted(false);
+        store.set("addresses", List.of(unchanged, changed));
+        store.set("manager", unchanged);
+        store.setIsInitializationCompleted(true);
+        store.setReturnOnlyChangedValues(true);
+        assertNull(store.get("addresses"));
+        store.setReturnOnlyChangedValues(false);
+        changed.getBackingStore().set("city", "Seattle");
+        store.setReturnOnlyChangedValues(true);
+        assertNotNull(store.get("addresses"));
+        assertNotNull(store.get("addresses"));
+        // reads don't flag the items, the serialization of the store does until it completes
+        assertFalse(((ConcurrentBackingStore)unchanged.getBackingStore()).getSerializeAllValues());
+        store.beginSerialization();
+        assertTrue(((ConcurrentBackingStore)unchanged.getBackingStore()).getSerializeAllValues());
+        assertTrue(((ConcurrentBackingStore)changed.getBackingStore()).getSerializeAllValues());
+        store.completeSerialization();
+        assertFalse(((ConcurrentBackingStore)unchanged.getBackingStore()).getSerializeAllValues());
+        assertFalse(((ConcurrentBackingStore)changed.getBackingStore()).getSerializeAllValues());
+    }
+    @Test
+    void doesNotLoopOnBackReferences() {
+        final var parent = new ConcurrentBackedModel();
+        final var child = new ConcurrentBackedModel();
+        parent.getBackingStore().setIsInitializationCompleted(false);
+        parent.getBackingStore().set("child", child);
+        parent.getBackingStore().setIsInitializationCompleted(true);
+        child.getBackingStore().setIsInitializationCompleted(false);
+        child.getBackingStore().set("parent", parent);
+        child.getBackingStore().setIsInitializationCompleted(true);
+        assertFalse(parent.getBackingStore().hasChanges());
+        child.getBackingStore().set("name", "changed");
+        assertTrue(parent.getBackingStore().hasChanges());
+    }
+    static class ConcurrentBackedModel implements BackedModel {
+        private final BackingStore backingStore = new ConcurrentBackingStore();
+        @Override
+        public BackingStore getBackingStore() {
+            return backingStore;
+        }
+    }
+}
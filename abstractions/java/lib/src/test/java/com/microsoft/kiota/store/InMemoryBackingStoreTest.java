@@ -0,0 +1,119 @@
+package com.microsoft.kiota.store;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class InMemoryBackingStoreTest {
+    @Test
+    void tracksChangesBySlotAndKey() {
+        final var store = new InMemoryBackingStore();
+        store.setIsInitializationCompleted(false);
+        store.set(0, "id", "1");
+        store.set(1, "displayName", "name");
+        store.setIsInitializationCompleted(true);
+        assertEquals("1", store.get("id"));
+        assertEquals("name", store.get(1, "displayName"));
+        store.set("displayName", null);
+        store.setReturnOnlyChangedValues(true);
+        assertNull(store.get(0, "id"));
+        assertTrue(store.enumerate().isEmpty());
+        final var changedToNull = new ArrayList<String>();
+        store.enumerateKeysForValuesChangedToNull().forEach(changedToNull::add);
+        assertEquals(1, changedToNull.size());
+        assertEquals("displayName", changedToNull.get(0));
+    }
+    @Test
+    void keepsKeysSetWithoutSlotSeparateFromSlots() {
+        final var store = new InMemoryBackingStore();
+        store.set("additionalData", "value");
+        store.set(0, "id", "1");
+        store.set(70, "mail", "someone@contoso.com");
+        assertEquals("value", store.get("additionalData"));
+        assertEquals("1", store.get(0, "id"));
+        assertEquals("someone@contoso.com", store.get("mail"));
+        assertEquals(3, store.enumerate().size());
+        store.clear();
+        assertNull(store.get(0, "id"));
+        assertTrue(store.enumerate().isEmpty());
+    }
+    @Test
+    void notifiesSubscribersWithPreviousValue() {
+        final var store = new InMemoryBackingStore();
+        final var previousValues = new ArrayList<Object>();
+        store.subscribe((key, oldValue, newValue) -> previousValues.add(oldValue));
+        store.set(0, "id", "1");
+        store.set(0, "id", "2");
+        assertNull(previousValues.get(0));
+        assertEquals("1", previousValues.get(1));
+    }
+    @Test
+    void returnsNestedModelsChangedInPlace() {
+        final var nested = new ColumnarCollectionTest.TestBackedModel();
+        final var unchanged = new ColumnarCollectionTest.TestBackedModel();
+        final var store = new InMemoryBackingStore();
+        store.setIsInitializationCompleted(false);
+        nested.getBackingStore().setIsInitializationCompleted(false);
+        nested.getBackingStore().set("city", "Redmond");
+        nested.getBackingStore().setIsInitializationCompleted(true);
+        store.set("address", nested);
+        store.set("manager", unchanged);
+        store.set("otherAddresses", List.of(unchanged));
+        store.setIsInitializationCompleted(true);
+        assertFalse(store.hasChanges());
+        nested.getBackingStore().set("city", "Seattle");
+        assertTrue(store.hasChanges());
+        store.setReturnOnlyChangedValues(true);
+        assertSame(nested, store.get("address"));
+        assertNull(store.get("otherAddresses"));
+        assertEquals(1, store.enumerate().size());
+    }
+    @Test
+    void returnsCollectionItemsWithAllTheirValues() {
+        final var changed = new ColumnarCollectionTest.TestBackedModel();
+        final var unchanged = new ColumnarCollectionTest.TestBackedModel();
+        for(final var item : List.of(changed, unchanged)) {
+            item.getBackingStore().setIsInitializationCompleted(false);
+            item.getBackingStore().set("city", "Redmond");
+            item.getBackingStore().setIsInitializationCompleted(true);
+        }
+        final var store = new InMemoryBackingStore();
+        store.setIsInitializationCompleted(false);
+        store.set("addresses", List.of(unchanged, changed));
+        store.setIsInitializationCompleted(true);
+        changed.getBackingStore().set("city", "Seattle");
+        store.setReturnOnlyChangedValues(true);
+        assertNotNull(store.get("addresses"));
+        assertNotNull(store.get("addresses"));
+        // reads don't flag the items, the serialization of the store does until it completes
+        assertFalse(((InMemoryBackingStore)unchanged.getBackingStore()).getSerializeAllValues());
+        store.beginSerialization();
+        assertTrue(((InMemoryBackingStore)unchanged.getBackingStore()).getSerializeAllValues());
+        assertTrue(((InMemoryBackingStore)changed.getBackingStore()).getSerializeAllValues());
+        store.completeSerialization();
+        assertFalse(((InMemoryBackingStore)unchanged.getBackingStore()).getSerializeAllValues());
+        assertFalse(((InMemoryBackingStore)changed.getBackingStore()).getSerializeAllValues());
+    }
+    @Test
+    void doesNotLoopOnBackReferences() {
+        final var parent = new ColumnarCollectionTest.TestBackedModel();
+        final var child = new ColumnarCollectionTest.TestBackedModel();
+        parent.getBackingStore().setIsInitializationCompleted(false);
+        parent.getBackingStore().set("child", child);
+        parent.getBackingStore().setIsInitializationCompleted(true);
+        child.getBackingStore().setIsInitializationCompleted(false);
+        child.getBackingStore().set("parent", parent);
+        child.getBackingStore().set("siblings", List.of(child));
+        child.getBackingStore().setIsInitializationCompleted(true);
+        assertFalse(parent.getBackingStore().hasChanges());
+        parent.getBackingStore().setReturnOnlyChangedValues(true);
+        assertNull(parent.getBackingStore().get("child"));
+        parent.getBackingStore().setReturnOnlyChangedValues(false);
+        child.getBackingStore().set("name", "changed");
+        assertTrue(parent.getBackingStore().hasChanges());
+        parent.getBackingStore().setReturnOnlyChangedValues(true);
+        assertSame(child, parent.getBackingStore().get("child"));
+    }
+}
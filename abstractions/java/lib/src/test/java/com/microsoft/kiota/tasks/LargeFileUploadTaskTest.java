@@ -0,0 +1,227 @@
+package com.microsoft.kiota.tasks;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.RequestAdapter;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.serialization.Parsable;
+
+class LargeFileUploadTaskTest {
+    @Test
+    void uploadsAllSlicesWithContentRange() throws Exception {
+        final var file = Files.createTempFile("kiota", ".bin");
+        try {
+            Files.write(file, new byte[2500]);
+            final Set<String> ranges = ConcurrentHashMap.newKeySet();
+            final var requestAdapter = mock(RequestAdapter.class);
+            when(requestAdapter.sendAsync(any(RequestInformation.class), any(), any(), any())).thenAnswer(invocation -> {
+                final RequestInformation requestInfo = invocation.getArgument(0);
+                assertEquals(Long.parseLong(requestInfo.getRequestHeaders().get("content-length")), requestInfo.content.readAllBytes().length);
+                ranges.add(requestInfo.getRequestHeaders().get("content-range"));
+                return CompletableFuture.completedFuture(null);
+            });
+            try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final var task = new LargeFileUploadTask<Parsable>(requestAdapter, getUploadSession(), channel, (n) -> null, 1000, 2, 0, null);
+                task.uploadAsync().get();
+            }
+            assertEquals(Set.of("bytes 0-999/2500", "bytes 1000-1999/2500", "bytes 2000-2499/2500"), ranges);
+        } finally {
+            Files.delete(file);
+        }
+    }
+    @Test
+    void retriesFailedSlices() throws Exception {
+        final var file = Files.createTempFile("kiota", ".bin");
+        try {
+            Files.write(file, new byte[100]);
+            final var attempts = new AtomicInteger();
+            final var requestAdapter = mock(RequestAdapter.class);
+            when(requestAdapter.sendAsync(any(RequestInformation.class), any(), any(), any())).thenAnswer(invocation -> {
+                if(attempts.incrementAndGet() == 1) {
+                    return CompletableFuture.failedFuture(new IOException("connection reset"));
+                }
+                return CompletableFuture.completedFuture(null);
+            });
+            try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final var task = new LargeFileUploadTask<Parsable>(requestAdapter, getUploadSession(), channel, (n) -> null);
+                task.baseRetryDelayMillis = 1;
+                task.uploadAsync().get();
+            }
+            assertEquals(2, attempts.get());
+        } finally {
+            Files.delete(file);
+        }
+    }
+    @Test
+    void retriesServerErrorsAndThrottling() throws Exception {
+        final var file = Files.createTempFile("kiota", ".bin");
+        try {
+            Files.write(file, new byte[100]);
+            final var attempts = new AtomicInteger();
+            final var requestAdapter = mock(RequestAdapter.class);
+            when(requestAdapter.sendAsync(any(RequestInformation.class), any(), any(), any())).thenAnswer(invocation -> {
+                switch(attempts.incrementAndGet()) {
+                    case 1: return CompletableFuture.failedFuture(getApiException(503));
+                    case 2: return CompletableFuture.failedFuture(getApiException(429));
+                    default: return CompletableFuture.completedFuture(null);
+                }
+            });
+            try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final var task = new LargeFileUploadTask<Parsable>(requestAdapter, getUploadSession(), channel, (n) -> null);
+                task.baseRetryDelayMillis = 1;
+                task.uploadAsync().get();
+            }
+            assertEquals(3, attempts.get());
+        } finally {
+            Files.delete(file);
+        }
+    }
+    @Test
+    void doesNotRetryClientErrors() throws Exception {
+        final var file = Files.createTempFile("kiota", ".bin");
+        try {
+            Files.write(file, new byte[100]);
+            final var attempts = new AtomicInteger();
+            final var requestAdapter = mock(RequestAdapter.class);
+            when(requestAdapter.sendAsync(any(RequestInformation.class), any(), any(), any())).thenAnswer(invocation -> {
+                attempts.incrementAndGet();
+                return CompletableFuture.failedFuture(getApiException(416));
+            });
+            try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final var task = new LargeFileUploadTask<Parsable>(requestAdapter, getUploadSession(), channel, (n) -> null);
+                final var exception = assertThrows(ExecutionException.class, () -> task.uploadAsync().get());
+                assertEquals(416, ((ApiException)exception.getCause()).getResponseStatusCode());
+            }
+            assertEquals(1, attempts.get());
+        } finally {
+            Files.delete(file);
+        }
+    }
+    @Test
+    void cancelsRemainingSlicesAfterTerminalFailure() throws Exception {
+        final var file = Files.createTempFile("kiota", ".bin");
+        try {
+            Files.write(file, new byte[2500]);
+            final var attempts = new AtomicInteger();
+            final var requestAdapter = mock(RequestAdapter.class);
+            when(requestAdapter.sendAsync(any(RequestInformation.class), any(), any(), any())).thenAnswer(invocation -> {
+                attempts.incrementAndGet();
+                return CompletableFuture.failedFuture(getApiException(400));
+            });
+            try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final var task = new LargeFileUploadTask<Parsable>(requestAdapter, getUploadSession(), channel, (n) -> null, 100, 2, 3, null);
+                assertThrows(ExecutionException.class, () -> task.uploadAsync().get());
+            }
+            assertEquals(1, attempts.get());
+        } finally {
+            Files.delete(file);
+        }
+    }
+    @Test
+    void retriesTransientFailuresOnly() {
+        assertTrue(LargeFileUploadTask.isRetryable(new CompletionException(new IOException("connection reset"))));
+        assertTrue(LargeFileUploadTask.isRetryable(new RuntimeException("failed to read the response body", new IOException())));
+        assertTrue(LargeFileUploadTask.isRetryable(getApiException(500)));
+        assertTrue(LargeFileUploadTask.isRetryable(getApiException(429)));
+        assertFalse(LargeFileUploadTask.isRetryable(getApiException(404)));
+        assertFalse(LargeFileUploadTask.isRetryable(new ApiException("unknown status")));
+        assertFalse(LargeFileUploadTask.isRetryable(new IllegalArgumentException()));
+    }
+    @Test
+    void waitsForRetryAfterOrBacksOffExponentially() {
+        final var throttled = getApiException(429);
+        throttled.setResponseHeaders(Map.of("retry-after", List.of("7")));
+        assertEquals(7000, LargeFileUploadTask.getRetryDelayMillis(new CompletionException(throttled), 0, 1000));
+        final var throttledUntil = getApiException(503);
+        throttledUntil.setResponseHeaders(Map.of("Retry-After", List.of(DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30)))));
+        final long untilDelay = LargeFileUploadTask.getRetryDelayMillis(throttledUntil, 0, 1000);
+        assertTrue(untilDelay > 20_000 && untilDelay <= 30_000, Long.toString(untilDelay));
+        final var unparsable = getApiException(503);
+        unparsable.setResponseHeaders(Map.of("Retry-After", List.of("soon")));
+        assertEquals(2000, LargeFileUploadTask.getRetryDelayMillis(unparsable, 1, 1000));
+        assertEquals(1000, LargeFileUploadTask.getRetryDelayMillis(new IOException("connection reset"), 0, 1000));
+        assertEquals(4000, LargeFileUploadTask.getRetryDelayMillis(getApiException(500), 2, 1000));
+        assertEquals(180_000, LargeFileUploadTask.getRetryDelayMillis(getApiException(500), 30, 1000));
+    }
+    @Test
+    void backsOffBetweenRetries() throws Exception {
+        final var file = Files.createTempFile("kiota", ".bin");
+        try {
+            Files.write(file, new byte[100]);
+            final var attempts = new AtomicInteger();
+            final var requestAdapter = mock(RequestAdapter.class);
+            when(requestAdapter.sendAsync(any(RequestInformation.class), any(), any(), any())).thenAnswer(invocation -> {
+                return attempts.incrementAndGet() < 3 ? CompletableFuture.failedFuture(getApiException(503)) : CompletableFuture.completedFuture(null);
+            });
+            try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final var task = new LargeFileUploadTask<Parsable>(requestAdapter, getUploadSession(), channel, (n) -> null);
+                task.baseRetryDelayMillis = 100;
+                final long start = System.nanoTime();
+                task.uploadAsync().get();
+                assertTrue(System.nanoTime() - start >= 300_000_000L); // 100ms then 200ms
+            }
+            assertEquals(3, attempts.get());
+        } finally {
+            Files.delete(file);
+        }
+    }
+    @Test
+    void keepsOnlyRangesStillExpectedByEveryResponse() {
+        // a response for an earlier slice processed last doesn't bring back the ranges a later response removed
+        assertEquals(List.of("200-299"), LargeFileUploadTask.intersectRanges(List.of("200-"), List.of("100-299"), 300));
+        assertEquals(List.of("200-299"), LargeFileUploadTask.intersectRanges(List.of("100-299"), List.of("200-"), 300));
+        assertEquals(List.of("0-9", "50-59", "90-99"), LargeFileUploadTask.intersectRanges(List.of("0-59", "90-"), List.of("90-", "50-59", "0-9"), 100));
+        assertEquals(List.of(), LargeFileUploadTask.intersectRanges(List.of("0-9"), List.of("10-"), 100));
+    }
+    @Test
+    void uploadsSlicesConcurrentlyByDefault() {
+        assertTrue(LargeFileUploadTask.DEFAULT_MAX_CONCURRENCY > 1);
+    }
+    @Test
+    void getsSlicesFromExpectedRanges() throws IOException {
+        final var requestAdapter = mock(RequestAdapter.class);
+        try (final var channel = mock(FileChannel.class)) {
+            final var task = new LargeFileUploadTask<Parsable>(requestAdapter, getUploadSession(), channel, (n) -> null, 100, 1, 0, null);
+            final var slices = task.getSlices(Arrays.asList("0-49", "150-"), 320);
+            assertEquals(3, slices.size());
+            assertEquals(0, slices.get(0).start);
+            assertEquals(49, slices.get(0).end);
+            assertEquals(150, slices.get(1).start);
+            assertEquals(249, slices.get(1).end);
+            assertEquals(250, slices.get(2).start);
+            assertEquals(319, slices.get(2).end);
+        }
+    }
+    private static ApiException getApiException(final int statusCode) {
+        final var result = new ApiException("status " + statusCode);
+        result.setResponseStatusCode(statusCode);
+        return result;
+    }
+    private static UploadSession getUploadSession() {
+        final var session = new UploadSession();
+        session.setUploadUrl("https://localhost/upload/session");
+        return session;
+    }
+}
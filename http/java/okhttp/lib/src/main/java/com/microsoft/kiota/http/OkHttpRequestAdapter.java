@@ -1,10 +1,12 @@
 package com.microsoft.kiota.http;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
 import java.time.OffsetDateTime;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -24,6 +26,7 @@ import com.microsoft.kiota.ApiException;
 import com.microsoft.kiota.RequestInformation;
 import com.microsoft.kiota.RequestOption;
 import com.microsoft.kiota.ResponseHandler;
+import com.microsoft.kiota.RewindableContent;
 import com.microsoft.kiota.authentication.AuthenticationProvider;
 import com.microsoft.kiota.serialization.ParseNodeFactoryRegistry;
 import com.microsoft.kiota.serialization.Parsable;
@@ -43,9 +46,12 @@ import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
 import okhttp3.Response;
 import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
 
 public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter {
     private final static String contentTypeHeaderKey = "Content-Type";
+    private final static String contentLengthHeaderKey = "content-length";
     private final OkHttpClient client;
     private final AuthenticationProvider authProvider;
     private ParseNodeFactory pNodeFactory;
@@ -162,6 +168,7 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
         return this.getHttpResponseMessage(requestInfo, null)
         .thenCompose(response -> {
             if(responseHandler == null) {
+                boolean closeResponse = true;
                 try {
                     this.throwFailedResponse(response, errorMappings);
                     if(this.shouldReturnNull(response)) {
@@ -173,6 +180,7 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
                         if(targetClass == InputStream.class) {
                             final ResponseBody body = response.body();
                             final InputStream rawInputStream = body.byteStream();
+                            closeResponse = false; // the caller owns the stream and closing it releases the response
                             return CompletableFuture.completedStage((ModelType)rawInputStream);
                         }
                         final ParseNode rootNode = getRootParseNode(response);
@@ -217,13 +225,69 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
                 } catch(IOException ex) {
                     return CompletableFuture.failedFuture(new RuntimeException("failed to read the response body", ex));
                 } finally {
-                    response.close();
+                    if(closeResponse) {
+                        response.close();
+                    }
                 }
             } else {
                 return responseHandler.handleResponseAsync(response, errorMappings);
             }
         });
     }
+    /**
+     * Executes the HTTP request specified by the given RequestInformation and returns the raw response body without buffering it.
+     * The caller owns the returned source and must close it to release the underlying connection.
+     * @param requestInfo the request info to execute.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     * @return a {@link CompletableFuture} with the response body source, or null if the response has no content.
+     */
+    @Nonnull
+    public CompletableFuture<BufferedSource> sendStreamAsync(@Nonnull final RequestInformation requestInfo, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
+        Objects.requireNonNull(requestInfo, "parameter requestInfo cannot be null");
+
+        return this.getHttpResponseMessage(requestInfo, null)
+        .thenCompose(response -> {
+            try {
+                this.throwFailedResponse(response, errorMappings);
+                final ResponseBody body = response.body();
+                if(this.shouldReturnNull(response) || body == null) {
+                    response.close();
+                    return CompletableFuture.completedStage(null);
+                }
+                return CompletableFuture.completedStage(body.source());
+            } catch(ApiException ex) {
+                response.close();
+                return CompletableFuture.failedFuture(ex);
+            } catch(IOException ex) {
+                response.close();
+                return CompletableFuture.failedFuture(new RuntimeException("failed to read the response body", ex));
+            } catch(RuntimeException ex) {
+                response.close();
+                throw ex;
+            }
+        });
+    }
+    /**
+     * Transfers the remaining content of the source into the file channel, starting at the channel's current position.
+     * The bytes are moved by the channel through its own transfer buffers instead of being copied into intermediate arrays. The source is not closed.
+     * @param source the source to read from, typically obtained from {@link #sendStreamAsync}.
+     * @param target the file channel to write to, its position is advanced by the number of bytes transferred.
+     * @return the number of bytes transferred.
+     * @throws IOException if reading from the source or writing to the channel fails.
+     */
+    public static long transferTo(@Nonnull final BufferedSource source, @Nonnull final FileChannel target) throws IOException {
+        Objects.requireNonNull(source, "parameter source cannot be null");
+        Objects.requireNonNull(target, "parameter target cannot be null");
+        final long start = target.position();
+        long position = start;
+        long transferred;
+        while((transferred = target.transferFrom(source, position, transferChunkSize)) > 0) {
+            position += transferred;
+        }
+        target.position(position);
+        return position - start;
+    }
+    private final static long transferChunkSize = 8L * 1024 * 1024;
     public <ModelType> CompletableFuture<Iterable<ModelType>> sendPrimitiveCollectionAsync(@Nonnull final RequestInformation requestInfo, @Nonnull final Class<ModelType> targetClass, @Nullable final ResponseHandler responseHandler, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
         Objects.requireNonNull(requestInfo, "parameter requestInfo cannot be null");
 
@@ -258,11 +322,11 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
             }
         }
     }
-    private boolean shouldReturnNull(final Response response) {
+    boolean shouldReturnNull(final Response response) {
         final int statusCode = response.code();
         return statusCode == 204;
     }
-    private Response throwFailedResponse(final Response response, final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) throws IOException, ApiException {
+    Response throwFailedResponse(final Response response, final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) throws IOException, ApiException {
         if (response.isSuccessful()) return response;
 
         final String statusCodeAsString = Integer.toString(response.code());
@@ -271,7 +335,11 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
            !errorMappings.containsKey(statusCodeAsString) &&
            !(statusCode >= 400 && statusCode < 500 && errorMappings.containsKey("4XX")) &&
            !(statusCode >= 500 && statusCode < 600 && errorMappings.containsKey("5XX"))) {
-            throw new ApiException("the server returned an unexpected status code and no error class is registered for this code " + statusCode);
+            response.close();
+            final ApiException result = new ApiException("the server returned an unexpected status code and no error class is registered for this code " + statusCode);
+            result.setResponseStatusCode(statusCode);
+            result.setResponseHeaders(response.headers().toMultimap());
+            throw result;
         }
         final ParsableFactory<? extends Parsable> errorClass = errorMappings.containsKey(statusCodeAsString) ?
                                                     errorMappings.get(statusCodeAsString) :
@@ -281,11 +349,10 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
         try {
             final ParseNode rootNode = getRootParseNode(response);
             final Parsable error = rootNode.getObjectValue(errorClass);
-            if (error instanceof ApiException) {
-                throw (ApiException)error;
-            } else {
-                throw new ApiException("unexpected error type " + error.getClass().getName());
-            }
+            final ApiException result = error instanceof ApiException ? (ApiException)error : new ApiException("unexpected error type " + error.getClass().getName());
+            result.setResponseStatusCode(statusCode);
+            result.setResponseHeaders(response.headers().toMultimap());
+            throw result;
         } finally {
             response.close();
         }
@@ -359,7 +426,27 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
         Objects.requireNonNull(requestInfo);
         requestInfo.pathParameters.put("baseurl", getBaseUrl());
     }
+    private static long getContentLengthHeaderValue(@Nonnull final RequestInformation requestInfo) {
+        final String contentLength = requestInfo.getRequestHeaders().get(contentLengthHeaderKey);
+        if(contentLength == null || contentLength.isEmpty()) {
+            return -1;
+        }
+        try {
+            final long result = Long.parseLong(contentLength.trim());
+            return result < 0 ? -1 : result;
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
     private Request getRequestFromRequestInformation(@Nonnull final RequestInformation requestInfo) throws URISyntaxException, MalformedURLException {
+        final long inMemoryContentLength;
+        if(requestInfo.content instanceof ByteArrayInputStream) {
+            // writes reset to the mark, so the length must be counted from the same position
+            requestInfo.content.mark(0);
+            inMemoryContentLength = ((ByteArrayInputStream)requestInfo.content).available();
+        } else {
+            inMemoryContentLength = -1;
+        }
         final RequestBody body = requestInfo.content == null ? null :
                                 new RequestBody() {
                                     @Override
@@ -373,10 +460,40 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
                                         }
                                     }
 
+                                    @Override
+                                    public long contentLength() throws IOException {
+                                        final long headerLength = getContentLengthHeaderValue(requestInfo);
+                                        final long knownLength;
+                                        if(requestInfo.content instanceof RewindableContent) {
+                                            knownLength = ((RewindableContent)requestInfo.content).getLength();
+                                        } else if(requestInfo.content instanceof ByteArrayInputStream) {
+                                            knownLength = inMemoryContentLength; // serialized payloads are in memory already
+                                        } else {
+                                            return headerLength; // the client fails the request when the stream doesn't match the length
+                                        }
+                                        if(headerLength != -1 && headerLength != knownLength) {
+                                            throw new IOException("the content length header " + headerLength + " doesn't match the length of the content " + knownLength);
+                                        }
+                                        return knownLength;
+                                    }
+
+                                    @Override
+                                    public boolean isOneShot() {
+                                        // other streams can't be read again for retries, redirects or compression fallbacks
+                                        return !(requestInfo.content instanceof RewindableContent || requestInfo.content instanceof ByteArrayInputStream);
+                                    }
+
                                     @Override
                                     public void writeTo(BufferedSink sink) throws IOException {
-                                        sink.write(requestInfo.content.readAllBytes());
-                                        //TODO this is dirty and is probably going to use a lot of memory for large payloads, loop on a buffer instead
+                                        if(requestInfo.content instanceof RewindableContent) {
+                                            requestInfo.content.reset(); // the body is written again on retries
+                                            ((RewindableContent)requestInfo.content).transferTo(sink);
+                                        } else if(requestInfo.content instanceof ByteArrayInputStream) {
+                                            requestInfo.content.reset();
+                                            sink.writeAll(Okio.source(requestInfo.content));
+                                        } else {
+                                            sink.writeAll(Okio.source(requestInfo.content));
+                                        }
                                     }
 
                                 };
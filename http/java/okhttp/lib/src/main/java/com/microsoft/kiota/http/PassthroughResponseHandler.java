@@ -0,0 +1,149 @@
+package com.microsoft.kiota.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.ResponseHandler;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.Okio;
+import okio.Sink;
+
+/**
+ * Response handler writing the response body as is to a stream or a channel, for proxies forwarding responses without deserializing them.
+ * Failed responses are mapped to errors like the request adapter does. The body is moved from the connection to the target segment by segment without being copied to intermediate arrays, and the status code and headers are kept so they can be forwarded with it.
+ * The target is not closed. A handler holds the result of a single response.
+ */
+public class PassthroughResponseHandler implements ResponseHandler {
+    private static final String contentTypeHeaderKey = "Content-Type";
+    private static final String contentEncodingHeaderKey = "Content-Encoding";
+    private final OkHttpRequestAdapter requestAdapter;
+    private final OutputStream outputStream;
+    private final WritableByteChannel channel;
+    private int statusCode;
+    private Headers headers;
+    private String contentType;
+    private long bytesTransferred;
+    /**
+     * Initializes a new handler writing the response body to a stream.
+     * @param requestAdapter the request adapter sending the request, used to map failed responses to errors.
+     * @param target the stream to write the response body to.
+     */
+    public PassthroughResponseHandler(@Nonnull final OkHttpRequestAdapter requestAdapter, @Nonnull final OutputStream target) {
+        this.requestAdapter = Objects.requireNonNull(requestAdapter, "parameter requestAdapter cannot be null");
+        this.outputStream = Objects.requireNonNull(target, "parameter target cannot be null");
+        this.channel = null;
+    }
+    /**
+     * Initializes a new handler writing the response body to a channel. File channels are written to with {@link OkHttpRequestAdapter#transferTo}.
+     * @param requestAdapter the request adapter sending the request, used to map failed responses to errors.
+     * @param target the blocking channel to write the response body to.
+     */
+    public PassthroughResponseHandler(@Nonnull final OkHttpRequestAdapter requestAdapter, @Nonnull final WritableByteChannel target) {
+        this.requestAdapter = Objects.requireNonNull(requestAdapter, "parameter requestAdapter cannot be null");
+        this.channel = Objects.requireNonNull(target, "parameter target cannot be null");
+        this.outputStream = null;
+    }
+    /** {@inheritdoc} */
+    @Nonnull
+    @Override
+    public <NativeResponseType, ModelType> CompletableFuture<ModelType> handleResponseAsync(@Nonnull final NativeResponseType response, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
+        Objects.requireNonNull(response, "parameter response cannot be null");
+        if(!(response instanceof Response)) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("unexpected native response type " + response.getClass().getName()));
+        }
+        final Response nativeResponse = (Response)response;
+        this.statusCode = nativeResponse.code();
+        this.headers = nativeResponse.headers();
+        this.contentType = getContentType(nativeResponse);
+        this.bytesTransferred = 0;
+        try {
+            requestAdapter.throwFailedResponse(nativeResponse, errorMappings);
+            final ResponseBody body = nativeResponse.body();
+            if(requestAdapter.shouldReturnNull(nativeResponse) || body == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            this.bytesTransferred = transfer(body.source());
+            return CompletableFuture.completedFuture(null);
+        } catch(ApiException ex) {
+            return CompletableFuture.failedFuture(ex);
+        } catch(IOException ex) {
+            return CompletableFuture.failedFuture(new RuntimeException("failed to read the response body", ex));
+        } finally {
+            nativeResponse.close();
+        }
+    }
+    private static String getContentType(final Response response) {
+        final String headerValue = response.header(contentTypeHeaderKey);
+        if(headerValue != null) {
+            return headerValue;
+        }
+        final ResponseBody body = response.body();
+        final MediaType mediaType = body == null ? null : body.contentType();
+        return mediaType == null ? null : mediaType.toString();
+    }
+    private long transfer(final BufferedSource source) throws IOException {
+        if(channel instanceof FileChannel) {
+            return OkHttpRequestAdapter.transferTo(source, (FileChannel)channel);
+        }
+        // the sink writes the arrays of the source segments to the target, the target is not closed
+        final Sink sink = Okio.sink(channel == null ? outputStream : Channels.newOutputStream(channel));
+        final long transferred = source.readAll(sink);
+        sink.flush();
+        return transferred;
+    }
+    /**
+     * Gets the status code of the last response handled.
+     * @return the status code of the last response handled, 0 when no response was handled.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+    /**
+     * Gets the headers of the last response handled.
+     * @return the headers of the last response handled, null when no response was handled.
+     */
+    @Nullable
+    public Headers getHeaders() {
+        return headers;
+    }
+    /**
+     * Gets the content type of the last response handled.
+     * @return the content type header value, or the media type of the body when the header is missing, null when the response has none.
+     */
+    @Nullable
+    public String getContentType() {
+        return contentType;
+    }
+    /**
+     * Gets the content encoding of the last response handled. The client removes this header when it decompressed the body itself, as the bytes written are then decompressed.
+     * @return the content encoding header value, null when the response has none.
+     */
+    @Nullable
+    public String getContentEncoding() {
+        return headers == null ? null : headers.get(contentEncodingHeaderKey);
+    }
+    /**
+     * Gets the number of bytes of the body of the last response written to the target.
+     * @return the number of bytes written to the target.
+     */
+    public long getBytesTransferred() {
+        return bytesTransferred;
+    }
+}
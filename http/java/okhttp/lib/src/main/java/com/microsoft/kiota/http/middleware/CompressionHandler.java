@@ -0,0 +1,140 @@
+package com.microsoft.kiota.http.middleware;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.microsoft.kiota.http.middleware.options.CompressionHandlerOption;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/**
+ * The middleware responsible for compressing the request bodies with gzip, not part of the default middlewares as not all services accept compressed bodies.
+ * Only textual bodies that can be written again are compressed, as they're sent uncompressed again if the service doesn't support the encoding.
+ * Range requests like upload slices are never compressed as their ranges are expressed in uncompressed bytes.
+ */
+public class CompressionHandler implements Interceptor {
+    /**
+     * Header name for the content encoding
+     */
+    private static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    /**
+     * Gzip content encoding value
+     */
+    private static final String GZIP = "gzip";
+    /**
+     * Header name for the content range of partial uploads
+     */
+    private static final String CONTENT_RANGE_HEADER = "Content-Range";
+    /**
+     * Unsupported media type status code
+     */
+    public static final int MSClientErrorCodeUnsupportedMediaType = 415;
+
+    private final CompressionHandlerOption mCompressionOption;
+
+    /**
+     * @param compressionOption Create compression handler using compression option
+     */
+    public CompressionHandler(@Nullable final CompressionHandlerOption compressionOption) {
+        this.mCompressionOption = compressionOption == null ? new CompressionHandlerOption() : compressionOption;
+    }
+    /**
+     * Initialize compression handler with default compression option
+     */
+    public CompressionHandler() {
+        this(null);
+    }
+
+    public CompressionHandlerOption getCompressionOptions() {
+        return this.mCompressionOption;
+    }
+
+    boolean shouldCompress(@Nonnull final Request request, @Nonnull final CompressionHandlerOption compressionOption) throws IOException {
+        final RequestBody requestBody = request.body();
+        if(!compressionOption.enable() ||
+            requestBody == null ||
+            requestBody.isOneShot() ||
+            request.header(CONTENT_ENCODING_HEADER) != null ||
+            request.header(CONTENT_RANGE_HEADER) != null ||
+            !isCompressible(requestBody.contentType())) {
+            return false;
+        }
+        // only bodies of a known length can be replayed uncompressed if the service doesn't support the encoding
+        final long contentLength = requestBody.contentLength();
+        return contentLength != -1L && contentLength >= compressionOption.threshold();
+    }
+
+    /**
+     * Gets whether the media type is textual, other types like images or archives are usually compressed already.
+     * @param mediaType the media type of the body.
+     * @return whether the media type is worth compressing.
+     */
+    static boolean isCompressible(@Nullable final MediaType mediaType) {
+        if(mediaType == null) {
+            return false;
+        }
+        final String type = mediaType.type().toLowerCase(Locale.ROOT);
+        final String subtype = mediaType.subtype().toLowerCase(Locale.ROOT);
+        return type.equals("text") ||
+            type.equals("application") && (subtype.equals("json") || subtype.endsWith("+json") ||
+                                            subtype.equals("xml") || subtype.endsWith("+xml") ||
+                                            subtype.equals("x-www-form-urlencoded") ||
+                                            subtype.equals("javascript") || subtype.equals("yaml"));
+    }
+
+    @Override
+    @Nonnull
+    public Response intercept(@Nonnull final Chain chain) throws IOException {
+        final Request request = chain.request();
+
+        CompressionHandlerOption compressionOption = request.tag(CompressionHandlerOption.class);
+        if(compressionOption == null) { compressionOption = mCompressionOption; }
+
+        if(!shouldCompress(request, compressionOption)) {
+            return chain.proceed(request);
+        }
+
+        final Request compressedRequest = request.newBuilder()
+                .header(CONTENT_ENCODING_HEADER, GZIP)
+                .removeHeader("Content-Length")
+                .method(request.method(), gzip(request.body()))
+                .build();
+        final Response response = chain.proceed(compressedRequest);
+        if(response.code() == MSClientErrorCodeUnsupportedMediaType) {
+            response.close();
+            return chain.proceed(request);
+        }
+        return response;
+    }
+
+    private static RequestBody gzip(@Nonnull final RequestBody body) {
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return body.contentType();
+            }
+
+            @Override
+            public long contentLength() {
+                return -1; // the compressed length is unknown until the body is written
+            }
+
+            @Override
+            public void writeTo(@Nonnull final BufferedSink sink) throws IOException {
+                final BufferedSink gzipSink = Okio.buffer(new GzipSink(sink));
+                body.writeTo(gzipSink);
+                gzipSink.close();
+            }
+        };
+    }
+}
@@ -171,7 +171,7 @@ public class RetryHandler implements Interceptor{
         final RequestBody requestBody = request.body();
         if(isHTTPMethodPutPatchOrPost && requestBody != null) {
             try {
-                return requestBody.contentLength() != -1L;
+                return !requestBody.isOneShot() && requestBody.contentLength() != -1L;
             } catch (IOException ex) {
                 // expected
                 return false;
@@ -0,0 +1,54 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+
+/**
+ * Options to be passed to the compression middleware.
+ */
+public class CompressionHandlerOption implements RequestOption {
+    private boolean enable;
+    private long threshold;
+    /**
+     * Default minimum size in bytes of the request bodies to compress
+     */
+    public static final long DEFAULT_THRESHOLD = 1024;
+
+    /**
+     * Create default instance of compression options, compressing request bodies larger than the default threshold.
+     */
+    public CompressionHandlerOption() {
+        this(true, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param enable Whether to compress the request bodies
+     * @param threshold Minimum size in bytes of the request bodies to compress
+     */
+    public CompressionHandlerOption(boolean enable, long threshold) {
+        if(threshold < 0)
+            throw new IllegalArgumentException("Threshold cannot be negative");
+
+        this.enable = enable;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return whether to compress the request bodies
+     */
+    public boolean enable() {
+        return this.enable;
+    }
+
+    /**
+     * @return minimum size in bytes of the request bodies to compress
+     */
+    public long threshold() {
+        return this.threshold;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked") // the type parameter is chosen by the caller, this option is only registered under its own class
+    public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) CompressionHandlerOption.class; 
+    }
+}
@@ -13,20 +13,39 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import okhttp3.Call;
+import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
 import okhttp3.Request;
 
 import java.lang.InterruptedException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.CompletableFuture;
 import java.net.URI;
 import java.net.URISyntaxException;
 
 import com.microsoft.kiota.authentication.AuthenticationProvider;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.ByteBufferInputStream;
 import com.microsoft.kiota.RequestInformation;
 import com.microsoft.kiota.HttpMethod;
 
@@ -51,4 +70,212 @@ class OkHttpRequestAdapterTest {
         final var result = requestAdapter.getClaimsFromResponse(response, requestInfo, null);
         assertEquals("eyJhY2Nlc3NfdG9rZW4iOnsibmJmIjp7ImVzc2VudGlhbCI6dHJ1ZSwgInZhbHVlIjoiMTY1MjgxMzUwOCJ9fX0=", result);
     }
+    @Test
+    void streamsResponseBodyToFileChannel() throws Exception {
+        final var authenticationProvider = mock(AuthenticationProvider.class);
+        when(authenticationProvider.authenticateRequest(any(RequestInformation.class), any(Map.class))).thenReturn(CompletableFuture.completedFuture(null));
+        final var content = "binary content".repeat(1000);
+        final var client = getMockClient(new Response.Builder()
+                .code(200)
+                .message("OK")
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("https://example.com").build())
+                .body(ResponseBody.create(content, MediaType.parse("application/octet-stream")))
+                .build());
+        final var requestAdapter = new OkHttpRequestAdapter(authenticationProvider, null, null, client);
+        final var requestInfo = new RequestInformation() {{
+            this.httpMethod = HttpMethod.GET;
+            this.setUri(new URI("https://graph.microsoft.com/v1.0/me/drive/items/1/content"));
+        }};
+        final var file = Files.createTempFile("kiota", ".bin");
+        try (final var source = requestAdapter.sendStreamAsync(requestInfo, null).get();
+            final var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            final long transferred = OkHttpRequestAdapter.transferTo(source, channel);
+            assertEquals(content.length(), transferred);
+            assertEquals(content.length(), channel.position());
+        } finally {
+            assertEquals(content, Files.readString(file));
+            Files.delete(file);
+        }
+    }
+    @Test
+    void passesResponseBodyThroughToStream() throws Exception {
+        final var authenticationProvider = mock(AuthenticationProvider.class);
+        when(authenticationProvider.authenticateRequest(any(RequestInformation.class), any(Map.class))).thenReturn(CompletableFuture.completedFuture(null));
+        final var content = "{\"id\":\"1\"}".repeat(1000);
+        final var client = getMockClient(new Response.Builder()
+                .code(200)
+                .message("OK")
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("https://example.com").build())
+                .header("Content-Encoding", "identity")
+                .body(ResponseBody.create(content, MediaType.parse("application/json")))
+                .build());
+        final var requestAdapter = new OkHttpRequestAdapter(authenticationProvider, null, null, client);
+        final var requestInfo = new RequestInformation() {{
+            this.httpMethod = HttpMethod.GET;
+            this.setUri(new URI("https://graph.microsoft.com/v1.0/me"));
+        }};
+        final var target = new ByteArrayOutputStream();
+        final var handler = new PassthroughResponseHandler(requestAdapter, Channels.newChannel(target));
+        assertNull(requestAdapter.sendPrimitiveAsync(requestInfo, InputStream.class, handler, null).get());
+        assertEquals(content, target.toString(StandardCharsets.UTF_8));
+        assertEquals(content.length(), handler.getBytesTransferred());
+        assertEquals(200, handler.getStatusCode());
+        assertEquals("application/json; charset=utf-8", handler.getContentType());
+        assertEquals("identity", handler.getContentEncoding());
+    }
+    @Test
+    void passthroughMapsFailedResponses() throws Exception {
+        final var authenticationProvider = mock(AuthenticationProvider.class);
+        when(authenticationProvider.authenticateRequest(any(RequestInformation.class), any(Map.class))).thenReturn(CompletableFuture.completedFuture(null));
+        final var client = getMockClient(new Response.Builder()
+                .code(500)
+                .message("Internal Server Error")
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("https://example.com").build())
+                .body(ResponseBody.create("failure", MediaType.parse("text/plain")))
+                .build());
+        final var requestAdapter = new OkHttpRequestAdapter(authenticationProvider, null, null, client);
+        final var requestInfo = new RequestInformation() {{
+            this.httpMethod = HttpMethod.GET;
+            this.setUri(new URI("https://graph.microsoft.com/v1.0/me"));
+        }};
+        final var target = new ByteArrayOutputStream();
+        final var handler = new PassthroughResponseHandler(requestAdapter, target);
+        final var exception = assertThrows(ExecutionException.class, () -> requestAdapter.sendPrimitiveAsync(requestInfo, InputStream.class, handler, null).get());
+        assertInstanceOf(ApiException.class, exception.getCause());
+        assertEquals(0, target.size());
+        assertEquals(500, handler.getStatusCode());
+    }
+    @Test
+    void closesFailedStreamResponses() throws Exception {
+        final var authenticationProvider = mock(AuthenticationProvider.class);
+        when(authenticationProvider.authenticateRequest(any(RequestInformation.class), any(Map.class))).thenReturn(CompletableFuture.completedFuture(null));
+        final var closed = new AtomicBoolean();
+        final var source = Okio.buffer(new ForwardingSource(new Buffer().writeUtf8("failure")) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        });
+        final var client = getMockClient(new Response.Builder()
+                .code(500)
+                .message("Internal Server Error")
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("https://example.com").build())
+                .header("Retry-After", "5")
+                .body(ResponseBody.create(source, MediaType.parse("text/plain"), 7))
+                .build());
+        final var requestAdapter = new OkHttpRequestAdapter(authenticationProvider, null, null, client);
+        final var requestInfo = new RequestInformation() {{
+            this.httpMethod = HttpMethod.GET;
+            this.setUri(new URI("https://graph.microsoft.com/v1.0/me/drive/items/1/content"));
+        }};
+        final var exception = assertThrows(ExecutionException.class, () -> requestAdapter.sendStreamAsync(requestInfo, null).get());
+        assertInstanceOf(ApiException.class, exception.getCause());
+        assertEquals(List.of("5"), ((ApiException)exception.getCause()).getResponseHeaders().get("retry-after"));
+        assertTrue(closed.get());
+    }
+    @Test
+    void rejectsContentLengthNotMatchingContent() throws Exception {
+        final var authenticationProvider = mock(AuthenticationProvider.class);
+        when(authenticationProvider.authenticateRequest(any(RequestInformation.class), any(Map.class))).thenReturn(CompletableFuture.completedFuture(null));
+        final var response = new Response.Builder()
+                .code(200)
+                .message("OK")
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("https://example.com").build())
+                .body(ResponseBody.create("", MediaType.parse("application/json")))
+                .build();
+        final var client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            chain.request().body().writeTo(new Buffer()); // the body length is read before it is written
+            chain.request().body().contentLength();
+            return response.newBuilder().request(chain.request()).build();
+        }).build();
+        final var requestAdapter = new OkHttpRequestAdapter(authenticationProvider, null, null, client);
+        final var requestInfo = new RequestInformation() {{
+            this.httpMethod = HttpMethod.PUT;
+            this.setUri(new URI("https://graph.microsoft.com/v1.0/me/drive/items/1/content"));
+        }};
+        requestInfo.setStreamContent(new ByteBufferInputStream(ByteBuffer.wrap(new byte[10])));
+        requestInfo.addRequestHeader("Content-Length", "20");
+        final var exception = assertThrows(ExecutionException.class, () -> requestAdapter.sendPrimitiveAsync(requestInfo, Void.class, null, null).get());
+        assertInstanceOf(IOException.class, exception.getCause());
+    }
+    @Test
+    void sendsRemainingBytesOfPartiallyReadContent() throws Exception {
+        final var authenticationProvider = mock(AuthenticationProvider.class);
+        when(authenticationProvider.authenticateRequest(any(RequestInformation.class), any(Map.class))).thenReturn(CompletableFuture.completedFuture(null));
+        final var response = new Response.Builder()
+                .code(204)
+                .message("No Content")
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("https://example.com").build())
+                .body(ResponseBody.create("", MediaType.parse("application/json")))
+                .build();
+        final var sentBodies = new ArrayList<String>();
+        final var client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            final var body = chain.request().body();
+            assertEquals(7, body.contentLength());
+            for(int i = 0; i < 2; i++) { // a retry writes the body again
+                final var sink = new Buffer();
+                body.writeTo(sink);
+                sentBodies.add(sink.readUtf8());
+            }
+            return response.newBuilder().request(chain.request()).build();
+        }).build();
+        final var requestAdapter = new OkHttpRequestAdapter(authenticationProvider, null, null, client);
+        final var requestInfo = new RequestInformation() {{
+            this.httpMethod = HttpMethod.PUT;
+            this.setUri(new URI("https://graph.microsoft.com/v1.0/me/drive/items/1/content"));
+        }};
+        final var content = new ByteArrayInputStream("skipped content".getBytes(StandardCharsets.UTF_8));
+        assertEquals(8, content.skip(8));
+        requestInfo.setStreamContent(content);
+        requestAdapter.sendPrimitiveAsync(requestInfo, Void.class, null, null).get();
+        assertEquals(List.of("content", "content"), sentBodies);
+    }
+    static OkHttpClient getMockClient(final Response response) {
+        return new OkHttpClient.Builder().addInterceptor(chain -> response.newBuilder().request(chain.request()).build()).build();
+    }
+    @Test
+    void replaysFileContent() throws Exception {
+        final var authenticationProvider = mock(AuthenticationProvider.class);
+        when(authenticationProvider.authenticateRequest(any(RequestInformation.class), any(Map.class))).thenReturn(CompletableFuture.completedFuture(null));
+        final var content = "file content".repeat(1000);
+        final var file = Files.createTempFile("kiota", ".bin");
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Files.writeString(file, content);
+            final var response = new Response.Builder()
+                    .code(204)
+                    .message("No Content")
+                    .protocol(Protocol.HTTP_1_1)
+                    .request(new Request.Builder().url("https://example.com").build())
+                    .body(ResponseBody.create("", MediaType.parse("application/json")))
+                    .build();
+            final var sentBodies = new ArrayList<String>();
+            final var client = new OkHttpClient.Builder().addInterceptor(chain -> {
+                final var body = chain.request().body();
+                assertEquals(content.length(), body.contentLength());
+                for(int i = 0; i < 2; i++) { // a retry writes the body again
+                    final var sink = new Buffer();
+                    body.writeTo(sink);
+                    sentBodies.add(sink.readUtf8());
+                }
+                return response.newBuilder().request(chain.request()).build();
+            }).build();
+            final var requestAdapter = new OkHttpRequestAdapter(authenticationProvider, null, null, client);
+            final var requestInfo = new RequestInformation() {{
+                this.httpMethod = HttpMethod.PUT;
+                this.setUri(new URI("https://graph.microsoft.com/v1.0/me/drive/items/1/content"));
+            }};
+            requestInfo.setFileContent(channel);
+            requestAdapter.sendPrimitiveAsync(requestInfo, Void.class, null, null).get();
+            assertEquals(List.of(content, content), sentBodies);
+        } finally {
+            Files.delete(file);
+        }
+    }
 }
@@ -0,0 +1,169 @@
+package com.microsoft.kiota.http.middleware;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.microsoft.kiota.http.KiotaClientFactory;
+import com.microsoft.kiota.http.middleware.options.CompressionHandlerOption;
+
+import org.junit.jupiter.api.Test;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSource;
+
+public class CompressionHandlerTests {
+    private final List<Request> sentRequests = new ArrayList<>();
+    private final List<String> sentBodies = new ArrayList<>();
+    private static final String payload = "{\"displayName\":\"Megan Bowen\"}".repeat(100);
+
+    @Test
+    public void CompressesRequestBodyAboveThreshold() throws IOException {
+        send(new CompressionHandler(), 200, postRequest(payload));
+
+        assertEquals(1, sentRequests.size());
+        assertEquals("gzip", sentRequests.get(0).header("Content-Encoding"));
+        assertEquals(payload, sentBodies.get(0));
+    }
+
+    @Test
+    public void DoesNotCompressRequestBodyBelowThreshold() throws IOException {
+        send(new CompressionHandler(), 200, postRequest("{}"));
+
+        assertNull(sentRequests.get(0).header("Content-Encoding"));
+        assertEquals("{}", sentBodies.get(0));
+    }
+
+    @Test
+    public void FallsBackToUncompressedBodyOnUnsupportedMediaType() throws IOException {
+        final Response response = send(new CompressionHandler(), 415, postRequest(payload));
+
+        assertEquals(2, sentRequests.size());
+        assertEquals("gzip", sentRequests.get(0).header("Content-Encoding"));
+        assertNull(sentRequests.get(1).header("Content-Encoding"));
+        assertEquals(payload, sentBodies.get(1));
+        assertEquals(200, response.code());
+    }
+
+    @Test
+    public void RequestOptionDisablesCompression() throws IOException {
+        final Request request = postRequest(payload).newBuilder()
+                .tag(CompressionHandlerOption.class, new CompressionHandlerOption(false, 0))
+                .build();
+        send(new CompressionHandler(), 200, request);
+
+        assertNull(sentRequests.get(0).header("Content-Encoding"));
+        assertEquals(payload, sentBodies.get(0));
+    }
+
+    @Test
+    public void DoesNotCompressRangeRequests() throws IOException {
+        final Request request = postRequest(payload).newBuilder()
+                .header("Content-Range", "bytes 0-" + (payload.length() - 1) + "/" + payload.length())
+                .build();
+        send(new CompressionHandler(), 200, request);
+
+        assertNull(sentRequests.get(0).header("Content-Encoding"));
+        assertEquals(payload, sentBodies.get(0));
+    }
+
+    @Test
+    public void DoesNotCompressBinaryBodies() throws IOException {
+        final Request request = new Request.Builder().url("https://graph.microsoft.com/v1.0/me/photo/$value")
+                .put(RequestBody.create(payload, MediaType.parse("application/octet-stream"))).build();
+        send(new CompressionHandler(), 200, request);
+
+        assertNull(sentRequests.get(0).header("Content-Encoding"));
+        assertEquals(payload, sentBodies.get(0));
+    }
+
+    @Test
+    public void DoesNotCompressOneShotBodies() throws IOException {
+        final RequestBody body = RequestBody.create(payload, MediaType.parse("application/json"));
+        final Request request = new Request.Builder().url("https://graph.microsoft.com/v1.0/me")
+                .patch(new RequestBody() {
+                    @Override
+                    public MediaType contentType() {
+                        return body.contentType();
+                    }
+                    @Override
+                    public long contentLength() throws IOException {
+                        return body.contentLength();
+                    }
+                    @Override
+                    public boolean isOneShot() {
+                        return true;
+                    }
+                    @Override
+                    public void writeTo(BufferedSink sink) throws IOException {
+                        body.writeTo(sink);
+                    }
+                }).build();
+        send(new CompressionHandler(), 415, request);
+
+        assertEquals(1, sentRequests.size());
+        assertNull(sentRequests.get(0).header("Content-Encoding"));
+    }
+
+    @Test
+    public void CompressesTextualMediaTypesOnly() {
+        assertTrue(CompressionHandler.isCompressible(MediaType.parse("application/json; charset=utf-8")));
+        assertTrue(CompressionHandler.isCompressible(MediaType.parse("application/merge-patch+json")));
+        assertTrue(CompressionHandler.isCompressible(MediaType.parse("text/plain")));
+        assertTrue(CompressionHandler.isCompressible(MediaType.parse("application/xml")));
+        assertFalse(CompressionHandler.isCompressible(MediaType.parse("application/octet-stream")));
+        assertFalse(CompressionHandler.isCompressible(MediaType.parse("image/png")));
+        assertFalse(CompressionHandler.isCompressible(null));
+    }
+
+    @Test
+    public void IsNotADefaultMiddleware() {
+        for(final Interceptor interceptor : KiotaClientFactory.CreateDefaultInterceptors()) {
+            assertFalse(interceptor instanceof CompressionHandler);
+        }
+    }
+
+    private static Request postRequest(final String body) {
+        return new Request.Builder().url("https://graph.microsoft.com/v1.0/me")
+                .patch(RequestBody.create(body, MediaType.parse("application/json"))).build();
+    }
+
+    private Response send(final CompressionHandler handler, final int statusCode, final Request request) throws IOException {
+        final Interceptor server = chain -> {
+            final Request sentRequest = chain.request();
+            final Buffer buffer = new Buffer();
+            sentRequest.body().writeTo(buffer);
+            if("gzip".equals(sentRequest.header("Content-Encoding"))) {
+                final Buffer decompressed = new Buffer();
+                decompressed.writeAll(new GzipSource(buffer));
+                sentBodies.add(decompressed.readUtf8());
+            } else {
+                sentBodies.add(buffer.readUtf8());
+            }
+            sentRequests.add(sentRequest);
+            return new Response.Builder()
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(sentRequests.size() == 1 ? statusCode : 200)
+                    .message("")
+                    .request(sentRequest)
+                    .body(ResponseBody.create("", MediaType.parse("application/json")))
+                    .build();
+        };
+        final OkHttpClient client = new OkHttpClient.Builder().addInterceptor(handler).addInterceptor(server).build();
+        return client.newCall(request).execute();
+    }
+}
@@ -0,0 +1,270 @@
+package com.microsoft.kiota.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static com.microsoft.kiota.serialization.CborEncoder.*;
+
+/**
+ * Decodes CBOR (RFC 8949) data items read from a stream into maps, lists and values.
+ * Maps are decoded as LinkedHashMap with string keys, known tags are decoded to the matching java types and unknown tags are ignored. Not public by intention.
+ */
+final class CborDecoder {
+    private static final Object BREAK_MARKER = new Object();
+    /** Maximum nesting of arrays and maps, deeper payloads are rejected instead of exhausting the stack */
+    private static final int MAX_DEPTH = 512;
+    /** Length read at once for definite byte and text strings, so a forged length cannot allocate more than the payload holds */
+    private static final int MAX_CHUNK_SIZE = 64 * 1024;
+    private final InputStream stream;
+    private final byte[] buffer = new byte[8192];
+    private int position;
+    private int limit;
+    private int depth;
+    CborDecoder(@Nonnull final InputStream stream) {
+        this.stream = Objects.requireNonNull(stream, "parameter stream cannot be null");
+    }
+    /**
+     * Decodes the next data item.
+     * @return the decoded value.
+     * @throws IOException when the stream cannot be read or doesn't contain a well formed data item.
+     */
+    @Nullable
+    Object readValue() throws IOException {
+        final Object value = this.readItem();
+        if(value == BREAK_MARKER) {
+            throw new IOException("unexpected break in CBOR payload");
+        }
+        return value;
+    }
+    /**
+     * Checks the stream holds no data after the data items read.
+     * @throws IOException when the stream cannot be read or holds more data.
+     */
+    void readEnd() throws IOException {
+        if(this.position < this.limit || this.stream.read() >= 0) {
+            throw new IOException("unexpected data after the CBOR data item");
+        }
+    }
+    private Object readItem() throws IOException {
+        final int initial = this.readByte();
+        final int majorType = initial >>> 5;
+        final int additionalInformation = initial & 0x1f;
+        switch(majorType) {
+            case MAJOR_TYPE_UNSIGNED: {
+                final long argument = this.readArgument(additionalInformation);
+                return argument >= 0 ? (Object)argument : (Object)new BigInteger(Long.toUnsignedString(argument));
+            }
+            case MAJOR_TYPE_NEGATIVE: {
+                final long argument = this.readArgument(additionalInformation);
+                return argument >= 0 ? (Object)(-1 - argument) : (Object)new BigInteger(Long.toUnsignedString(argument)).not();
+            }
+            case MAJOR_TYPE_BYTES:
+                return this.readString(majorType, additionalInformation);
+            case MAJOR_TYPE_TEXT:
+                return new String(this.readString(majorType, additionalInformation), StandardCharsets.UTF_8);
+            case MAJOR_TYPE_ARRAY:
+                return this.readArray(additionalInformation);
+            case MAJOR_TYPE_MAP:
+                return this.readMap(additionalInformation);
+            case MAJOR_TYPE_TAG:
+                return this.readTagged(this.readArgument(additionalInformation));
+            default:
+                return this.readSimple(initial, additionalInformation);
+        }
+    }
+    private List<Object> readArray(final int additionalInformation) throws IOException {
+        this.enter();
+        final List<Object> result = new ArrayList<>();
+        if(additionalInformation == INDEFINITE_LENGTH) {
+            Object item;
+            while((item = this.readItem()) != BREAK_MARKER) {
+                result.add(item);
+            }
+        } else {
+            final long length = this.readLength(additionalInformation);
+            for(long i = 0; i < length; i++) {
+                result.add(this.readValue());
+            }
+        }
+        this.depth--;
+        return result;
+    }
+    private Map<String, Object> readMap(final int additionalInformation) throws IOException {
+        this.enter();
+        final Map<String, Object> result = new LinkedHashMap<>();
+        final long length = additionalInformation == INDEFINITE_LENGTH ? -1 : this.readLength(additionalInformation);
+        for(long i = 0; length == -1 || i < length; i++) {
+            final Object key = length == -1 ? this.readItem() : this.readValue();
+            if(key == BREAK_MARKER) {
+                break;
+            }
+            result.put(key instanceof String ? (String)key : String.valueOf(key), this.readValue());
+        }
+        this.depth--;
+        return result;
+    }
+    private Object readTagged(final long tag) throws IOException {
+        this.enter();
+        final Object value = this.readValue();
+        this.depth--;
+        if(tag == TAG_DATE_TIME_STRING && value instanceof String) {
+            return value; // parsed on demand by the parse node like other date strings
+        } else if(tag == TAG_EPOCH_DATE_TIME && value instanceof Number) {
+            final Instant instant = value instanceof Double || value instanceof Float ?
+                Instant.ofEpochMilli(Math.round(((Number)value).doubleValue() * 1000d)) :
+                Instant.ofEpochSecond(((Number)value).longValue());
+            return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+        } else if(tag == TAG_POSITIVE_BIGNUM && value instanceof byte[]) {
+            return new BigInteger(1, (byte[])value);
+        } else if(tag == TAG_NEGATIVE_BIGNUM && value instanceof byte[]) {
+            return new BigInteger(1, (byte[])value).not();
+        } else if(tag == TAG_DECIMAL_FRACTION && value instanceof List && ((List<?>)value).size() == 2) {
+            final Object exponent = ((List<?>)value).get(0);
+            final Object mantissa = ((List<?>)value).get(1);
+            if(exponent instanceof Long && (mantissa instanceof Long || mantissa instanceof BigInteger)) {
+                final BigInteger unscaled = mantissa instanceof Long ? BigInteger.valueOf((Long)mantissa) : (BigInteger)mantissa;
+                return new BigDecimal(unscaled, Math.toIntExact(-(Long)exponent));
+            }
+        } else if(tag == TAG_UUID && value instanceof byte[] && ((byte[])value).length == 16) {
+            final ByteBuffer bytes = ByteBuffer.wrap((byte[])value);
+            return new UUID(bytes.getLong(), bytes.getLong());
+        } else if(tag == TAG_EPOCH_DATE && value instanceof Long) {
+            return LocalDate.ofEpochDay((Long)value);
+        }
+        return value;
+    }
+    private Object readSimple(final int initial, final int additionalInformation) throws IOException {
+        switch(initial) {
+            case SIMPLE_FALSE:
+                return Boolean.FALSE;
+            case SIMPLE_TRUE:
+                return Boolean.TRUE;
+            case SIMPLE_NULL:
+            case SIMPLE_NULL + 1: // undefined
+                return null;
+            case FLOAT_16:
+                return halfToFloat((int)this.readBigEndian(2));
+            case FLOAT_32:
+                return Float.intBitsToFloat((int)this.readBigEndian(4));
+            case FLOAT_64:
+                return Double.longBitsToDouble(this.readBigEndian(8));
+            case BREAK:
+                return BREAK_MARKER;
+            default:
+                if(additionalInformation > 24) {
+                    throw new IOException("malformed CBOR simple value");
+                }
+                final int simpleValue = (int)this.readArgument(additionalInformation);
+                if(additionalInformation == 24 && simpleValue < 32) { // these simple values must be encoded in the initial byte
+                    throw new IOException("malformed CBOR simple value");
+                }
+                return Integer.valueOf(simpleValue);
+        }
+    }
+    private byte[] readString(final int majorType, final int additionalInformation) throws IOException {
+        if(additionalInformation == INDEFINITE_LENGTH) {
+            final ByteArrayOutputStream chunks = new ByteArrayOutputStream();
+            int initial;
+            while((initial = this.readByte()) != BREAK) {
+                if(initial >>> 5 != majorType || (initial & 0x1f) == INDEFINITE_LENGTH) {
+                    throw new IOException("malformed CBOR string chunk");
+                }
+                final byte[] chunk = this.readString(majorType, initial & 0x1f);
+                chunks.write(chunk, 0, chunk.length);
+            }
+            return chunks.toByteArray();
+        }
+        final long length = this.readLength(additionalInformation);
+        if(length > Integer.MAX_VALUE - 8) {
+            throw new IOException("CBOR string too large");
+        }
+        byte[] result = new byte[(int)Math.min(length, MAX_CHUNK_SIZE)];
+        int read = 0;
+        while(read < length) {
+            if(read == result.length) {
+                result = Arrays.copyOf(result, (int)Math.min(length, (long)result.length << 1));
+            }
+            if(this.position == this.limit) {
+                this.fill();
+            }
+            final int count = Math.min(result.length - read, this.limit - this.position);
+            System.arraycopy(this.buffer, this.position, result, read, count);
+            this.position += count;
+            read += count;
+        }
+        return result;
+    }
+    private long readArgument(final int additionalInformation) throws IOException {
+        if(additionalInformation < 24) {
+            return additionalInformation;
+        } else if(additionalInformation <= 27) {
+            return this.readBigEndian(1 << (additionalInformation - 24));
+        }
+        throw new IOException("malformed CBOR argument");
+    }
+    private long readLength(final int additionalInformation) throws IOException {
+        final long length = this.readArgument(additionalInformation);
+        if(length < 0) {
+            throw new IOException("CBOR length too large");
+        }
+        return length;
+    }
+    private long readBigEndian(final int byteCount) throws IOException {
+        long result = 0;
+        for(int i = 0; i < byteCount; i++) {
+            result = result << 8 | this.readByte();
+        }
+        return result;
+    }
+    private int readByte() throws IOException {
+        if(this.position == this.limit) {
+            this.fill();
+        }
+        return this.buffer[this.position++] & 0xff;
+    }
+    private void fill() throws IOException {
+        final int count = this.stream.read(this.buffer, 0, this.buffer.length);
+        if(count <= 0) {
+            throw new IOException("unexpected end of CBOR payload");
+        }
+        this.position = 0;
+        this.limit = count;
+    }
+    private void enter() throws IOException {
+        if(++this.depth > MAX_DEPTH) {
+            throw new IOException("CBOR payload nested too deeply");
+        }
+    }
+    private static float halfToFloat(final int bits) {
+        final int exponent = (bits >>> 10) & 0x1f;
+        final int mantissa = bits & 0x3ff;
+        final float magnitude;
+        if(exponent == 0) {
+            magnitude = mantissa * 0x1p-24f;
+        } else if(exponent == 0x1f) {
+            magnitude = mantissa == 0 ? Float.POSITIVE_INFINITY : Float.NaN;
+        } else {
+            magnitude = (1 + mantissa / 1024f) * (float)Math.pow(2, exponent - 15);
+        }
+        return (bits & 0x8000) != 0 ? -magnitude : magnitude;
+    }
+}
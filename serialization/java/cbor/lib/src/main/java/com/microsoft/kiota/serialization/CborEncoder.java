@@ -0,0 +1,151 @@
+package com.microsoft.kiota.serialization;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+/** Encodes CBOR (RFC 8949) data items into a growable buffer. Not public by intention. */
+final class CborEncoder {
+    static final int MAJOR_TYPE_UNSIGNED = 0;
+    static final int MAJOR_TYPE_NEGATIVE = 1;
+    static final int MAJOR_TYPE_BYTES = 2;
+    static final int MAJOR_TYPE_TEXT = 3;
+    static final int MAJOR_TYPE_ARRAY = 4;
+    static final int MAJOR_TYPE_MAP = 5;
+    static final int MAJOR_TYPE_TAG = 6;
+    static final int MAJOR_TYPE_SIMPLE = 7;
+    static final int INDEFINITE_LENGTH = 31;
+    static final int BREAK = 0xff;
+    static final int SIMPLE_FALSE = 0xf4;
+    static final int SIMPLE_TRUE = 0xf5;
+    static final int SIMPLE_NULL = 0xf6;
+    static final int FLOAT_16 = 0xf9;
+    static final int FLOAT_32 = 0xfa;
+    static final int FLOAT_64 = 0xfb;
+    static final long TAG_DATE_TIME_STRING = 0;
+    static final long TAG_EPOCH_DATE_TIME = 1;
+    static final long TAG_POSITIVE_BIGNUM = 2;
+    static final long TAG_NEGATIVE_BIGNUM = 3;
+    static final long TAG_DECIMAL_FRACTION = 4;
+    static final long TAG_UUID = 37;
+    static final long TAG_EPOCH_DATE = 100;
+    static final long TAG_DATE_STRING = 1004;
+    private byte[] buffer = new byte[256];
+    private int size;
+    void writeTypeAndArgument(final int majorType, final long argument) {
+        final int type = majorType << 5;
+        if(argument >= 0 && argument < 24) {
+            this.writeByte(type | (int)argument);
+        } else if(argument >= 0 && argument <= 0xffL) {
+            this.ensureCapacity(2);
+            this.buffer[this.size++] = (byte)(type | 24);
+            this.buffer[this.size++] = (byte)argument;
+        } else if(argument >= 0 && argument <= 0xffffL) {
+            this.ensureCapacity(3);
+            this.buffer[this.size++] = (byte)(type | 25);
+            this.writeBigEndian(argument, 2);
+        } else if(argument >= 0 && argument <= 0xffffffffL) {
+            this.ensureCapacity(5);
+            this.buffer[this.size++] = (byte)(type | 26);
+            this.writeBigEndian(argument, 4);
+        } else { // arguments above Long.MAX_VALUE are passed as negative longs and written unsigned
+            this.ensureCapacity(9);
+            this.buffer[this.size++] = (byte)(type | 27);
+            this.writeBigEndian(argument, 8);
+        }
+    }
+    void writeLong(final long value) {
+        if(value < 0) {
+            this.writeTypeAndArgument(MAJOR_TYPE_NEGATIVE, -1 - value);
+        } else {
+            this.writeTypeAndArgument(MAJOR_TYPE_UNSIGNED, value);
+        }
+    }
+    void writeBigInteger(@Nonnull final BigInteger value) {
+        if(value.bitLength() < 64) {
+            this.writeLong(value.longValue());
+        } else {
+            final boolean negative = value.signum() < 0;
+            this.writeTypeAndArgument(MAJOR_TYPE_TAG, negative ? TAG_NEGATIVE_BIGNUM : TAG_POSITIVE_BIGNUM);
+            final byte[] magnitude = (negative ? value.negate().subtract(BigInteger.ONE) : value).toByteArray();
+            final int offset = magnitude[0] == 0 ? 1 : 0; // sign byte of the two's complement representation
+            this.writeBytes(magnitude, offset, magnitude.length - offset);
+        }
+    }
+    void writeBigDecimal(@Nonnull final BigDecimal value) {
+        this.writeTypeAndArgument(MAJOR_TYPE_TAG, TAG_DECIMAL_FRACTION);
+        this.writeTypeAndArgument(MAJOR_TYPE_ARRAY, 2);
+        this.writeLong(-(long)value.scale());
+        this.writeBigInteger(value.unscaledValue());
+    }
+    void writeFloat(final float value) {
+        this.ensureCapacity(5);
+        this.buffer[this.size++] = (byte)FLOAT_32;
+        this.writeBigEndian(Float.floatToIntBits(value) & 0xffffffffL, 4);
+    }
+    void writeDouble(final double value) {
+        this.ensureCapacity(9);
+        this.buffer[this.size++] = (byte)FLOAT_64;
+        this.writeBigEndian(Double.doubleToLongBits(value), 8);
+    }
+    void writeBoolean(final boolean value) {
+        this.writeByte(value ? SIMPLE_TRUE : SIMPLE_FALSE);
+    }
+    void writeNull() {
+        this.writeByte(SIMPLE_NULL);
+    }
+    void writeString(@Nonnull final String value) {
+        final int length = value.length();
+        int index = 0;
+        while(index < length && value.charAt(index) < 0x80) {
+            index++;
+        }
+        if(index == length) { // ASCII, the characters are the bytes
+            this.writeTypeAndArgument(MAJOR_TYPE_TEXT, length);
+            this.ensureCapacity(length);
+            for(int i = 0; i < length; i++) {
+                this.buffer[this.size++] = (byte)value.charAt(i);
+            }
+        } else {
+            final byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            this.writeTypeAndArgument(MAJOR_TYPE_TEXT, encoded.length);
+            this.writeRaw(encoded, 0, encoded.length);
+        }
+    }
+    void writeBytes(@Nonnull final byte[] value, final int offset, final int length) {
+        this.writeTypeAndArgument(MAJOR_TYPE_BYTES, length);
+        this.writeRaw(value, offset, length);
+    }
+    void writeByte(final int value) {
+        this.ensureCapacity(1);
+        this.buffer[this.size++] = (byte)value;
+    }
+    private void writeRaw(final byte[] value, final int offset, final int length) {
+        this.ensureCapacity(length);
+        System.arraycopy(value, offset, this.buffer, this.size, length);
+        this.size += length;
+    }
+    private void writeBigEndian(final long value, final int byteCount) {
+        for(int shift = (byteCount - 1) * 8; shift >= 0; shift -= 8) {
+            this.buffer[this.size++] = (byte)(value >>> shift);
+        }
+    }
+    private void ensureCapacity(final int additional) {
+        final int required = this.size + additional;
+        if(required < 0) {
+            throw new OutOfMemoryError("payload too large");
+        } else if(required > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(required, this.buffer.length << 1));
+        }
+    }
+    int size() {
+        return this.size;
+    }
+    @Nonnull
+    byte[] getBuffer() {
+        return this.buffer;
+    }
+}
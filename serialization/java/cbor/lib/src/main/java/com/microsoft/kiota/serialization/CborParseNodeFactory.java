@@ -0,0 +1,37 @@
+package com.microsoft.kiota.serialization;
+
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.ParseNodeFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+/** Creates parse nodes for application/cbor payloads, decoding the binary data items directly from the stream. */
+public class CborParseNodeFactory implements ParseNodeFactory {
+    public String getValidContentType() {
+        return validContentType;
+    }
+    private final static String validContentType = "application/cbor";
+    @Override
+    @Nonnull
+    public ParseNode getParseNode(@Nonnull final String contentType, @Nonnull final InputStream rawResponse) {
+        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
+        Objects.requireNonNull(rawResponse, "parameter rawResponse cannot be null");
+        if(contentType.isEmpty()) {
+            throw new NullPointerException("contentType cannot be empty");
+        } else if (!contentType.equals(validContentType)) {
+            throw new IllegalArgumentException("expected a " + validContentType + " content type");
+        }
+        try {
+            final CborDecoder decoder = new CborDecoder(rawResponse);
+            final Object value = decoder.readValue();
+            decoder.readEnd();
+            return new CborParseNode(value);
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the payload", ex);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.microsoft.kiota.serialization;
+
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.microsoft.kiota.serialization.Parsable;
+
+import java.lang.Enum;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static com.microsoft.kiota.serialization.CborEncoder.*;
+
+/**
+ * Serialization writer for CBOR payloads. Objects are written as maps keyed by the property names and collections as arrays.
+ * Byte arrays are written as byte strings, UUIDs, date times, dates, big decimals and big integers with their standard tags.
+ */
+public class CborSerializationWriter implements SerializationWriter {
+    private final CborEncoder encoder = new CborEncoder();
+    /** Whether the values are currently written in a map, where every value follows its key, even an empty one */
+    private boolean inMap;
+    private void writeKey(final String key) {
+        if(inMap) {
+            if(key == null) {
+                throw new IllegalArgumentException("the values of an object must have a key");
+            }
+            encoder.writeString(key);
+        } else if(key != null && !key.isEmpty()) {
+            encoder.writeString(key);
+        }
+    }
+    public void writeStringValue(final String key, final String value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeString(value);
+        }
+    }
+    public void writeBooleanValue(final String key, final Boolean value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeBoolean(value);
+        }
+    }
+    public void writeShortValue(final String key, final Short value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeLong(value);
+        }
+    }
+    public void writeByteValue(final String key, final Byte value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeLong(value);
+        }
+    }
+    public void writeBigDecimalValue(final String key, final BigDecimal value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeBigDecimal(value);
+        }
+    }
+    public void writeIntegerValue(final String key, final Integer value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeLong(value);
+        }
+    }
+    public void writeFloatValue(final String key, final Float value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeFloat(value);
+        }
+    }
+    public void writeDoubleValue(final String key, final Double value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeDouble(value);
+        }
+    }
+    public void writeLongValue(final String key, final Long value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeLong(value);
+        }
+    }
+    public void writeUUIDValue(final String key, final UUID value) {
+        if(value != null) {
+            writeKey(key);
+            final byte[] bytes = new byte[16];
+            final long mostSignificantBits = value.getMostSignificantBits();
+            final long leastSignificantBits = value.getLeastSignificantBits();
+            for(int i = 0; i < 8; i++) {
+                bytes[i] = (byte)(mostSignificantBits >>> (56 - i * 8));
+                bytes[i + 8] = (byte)(leastSignificantBits >>> (56 - i * 8));
+            }
+            encoder.writeTypeAndArgument(MAJOR_TYPE_TAG, TAG_UUID);
+            encoder.writeBytes(bytes, 0, bytes.length);
+        }
+    }
+    public void writeOffsetDateTimeValue(final String key, final OffsetDateTime value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeTypeAndArgument(MAJOR_TYPE_TAG, TAG_DATE_TIME_STRING);
+            encoder.writeString(value.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+        }
+    }
+    public void writeLocalDateValue(final String key, final LocalDate value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeTypeAndArgument(MAJOR_TYPE_TAG, TAG_DATE_STRING);
+            encoder.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE));
+        }
+    }
+    public void writeLocalTimeValue(final String key, final LocalTime value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeString(value.format(DateTimeFormatter.ISO_LOCAL_TIME));
+        }
+    }
+    public void writePeriodValue(final String key, final Period value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeString(value.toString());
+        }
+    }
+    public <T> void writeCollectionOfPrimitiveValues(final String key, final Iterable<T> values) {
+        if(values != null) { //empty array is meaningful
+            writeKey(key);
+            final boolean parentInMap = beginArray(values);
+            for (final T t : values) {
+                this.writeAnyValue(null, t);
+            }
+            endArray(values, parentInMap);
+        }
+    }
+    public <T extends Parsable> void writeCollectionOfObjectValues(final String key, final Iterable<T> values) {
+        if(values != null) { //empty array is meaningful
+            writeKey(key);
+            final boolean parentInMap = beginArray(values);
+            for (final T t : values) {
+                if(t == null) {
+                    encoder.writeNull(); // keeps the item count of definite length arrays
+                } else {
+                    this.writeObjectValue(null, t);
+                }
+            }
+            endArray(values, parentInMap);
+        }
+    }
+    public <T extends Enum<T>> void writeCollectionOfEnumValues(@Nullable final String key, @Nullable final Iterable<T> values) {
+        if(values != null) { //empty array is meaningful
+            writeKey(key);
+            final boolean parentInMap = beginArray(values);
+            for (final T t : values) {
+                final String value = t == null ? null : getStringValueFromValuedEnum(t);
+                if(value == null) {
+                    encoder.writeNull();
+                } else {
+                    encoder.writeString(value);
+                }
+            }
+            endArray(values, parentInMap);
+        }
+    }
+    /**
+     * Collections are written with their length, other iterables as indefinite length arrays
+     * @return whether the array is written in a map, to restore once the array ends
+     */
+    private boolean beginArray(final Iterable<?> values) {
+        if(values instanceof Collection) {
+            encoder.writeTypeAndArgument(MAJOR_TYPE_ARRAY, ((Collection<?>)values).size());
+        } else {
+            encoder.writeByte(MAJOR_TYPE_ARRAY << 5 | INDEFINITE_LENGTH);
+        }
+        final boolean parentInMap = inMap;
+        inMap = false;
+        return parentInMap;
+    }
+    private void endArray(final Iterable<?> values, final boolean parentInMap) {
+        if(!(values instanceof Collection)) {
+            encoder.writeByte(BREAK);
+        }
+        inMap = parentInMap;
+    }
+    public <T extends Parsable> void writeObjectValue(final String key, final T value) {
+        if(value != null) {
+            writeKey(key);
+            if(onBeforeObjectSerialization != null) {
+                onBeforeObjectSerialization.accept(value);
+            }
+            encoder.writeByte(MAJOR_TYPE_MAP << 5 | INDEFINITE_LENGTH); // the number of properties is only known once they are written
+            final boolean parentInMap = inMap;
+            inMap = true;
+            if(onStartObjectSerialization != null) {
+                onStartObjectSerialization.accept(value, this);
+            }
+            value.serialize(this);
+            encoder.writeByte(BREAK);
+            inMap = parentInMap;
+            if(onAfterObjectSerialization != null) {
+                onAfterObjectSerialization.accept(value);
+            }
+        }
+    }
+    public <T extends Enum<T>> void writeEnumSetValue(@Nullable final String key, @Nullable final EnumSet<T> values) {
+        if(values != null && !values.isEmpty()) {
+            final String concatenatedValue = EnumCodec.forClass(values.iterator().next().getDeclaringClass()).formatSet(values);
+            if(concatenatedValue != null) {
+                this.writeStringValue(key, concatenatedValue);
+            }
+        }
+    }
+    public <T extends Enum<T>> void writeEnumValue(@Nullable final String key, @Nullable final T value) {
+        if(value != null) {
+            this.writeStringValue(key, getStringValueFromValuedEnum(value));
+        }
+    }
+    public void writeNullValue(@Nullable final String key) {
+        writeKey(key);
+        encoder.writeNull();
+    }
+    private <T extends Enum<T>> String getStringValueFromValuedEnum(final T value) {
+        return EnumCodec.forClass(value.getDeclaringClass()).format(value);
+    }
+    @Nonnull
+    public InputStream getSerializedContent() {
+        return new ByteArrayInputStream(encoder.getBuffer(), 0, encoder.size());
+    }
+    public void close() {
+        // nothing to release, the content is kept in memory
+    }
+    public void writeAdditionalData(@Nonnull final Map<String, Object> value) {
+        if(value == null) return;
+        for(final Map.Entry<String, Object> dataValue : value.entrySet()) {
+            this.writeAnyValue(dataValue.getKey(), dataValue.getValue());
+        }
+    }
+    private void writeNonParsableObject(final String key, final Object value) {
+        if(!ValueWriterDispatch.hasProperties(value.getClass())) {
+            this.writeStringValue(key, value.toString());
+            return;
+        }
+        writeKey(key);
+        encoder.writeByte(MAJOR_TYPE_MAP << 5 | INDEFINITE_LENGTH);
+        final boolean parentInMap = inMap;
+        inMap = true;
+        ValueWriterDispatch.forEachProperty(value, this::writeAnyValue);
+        encoder.writeByte(BREAK);
+        inMap = parentInMap;
+    }
+    private void writeAnyValue(final String key, final Object value) {
+        if(value == null) {
+            this.writeNullValue(key);
+        } else if(value instanceof byte[]) {
+            this.writeByteArrayValue(key, (byte[])value);
+        } else if(value instanceof Double) {
+            this.writeDoubleValue(key, (Double)value);
+        } else if(value instanceof BigInteger) {
+            writeKey(key);
+            encoder.writeBigInteger((BigInteger)value);
+        } else if(!ValueWriterDispatch.write(this, key, value)) {
+            this.writeNonParsableObject(key, value);
+        }
+    }
+    public Consumer<Parsable> getOnBeforeObjectSerialization() {
+        return this.onBeforeObjectSerialization;
+    }
+    public Consumer<Parsable> getOnAfterObjectSerialization() {
+        return this.onAfterObjectSerialization;
+    }
+    public BiConsumer<Parsable, SerializationWriter> getOnStartObjectSerialization() {
+        return this.onStartObjectSerialization;
+    }
+    private Consumer<Parsable> onBeforeObjectSerialization;
+    public void setOnBeforeObjectSerialization(final Consumer<Parsable> value) {
+        this.onBeforeObjectSerialization = value;
+    }
+    private Consumer<Parsable> onAfterObjectSerialization;
+    public void setOnAfterObjectSerialization(final Consumer<Parsable> value) {
+        this.onAfterObjectSerialization = value;
+    }
+    private BiConsumer<Parsable, SerializationWriter> onStartObjectSerialization;
+    public void setOnStartObjectSerialization(final BiConsumer<Parsable, SerializationWriter> value) {
+        this.onStartObjectSerialization = value;
+    }
+    /** Writes an indefinite length byte string with a chunk per read, so the value is never held in memory */
+    @Override
+    public void writeByteStreamValue(@Nullable final String key, @Nonnull final InputStream value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeByte(MAJOR_TYPE_BYTES << 5 | INDEFINITE_LENGTH);
+            final byte[] chunk = new byte[STREAM_CHUNK_SIZE];
+            try {
+                int read;
+                while((read = value.read(chunk)) >= 0) {
+                    if(read > 0) {
+                        encoder.writeBytes(chunk, 0, read);
+                    }
+                }
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+            encoder.writeByte(BREAK);
+        }
+    }
+    private static final int STREAM_CHUNK_SIZE = 8192;
+    public void writeByteArrayValue(@Nullable final String key, @Nonnull final byte[] value) {
+        if(value != null) {
+            writeKey(key);
+            encoder.writeBytes(value, 0, value.length);
+        }
+    }
+}
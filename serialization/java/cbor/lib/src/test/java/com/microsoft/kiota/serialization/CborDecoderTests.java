@@ -0,0 +1,175 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class CborDecoderTests {
+    @Test
+    void readsIntegersOfEveryWidth() throws IOException {
+        assertEquals(0L, decode("00"));
+        assertEquals(23L, decode("17"));
+        assertEquals(24L, decode("1818"));
+        assertEquals(1000L, decode("1903e8"));
+        assertEquals(1000000L, decode("1a000f4240"));
+        assertEquals(1000000000000L, decode("1b000000e8d4a51000"));
+        assertEquals(new BigInteger("18446744073709551615"), decode("1bffffffffffffffff"));
+        assertEquals(-1L, decode("20"));
+        assertEquals(-100L, decode("3863"));
+        assertEquals(-1000L, decode("3903e7"));
+        assertEquals(Long.MIN_VALUE, decode("3b7fffffffffffffff"));
+        assertEquals(new BigInteger("-18446744073709551616"), decode("3bffffffffffffffff"));
+    }
+    @Test
+    void readsFloatingPointValues() throws IOException {
+        assertEquals(0.0f, decode("f90000"));
+        assertEquals(-0.0f, decode("f98000"));
+        assertEquals(1.0f, decode("f93c00"));
+        assertEquals(1.5f, decode("f93e00"));
+        assertEquals(65504.0f, decode("f97bff"));
+        assertEquals(5.960464477539063e-8f, decode("f90001"));
+        assertEquals(-4.0f, decode("f9c400"));
+        assertEquals(Float.POSITIVE_INFINITY, decode("f97c00"));
+        assertTrue(Float.isNaN((Float)decode("f97e00")));
+        assertEquals(100000.0f, decode("fa47c35000"));
+        assertEquals(1.1d, decode("fb3ff199999999999a"));
+        assertEquals(Double.NEGATIVE_INFINITY, decode("fbfff0000000000000"));
+    }
+    @Test
+    void readsSimpleValues() throws IOException {
+        assertEquals(Boolean.FALSE, decode("f4"));
+        assertEquals(Boolean.TRUE, decode("f5"));
+        assertNull(decode("f6"));
+        assertNull(decode("f7"));
+        assertEquals(16, decode("f0"));
+        assertEquals(255, decode("f8ff"));
+    }
+    @Test
+    void readsStrings() throws IOException {
+        assertEquals("", decode("60"));
+        assertEquals("IETF", decode("6449455446"));
+        assertEquals("\"\\", decode("62225c"));
+        assertEquals("\u6c34", decode("63e6b0b4"));
+        assertEquals("\ud800\udd51", decode("64f0908591"));
+        assertArrayEquals(new byte[] { 1, 2, 3, 4 }, (byte[])decode("4401020304"));
+    }
+    @Test
+    void readsIndefiniteLengthItems() throws IOException {
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 5 }, (byte[])decode("5f42010243030405ff"));
+        assertEquals("streaming", decode("7f657374726561646d696e67ff"));
+        assertEquals("", decode("7fff"));
+        assertEquals(List.of(), decode("9fff"));
+        assertEquals(List.of(1L, List.of(2L, 3L), List.of(4L, 5L)), decode("9f018202039f0405ffff"));
+        assertEquals(List.of(1L, List.of(2L, 3L), List.of(4L, 5L)), decode("83018202039f0405ff"));
+        assertEquals(Map.of("a", 1L, "b", List.of(2L, 3L)), decode("bf61610161629f0203ffff"));
+        assertEquals(Map.of("Fun", true, "Amt", -2L), decode("bf6346756ef563416d7421ff"));
+        assertEquals(Map.of("a", "A", "b", "B"), decode("a26161614161626142"));
+    }
+    @Test
+    void keepsTheOrderOfMapKeys() throws IOException {
+        final var map = (Map<?, ?>)decode("a3617a0161610261" + "6d03");
+        assertEquals(List.of("z", "a", "m"), List.copyOf(map.keySet()));
+        assertEquals(Map.of("1", 2L, "3", 4L), decode("a201020304"));
+    }
+    @Test
+    void readsKnownTags() throws IOException {
+        assertEquals("2013-03-21T20:04:00Z", decode("c074323031332d30332d32315432303a30343a30305a"));
+        assertEquals(OffsetDateTime.parse("2013-03-21T20:04:00Z"), decode("c11a514b67b0"));
+        assertEquals(OffsetDateTime.parse("2013-03-21T20:04:00.500Z"), decode("c1fb41d452d9ec200000"));
+        assertEquals(new BigInteger("18446744073709551616"), decode("c249010000000000000000"));
+        assertEquals(new BigInteger("-18446744073709551617"), decode("c349010000000000000000"));
+        assertEquals(new BigDecimal("273.15"), decode("c48221196ab3"));
+        assertEquals(new BigDecimal("2E+1"), decode("c4820102"));
+        assertEquals(UUID.fromString("12345678-9abc-def0-1234-56789abcdef0"), decode("d82550123456789abcdef0123456789abcdef0"));
+        assertEquals(LocalDate.of(2020, 1, 1), decode("d864194756"));
+    }
+    @Test
+    void readsTheContentOfUnknownTags() throws IOException {
+        assertEquals("http://www.example.com", decode("d82076687474703a2f2f7777772e6578616d706c652e636f6d"));
+        assertArrayEquals(new byte[] { 1, 2, 3, 4 }, (byte[])decode("d74401020304"));
+        assertEquals(List.of(1L), decode("da0001000081" + "01"));
+        // known tags with content of another type are kept as is
+        assertEquals("text", decode("c26474657874"));
+    }
+    @Test
+    void rejectsTruncatedPayloads() {
+        for(final String payload : List.of("", "18", "1903", "1b000000e8d4a510", "f93c", "fa47c350", "fb3ff1999999", "6449455", "644945", "5f4201",
+                "5f420102", "82", "8201", "9f01", "a1", "a16161", "bf6161", "c2", "d825", "7f6161")) {
+            assertThrows(IOException.class, () -> decode(payload), payload);
+        }
+    }
+    @Test
+    void rejectsMalformedPayloads() {
+        for(final String payload : List.of(
+                "1c", "1d", "1e", "1f", // reserved and indefinite arguments for integers
+                "3f", "df", "fc", "fd", "fe", // reserved and indefinite arguments for negative integers, tags and simple values
+                "ff", "81ff", "a1ff01", "a201ff", "bf01ff", // breaks where an item is expected
+                "5f6161ff", "7f4161ff", "5f5fffff", // chunks of another type or of indefinite length
+                "f800", "f81f", // simple values which must be encoded in the initial byte
+                "5b8000000000000000")) { // lengths above the maximum
+            assertThrows(IOException.class, () -> decode(payload), payload);
+        }
+    }
+    @Test
+    void rejectsPayloadsNestedTooDeeply() {
+        final var payload = "81".repeat(600) + "01";
+        assertThrows(IOException.class, () -> decode(payload));
+        assertDoesNotThrow(() -> decode("81".repeat(500) + "01"));
+    }
+    @Test
+    void doesNotAllocateForgedLengths() {
+        // a 4GB string announced in a 9 bytes payload fails on the missing data, not on the allocation
+        assertThrows(IOException.class, () -> decode("5b00000000ffffffff"));
+        assertThrows(IOException.class, () -> decode("5a7fffffff00"));
+    }
+    @Test
+    void rejectsDataAfterTheItem() throws IOException {
+        final var decoder = new CborDecoder(new ByteArrayInputStream(bytes("0102")));
+        assertEquals(1L, decoder.readValue());
+        assertThrows(IOException.class, decoder::readEnd);
+        final var complete = new CborDecoder(new ByteArrayInputStream(bytes("820102")));
+        assertEquals(List.of(1L, 2L), complete.readValue());
+        assertDoesNotThrow(complete::readEnd);
+    }
+    @Test
+    void readsAcrossBufferBoundaries() throws IOException {
+        final byte[] value = new byte[20_000];
+        Arrays.fill(value, (byte)'x');
+        final var payload = new byte[value.length + 3];
+        payload[0] = 0x79; // text string with a 2 bytes length
+        payload[1] = (byte)(value.length >>> 8);
+        payload[2] = (byte)value.length;
+        System.arraycopy(value, 0, payload, 3, value.length);
+        final InputStream trickle = new ByteArrayInputStream(payload) {
+            @Override
+            public synchronized int read(final byte[] b, final int off, final int len) {
+                return super.read(b, off, Math.min(len, 7)); // short reads like a network stream
+            }
+        };
+        assertEquals("x".repeat(value.length), new CborDecoder(trickle).readValue());
+    }
+    static Object decode(final String hex) throws IOException {
+        final var decoder = new CborDecoder(new ByteArrayInputStream(bytes(hex)));
+        final Object value = decoder.readValue();
+        decoder.readEnd();
+        return value;
+    }
+    static byte[] bytes(final String hex) {
+        final byte[] result = new byte[hex.length() / 2];
+        for(int i = 0; i < result.length; i++) {
+            result[i] = (byte)Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return result;
+    }
+}
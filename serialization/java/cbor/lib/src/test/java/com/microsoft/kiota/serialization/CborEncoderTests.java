@@ -0,0 +1,90 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+class CborEncoderTests {
+    @Test
+    void writesIntegersWithTheShortestArgument() {
+        assertEquals("00", encode(e -> e.writeLong(0)));
+        assertEquals("17", encode(e -> e.writeLong(23)));
+        assertEquals("1818", encode(e -> e.writeLong(24)));
+        assertEquals("18ff", encode(e -> e.writeLong(255)));
+        assertEquals("190100", encode(e -> e.writeLong(256)));
+        assertEquals("19ffff", encode(e -> e.writeLong(65535)));
+        assertEquals("1a00010000", encode(e -> e.writeLong(65536)));
+        assertEquals("1affffffff", encode(e -> e.writeLong(0xffffffffL)));
+        assertEquals("1b0000000100000000", encode(e -> e.writeLong(0x100000000L)));
+        assertEquals("1b7fffffffffffffff", encode(e -> e.writeLong(Long.MAX_VALUE)));
+    }
+    @Test
+    void writesNegativeIntegersAsMajorTypeOne() {
+        assertEquals("20", encode(e -> e.writeLong(-1)));
+        assertEquals("37", encode(e -> e.writeLong(-24)));
+        assertEquals("3818", encode(e -> e.writeLong(-25)));
+        assertEquals("38ff", encode(e -> e.writeLong(-256)));
+        assertEquals("390100", encode(e -> e.writeLong(-257)));
+        assertEquals("3a00010000", encode(e -> e.writeLong(-65537)));
+        assertEquals("3b7fffffffffffffff", encode(e -> e.writeLong(Long.MIN_VALUE)));
+    }
+    @Test
+    void writesBigIntegersAsIntegersOrBignums() {
+        assertEquals("1b7fffffffffffffff", encode(e -> e.writeBigInteger(BigInteger.valueOf(Long.MAX_VALUE))));
+        assertEquals("3b7fffffffffffffff", encode(e -> e.writeBigInteger(BigInteger.valueOf(Long.MIN_VALUE))));
+        assertEquals("c2488000000000000000", encode(e -> e.writeBigInteger(BigInteger.ONE.shiftLeft(63))));
+        assertEquals("c3488000000000000000", encode(e -> e.writeBigInteger(BigInteger.ONE.shiftLeft(63).negate().subtract(BigInteger.ONE))));
+        assertEquals("c249010000000000000000", encode(e -> e.writeBigInteger(BigInteger.ONE.shiftLeft(64))));
+        assertEquals("c349010000000000000000", encode(e -> e.writeBigInteger(BigInteger.ONE.shiftLeft(64).negate().subtract(BigInteger.ONE))));
+    }
+    @Test
+    void writesBigDecimalsAsDecimalFractions() {
+        assertEquals("c48221196ab3", encode(e -> e.writeBigDecimal(new BigDecimal("273.15"))));
+        assertEquals("c4820102", encode(e -> e.writeBigDecimal(new BigDecimal("2E+1"))));
+    }
+    @Test
+    void writesFloatingPointValues() {
+        assertEquals("fa3fc00000", encode(e -> e.writeFloat(1.5f)));
+        assertEquals("fb3ff199999999999a", encode(e -> e.writeDouble(1.1d)));
+        assertEquals("fa7f800000", encode(e -> e.writeFloat(Float.POSITIVE_INFINITY)));
+        assertEquals("fbfff0000000000000", encode(e -> e.writeDouble(Double.NEGATIVE_INFINITY)));
+    }
+    @Test
+    void writesSimpleValues() {
+        assertEquals("f4", encode(e -> e.writeBoolean(false)));
+        assertEquals("f5", encode(e -> e.writeBoolean(true)));
+        assertEquals("f6", encode(CborEncoder::writeNull));
+    }
+    @Test
+    void writesStringsWithTheirUtf8Length() {
+        assertEquals("60", encode(e -> e.writeString("")));
+        assertEquals("6449455446", encode(e -> e.writeString("IETF")));
+        assertEquals("62c3bc", encode(e -> e.writeString("\u00fc")));
+        assertEquals("63e6b0b4", encode(e -> e.writeString("\u6c34")));
+        assertEquals("64f0908591", encode(e -> e.writeString("\ud800\udd51")));
+        assertEquals("7818" + "61".repeat(24), encode(e -> e.writeString("a".repeat(24))));
+        assertEquals("4401020304", encode(e -> e.writeBytes(new byte[] { 0, 1, 2, 3, 4, 5 }, 1, 4)));
+    }
+    @Test
+    void growsTheBuffer() {
+        final var encoder = new CborEncoder();
+        final byte[] value = new byte[100_000];
+        Arrays.fill(value, (byte)7);
+        encoder.writeBytes(value, 0, value.length);
+        assertEquals(5 + value.length, encoder.size());
+        assertEquals(7, encoder.getBuffer()[encoder.size() - 1]);
+    }
+    static String encode(final Consumer<CborEncoder> writer) {
+        final var encoder = new CborEncoder();
+        writer.accept(encoder);
+        final var result = new StringBuilder();
+        for(int i = 0; i < encoder.size(); i++) {
+            result.append(String.format("%02x", encoder.getBuffer()[i] & 0xff));
+        }
+        return result.toString();
+    }
+}
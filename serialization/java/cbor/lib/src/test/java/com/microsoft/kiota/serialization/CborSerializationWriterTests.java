@@ -0,0 +1,204 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.microsoft.kiota.TriConsumer;
+
+class CborSerializationWriterTests {
+    private static final String contentType = "application/cbor";
+    @Test
+    void roundTripsEveryPrimitiveType() throws IOException {
+        assertRoundTrip("text \u6c34 \ud800\udd51", SerializationWriter::writeStringValue, ParseNode::getStringValue);
+        assertRoundTrip("", SerializationWriter::writeStringValue, ParseNode::getStringValue);
+        assertRoundTrip(true, SerializationWriter::writeBooleanValue, ParseNode::getBooleanValue);
+        assertRoundTrip(false, SerializationWriter::writeBooleanValue, ParseNode::getBooleanValue);
+        for(final byte value : new byte[] { Byte.MIN_VALUE, -1, 0, 23, 24, Byte.MAX_VALUE }) {
+            assertRoundTrip(value, SerializationWriter::writeByteValue, ParseNode::getByteValue);
+        }
+        for(final short value : new short[] { Short.MIN_VALUE, -25, 255, 256, Short.MAX_VALUE }) {
+            assertRoundTrip(value, SerializationWriter::writeShortValue, ParseNode::getShortValue);
+        }
+        for(final int value : new int[] { Integer.MIN_VALUE, -65537, -1, 0, 65535, 65536, Integer.MAX_VALUE }) {
+            assertRoundTrip(value, SerializationWriter::writeIntegerValue, ParseNode::getIntegerValue);
+        }
+        for(final long value : new long[] { Long.MIN_VALUE, -4294967297L, 4294967295L, 4294967296L, Long.MAX_VALUE }) {
+            assertRoundTrip(value, SerializationWriter::writeLongValue, ParseNode::getLongValue);
+        }
+        for(final float value : new float[] { -1.5f, 0f, Float.MIN_VALUE, Float.MAX_VALUE, Float.NEGATIVE_INFINITY, Float.NaN }) {
+            assertRoundTrip(value, SerializationWriter::writeFloatValue, ParseNode::getFloatValue);
+        }
+        for(final double value : new double[] { -1.1d, 0d, Double.MIN_VALUE, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN }) {
+            assertRoundTrip(value, SerializationWriter::writeDoubleValue, ParseNode::getDoubleValue);
+        }
+        for(final String value : new String[] { "0", "-273.15", "1E+3", "123456789012345678901234567890.123456789", "-0.000000000000000000001" }) {
+            assertRoundTrip(new BigDecimal(value), SerializationWriter::writeBigDecimalValue, ParseNode::getBigDecimalValue);
+        }
+        assertRoundTrip(UUID.randomUUID(), SerializationWriter::writeUUIDValue, ParseNode::getUUIDValue);
+        assertRoundTrip(new UUID(-1L, 0L), SerializationWriter::writeUUIDValue, ParseNode::getUUIDValue);
+        assertRoundTrip(OffsetDateTime.parse("1969-07-20T20:17:40.123456789-05:30"), SerializationWriter::writeOffsetDateTimeValue, ParseNode::getOffsetDateTimeValue);
+        assertRoundTrip(LocalDate.of(1600, 2, 29), SerializationWriter::writeLocalDateValue, ParseNode::getLocalDateValue);
+        assertRoundTrip(LocalTime.of(23, 59, 59, 1), SerializationWriter::writeLocalTimeValue, ParseNode::getLocalTimeValue);
+        assertRoundTrip(Period.of(1, -2, 3), SerializationWriter::writePeriodValue, ParseNode::getPeriodValue);
+        assertRoundTrip(TestEnum.SECOND, SerializationWriter::writeEnumValue, n -> n.getEnumValue(TestEnum.class));
+    }
+    @Test
+    void roundTripsBinaryValues() throws IOException {
+        final byte[] value = new byte[20_000];
+        for(int i = 0; i < value.length; i++) {
+            value[i] = (byte)i;
+        }
+        assertArrayEquals(value, roundTrip(w -> w.writeByteArrayValue(null, value), ParseNode::getByteArrayValue));
+        assertArrayEquals(new byte[0], roundTrip(w -> w.writeByteArrayValue(null, new byte[0]), ParseNode::getByteArrayValue));
+        assertArrayEquals(value, roundTrip(w -> w.writeByteStreamValue(null, new ByteArrayInputStream(value)), ParseNode::getByteArrayValue));
+        assertArrayEquals(new byte[0], roundTrip(w -> w.writeByteStreamValue(null, new ByteArrayInputStream(new byte[0])), ParseNode::getByteArrayValue));
+        final byte[] stream = roundTrip(w -> w.writeByteStreamValue(null, new ByteArrayInputStream(value)), n -> {
+            try(final InputStream content = n.getByteArrayStream()) {
+                return content.readAllBytes();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        assertArrayEquals(value, stream);
+    }
+    @Test
+    void roundTripsCollections() throws IOException {
+        final List<Long> values = List.of(1L, -1L, 1L << 40);
+        assertEquals(values, roundTrip(w -> w.writeCollectionOfPrimitiveValues(null, values), n -> n.getCollectionOfPrimitiveValues(Long.class)));
+        final Iterable<String> iterable = () -> List.of("a", "b").iterator(); // written as an indefinite length array
+        assertEquals(List.of("a", "b"), roundTrip(w -> w.writeCollectionOfPrimitiveValues(null, iterable), n -> n.getCollectionOfPrimitiveValues(String.class)));
+        assertEquals(List.of(), roundTrip(w -> w.writeCollectionOfPrimitiveValues(null, List.of()), n -> n.getCollectionOfPrimitiveValues(String.class)));
+        final List<TestEnum> enums = List.of(TestEnum.FIRST, TestEnum.SECOND);
+        assertEquals(enums, roundTrip(w -> w.writeCollectionOfEnumValues(null, enums), n -> n.getCollectionOfEnumValues(TestEnum.class)));
+    }
+    @Test
+    void roundTripsObjects() throws IOException {
+        final var value = new TestModel();
+        value.name = "parent";
+        value.count = 3L;
+        value.child = new TestModel();
+        value.child.name = "child";
+        value.items = List.of(new TestModel(), value.child);
+        value.additionalData.put("big", new BigInteger("123456789012345678901234567890"));
+        value.additionalData.put("list", List.of(1L, "two"));
+        final TestModel result = roundTrip(w -> w.writeObjectValue(null, value), n -> n.getObjectValue(TestModel::new));
+        assertEquals("parent", result.name);
+        assertEquals(3L, result.count);
+        assertEquals("child", result.child.name);
+        assertNull(result.child.count);
+        assertEquals(2, result.items.size());
+        assertNull(result.items.get(0).name);
+        assertEquals("child", result.items.get(1).name);
+        assertEquals(new BigInteger("123456789012345678901234567890"), result.additionalData.get("big"));
+        assertEquals(List.of(1L, "two"), result.additionalData.get("list"));
+    }
+    @Test
+    void writesEmptyKeysOfObjects() throws IOException {
+        final var value = new TestModel();
+        value.name = "parent";
+        value.additionalData.put("", "empty");
+        value.additionalData.put("list", List.of(""));
+        final TestModel result = roundTrip(w -> w.writeObjectValue(null, value), n -> n.getObjectValue(TestModel::new));
+        assertEquals("parent", result.name);
+        assertEquals("empty", result.additionalData.get(""));
+        assertEquals(List.of(""), result.additionalData.get("list"));
+        final Parsable missingKey = new ValueHolder(w -> w.writeStringValue(null, "value"));
+        assertThrows(IllegalArgumentException.class, () -> roundTrip(w -> w.writeObjectValue(null, missingKey), n -> n));
+    }
+    @Test
+    void rejectsMalformedPayloads() {
+        final var factory = new CborParseNodeFactory();
+        for(final String payload : new String[] { "", "82 01", "a1 61 61", "01 02", "ff" }) {
+            final byte[] bytes = CborDecoderTests.bytes(payload.replace(" ", ""));
+            final var exception = assertThrows(RuntimeException.class, () -> factory.getParseNode(contentType, new ByteArrayInputStream(bytes)), payload);
+            assertTrue(exception.getCause() instanceof IOException, payload);
+        }
+    }
+    private static <T> void assertRoundTrip(final T value, final TriConsumer<SerializationWriter, String, T> writer, final Function<ParseNode, T> reader) throws IOException {
+        assertEquals(value, roundTrip(w -> writer.accept(w, null, value), reader));
+        final Parsable holder = new ValueHolder(w -> writer.accept(w, "value", value));
+        assertEquals(value, roundTrip(w -> w.writeObjectValue(null, holder), n -> reader.apply(n.getChildNode("value"))));
+    }
+    private static <T> T roundTrip(final Consumer<SerializationWriter> writer, final Function<ParseNode, T> reader) throws IOException {
+        final var serializationWriter = new CborSerializationWriterFactory().getSerializationWriter(contentType);
+        writer.accept(serializationWriter);
+        final var parseNode = new CborParseNodeFactory().getParseNode(contentType, serializationWriter.getSerializedContent());
+        return reader.apply(parseNode);
+    }
+    /** Writes a single property, to read values from the map of an object */
+    static class ValueHolder implements Parsable {
+        private final Consumer<SerializationWriter> writer;
+        ValueHolder(final Consumer<SerializationWriter> writer) {
+            this.writer = writer;
+        }
+        @Override
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            return Map.of();
+        }
+        @Override
+        public void serialize(final SerializationWriter writer) {
+            this.writer.accept(writer);
+        }
+    }
+    enum TestEnum implements ValuedEnum {
+        FIRST("first"), SECOND("second");
+        private final String value;
+        TestEnum(final String value) {
+            this.value = value;
+        }
+        @Override
+        public String getValue() {
+            return this.value;
+        }
+    }
+    static class TestModel implements Parsable, AdditionalDataHolder {
+        String name;
+        Long count;
+        TestModel child;
+        List<TestModel> items;
+        final Map<String, Object> additionalData = new LinkedHashMap<>();
+        TestModel() {}
+        TestModel(final ParseNode parseNode) {}
+        @Override
+        public Map<String, Object> getAdditionalData() {
+            return this.additionalData;
+        }
+        @Override
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            final var result = new HashMap<String, Consumer<ParseNode>>();
+            result.put("name", n -> this.name = n.getStringValue());
+            result.put("count", n -> this.count = n.getLongValue());
+            result.put("child", n -> this.child = n.getObjectValue(TestModel::new));
+            result.put("items", n -> this.items = new ArrayList<>(n.getCollectionOfObjectValues(TestModel::new)));
+            return result;
+        }
+        @Override
+        public void serialize(final SerializationWriter writer) {
+            writer.writeStringValue("name", this.name);
+            writer.writeLongValue("count", this.count);
+            writer.writeObjectValue("child", this.child);
+            writer.writeCollectionOfObjectValues("items", this.items);
+            writer.writeAdditionalData(this.additionalData);
+        }
+    }
+}
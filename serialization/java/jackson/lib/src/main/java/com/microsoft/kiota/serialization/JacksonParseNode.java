@@ -0,0 +1,300 @@
+package com.microsoft.kiota.serialization;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.AdditionalDataHolder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/** Parse node for JSON payloads read with Jackson, built on the values read from the payload: maps with string keys, lists, numbers, strings and booleans. */
+public class JacksonParseNode implements ParseNode {
+    private final Object currentNode;
+    /**
+     * Initializes a new parse node.
+     * @param node the decoded value of the node, null for the JSON null value.
+     */
+    public JacksonParseNode(@Nullable final Object node) {
+        currentNode = node;
+    }
+    @Nullable
+    public ParseNode getChildNode(@Nonnull final String identifier) {
+        Objects.requireNonNull(identifier, "identifier parameter is required");
+        if(currentNode instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>)currentNode;
+            return map.containsKey(identifier) ? this.createChildNode(map.get(identifier)) : null;
+        } else throw new RuntimeException("invalid state expected to have an object node");
+    }
+    @Nullable
+    public String getStringValue() {
+        if(currentNode == null || currentNode instanceof String) {
+            return (String)currentNode;
+        }
+        return currentNode.toString();
+    }
+    @Nullable
+    public Boolean getBooleanValue() {
+        if(currentNode == null || currentNode instanceof Boolean) {
+            return (Boolean)currentNode;
+        }
+        return Boolean.valueOf(currentNode.toString());
+    }
+    @Nullable
+    public Byte getByteValue() {
+        final Number value = this.getNumber();
+        return value == null ? null : value.byteValue();
+    }
+    @Nullable
+    public Short getShortValue() {
+        final Number value = this.getNumber();
+        return value == null ? null : value.shortValue();
+    }
+    @Nullable
+    public BigDecimal getBigDecimalValue() {
+        if(currentNode == null || currentNode instanceof BigDecimal) {
+            return (BigDecimal)currentNode;
+        } else if(currentNode instanceof JacksonTreeReader.LazyNumber) {
+            return ((JacksonTreeReader.LazyNumber)currentNode).bigDecimalValue();
+        } else if(currentNode instanceof BigInteger) {
+            return new BigDecimal((BigInteger)currentNode);
+        } else if(currentNode instanceof Integer || currentNode instanceof Long) {
+            return BigDecimal.valueOf(((Number)currentNode).longValue());
+        }
+        return new BigDecimal(currentNode.toString());
+    }
+    @Nullable
+    public Integer getIntegerValue() {
+        final Number value = this.getNumber();
+        return value == null ? null : value.intValue();
+    }
+    @Nullable
+    public Float getFloatValue() {
+        final Number value = this.getNumber();
+        return value == null ? null : value.floatValue();
+    }
+    @Nullable
+    public Double getDoubleValue() {
+        final Number value = this.getNumber();
+        return value == null ? null : value.doubleValue();
+    }
+    @Nullable
+    public Long getLongValue() {
+        final Number value = this.getNumber();
+        return value == null ? null : value.longValue();
+    }
+    private Number getNumber() {
+        if(currentNode == null || currentNode instanceof Number) {
+            return (Number)currentNode;
+        }
+        return new BigDecimal(currentNode.toString());
+    }
+    @Nullable
+    public UUID getUUIDValue() {
+        return currentNode == null ? null : UUID.fromString(currentNode.toString());
+    }
+    @Nullable
+    public OffsetDateTime getOffsetDateTimeValue() {
+        return currentNode == null ? null : OffsetDateTime.parse(currentNode.toString());
+    }
+    @Nullable
+    public LocalDate getLocalDateValue() {
+        return currentNode == null ? null : LocalDate.parse(currentNode.toString());
+    }
+    @Nullable
+    public LocalTime getLocalTimeValue() {
+        return currentNode == null ? null : LocalTime.parse(currentNode.toString());
+    }
+    @Nullable
+    public Period getPeriodValue() {
+        return currentNode == null ? null : Period.parse(currentNode.toString());
+    }
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getCollectionOfPrimitiveValues(final Class<T> targetClass) {
+        Objects.requireNonNull(targetClass, "parameter targetClass cannot be null");
+        final List<?> items = this.getItems();
+        final List<T> result = new ArrayList<>(items.size());
+        for(final Object item : items) {
+            final JacksonParseNode itemNode = this.createChildNode(item);
+            if(targetClass == Boolean.class) {
+                result.add((T)itemNode.getBooleanValue());
+            } else if(targetClass == Short.class) {
+                result.add((T)itemNode.getShortValue());
+            } else if(targetClass == Byte.class) {
+                result.add((T)itemNode.getByteValue());
+            } else if(targetClass == BigDecimal.class) {
+                result.add((T)itemNode.getBigDecimalValue());
+            } else if(targetClass == String.class) {
+                result.add((T)itemNode.getStringValue());
+            } else if(targetClass == Integer.class) {
+                result.add((T)itemNode.getIntegerValue());
+            } else if(targetClass == Float.class) {
+                result.add((T)itemNode.getFloatValue());
+            } else if(targetClass == Double.class) {
+                result.add((T)itemNode.getDoubleValue());
+            } else if(targetClass == Long.class) {
+                result.add((T)itemNode.getLongValue());
+            } else if(targetClass == UUID.class) {
+                result.add((T)itemNode.getUUIDValue());
+            } else if(targetClass == OffsetDateTime.class) {
+                result.add((T)itemNode.getOffsetDateTimeValue());
+            } else if(targetClass == LocalDate.class) {
+                result.add((T)itemNode.getLocalDateValue());
+            } else if(targetClass == LocalTime.class) {
+                result.add((T)itemNode.getLocalTimeValue());
+            } else if(targetClass == Period.class) {
+                result.add((T)itemNode.getPeriodValue());
+            } else {
+                throw new RuntimeException("unknown type to deserialize " + targetClass.getName());
+            }
+        }
+        return result;
+    }
+    public <T extends Parsable> List<T> getCollectionOfObjectValues(@Nonnull final ParsableFactory<T> factory) {
+        Objects.requireNonNull(factory, "parameter factory cannot be null");
+        final List<?> items = this.getItems();
+        final List<T> result = new ArrayList<>(items.size());
+        for(final Object item : items) {
+            result.add(this.createChildNode(item).getObjectValue(factory));
+        }
+        return result;
+    }
+    public <T extends Enum<T>> List<T> getCollectionOfEnumValues(@Nonnull final Class<T> targetEnum) {
+        Objects.requireNonNull(targetEnum, "parameter targetEnum cannot be null");
+        final List<?> items = this.getItems();
+        final List<T> result = new ArrayList<>(items.size());
+        for(final Object item : items) {
+            result.add(this.createChildNode(item).getEnumValue(targetEnum));
+        }
+        return result;
+    }
+    private List<?> getItems() {
+        if(currentNode instanceof List) {
+            return (List<?>)currentNode;
+        } else throw new RuntimeException("invalid state expected to have an array node");
+    }
+    public <T extends Parsable> T getObjectValue(@Nonnull final ParsableFactory<T> factory) {
+        Objects.requireNonNull(factory, "parameter factory cannot be null");
+        final T item = factory.Create(this);
+        assignFieldValues(item, item.getFieldDeserializers());
+        return item;
+    }
+    @Nullable
+    public <T extends Enum<T>> T getEnumValue(@Nonnull final Class<T> targetEnum) {
+        final String rawValue = this.getStringValue();
+        if(rawValue == null || rawValue.isEmpty()) {
+            return null;
+        }
+        return EnumCodec.forClass(targetEnum).parse(rawValue);
+    }
+    @Nullable
+    public <T extends Enum<T>> EnumSet<T> getEnumSetValue(@Nonnull final Class<T> targetEnum) {
+        final String rawValue = this.getStringValue();
+        if(rawValue == null || rawValue.isEmpty()) {
+            return null;
+        }
+        return EnumCodec.forClass(targetEnum).parseSet(rawValue);
+    }
+    private <T extends Parsable> void assignFieldValues(final T item, final Map<String, Consumer<ParseNode>> fieldDeserializers) {
+        if(currentNode instanceof Map) {
+            if(this.onBeforeAssignFieldValues != null) {
+                this.onBeforeAssignFieldValues.accept(item);
+            }
+            Map<String, Object> itemAdditionalData = null;
+            if(item instanceof AdditionalDataHolder) {
+                itemAdditionalData = ((AdditionalDataHolder)item).getAdditionalData();
+            }
+            for (final Map.Entry<?, ?> fieldEntry : ((Map<?, ?>)currentNode).entrySet()) {
+                final String fieldKey = (String)fieldEntry.getKey();
+                final Consumer<ParseNode> fieldDeserializer = fieldDeserializers.get(fieldKey);
+                final Object fieldValue = fieldEntry.getValue();
+                if(fieldValue == null)
+                    continue;
+                if(fieldDeserializer != null) {
+                    fieldDeserializer.accept(this.createChildNode(fieldValue));
+                }
+                else if (itemAdditionalData != null)
+                    itemAdditionalData.put(fieldKey, fieldValue);
+            }
+            if(this.onAfterAssignFieldValues != null) {
+                this.onAfterAssignFieldValues.accept(item);
+            }
+        }
+    }
+    private JacksonParseNode createChildNode(@Nullable final Object value) {
+        final JacksonParseNode childNode = new JacksonParseNode(value);
+        childNode.setOnBeforeAssignFieldValues(this.onBeforeAssignFieldValues);
+        childNode.setOnAfterAssignFieldValues(this.onAfterAssignFieldValues);
+        return childNode;
+    }
+    public Consumer<Parsable> getOnBeforeAssignFieldValues() {
+        return this.onBeforeAssignFieldValues;
+    }
+    public Consumer<Parsable> getOnAfterAssignFieldValues() {
+        return this.onAfterAssignFieldValues;
+    }
+    private Consumer<Parsable> onBeforeAssignFieldValues;
+    public void setOnBeforeAssignFieldValues(final Consumer<Parsable> value) {
+        this.onBeforeAssignFieldValues = value;
+    }
+    private Consumer<Parsable> onAfterAssignFieldValues;
+    public void setOnAfterAssignFieldValues(final Consumer<Parsable> value) {
+        this.onAfterAssignFieldValues = value;
+    }
+    @Nullable
+    public InputStream getByteArrayStream() {
+        final String base64 = this.getStringValue();
+        if(base64 == null) {
+            return null;
+        }
+        return Base64.getDecoder().wrap(new InputStream() { // reads the base64 characters without copying them
+            private int position;
+            @Override
+            public int read() {
+                return position < base64.length() ? base64.charAt(position++) & 0xff : -1;
+            }
+            @Override
+            public int read(@Nonnull final byte[] b, final int off, final int len) {
+                Objects.checkFromIndexSize(off, len, b.length);
+                if(len == 0) {
+                    return 0;
+                } else if(position >= base64.length()) {
+                    return -1;
+                }
+                final int count = Math.min(len, base64.length() - position);
+                for(int i = 0; i < count; i++) {
+                    b[off + i] = (byte)base64.charAt(position + i);
+                }
+                position += count;
+                return count;
+            }
+            @Override
+            public int available() {
+                return base64.length() - position;
+            }
+        });
+    }
+    @Nullable
+    public byte[] getByteArrayValue() {
+        final String base64 = this.getStringValue();
+        if(base64 == null || base64.isEmpty()) {
+            return null;
+        }
+        return Base64.getDecoder().decode(base64);
+    }
+}
@@ -0,0 +1,56 @@
+package com.microsoft.kiota.serialization;
+
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.ParseNodeFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+/** Creates parse nodes for application/json payloads, parsing the UTF-8 bytes of the payload with Jackson. */
+public class JacksonParseNodeFactory implements ParseNodeFactory {
+    public String getValidContentType() {
+        return validContentType;
+    }
+    private final static String validContentType = "application/json";
+    /** Shared by the parsers so the property names symbol table is reused across payloads */
+    private final JsonFactory jsonFactory;
+    public JacksonParseNodeFactory() {
+        this(new JsonFactory());
+    }
+    /**
+     * Initializes a new factory.
+     * @param jsonFactory the Jackson factory to create the parsers with, to configure the parser features.
+     */
+    public JacksonParseNodeFactory(@Nonnull final JsonFactory jsonFactory) {
+        this.jsonFactory = Objects.requireNonNull(jsonFactory, "parameter jsonFactory cannot be null");
+    }
+    @Override
+    @Nonnull
+    public ParseNode getParseNode(@Nonnull final String contentType, @Nonnull final InputStream rawResponse) {
+        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
+        Objects.requireNonNull(rawResponse, "parameter rawResponse cannot be null");
+        if(contentType.isEmpty()) {
+            throw new NullPointerException("contentType cannot be empty");
+        } else if (!contentType.equals(validContentType)) {
+            throw new IllegalArgumentException("expected a " + validContentType + " content type");
+        }
+        try(final JsonParser parser = jsonFactory.createParser(rawResponse)) {
+            if(parser.nextToken() == null) {
+                return new JacksonParseNode(null); // empty payload
+            }
+            final Object value = JacksonTreeReader.readValue(parser);
+            if(parser.nextToken() != null) {
+                throw new IOException("unexpected data after the JSON value");
+            }
+            return new JacksonParseNode(value);
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the payload", ex);
+        }
+    }
+}
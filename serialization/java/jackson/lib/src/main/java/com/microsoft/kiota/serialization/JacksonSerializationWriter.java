@@ -0,0 +1,396 @@
+package com.microsoft.kiota.serialization;
+
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.microsoft.kiota.serialization.Parsable;
+
+import java.lang.Enum;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+/** Serialization writer for JSON payloads, writing UTF-8 bytes with Jackson into an in memory buffer. */
+public class JacksonSerializationWriter implements SerializationWriter {
+    private final ByteArrayBuilder stream;
+    private final JsonGenerator writer;
+    public JacksonSerializationWriter() {
+        this(new JsonFactory());
+    }
+    /**
+     * Initializes a new writer.
+     * @param jsonFactory the Jackson factory to create the generator with, the buffers of the generator are recycled through it once the writer is closed.
+     */
+    public JacksonSerializationWriter(@Nonnull final JsonFactory jsonFactory) {
+        Objects.requireNonNull(jsonFactory, "parameter jsonFactory cannot be null");
+        this.stream = new ByteArrayBuilder();
+        try {
+            this.writer = jsonFactory.createGenerator(this.stream, JsonEncoding.UTF8);
+        } catch (IOException ex) {
+            throw new RuntimeException("could not create the generator", ex);
+        }
+    }
+    public void writeStringValue(final String key, final String value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeString(value);
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public void writeBooleanValue(final String key, final Boolean value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeBoolean(value);
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public void writeShortValue(final String key, final Short value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeNumber(value);
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public void writeByteValue(final String key, final Byte value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeNumber(value);
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public void writeBigDecimalValue(final String key, final BigDecimal value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeNumber(value);
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public void writeIntegerValue(final String key, final Integer value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeNumber(value);
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public void writeFloatValue(final String key, final Float value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeNumber(value);
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public void writeDoubleValue(final String key, final Double value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeNumber(value);
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public void writeLongValue(final String key, final Long value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeNumber(value);
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public void writeUUIDValue(final String key, final UUID value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeString(value.toString());
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public void writeOffsetDateTimeValue(final String key, final OffsetDateTime value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeString(value.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public void writeLocalDateValue(final String key, final LocalDate value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE));
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public void writeLocalTimeValue(final String key, final LocalTime value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeString(value.format(DateTimeFormatter.ISO_LOCAL_TIME));
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public void writePeriodValue(final String key, final Period value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeString(value.toString());
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public <T> void writeCollectionOfPrimitiveValues(final String key, final Iterable<T> values) {
+        try {
+            if(values != null) { //empty array is meaningful
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeStartArray();
+                for (final T t : values) {
+                    this.writeAnyValue(null, t);
+                }
+                writer.writeEndArray();
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("could not serialize value", ex);
+        }
+    }
+    public <T extends Parsable> void writeCollectionOfObjectValues(final String key, final Iterable<T> values) {
+        try {
+            if(values != null) { //empty array is meaningful
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeStartArray();
+                for (final T t : values) {
+                    this.writeObjectValue(null, t);
+                }
+                writer.writeEndArray();
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("could not serialize value", ex);
+        }
+    }
+    public <T extends Enum<T>> void writeCollectionOfEnumValues(@Nullable final String key, @Nullable final Iterable<T> values) {
+        try {
+            if(values != null) { //empty array is meaningful
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeStartArray();
+                for (final T t : values) {
+                    this.writeEnumValue(null, t);
+                }
+                writer.writeEndArray();
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("could not serialize value", ex);
+        }
+    }
+    public <T extends Parsable> void writeObjectValue(final String key, final T value) {
+        try {
+            if(value != null) {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                if(onBeforeObjectSerialization != null) {
+                    onBeforeObjectSerialization.accept(value);
+                }
+                writer.writeStartObject();
+                if(onStartObjectSerialization != null) {
+                    onStartObjectSerialization.accept(value, this);
+                }
+                value.serialize(this);
+                writer.writeEndObject();
+                if(onAfterObjectSerialization != null) {
+                    onAfterObjectSerialization.accept(value);
+                }
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("could not serialize value", ex);
+        }
+    }
+    public <T extends Enum<T>> void writeEnumSetValue(@Nullable final String key, @Nullable final EnumSet<T> values) {
+        if(values != null && !values.isEmpty()) {
+            final String concatenatedValue = EnumCodec.forClass(values.iterator().next().getDeclaringClass()).formatSet(values);
+            if(concatenatedValue != null) {
+                this.writeStringValue(key, concatenatedValue);
+            }
+        }
+    }
+    public <T extends Enum<T>> void writeEnumValue(@Nullable final String key, @Nullable final T value) {
+        if(value != null) {
+            this.writeStringValue(key, getStringValueFromValuedEnum(value));
+        }
+    }
+    public void writeNullValue(@Nullable final String key) {
+        try {
+            if(key != null && !key.isEmpty()) {
+                writer.writeFieldName(key);
+            }
+            writer.writeNull();
+        } catch (IOException ex) {
+            throw new RuntimeException("could not serialize value", ex);
+        }
+    }
+    private <T extends Enum<T>> String getStringValueFromValuedEnum(final T value) {
+        return EnumCodec.forClass(value.getDeclaringClass()).format(value);
+    }
+    public InputStream getSerializedContent() {
+        try {
+            this.writer.flush();
+            return new ByteArrayInputStream(this.stream.toByteArray());
+            //This copies the whole array in memory could result in memory pressure for large objects, we might want to replace by some kind of piping in the future
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+    public void close() throws IOException {
+        this.writer.close();
+        this.stream.release();
+    }
+    public void writeAdditionalData(@Nonnull final Map<String, Object> value) {
+        if(value == null) return;
+        for(final Map.Entry<String, Object> dataValue : value.entrySet()) {
+            this.writeAnyValue(dataValue.getKey(), dataValue.getValue());
+        }
+    }
+    private void writeNumberValue(final String key, final String value) {
+        try {
+            if(key != null && !key.isEmpty())
+                this.writer.writeFieldName(key);
+            this.writer.writeNumber(value);
+        } catch (IOException ex) {
+            throw new RuntimeException("could not serialize value", ex);
+        }
+    }
+    private void writeNonParsableObject(final String key, final Object value) {
+        try {
+            if(value == null)
+                this.writeNullValue(key);
+            else if(ValueWriterDispatch.hasProperties(value.getClass())) {
+                if(key != null && !key.isEmpty())
+                    this.writer.writeFieldName(key);
+                this.writer.writeStartObject();
+                ValueWriterDispatch.forEachProperty(value, this::writeAnyValue);
+                this.writer.writeEndObject();
+            } else
+                this.writeStringValue(key, value.toString());
+        } catch (IOException ex) {
+            throw new RuntimeException("could not serialize value", ex);
+        }
+    }
+    private void writeAnyValue(final String key, final Object value) {
+        if(value == null) {
+            this.writeNullValue(key);
+        } else if(value instanceof Double) {
+            this.writeDoubleValue(key, (Double)value);
+        } else if(value instanceof JacksonTreeReader.LazyNumber || value instanceof BigInteger) {
+            this.writeNumberValue(key, value.toString());
+        } else if(!ValueWriterDispatch.write(this, key, value)) {
+            this.writeNonParsableObject(key, value);
+        }
+    }
+    public Consumer<Parsable> getOnBeforeObjectSerialization() {
+        return this.onBeforeObjectSerialization;
+    }
+    public Consumer<Parsable> getOnAfterObjectSerialization() {
+        return this.onAfterObjectSerialization;
+    }
+    public BiConsumer<Parsable, SerializationWriter> getOnStartObjectSerialization() {
+        return this.onStartObjectSerialization;
+    }
+    private Consumer<Parsable> onBeforeObjectSerialization;
+    public void setOnBeforeObjectSerialization(final Consumer<Parsable> value) {
+        this.onBeforeObjectSerialization = value;
+    }
+    private Consumer<Parsable> onAfterObjectSerialization;
+    public void setOnAfterObjectSerialization(final Consumer<Parsable> value) {
+        this.onAfterObjectSerialization = value;
+    }
+    private BiConsumer<Parsable, SerializationWriter> onStartObjectSerialization;
+    public void setOnStartObjectSerialization(final BiConsumer<Parsable, SerializationWriter> value) {
+        this.onStartObjectSerialization = value;
+    }
+    @Override
+    public void writeByteStreamValue(@Nullable final String key, @Nonnull final InputStream value) {
+        if(value != null)
+            try {
+                if(key != null && !key.isEmpty()) {
+                    writer.writeFieldName(key);
+                }
+                writer.writeBinary(value, -1); // the generator encodes the stream to base64 as it reads it
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+    public void writeByteArrayValue(@Nullable final String key, @Nonnull final byte[] value) {
+        if(value != null)
+            this.writeStringValue(key, Base64.getEncoder().encodeToString(value));
+    }
+}
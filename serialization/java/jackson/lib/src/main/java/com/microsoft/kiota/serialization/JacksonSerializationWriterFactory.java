@@ -0,0 +1,39 @@
+package com.microsoft.kiota.serialization;
+
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.microsoft.kiota.serialization.SerializationWriterFactory;
+
+/** Creates serialization writers for application/json payloads, writing UTF-8 bytes with Jackson. */
+public class JacksonSerializationWriterFactory implements SerializationWriterFactory {
+    public String getValidContentType() {
+        return validContentType;
+    }
+    private static final String validContentType = "application/json";
+    private final JsonFactory jsonFactory;
+    public JacksonSerializationWriterFactory() {
+        this(new JsonFactory());
+    }
+    /**
+     * Initializes a new factory.
+     * @param jsonFactory the Jackson factory to create the generators with, to configure the generator features.
+     */
+    public JacksonSerializationWriterFactory(@Nonnull final JsonFactory jsonFactory) {
+        this.jsonFactory = Objects.requireNonNull(jsonFactory, "parameter jsonFactory cannot be null");
+    }
+    @Override
+    @Nonnull
+    public SerializationWriter getSerializationWriter(@Nonnull final String contentType) {
+        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
+        if(contentType.isEmpty()) {
+            throw new NullPointerException("contentType cannot be empty");
+        } else if (!contentType.equals(validContentType)) {
+            throw new IllegalArgumentException("expected a " + validContentType + " content type");
+        }
+        return new JacksonSerializationWriter(jsonFactory);
+    }
+}
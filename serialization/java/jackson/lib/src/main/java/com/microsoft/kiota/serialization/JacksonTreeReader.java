@@ -0,0 +1,117 @@
+package com.microsoft.kiota.serialization;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads JSON values from a streaming parser into maps, lists, strings, booleans and numbers.
+ * Property names come from the symbol table of the parser, so repeated names share the same string instance. Not public by intention.
+ */
+final class JacksonTreeReader {
+    private JacksonTreeReader() {}
+    /**
+     * Reads the value the parser is positioned on.
+     * @param parser the parser, positioned on the first token of the value.
+     * @return the value, null for the JSON null value.
+     * @throws IOException when the payload cannot be read.
+     */
+    @Nullable
+    static Object readValue(@Nonnull final JsonParser parser) throws IOException {
+        final JsonToken token = parser.currentToken();
+        if(token == null) {
+            throw new IOException("unexpected end of JSON payload");
+        }
+        switch(token) {
+            case START_OBJECT: {
+                final Map<String, Object> result = new LinkedHashMap<>();
+                String name;
+                while((name = parser.nextFieldName()) != null) {
+                    parser.nextToken();
+                    result.put(name, readValue(parser));
+                }
+                return result;
+            }
+            case START_ARRAY: {
+                final List<Object> result = new ArrayList<>();
+                while(parser.nextToken() != JsonToken.END_ARRAY) {
+                    result.add(readValue(parser));
+                }
+                return result;
+            }
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                switch(parser.getNumberType()) {
+                    case INT:
+                        return parser.getIntValue();
+                    case LONG:
+                        return parser.getLongValue();
+                    default:
+                        return parser.getBigIntegerValue();
+                }
+            case VALUE_NUMBER_FLOAT:
+                return new LazyNumber(parser.getText());
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new IOException("unexpected token " + token + " in JSON payload");
+        }
+    }
+    /** Decimal number kept as text until it's read, so big decimals don't lose precision and doubles are only parsed when used. */
+    static final class LazyNumber extends Number {
+        private static final long serialVersionUID = 1L;
+        private final String value;
+        LazyNumber(@Nonnull final String value) {
+            this.value = value;
+        }
+        @Nonnull
+        BigDecimal bigDecimalValue() {
+            return new BigDecimal(this.value);
+        }
+        @Override
+        public int intValue() {
+            final long value = this.longValue();
+            return value < Integer.MIN_VALUE ? Integer.MIN_VALUE : value > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int)value;
+        }
+        /** Read from the decimal value as doubles can't represent all the longs, values out of the range of longs are clamped like a cast of their double value */
+        @Override
+        public long longValue() {
+            final BigDecimal value = this.bigDecimalValue();
+            if(value.precision() - value.scale() > 19) { // more integer digits than longs have, don't expand large exponents
+                return (long)value.doubleValue();
+            }
+            final BigInteger integral = value.toBigInteger();
+            if(integral.bitLength() < 64) {
+                return integral.longValue();
+            }
+            return integral.signum() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        @Override
+        public float floatValue() {
+            return Float.parseFloat(this.value);
+        }
+        @Override
+        public double doubleValue() {
+            return Double.parseDouble(this.value);
+        }
+        @Override
+        public String toString() {
+            return this.value;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+class JacksonParseNodeTests {
+    private static final String contentType = "application/json";
+    @Test
+    void readsIntegralValuesExactly() {
+        assertEquals(9007199254740993L, parse("9007199254740993").getLongValue());
+        assertEquals(Long.MAX_VALUE, parse("9223372036854775807").getLongValue());
+        assertEquals(Long.MIN_VALUE, parse("-9223372036854775808").getLongValue());
+        assertEquals(Integer.MIN_VALUE, parse("-2147483648").getIntegerValue());
+        assertEquals(new BigDecimal("123456789012345678901234567890"), parse("123456789012345678901234567890").getBigDecimalValue());
+        assertEquals(Short.valueOf((short)-300), parse("-300").getShortValue());
+        assertEquals(Byte.valueOf((byte)120), parse("120").getByteValue());
+    }
+    @Test
+    void readsDecimalValuesWithoutLosingPrecision() {
+        assertEquals(new BigDecimal("0.10000000000000000000000001"), parse("0.10000000000000000000000001").getBigDecimalValue());
+        assertEquals(new BigDecimal("1E+2"), parse("1e2").getBigDecimalValue());
+        assertEquals(0.1d, parse("0.1").getDoubleValue());
+        assertEquals(1.5f, parse("1.5").getFloatValue());
+        // longs read from decimal tokens don't go through doubles
+        assertEquals(9007199254740993L, parse("9007199254740993.0").getLongValue());
+        assertEquals(9007199254740993L, parse("9.007199254740993e15").getLongValue());
+        assertEquals(-2L, parse("-2.9").getLongValue());
+        assertEquals(Integer.valueOf(3), parse("3.99").getIntegerValue());
+        // out of range values are clamped without expanding large exponents
+        assertEquals(Long.MAX_VALUE, parse("9.3e18").getLongValue());
+        assertEquals(Long.MIN_VALUE, parse("-1e999999999").getLongValue());
+        assertEquals(Integer.MAX_VALUE, parse("1e10").getIntegerValue());
+    }
+    @Test
+    void readsScalarValues() {
+        assertEquals("text \u2028 \ud83d\ude00", parse("\"text \\u2028 \\ud83d\\ude00\"").getStringValue());
+        assertEquals(Boolean.TRUE, parse("true").getBooleanValue());
+        assertEquals(Boolean.FALSE, parse("false").getBooleanValue());
+        assertNull(parse("null").getStringValue());
+        assertEquals(OffsetDateTime.parse("2022-05-06T10:30:45.123-07:00"), parse("\"2022-05-06T10:30:45.123-07:00\"").getOffsetDateTimeValue());
+        assertEquals(LocalDate.of(1969, 12, 31), parse("\"1969-12-31\"").getLocalDateValue());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, parse("\"AQID\"").getByteArrayValue());
+    }
+    @Test
+    void readsChildNodes() {
+        final ParseNode node = parse("{\"a\":{\"b\":[1,2]},\"n\":null}");
+        assertEquals(List.of(1, 2), node.getChildNode("a").getChildNode("b").getCollectionOfPrimitiveValues(Integer.class));
+        assertNull(node.getChildNode("missing"));
+        assertNull(node.getChildNode("n").getStringValue());
+        assertThrows(RuntimeException.class, () -> parse("[1]").getChildNode("a"));
+    }
+    @Test
+    void readsCollectionsOfPrimitiveValues() {
+        assertEquals(List.of(1L, 9007199254740993L), parse("[1,9007199254740993]").getCollectionOfPrimitiveValues(Long.class));
+        assertEquals(List.of("a", "b"), parse("[\"a\",\"b\"]").getCollectionOfPrimitiveValues(String.class));
+        assertEquals(List.of(), parse("[]").getCollectionOfPrimitiveValues(String.class));
+        assertEquals(List.of(new BigDecimal("1.10"), new BigDecimal("2")), parse("[1.10,2]").getCollectionOfPrimitiveValues(BigDecimal.class));
+    }
+    @Test
+    void keepsUnknownPropertiesInAdditionalData() {
+        final TestModel model = parse("{\"name\":\"a\",\"int\":1,\"big\":123456789012345678901234567890,\"dec\":1.25,\"obj\":{\"x\":[true,null]}}").getObjectValue(TestModel::new);
+        assertEquals("a", model.name);
+        assertEquals(4, model.additionalData.size());
+        assertEquals(1, model.additionalData.get("int"));
+        assertEquals(new BigInteger("123456789012345678901234567890"), model.additionalData.get("big"));
+        assertEquals("1.25", model.additionalData.get("dec").toString());
+        assertEquals(Map.of("x", java.util.Arrays.asList(true, null)), model.additionalData.get("obj"));
+    }
+    @Test
+    void reusesPropertyNameInstances() {
+        final List<TestModel> models = parse("[{\"name\":\"a\",\"other\":1},{\"name\":\"b\",\"other\":2}]").getCollectionOfObjectValues(TestModel::new);
+        final String first = models.get(0).additionalData.keySet().iterator().next();
+        final String second = models.get(1).additionalData.keySet().iterator().next();
+        assertSame(first, second);
+    }
+    @Test
+    void rejectsMalformedPayloads() {
+        for(final String payload : new String[] { "{", "[1,", "{\"a\" 1}", "\"unterminated", "[1]]x", "tru" }) {
+            assertThrows(RuntimeException.class, () -> parse(payload).getStringValue(), payload);
+        }
+    }
+    @Test
+    void readsEmptyPayloadsAsNull() {
+        assertNull(parse("").getStringValue());
+        assertNull(parse("  ").getObjectValue(TestModel::new).name);
+    }
+    static ParseNode parse(final String json) {
+        return new JacksonParseNodeFactory().getParseNode(contentType, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
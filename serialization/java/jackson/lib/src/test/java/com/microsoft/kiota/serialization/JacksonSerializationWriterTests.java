@@ -0,0 +1,124 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+class JacksonSerializationWriterTests {
+    private static final String contentType = "application/json";
+    @Test
+    void roundTripsEveryPrimitiveType() throws IOException {
+        assertRoundTrip("quote \" backslash \\ control \u0001 line \u2028 emoji \ud83d\ude00", w -> w.writeStringValue(null, "quote \" backslash \\ control \u0001 line \u2028 emoji \ud83d\ude00"), ParseNode::getStringValue);
+        assertRoundTrip(true, w -> w.writeBooleanValue(null, true), ParseNode::getBooleanValue);
+        assertRoundTrip((byte)-128, w -> w.writeByteValue(null, (byte)-128), ParseNode::getByteValue);
+        assertRoundTrip((short)32767, w -> w.writeShortValue(null, (short)32767), ParseNode::getShortValue);
+        assertRoundTrip(Integer.MIN_VALUE, w -> w.writeIntegerValue(null, Integer.MIN_VALUE), ParseNode::getIntegerValue);
+        assertRoundTrip(9007199254740993L, w -> w.writeLongValue(null, 9007199254740993L), ParseNode::getLongValue);
+        assertRoundTrip(Long.MIN_VALUE, w -> w.writeLongValue(null, Long.MIN_VALUE), ParseNode::getLongValue);
+        assertRoundTrip(0.1f, w -> w.writeFloatValue(null, 0.1f), ParseNode::getFloatValue);
+        assertRoundTrip(Double.MAX_VALUE, w -> w.writeDoubleValue(null, Double.MAX_VALUE), ParseNode::getDoubleValue);
+        assertRoundTrip(new BigDecimal("-12345678901234567890.000000000000000000001"), w -> w.writeBigDecimalValue(null, new BigDecimal("-12345678901234567890.000000000000000000001")), ParseNode::getBigDecimalValue);
+        final var uuid = UUID.randomUUID();
+        assertRoundTrip(uuid, w -> w.writeUUIDValue(null, uuid), ParseNode::getUUIDValue);
+        final var dateTime = OffsetDateTime.parse("1969-07-20T20:17:40.1234-05:30");
+        assertRoundTrip(dateTime, w -> w.writeOffsetDateTimeValue(null, dateTime), ParseNode::getOffsetDateTimeValue);
+        assertRoundTrip(LocalDate.of(2024, 2, 29), w -> w.writeLocalDateValue(null, LocalDate.of(2024, 2, 29)), ParseNode::getLocalDateValue);
+        assertRoundTrip(LocalTime.of(23, 59, 59, 1000), w -> w.writeLocalTimeValue(null, LocalTime.of(23, 59, 59, 1000)), ParseNode::getLocalTimeValue);
+        assertRoundTrip(Period.of(1, 2, 3), w -> w.writePeriodValue(null, Period.of(1, 2, 3)), ParseNode::getPeriodValue);
+        assertArrayEquals(new byte[] { 0, -1, 127 }, roundTrip(w -> w.writeByteArrayValue(null, new byte[] { 0, -1, 127 }), ParseNode::getByteArrayValue));
+    }
+    @Test
+    void roundTripsObjects() throws IOException {
+        final var value = new TestModel();
+        value.name = "parent";
+        value.count = Long.MAX_VALUE;
+        value.amount = new BigDecimal("0.10");
+        value.createdDateTime = OffsetDateTime.parse("2022-05-06T10:30:45Z");
+        value.birthday = LocalDate.of(1900, 1, 1);
+        value.child = new TestModel();
+        value.child.name = "child";
+        value.items = List.of(new TestModel(), value.child);
+        value.tags = List.of("a", "b");
+        value.additionalData.put("decimal", 1.5d);
+        value.additionalData.put("list", List.of(1, "two"));
+        final String json = serialize(w -> w.writeObjectValue(null, value));
+        assertEquals("{\"name\":\"parent\",\"count\":9223372036854775807,\"amount\":0.10,\"createdDateTime\":\"2022-05-06T10:30:45Z\"," +
+            "\"birthday\":\"1900-01-01\",\"child\":{\"name\":\"child\"},\"items\":[{},{\"name\":\"child\"}],\"tags\":[\"a\",\"b\"],\"decimal\":1.5,\"list\":[1,\"two\"]}", json);
+        final TestModel result = JacksonParseNodeTests.parse(json).getObjectValue(TestModel::new);
+        assertEquals("parent", result.name);
+        assertEquals(Long.MAX_VALUE, result.count);
+        assertEquals(new BigDecimal("0.10"), result.amount);
+        assertEquals(value.createdDateTime, result.createdDateTime);
+        assertEquals(value.birthday, result.birthday);
+        assertEquals("child", result.child.name);
+        assertEquals(2, result.items.size());
+        assertEquals(value.tags, result.tags);
+        // additional data read back is written back the same way
+        assertEquals(json, serialize(w -> w.writeObjectValue(null, result)));
+    }
+    @Test
+    void writesNullValues() throws IOException {
+        final var value = new TestModel();
+        value.additionalData.put("nothing", null);
+        assertEquals("{\"nothing\":null}", serialize(w -> w.writeObjectValue(null, value)));
+    }
+    @Test
+    void writersAreIndependent() throws IOException {
+        final var factory = new JacksonSerializationWriterFactory();
+        try(final SerializationWriter first = factory.getSerializationWriter(contentType);
+            final SerializationWriter second = factory.getSerializationWriter(contentType)) {
+            first.writeStringValue(null, "first");
+            second.writeStringValue(null, "second");
+            assertEquals("\"first\"", read(first.getSerializedContent()));
+            assertEquals("\"second\"", read(second.getSerializedContent()));
+        }
+    }
+    @Test
+    void roundTripsByteStreams() throws IOException {
+        for(final int length : new int[] { 0, 1, 2, 3, 4, 5, 100, 20_000 }) {
+            final byte[] value = new byte[length];
+            new Random(length).nextBytes(value);
+            assertEquals(serialize(w -> w.writeByteArrayValue(null, value)), serialize(w -> w.writeByteStreamValue(null, new ByteArrayInputStream(value))), "length " + length);
+            assertArrayEquals(value, roundTrip(w -> w.writeByteStreamValue(null, new ByteArrayInputStream(value)), n -> readAll(n.getByteArrayStream())), "length " + length);
+        }
+    }
+    private static byte[] readAll(final InputStream stream) {
+        try(stream) {
+            return stream.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    private static <T> void assertRoundTrip(final T expected, final Consumer<SerializationWriter> writer, final Function<ParseNode, T> reader) throws IOException {
+        assertEquals(expected, roundTrip(writer, reader));
+    }
+    private static <T> T roundTrip(final Consumer<SerializationWriter> writer, final Function<ParseNode, T> reader) throws IOException {
+        return reader.apply(JacksonParseNodeTests.parse(serialize(writer)));
+    }
+    private static String serialize(final Consumer<SerializationWriter> writer) throws IOException {
+        try(final SerializationWriter serializationWriter = new JacksonSerializationWriterFactory().getSerializationWriter(contentType)) {
+            writer.accept(serializationWriter);
+            return read(serializationWriter.getSerializedContent());
+        }
+    }
+    private static String read(final InputStream content) throws IOException {
+        try(content) {
+            return new String(content.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.microsoft.kiota.serialization;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+
+class TestModel implements Parsable, AdditionalDataHolder {
+    String name;
+    Long count;
+    BigDecimal amount;
+    OffsetDateTime createdDateTime;
+    LocalDate birthday;
+    TestModel child;
+    List<TestModel> items;
+    List<String> tags;
+    final Map<String, Object> additionalData = new LinkedHashMap<>();
+    TestModel() {}
+    TestModel(@Nonnull final ParseNode parseNode) {}
+    @Override
+    @Nonnull
+    public Map<String, Object> getAdditionalData() {
+        return this.additionalData;
+    }
+    @Override
+    @Nonnull
+    public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+        final var result = new HashMap<String, Consumer<ParseNode>>();
+        result.put("name", n -> this.name = n.getStringValue());
+        result.put("count", n -> this.count = n.getLongValue());
+        result.put("amount", n -> this.amount = n.getBigDecimalValue());
+        result.put("createdDateTime", n -> this.createdDateTime = n.getOffsetDateTimeValue());
+        result.put("birthday", n -> this.birthday = n.getLocalDateValue());
+        result.put("child", n -> this.child = n.getObjectValue(TestModel::new));
+        result.put("items", n -> this.items = n.getCollectionOfObjectValues(TestModel::new));
+        result.put("tags", n -> this.tags = n.getCollectionOfPrimitiveValues(String.class));
+        return result;
+    }
+    @Override
+    public void serialize(@Nonnull final SerializationWriter writer) {
+        writer.writeStringValue("name", this.name);
+        writer.writeLongValue("count", this.count);
+        writer.writeBigDecimalValue("amount", this.amount);
+        writer.writeOffsetDateTimeValue("createdDateTime", this.createdDateTime);
+        writer.writeLocalDateValue("birthday", this.birthday);
+        writer.writeObjectValue("child", this.child);
+        writer.writeCollectionOfObjectValues("items", this.items);
+        writer.writeCollectionOfPrimitiveValues("tags", this.tags);
+        writer.writeAdditionalData(this.additionalData);
+    }
+}
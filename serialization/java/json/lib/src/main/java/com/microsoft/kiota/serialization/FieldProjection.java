@@ -0,0 +1,84 @@
+package com.microsoft.kiota.serialization;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/** Tree of the field paths to read from a JSON payload, other values are skipped by the reader without being materialized. Not public by intention. */
+final class FieldProjection {
+    /** Children by field name, null when the whole value is read */
+    private Map<String, FieldProjection> children = new HashMap<>();
+    private FieldProjection() {}
+    /**
+     * Builds the projection for field paths.
+     * @param fieldPaths the paths of the fields to read, with segments separated by '/'.
+     * @return the projection.
+     */
+    @Nonnull
+    static FieldProjection of(@Nonnull final Set<String> fieldPaths) {
+        Objects.requireNonNull(fieldPaths, "parameter fieldPaths cannot be null");
+        final FieldProjection root = new FieldProjection();
+        for(final String fieldPath : fieldPaths) {
+            FieldProjection current = root;
+            for(final String segment : fieldPath.split("/")) {
+                if(current.children == null) {
+                    break; // a shorter path already reads the whole value
+                }
+                current = current.children.computeIfAbsent(segment, k -> new FieldProjection());
+            }
+            current.children = null;
+        }
+        return root;
+    }
+    @Nullable
+    private FieldProjection getChild(@Nonnull final String name) {
+        return this.children == null ? this : this.children.get(name);
+    }
+    /**
+     * Reads the next value of the reader, keeping only the projected fields.
+     * @param reader the reader positioned before the value.
+     * @return the value holding only the projected fields.
+     * @throws IOException when the payload cannot be read.
+     */
+    @Nonnull
+    JsonElement read(@Nonnull final JsonReader reader) throws IOException {
+        final JsonToken token = reader.peek();
+        if(this.children == null || (token != JsonToken.BEGIN_OBJECT && token != JsonToken.BEGIN_ARRAY)) {
+            return JsonParser.parseReader(reader);
+        } else if(token == JsonToken.BEGIN_ARRAY) {
+            final JsonArray array = new JsonArray();
+            reader.beginArray();
+            while(reader.hasNext()) {
+                array.add(this.read(reader));
+            }
+            reader.endArray();
+            return array;
+        } else {
+            final JsonObject object = new JsonObject();
+            reader.beginObject();
+            while(reader.hasNext()) {
+                final String name = reader.nextName();
+                final FieldProjection child = this.getChild(name);
+                if(child == null) {
+                    reader.skipValue();
+                } else {
+                    object.add(name, child.read(reader));
+                }
+            }
+            reader.endObject();
+            return object;
+        }
+    }
+}
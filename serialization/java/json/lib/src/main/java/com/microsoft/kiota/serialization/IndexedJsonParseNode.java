@@ -0,0 +1,555 @@
+package com.microsoft.kiota.serialization;
+
+import com.google.gson.JsonParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Parse node reading its value directly from the UTF-8 bytes of the document, using the structural index of the document to find values and skip the ones that are not read.
+ * Child nodes only hold a position in the index, values are decoded when they are read. Not public by intention.
+ */
+final class IndexedJsonParseNode implements ParseNode {
+    private final StructuralIndex index;
+    /** Entry of the structural character preceding the value, -1 for the root value */
+    private final int entry;
+    IndexedJsonParseNode(@Nonnull final StructuralIndex index, final int entry) {
+        this.index = Objects.requireNonNull(index, "parameter index cannot be null");
+        this.entry = entry;
+    }
+    /** @return the offset of the first byte of the value */
+    private int valueStart(final int valueEntry) {
+        int position = valueEntry < 0 ? 0 : index.positions[valueEntry] + 1;
+        while(position < index.length && isWhitespace(index.input[position])) {
+            position++;
+        }
+        if(position == index.length) {
+            throw invalidDocument(position);
+        }
+        return position;
+    }
+    /** @return the offset after the last byte of the value */
+    private int valueEnd(final int valueEntry) {
+        final byte first = index.input[valueStart(valueEntry)];
+        if(first == '{' || first == '[') {
+            return index.positions[index.matching[valueEntry + 1]] + 1;
+        } else if(first == '"') {
+            return index.positions[valueEntry + 2] + 1;
+        }
+        int end = valueEntry + 1 < index.count ? index.positions[valueEntry + 1] : index.length;
+        while(isWhitespace(index.input[end - 1])) {
+            end--;
+        }
+        return end;
+    }
+    /** @return the entry following the value */
+    private int nextEntry(final int valueEntry) {
+        final byte first = index.input[valueStart(valueEntry)];
+        if(first == '{' || first == '[') {
+            return index.matching[valueEntry + 1] + 1;
+        } else if(first == '"') {
+            return valueEntry + 3;
+        }
+        return valueEntry + 1;
+    }
+    private byte firstByte() {
+        return index.input[valueStart(entry)];
+    }
+    private boolean isNull() {
+        final int start = valueStart(entry);
+        return index.input[start] == 'n' && valueEnd(entry) - start == 4;
+    }
+    /** Visits the properties of the object value with their name and the entry preceding their value. */
+    private void forEachProperty(final PropertyVisitor visitor) {
+        if(firstByte() != '{') {
+            throw new RuntimeException("invalid state expected to have an object node");
+        }
+        int current = entry + 2; // first entry after the opening bracket
+        if(character(current) == '}') {
+            return;
+        }
+        while(true) {
+            if(character(current) != '"' || character(current + 2) != ':') {
+                throw invalidDocument(index.positions[Math.min(current, index.count - 1)]);
+            }
+            final int valueEntry = current + 2;
+            if(!visitor.visit(current, valueEntry)) {
+                return;
+            }
+            final int next = nextEntry(valueEntry);
+            final byte separator = character(next);
+            if(separator == '}') {
+                return;
+            } else if(separator != ',') {
+                throw invalidDocument(index.positions[Math.min(next, index.count - 1)]);
+            }
+            current = next + 1;
+        }
+    }
+    @FunctionalInterface
+    private interface PropertyVisitor {
+        /** @return whether to continue with the next property */
+        boolean visit(int keyEntry, int valueEntry);
+    }
+    /** @return the entries preceding the items of the array value */
+    private List<Integer> getItemEntries() {
+        if(firstByte() != '[') {
+            throw new RuntimeException("invalid state expected to have an array node");
+        }
+        final int opening = entry + 1;
+        final List<Integer> result = new ArrayList<>();
+        if(index.input[valueStart(opening)] == ']') {
+            return result;
+        }
+        int current = opening;
+        while(true) {
+            result.add(current);
+            final int next = nextEntry(current);
+            final byte separator = character(next);
+            if(separator == ']') {
+                return result;
+            } else if(separator != ',') {
+                throw invalidDocument(index.positions[Math.min(next, index.count - 1)]);
+            }
+            current = next;
+        }
+    }
+    private byte character(final int structuralEntry) {
+        if(structuralEntry >= index.count) {
+            throw invalidDocument(index.length);
+        }
+        return index.input[index.positions[structuralEntry]];
+    }
+    private boolean keyEquals(final int keyEntry, final String identifier) {
+        final int start = index.positions[keyEntry] + 1;
+        final int end = index.positions[keyEntry + 1];
+        if(end - start == identifier.length()) { // fast path for ASCII names without escapes
+            boolean plain = true;
+            for(int i = 0; i < identifier.length(); i++) {
+                final byte value = index.input[start + i];
+                if(value == '\\' || value < 0) {
+                    plain = false;
+                    break;
+                } else if(value != identifier.charAt(i)) {
+                    return false;
+                }
+            }
+            if(plain) {
+                return true;
+            }
+        }
+        return decodeString(start, end).equals(identifier);
+    }
+    private String decodeString(final int start, final int end) {
+        boolean ascii = true;
+        for(int i = start; i < end; i++) {
+            final byte value = index.input[i];
+            if(value == '\\') {
+                return this.stringCache == null ? unescape(start, end) : this.stringCache.canonicalize(unescape(start, end));
+            } else if(value < 0) {
+                ascii = false;
+            }
+        }
+        if(this.stringCache == null) {
+            return new String(index.input, start, end - start, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        } else if(ascii) {
+            return this.stringCache.canonicalize(index.input, start, end);
+        }
+        return this.stringCache.canonicalize(new String(index.input, start, end - start, StandardCharsets.UTF_8));
+    }
+    private String unescape(final int start, final int end) {
+        final StringBuilder builder = new StringBuilder(end - start);
+        int segmentStart = start;
+        int i = start;
+        while(i < end) {
+            if(index.input[i] != '\\') {
+                i++;
+                continue;
+            }
+            builder.append(new String(index.input, segmentStart, i - segmentStart, StandardCharsets.UTF_8));
+            if(i + 1 >= end) {
+                throw invalidDocument(i);
+            }
+            final byte escaped = index.input[i + 1];
+            i += 2;
+            switch(escaped) {
+                case '"': builder.append('"'); break;
+                case '\\': builder.append('\\'); break;
+                case '/': builder.append('/'); break;
+                case 'b': builder.append('\b'); break;
+                case 'f': builder.append('\f'); break;
+                case 'n': builder.append('\n'); break;
+                case 'r': builder.append('\r'); break;
+                case 't': builder.append('\t'); break;
+                case 'u':
+                    if(i + 4 > end) {
+                        throw invalidDocument(i);
+                    }
+                    builder.append((char)Integer.parseInt(new String(index.input, i, 4, StandardCharsets.ISO_8859_1), 16));
+                    i += 4;
+                    break;
+                default:
+                    throw invalidDocument(i - 1);
+            }
+            segmentStart = i;
+        }
+        return builder.append(new String(index.input, segmentStart, end - segmentStart, StandardCharsets.UTF_8)).toString();
+    }
+    /** @return the text of the value, decoded for strings */
+    private String getText() {
+        final int start = valueStart(entry);
+        if(index.input[start] == '"') {
+            return decodeString(start + 1, index.positions[entry + 2]);
+        }
+        return new String(index.input, start, valueEnd(entry) - start, StandardCharsets.ISO_8859_1);
+    }
+    private long parseLong() {
+        final int start = valueStart(entry);
+        final int end = valueEnd(entry);
+        final boolean negative = index.input[start] == '-';
+        final int digitsStart = negative ? start + 1 : start;
+        if(end > digitsStart && end - digitsStart <= 18) { // fast path, cannot overflow
+            long result = 0;
+            int i = digitsStart;
+            for(; i < end; i++) {
+                final int digit = index.input[i] - '0';
+                if(digit < 0 || digit > 9) {
+                    break;
+                }
+                result = result * 10 + digit;
+            }
+            if(i == end) {
+                return negative ? -result : result;
+            }
+        }
+        return new BigDecimal(getText()).longValue();
+    }
+    private static boolean isWhitespace(final byte value) {
+        return value == ' ' || value == '\n' || value == '\r' || value == '\t';
+    }
+    private static RuntimeException invalidDocument(final int offset) {
+        return new IllegalArgumentException("invalid JSON document at offset " + offset);
+    }
+    @Nullable
+    public ParseNode getChildNode(@Nonnull final String identifier) {
+        Objects.requireNonNull(identifier, "identifier parameter is required");
+        final int[] found = { -1 };
+        forEachProperty((keyEntry, valueEntry) -> {
+            if(keyEquals(keyEntry, identifier)) {
+                found[0] = valueEntry;
+                return false;
+            }
+            return true;
+        });
+        return found[0] < 0 ? null : createChildNode(found[0]);
+    }
+    @Nullable
+    public String getStringValue() {
+        return isNull() ? null : getText();
+    }
+    @Nullable
+    public Boolean getBooleanValue() {
+        return isNull() ? null : Boolean.valueOf(getText());
+    }
+    @Nullable
+    public Byte getByteValue() {
+        return isNull() ? null : (byte)parseLong();
+    }
+    @Nullable
+    public Short getShortValue() {
+        return isNull() ? null : (short)parseLong();
+    }
+    @Nullable
+    public BigDecimal getBigDecimalValue() {
+        return isNull() ? null : new BigDecimal(getText());
+    }
+    @Nullable
+    public Integer getIntegerValue() {
+        return isNull() ? null : (int)parseLong();
+    }
+    @Nullable
+    public Float getFloatValue() {
+        return isNull() ? null : Float.parseFloat(getText());
+    }
+    @Nullable
+    public Double getDoubleValue() {
+        return isNull() ? null : Double.parseDouble(getText());
+    }
+    @Nullable
+    public Long getLongValue() {
+        return isNull() ? null : parseLong();
+    }
+    @Nullable
+    public UUID getUUIDValue() {
+        return isNull() ? null : TemporalCodec.parseUUID(getText());
+    }
+    @Nullable
+    public OffsetDateTime getOffsetDateTimeValue() {
+        return isNull() ? null : TemporalCodec.parseOffsetDateTime(getText());
+    }
+    @Nullable
+    public LocalDate getLocalDateValue() {
+        return isNull() ? null : TemporalCodec.parseLocalDate(getText());
+    }
+    @Nullable
+    public LocalTime getLocalTimeValue() {
+        return isNull() ? null : TemporalCodec.parseLocalTime(getText());
+    }
+    @Nullable
+    public Period getPeriodValue() {
+        return isNull() ? null : Period.parse(getText());
+    }
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getCollectionOfPrimitiveValues(final Class<T> targetClass) {
+        Objects.requireNonNull(targetClass, "parameter targetClass cannot be null");
+        final List<Integer> itemEntries = getItemEntries();
+        final List<T> result = new ArrayList<>(itemEntries.size());
+        for(final Integer itemEntry : itemEntries) {
+            final IndexedJsonParseNode itemNode = createChildNode(itemEntry);
+            if(targetClass == Boolean.class) {
+                result.add((T)itemNode.getBooleanValue());
+            } else if(targetClass == Short.class) {
+                result.add((T)itemNode.getShortValue());
+            } else if(targetClass == Byte.class) {
+                result.add((T)itemNode.getByteValue());
+            } else if(targetClass == BigDecimal.class) {
+                result.add((T)itemNode.getBigDecimalValue());
+            } else if(targetClass == String.class) {
+                result.add((T)itemNode.getStringValue());
+            } else if(targetClass == Integer.class) {
+                result.add((T)itemNode.getIntegerValue());
+            } else if(targetClass == Float.class) {
+                result.add((T)itemNode.getFloatValue());
+            } else if(targetClass == Long.class) {
+                result.add((T)itemNode.getLongValue());
+            } else if(targetClass == UUID.class) {
+                result.add((T)itemNode.getUUIDValue());
+            } else if(targetClass == OffsetDateTime.class) {
+                result.add((T)itemNode.getOffsetDateTimeValue());
+            } else if(targetClass == LocalDate.class) {
+                result.add((T)itemNode.getLocalDateValue());
+            } else if(targetClass == LocalTime.class) {
+                result.add((T)itemNode.getLocalTimeValue());
+            } else if(targetClass == Period.class) {
+                result.add((T)itemNode.getPeriodValue());
+            } else {
+                throw new RuntimeException("unknown type to deserialize " + targetClass.getName());
+            }
+        }
+        return result;
+    }
+    @SuppressWarnings("unchecked")
+    public <T extends Parsable> List<T> getCollectionOfObjectValues(@Nonnull final ParsableFactory<T> factory) {
+        Objects.requireNonNull(factory, "parameter factory cannot be null");
+        final List<Integer> itemEntries = getItemEntries();
+        final int size = itemEntries.size();
+        if(this.collectionsPool != null && size >= PARALLEL_THRESHOLD) {
+            final Parsable[] items = new Parsable[size]; // each task writes its own slots, the pool invocation publishes them
+            final int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (this.collectionsPool.getParallelism() * 4));
+            this.collectionsPool.invoke(new ItemsTask(i -> items[i] = createChildNode(itemEntries.get(i)).getObjectValue(factory), 0, size, chunkSize));
+            final List<T> result = new ArrayList<>(size);
+            for(final Parsable item : items) {
+                result.add((T)item);
+            }
+            return result;
+        }
+        final List<T> result = new ArrayList<>(size);
+        for(final Integer itemEntry : itemEntries) {
+            result.add(createChildNode(itemEntry).getObjectValue(factory));
+        }
+        return result;
+    }
+    /** Minimum number of items of a collection to deserialize it in parallel */
+    private static final int PARALLEL_THRESHOLD = 2048;
+    /** Minimum number of items deserialized by a task */
+    private static final int MIN_CHUNK_SIZE = 256;
+    /** Runs the action for a range of items, splitting it into chunks run by the pool. */
+    private static final class ItemsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient IntConsumer action;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        ItemsTask(final IntConsumer action, final int from, final int to, final int chunkSize) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+        @Override
+        protected void compute() {
+            if(to - from <= chunkSize) {
+                for(int i = from; i < to; i++) {
+                    action.accept(i);
+                }
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new ItemsTask(action, from, middle, chunkSize), new ItemsTask(action, middle, to, chunkSize));
+            }
+        }
+    }
+    public <T extends Enum<T>> List<T> getCollectionOfEnumValues(@Nonnull final Class<T> targetEnum) {
+        Objects.requireNonNull(targetEnum, "parameter targetEnum cannot be null");
+        final List<Integer> itemEntries = getItemEntries();
+        final List<T> result = new ArrayList<>(itemEntries.size());
+        for(final Integer itemEntry : itemEntries) {
+            result.add(createChildNode(itemEntry).getEnumValue(targetEnum));
+        }
+        return result;
+    }
+    public <T extends Parsable> T getObjectValue(@Nonnull final ParsableFactory<T> factory) {
+        Objects.requireNonNull(factory, "parameter factory cannot be null");
+        final T item = factory.Create(this);
+        assignFieldValues(item, item.getFieldDeserializers());
+        return item;
+    }
+    @Nullable
+    public <T extends Enum<T>> T getEnumValue(@Nonnull final Class<T> targetEnum) {
+        final String rawValue = this.getStringValue();
+        if(rawValue == null || rawValue.isEmpty()) {
+            return null;
+        }
+        return EnumCodec.forClass(targetEnum).parse(rawValue);
+    }
+    @Nullable
+    public <T extends Enum<T>> EnumSet<T> getEnumSetValue(@Nonnull final Class<T> targetEnum) {
+        final String rawValue = this.getStringValue();
+        if(rawValue == null || rawValue.isEmpty()) {
+            return null;
+        }
+        return EnumCodec.forClass(targetEnum).parseSet(rawValue);
+    }
+    private <T extends Parsable> void assignFieldValues(final T item, final Map<String, Consumer<ParseNode>> fieldDeserializers) {
+        if(firstByte() == '{') {
+            if(this.onBeforeAssignFieldValues != null) {
+                this.onBeforeAssignFieldValues.accept(item);
+            }
+            final Map<String, Object> itemAdditionalData = item instanceof AdditionalDataHolder ? ((AdditionalDataHolder)item).getAdditionalData() : null;
+            forEachProperty((keyEntry, valueEntry) -> {
+                final IndexedJsonParseNode fieldNode = createChildNode(valueEntry);
+                if(fieldNode.isNull()) {
+                    return true;
+                }
+                final String fieldKey = decodeString(index.positions[keyEntry] + 1, index.positions[keyEntry + 1]);
+                final Consumer<ParseNode> fieldDeserializer = fieldDeserializers.get(fieldKey);
+                if(fieldDeserializer != null) {
+                    fieldDeserializer.accept(fieldNode);
+                } else if (itemAdditionalData != null && this.unknownPropertiesHandling != UnknownPropertiesHandling.SKIP) {
+                    itemAdditionalData.put(fieldKey, fieldNode.tryGetAnything());
+                }
+                return true;
+            });
+            if(this.onAfterAssignFieldValues != null) {
+                this.onAfterAssignFieldValues.accept(item);
+            }
+        }
+    }
+    /** @return the value in the same representation as the additional data of the tree based parse node */
+    private Object tryGetAnything() {
+        final int start = valueStart(entry);
+        final String raw = new String(index.input, start, valueEnd(entry) - start, StandardCharsets.UTF_8);
+        if(this.unknownPropertiesHandling == UnknownPropertiesHandling.RAW) {
+            return new RawJsonValue(raw);
+        }
+        final byte first = index.input[start];
+        if(first == '{' || first == '[') {
+            return JsonParser.parseString(raw);
+        } else if(first == '"') {
+            return getText();
+        } else if(first == 't' || first == 'f') {
+            return Boolean.valueOf(raw);
+        }
+        return Float.parseFloat(raw);
+    }
+    private IndexedJsonParseNode createChildNode(final int valueEntry) {
+        final IndexedJsonParseNode childNode = new IndexedJsonParseNode(index, valueEntry);
+        childNode.setOnBeforeAssignFieldValues(this.onBeforeAssignFieldValues);
+        childNode.setOnAfterAssignFieldValues(this.onAfterAssignFieldValues);
+        childNode.setUnknownPropertiesHandling(this.unknownPropertiesHandling);
+        childNode.setCollectionsPool(this.collectionsPool);
+        childNode.setStringCache(this.stringCache);
+        return childNode;
+    }
+    private StringCache stringCache;
+    /**
+     * Sets the cache deduplicating the strings decoded from the payload, for this node and the nodes created from it.
+     * @param value the cache, null to decode a new string for every value read.
+     */
+    void setStringCache(@Nullable final StringCache value) {
+        this.stringCache = value;
+    }
+    private ForkJoinPool collectionsPool;
+    /**
+     * Sets the pool deserializing the items of large collections of objects in parallel, for this node and the nodes created from it.
+     * The assign field values callbacks are called from the threads of the pool for those items.
+     * @param value the pool, null to deserialize the items on the calling thread.
+     */
+    void setCollectionsPool(@Nullable final ForkJoinPool value) {
+        this.collectionsPool = value;
+    }
+    private UnknownPropertiesHandling unknownPropertiesHandling = UnknownPropertiesHandling.DECODE;
+    void setUnknownPropertiesHandling(@Nonnull final UnknownPropertiesHandling value) {
+        this.unknownPropertiesHandling = Objects.requireNonNull(value, "parameter value cannot be null");
+    }
+    public Consumer<Parsable> getOnBeforeAssignFieldValues() {
+        return this.onBeforeAssignFieldValues;
+    }
+    public Consumer<Parsable> getOnAfterAssignFieldValues() {
+        return this.onAfterAssignFieldValues;
+    }
+    private Consumer<Parsable> onBeforeAssignFieldValues;
+    public void setOnBeforeAssignFieldValues(final Consumer<Parsable> value) {
+        this.onBeforeAssignFieldValues = value;
+    }
+    private Consumer<Parsable> onAfterAssignFieldValues;
+    public void setOnAfterAssignFieldValues(final Consumer<Parsable> value) {
+        this.onAfterAssignFieldValues = value;
+    }
+    @Nullable
+    public InputStream getByteArrayStream() {
+        if(isNull()) {
+            return null;
+        }
+        final int start = valueStart(entry);
+        if(index.input[start] == '"') {
+            final int end = index.positions[entry + 2];
+            boolean escaped = false;
+            for(int i = start + 1; i < end && !escaped; i++) {
+                escaped = index.input[i] == '\\';
+            }
+            if(!escaped) { // decodes the payload bytes directly
+                return Base64.getDecoder().wrap(new ByteArrayInputStream(index.input, start + 1, end - start - 1));
+            }
+        }
+        final String base64 = this.getStringValue();
+        return base64 == null ? null : Base64.getDecoder().wrap(new StringBytesInputStream(base64));
+    }
+    @Nullable
+    public byte[] getByteArrayValue() {
+        final String base64 = this.getStringValue();
+        if(base64 == null || base64.isEmpty()) {
+            return null;
+        }
+        return Base64.getDecoder().decode(base64);
+    }
+}
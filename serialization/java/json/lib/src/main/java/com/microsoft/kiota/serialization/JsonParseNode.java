@@ -7,6 +7,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -29,7 +30,12 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public class JsonParseNode implements ParseNode {
-    private final JsonElement currentNode;
+    /** Value the node is positioned on, moved for the cursors reused by the loops of the parent node */
+    private JsonElement currentNode;
+    /** Configuration shared by reference with the nodes created from this node */
+    private Settings settings = Settings.DEFAULT;
+    /** Node repositioned over the primitive and enum items read by this node, so they don't allocate a node per value */
+    private JsonParseNode childCursor;
     public JsonParseNode(@Nonnull final String rawJson) {
         Objects.requireNonNull(rawJson, "parameter node cannot be null");
         currentNode = JsonParser.parseString(rawJson);
@@ -41,16 +47,12 @@ public class JsonParseNode implements ParseNode {
         Objects.requireNonNull(identifier, "identifier parameter is required");
         if(currentNode.isJsonObject()) {
             final JsonObject object = currentNode.getAsJsonObject();
-            final var onBefore = this.onBeforeAssignFieldValues;
-            final var onAfter = this.onAfterAssignFieldValues;
-            return new JsonParseNode(object.get(identifier)) {{
-                this.setOnBeforeAssignFieldValues(onBefore);
-                this.setOnAfterAssignFieldValues(onAfter);
-            }};
+            return this.createChildNode(object.get(identifier));
         } else throw new RuntimeException("invalid state expected to have an object node");
     }
     public String getStringValue() {
-        return currentNode.getAsString();
+        final String value = currentNode.getAsString();
+        return this.settings.stringCache == null ? value : this.settings.stringCache.canonicalize(value);
     }
     public Boolean getBooleanValue() {
         return currentNode.getAsBoolean();
@@ -77,16 +79,16 @@ public class JsonParseNode implements ParseNode {
         return currentNode.getAsLong();
     }
     public UUID getUUIDValue() {
-        return UUID.fromString(currentNode.getAsString());
+        return TemporalCodec.parseUUID(currentNode.getAsString());
     }
     public OffsetDateTime getOffsetDateTimeValue() {
-        return OffsetDateTime.parse(currentNode.getAsString());
+        return TemporalCodec.parseOffsetDateTime(currentNode.getAsString());
     }
     public LocalDate getLocalDateValue() {
-        return LocalDate.parse(currentNode.getAsString());
+        return TemporalCodec.parseLocalDate(currentNode.getAsString());
     }
     public LocalTime getLocalTimeValue() {
-        return LocalTime.parse(currentNode.getAsString());
+        return TemporalCodec.parseLocalTime(currentNode.getAsString());
     }
     public Period getPeriodValue() {
         return Period.parse(currentNode.getAsString());
@@ -109,12 +111,7 @@ public class JsonParseNode implements ParseNode {
                         @SuppressWarnings("unchecked")
                         public T next() {
                             final JsonElement item = sourceIterator.next();
-                            final var onBefore = _this.getOnBeforeAssignFieldValues();
-                            final var onAfter = _this.getOnAfterAssignFieldValues();
-                            final JsonParseNode itemNode = new JsonParseNode(item) {{
-                                this.setOnBeforeAssignFieldValues(onBefore);
-                                this.setOnAfterAssignFieldValues(onAfter);
-                            }};
+                            final JsonParseNode itemNode = _this.moveChildCursor(item);
                             if(targetClass == Boolean.class) {
                                 return (T)itemNode.getBooleanValue();
                             } else if(targetClass == Short.class) {
@@ -167,12 +164,7 @@ public class JsonParseNode implements ParseNode {
                         @Override
                         public T next() {
                             final JsonElement item = sourceIterator.next();
-                            final var onBefore = _this.getOnBeforeAssignFieldValues();
-                            final var onAfter = _this.getOnAfterAssignFieldValues();
-                            final JsonParseNode itemNode = new JsonParseNode(item) {{
-                                this.setOnBeforeAssignFieldValues(onBefore);
-                                this.setOnAfterAssignFieldValues(onAfter);
-                            }};
+                            final JsonParseNode itemNode = _this.createChildNode(item); // the factory may keep the node
                             return itemNode.getObjectValue(factory);
                         }
                     };
@@ -198,12 +190,7 @@ public class JsonParseNode implements ParseNode {
                         @Override
                         public T next() {
                             final JsonElement item = sourceIterator.next();
-                            final var onBefore = _this.getOnBeforeAssignFieldValues();
-                            final var onAfter = _this.getOnAfterAssignFieldValues();
-                            final JsonParseNode itemNode = new JsonParseNode(item) {{
-                                this.setOnBeforeAssignFieldValues(onBefore);
-                                this.setOnAfterAssignFieldValues(onAfter);
-                            }};
+                            final JsonParseNode itemNode = _this.moveChildCursor(item);
                             return itemNode.getEnumValue(targetEnum);
                         }
                     };
@@ -224,15 +211,7 @@ public class JsonParseNode implements ParseNode {
         if(rawValue == null || rawValue.isEmpty()) {
             return null;
         }
-        return getEnumValueInt(rawValue, targetEnum);
-    }
-    @SuppressWarnings("unchecked")
-    private <T extends Enum<T>> T getEnumValueInt(@Nonnull final String rawValue, @Nonnull final Class<T> targetEnum) {
-        try {
-            return (T)targetEnum.getMethod("forValue", String.class).invoke(null, rawValue);
-        } catch (Exception ex) {
-            return null;
-        }
+        return EnumCodec.forClass(targetEnum).parse(rawValue);
     }
     @Nullable
     public <T extends Enum<T>> EnumSet<T> getEnumSetValue(@Nonnull final Class<T> targetEnum) {
@@ -240,20 +219,12 @@ public class JsonParseNode implements ParseNode {
         if(rawValue == null || rawValue.isEmpty()) {
             return null;
         }
-        final EnumSet<T> result = EnumSet.noneOf(targetEnum);
-        final String[] rawValues = rawValue.split(",");
-        for (final String rawValueItem : rawValues) {
-            final T value = getEnumValueInt(rawValueItem, targetEnum);
-            if(value != null) {
-                result.add(value);
-            }
-        }
-        return result;
+        return EnumCodec.forClass(targetEnum).parseSet(rawValue);
     }
     private <T extends Parsable> void assignFieldValues(final T item, final Map<String, Consumer<ParseNode>> fieldDeserializers) {
         if(currentNode.isJsonObject()) {
-            if(this.onBeforeAssignFieldValues != null) {
-                this.onBeforeAssignFieldValues.accept(item);
+            if(this.settings.onBeforeAssignFieldValues != null) {
+                this.settings.onBeforeAssignFieldValues.accept(item);
             }
             Map<String, Object> itemAdditionalData = null;
             if(item instanceof AdditionalDataHolder) {
@@ -266,18 +237,15 @@ public class JsonParseNode implements ParseNode {
                 if(fieldValue.isJsonNull())
                     continue;
                 if(fieldDeserializer != null) {
-                    final var onBefore = this.onBeforeAssignFieldValues;
-                    final var onAfter = this.onAfterAssignFieldValues;
-                    fieldDeserializer.accept(new JsonParseNode(fieldValue) {{
-                        this.setOnBeforeAssignFieldValues(onBefore);
-                        this.setOnAfterAssignFieldValues(onAfter);
-                    }});
+                    fieldDeserializer.accept(this.createChildNode(fieldValue)); // the deserializer may keep the node
                 }
-                else if (itemAdditionalData != null)
-                    itemAdditionalData.put(fieldKey, this.tryGetAnything(fieldValue));
+                else if (itemAdditionalData != null && this.settings.unknownPropertiesHandling != UnknownPropertiesHandling.SKIP)
+                    itemAdditionalData.put(fieldKey, this.settings.unknownPropertiesHandling == UnknownPropertiesHandling.RAW ?
+                                                        new RawJsonValue(fieldValue.toString()) :
+                                                        this.tryGetAnything(fieldValue));
             }
-            if(this.onAfterAssignFieldValues != null) {
-                this.onAfterAssignFieldValues.accept(item);
+            if(this.settings.onAfterAssignFieldValues != null) {
+                this.settings.onAfterAssignFieldValues.accept(item);
             }
         }
     }
@@ -299,19 +267,79 @@ public class JsonParseNode implements ParseNode {
         else
             throw new RuntimeException("Could not get the value during deserialization, unknown primitive type");
     }
+    private JsonParseNode createChildNode(@Nonnull final JsonElement element) {
+        final JsonParseNode childNode = new JsonParseNode(element);
+        childNode.settings = this.settings;
+        return childNode;
+    }
+    /**
+     * Moves the child cursor of this node to the value, the node returned is only valid until the next value read by this node.
+     * Only used for the values this node reads itself, the nodes handed to factories, field deserializers and getChildNode callers are independent as they may be kept.
+     */
+    private JsonParseNode moveChildCursor(@Nonnull final JsonElement element) {
+        if(this.childCursor == null) {
+            this.childCursor = this.createChildNode(element);
+        } else {
+            this.childCursor.currentNode = element;
+            this.childCursor.settings = this.settings;
+        }
+        return this.childCursor;
+    }
+    /** Callbacks and options of a node, never modified so nodes can share them */
+    private static final class Settings {
+        static final Settings DEFAULT = new Settings(null, null, UnknownPropertiesHandling.DECODE, null);
+        final Consumer<Parsable> onBeforeAssignFieldValues;
+        final Consumer<Parsable> onAfterAssignFieldValues;
+        final UnknownPropertiesHandling unknownPropertiesHandling;
+        final StringCache stringCache;
+        Settings(final Consumer<Parsable> onBeforeAssignFieldValues, final Consumer<Parsable> onAfterAssignFieldValues, final UnknownPropertiesHandling unknownPropertiesHandling, final StringCache stringCache) {
+            this.onBeforeAssignFieldValues = onBeforeAssignFieldValues;
+            this.onAfterAssignFieldValues = onAfterAssignFieldValues;
+            this.unknownPropertiesHandling = unknownPropertiesHandling;
+            this.stringCache = stringCache;
+        }
+    }
+    /**
+     * Gets how the properties the models don't describe are stored in their additional data.
+     * @return how the properties the models don't describe are stored.
+     */
+    @Nonnull
+    public UnknownPropertiesHandling getUnknownPropertiesHandling() {
+        return this.settings.unknownPropertiesHandling;
+    }
+    /**
+     * Sets how the properties the models don't describe are stored in their additional data, for this node and the nodes created from it.
+     * @param value how the properties the models don't describe are stored.
+     */
+    public void setUnknownPropertiesHandling(@Nonnull final UnknownPropertiesHandling value) {
+        Objects.requireNonNull(value, "parameter value cannot be null");
+        this.settings = new Settings(this.settings.onBeforeAssignFieldValues, this.settings.onAfterAssignFieldValues, value, this.settings.stringCache);
+    }
+    /**
+     * Sets the cache deduplicating the string values read, for this node and the nodes created from it.
+     * @param value the cache, null to return a new string for every value read.
+     */
+    void setStringCache(@Nullable final StringCache value) {
+        this.settings = new Settings(this.settings.onBeforeAssignFieldValues, this.settings.onAfterAssignFieldValues, this.settings.unknownPropertiesHandling, value);
+    }
     public Consumer<Parsable> getOnBeforeAssignFieldValues() {
-        return this.onBeforeAssignFieldValues;
+        return this.settings.onBeforeAssignFieldValues;
     }
     public Consumer<Parsable> getOnAfterAssignFieldValues() {
-        return this.onAfterAssignFieldValues;
+        return this.settings.onAfterAssignFieldValues;
     }
-    private Consumer<Parsable> onBeforeAssignFieldValues;
     public void setOnBeforeAssignFieldValues(final Consumer<Parsable> value) {
-        this.onBeforeAssignFieldValues = value;
+        this.settings = new Settings(value, this.settings.onAfterAssignFieldValues, this.settings.unknownPropertiesHandling, this.settings.stringCache);
     }
-    private Consumer<Parsable> onAfterAssignFieldValues;
     public void setOnAfterAssignFieldValues(final Consumer<Parsable> value) {
-        this.onAfterAssignFieldValues = value;
+        this.settings = new Settings(this.settings.onBeforeAssignFieldValues, value, this.settings.unknownPropertiesHandling, this.settings.stringCache);
+    }
+    @Nullable
+    public InputStream getByteArrayStream() {
+        if(currentNode.isJsonNull()) {
+            return null;
+        }
+        return Base64.getDecoder().wrap(new StringBytesInputStream(currentNode.getAsString()));
     }
     public byte[] getByteArrayValue() {
         final var base64 = this.getStringValue();
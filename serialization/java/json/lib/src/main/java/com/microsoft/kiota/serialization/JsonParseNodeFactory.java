@@ -9,24 +9,81 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.gson.stream.JsonReader;
 
 public class JsonParseNodeFactory implements ParseNodeFactory {
     public String getValidContentType() {
         return validContentType;
     }
     private final static String validContentType = "application/json";
+    private final UnknownPropertiesHandling unknownPropertiesHandling;
+    private final boolean useStructuralIndex;
+    private final ForkJoinPool collectionsPool;
+    private final StringCache stringCache;
+    public JsonParseNodeFactory() {
+        this(UnknownPropertiesHandling.DECODE);
+    }
+    /**
+     * Initializes a new factory.
+     * @param unknownPropertiesHandling how the properties the models don't describe are stored in their additional data.
+     */
+    public JsonParseNodeFactory(@Nonnull final UnknownPropertiesHandling unknownPropertiesHandling) {
+        this(unknownPropertiesHandling, false);
+    }
+    /**
+     * Initializes a new factory.
+     * @param unknownPropertiesHandling how the properties the models don't describe are stored in their additional data.
+     * @param useStructuralIndex whether to index the structure of the payload bytes and read the values from the bytes when they are used, instead of parsing the whole payload into a tree. Faster for large payloads of which only part of the values are read.
+     */
+    public JsonParseNodeFactory(@Nonnull final UnknownPropertiesHandling unknownPropertiesHandling, final boolean useStructuralIndex) {
+        this(unknownPropertiesHandling, useStructuralIndex, null);
+    }
+    /**
+     * Initializes a new factory.
+     * @param unknownPropertiesHandling how the properties the models don't describe are stored in their additional data.
+     * @param useStructuralIndex whether to index the structure of the payload bytes and read the values from the bytes when they are used, instead of parsing the whole payload into a tree. Faster for large payloads of which only part of the values are read.
+     * @param collectionsPool the pool deserializing the items of large collections of objects in parallel when the structural index is used, null to deserialize them on the calling thread. The order of the items is kept, the assign field values callbacks are called from the threads of the pool and must be thread safe.
+     */
+    public JsonParseNodeFactory(@Nonnull final UnknownPropertiesHandling unknownPropertiesHandling, final boolean useStructuralIndex, @Nullable final ForkJoinPool collectionsPool) {
+        this(unknownPropertiesHandling, useStructuralIndex, collectionsPool, null);
+    }
+    /**
+     * Initializes a new factory.
+     * @param unknownPropertiesHandling how the properties the models don't describe are stored in their additional data.
+     * @param useStructuralIndex whether to index the structure of the payload bytes and read the values from the bytes when they are used, instead of parsing the whole payload into a tree. Faster for large payloads of which only part of the values are read.
+     * @param collectionsPool the pool deserializing the items of large collections of objects in parallel when the structural index is used, null to deserialize them on the calling thread. The order of the items is kept, the assign field values callbacks are called from the threads of the pool and must be thread safe.
+     * @param stringCache the cache deduplicating the short string values read from the payloads of this factory, null to return a new string for every value read. Create a factory per response to scope the cache to a response.
+     */
+    public JsonParseNodeFactory(@Nonnull final UnknownPropertiesHandling unknownPropertiesHandling, final boolean useStructuralIndex, @Nullable final ForkJoinPool collectionsPool, @Nullable final StringCache stringCache) {
+        this.unknownPropertiesHandling = Objects.requireNonNull(unknownPropertiesHandling, "parameter unknownPropertiesHandling cannot be null");
+        this.useStructuralIndex = useStructuralIndex;
+        this.collectionsPool = collectionsPool;
+        this.stringCache = stringCache;
+    }
     @Override
     @Nonnull
     public ParseNode getParseNode(@Nonnull final String contentType, @Nonnull final InputStream rawResponse) {
-        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
+        validateContentType(contentType);
         Objects.requireNonNull(rawResponse, "parameter rawResponse cannot be null");
-        if(contentType.isEmpty()) {
-            throw new NullPointerException("contentType cannot be empty");
-        } else if (!contentType.equals(validContentType)) {
-            throw new IllegalArgumentException("expected a " + validContentType + " content type");
+        if(useStructuralIndex) {
+            final byte[] payload;
+            try(final InputStream stream = rawResponse) {
+                payload = stream.readAllBytes();
+            } catch (IOException ex) {
+                throw new RuntimeException("could not read the payload", ex);
+            }
+            final IndexedJsonParseNode parseNode = new IndexedJsonParseNode(StructuralIndex.build(payload, payload.length), -1);
+            parseNode.setUnknownPropertiesHandling(this.unknownPropertiesHandling);
+            parseNode.setCollectionsPool(this.collectionsPool);
+            parseNode.setStringCache(this.stringCache);
+            return parseNode;
         }
         String rawText;
         try(final InputStreamReader reader = new InputStreamReader(rawResponse, StandardCharsets.UTF_8)) {
@@ -37,7 +94,39 @@ public class JsonParseNodeFactory implements ParseNodeFactory {
         } catch (IOException ex) {
             throw new RuntimeException("could not close the reader", ex);
         }
-        return new JsonParseNode(rawText);
+        return createParseNode(new JsonParseNode(rawText));
+    }
+    /**
+     * Creates a parse node reading only the given fields, other values are skipped while reading the payload.
+     * Discriminator fields like @odata.type must be part of the field paths for the factories of the models to use them.
+     * @param contentType the content type of the payload.
+     * @param rawResponse the payload.
+     * @param fieldPaths the paths of the fields to read, with segments separated by '/'. Collections are traversed transparently and a path ending on an object reads the whole object.
+     * @return the parse node for the projected payload.
+     */
+    @Override
+    @Nonnull
+    public ParseNode getParseNode(@Nonnull final String contentType, @Nonnull final InputStream rawResponse, @Nonnull final Set<String> fieldPaths) {
+        validateContentType(contentType);
+        Objects.requireNonNull(rawResponse, "parameter rawResponse cannot be null");
+        final FieldProjection projection = FieldProjection.of(fieldPaths);
+        try(final JsonReader reader = new JsonReader(new InputStreamReader(rawResponse, StandardCharsets.UTF_8))) {
+            return createParseNode(new JsonParseNode(projection.read(reader)));
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the payload", ex);
+        }
+    }
+    private void validateContentType(final String contentType) {
+        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
+        if(contentType.isEmpty()) {
+            throw new NullPointerException("contentType cannot be empty");
+        } else if (!contentType.equals(validContentType)) {
+            throw new IllegalArgumentException("expected a " + validContentType + " content type");
+        }
+    }
+    private JsonParseNode createParseNode(final JsonParseNode parseNode) {
+        parseNode.setUnknownPropertiesHandling(this.unknownPropertiesHandling);
+        parseNode.setStringCache(this.stringCache);
+        return parseNode;
     }
-
 }
\ No newline at end of file
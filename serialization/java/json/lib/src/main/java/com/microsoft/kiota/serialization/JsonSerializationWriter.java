@@ -1,271 +1,241 @@
 package com.microsoft.kiota.serialization;
 
 import com.microsoft.kiota.serialization.SerializationWriter;
-import com.microsoft.kiota.serialization.ValuedEnum;
 import com.microsoft.kiota.serialization.Parsable;
 
 import java.lang.Enum;
-import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStreamWriter;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.Period;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Consumer;
 import java.util.function.BiConsumer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import com.google.gson.stream.JsonWriter;
+import com.google.gson.JsonElement;
 
 public class JsonSerializationWriter implements SerializationWriter {
-    private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-    private final JsonWriter writer;
+    private final Utf8ByteArrayWriter stream = new Utf8ByteArrayWriter();
+    private JsonTokenWriter writer;
+    private final Consumer<JsonSerializationWriter> onClose;
+    /** Maximum size of the buffer kept by a writer returned to its pool, larger buffers are released */
+    private static final int maxRetainedBufferSize = 1024 * 1024;
     public JsonSerializationWriter() {
-        this.writer = new JsonWriter(new OutputStreamWriter(this.stream));
+        this(null);
+    }
+    /**
+     * Initializes a new writer that is reset and handed to the given callback when closed instead of being released.
+     * @param onClose the callback returning the writer to its pool, null if the writer is not pooled.
+     */
+    JsonSerializationWriter(@Nullable final Consumer<JsonSerializationWriter> onClose) {
+        this.onClose = onClose;
+        this.writer = new JsonTokenWriter(this.stream);
     }
     public void writeStringValue(final String key, final String value) {
-        if(value != null)
-            try {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.value(value);
-            } catch (IOException ex) {
-                throw new RuntimeException("could not serialize value", ex);
-            }
+        if(value != null) {
+            writeName(key);
+            writer.value(value);
+        }
     }
     public void writeBooleanValue(final String key, final Boolean value) {
-        if(value != null)
-            try {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.value(value);
-            } catch (IOException ex) {
-                throw new RuntimeException("could not serialize value", ex);
-            }
+        if(value != null) {
+            writeName(key);
+            writer.value(value);
+        }
     }
     public void writeShortValue(final String key, final Short value) {
-        if(value != null)
-            try {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.value(value);
-            } catch (IOException ex) {
-                throw new RuntimeException("could not serialize value", ex);
-            }
+        if(value != null) {
+            writeName(key);
+            writer.value(value);
+        }
     }
     public void writeByteValue(final String key, final Byte value) {
-        if(value != null)
-            try {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.value(value);
-            } catch (IOException ex) {
-                throw new RuntimeException("could not serialize value", ex);
-            }
+        if(value != null) {
+            writeName(key);
+            writer.value(value);
+        }
     }
     public void writeBigDecimalValue(final String key, final BigDecimal value) {
-        if(value != null)
-            try {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.value(value);
-            } catch (IOException ex) {
-                throw new RuntimeException("could not serialize value", ex);
-            }
+        if(value != null) {
+            writeName(key);
+            writer.value(value);
+        }
     }
     public void writeIntegerValue(final String key, final Integer value) {
-        if(value != null)
-            try {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.value(value);
-            } catch (IOException ex) {
-                throw new RuntimeException("could not serialize value", ex);
-            }
+        if(value != null) {
+            writeName(key);
+            writer.value(value);
+        }
     }
     public void writeFloatValue(final String key, final Float value) {
-        if(value != null)
-            try {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.value(value);
-            } catch (IOException ex) {
-                throw new RuntimeException("could not serialize value", ex);
-            }
+        if(value != null) {
+            writeName(key);
+            writer.value(value);
+        }
     }
     public void writeDoubleValue(final String key, final Double value) {
-        if(value != null)
-            try {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.value(value);
-            } catch (IOException ex) {
-                throw new RuntimeException("could not serialize value", ex);
-            }
+        if(value != null) {
+            writeName(key);
+            writer.value(value);
+        }
     }
     public void writeLongValue(final String key, final Long value) {
-        if(value != null)
-            try {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.value(value);
-            } catch (IOException ex) {
-                throw new RuntimeException("could not serialize value", ex);
-            }
+        if(value != null) {
+            writeName(key);
+            writer.value(value);
+        }
     }
     public void writeUUIDValue(final String key, final UUID value) {
-        if(value != null)
-            try {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.value(value.toString());
-            } catch (IOException ex) {
-                throw new RuntimeException("could not serialize value", ex);
-            }
+        if(value != null) {
+            writeName(key);
+            writer.value(value.toString());
+        }
     }
     public void writeOffsetDateTimeValue(final String key, final OffsetDateTime value) {
-        if(value != null)
-            try {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.value(value.format(DateTimeFormatter.ISO_ZONED_DATE_TIME));
-            } catch (IOException ex) {
-                throw new RuntimeException("could not serialize value", ex);
-            }
+        if(value != null) {
+            writeName(key);
+            writer.value(TemporalCodec.formatOffsetDateTime(value));
+        }
     }
     public void writeLocalDateValue(final String key, final LocalDate value) {
-        if(value != null)
-            try {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.value(value.format(DateTimeFormatter.ISO_LOCAL_DATE));
-            } catch (IOException ex) {
-                throw new RuntimeException("could not serialize value", ex);
-            }
+        if(value != null) {
+            writeName(key);
+            writer.value(TemporalCodec.formatLocalDate(value));
+        }
     }
     public void writeLocalTimeValue(final String key, final LocalTime value) {
-        if(value != null)
-            try {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.value(value.format(DateTimeFormatter.ISO_LOCAL_TIME));
-            } catch (IOException ex) {
-                throw new RuntimeException("could not serialize value", ex);
-            }
+        if(value != null) {
+            writeName(key);
+            writer.value(TemporalCodec.formatLocalTime(value));
+        }
     }
     public void writePeriodValue(final String key, final Period value) {
-        if(value != null)
-            try {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.value(value.toString());
-            } catch (IOException ex) {
-                throw new RuntimeException("could not serialize value", ex);
-            }
+        if(value != null) {
+            writeName(key);
+            writer.value(value.toString());
+        }
     }
     public <T> void writeCollectionOfPrimitiveValues(final String key, final Iterable<T> values) {
-        try {
-            if(values != null) { //empty array is meaningful
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.beginArray();
-                for (final T t : values) {
-                    this.writeAnyValue(null, t);
-                }
-                writer.endArray();
+        if(values != null) { //empty array is meaningful
+            writeName(key);
+            writer.beginArray();
+            for (final T t : values) {
+                this.writeAnyValue(null, t);
             }
-        } catch (IOException ex) {
-            throw new RuntimeException("could not serialize value", ex);
+            writer.endArray();
         }
     }
     public <T extends Parsable> void writeCollectionOfObjectValues(final String key, final Iterable<T> values) {
-        try {
-            if(values != null) { //empty array is meaningful
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.beginArray();
-                for (final T t : values) {
-                    this.writeObjectValue(null, t);
+        if(values != null) { //empty array is meaningful
+            writeName(key);
+            if(collectionsPool != null && values instanceof Collection && ((Collection<?>)values).size() >= PARALLEL_THRESHOLD) {
+                writeCollectionOfObjectValuesInParallel(((Collection<?>)values).toArray());
+                return;
+            }
+            writer.beginArray();
+            for (final T t : values) {
+                this.writeObjectValue(null, t);
+            }
+            writer.endArray();
+        }
+    }
+    /** Minimum number of items of a collection to serialize it in parallel */
+    private static final int PARALLEL_THRESHOLD = 2048;
+    /** Minimum number of items serialized by a task */
+    private static final int MIN_CHUNK_SIZE = 256;
+    private ForkJoinPool collectionsPool;
+    /**
+     * Sets the pool serializing the items of large collections of objects in parallel.
+     * The serialization callbacks are called from the threads of the pool for those items.
+     * @param value the pool, null to serialize the items on the calling thread.
+     */
+    void setCollectionsPool(@Nullable final ForkJoinPool value) {
+        this.collectionsPool = value;
+    }
+    /** Serializes chunks of items with separate writers on the pool and appends their output in order, as soon as each chunk is done */
+    private void writeCollectionOfObjectValuesInParallel(final Object[] items) {
+        final int chunkSize = Math.max(MIN_CHUNK_SIZE, items.length / (collectionsPool.getParallelism() * 4));
+        final List<ForkJoinTask<JsonSerializationWriter>> chunks = new ArrayList<>();
+        for(int from = 0; from < items.length; from += chunkSize) {
+            final int start = from;
+            final int end = Math.min(items.length, from + chunkSize);
+            chunks.add(collectionsPool.submit(() -> this.writeChunk(items, start, end)));
+        }
+        writer.beginArray();
+        boolean first = true;
+        for(final ForkJoinTask<JsonSerializationWriter> chunk : chunks) {
+            final Utf8ByteArrayWriter chunkStream = chunk.join().stream;
+            if(chunkStream.size() > 2) { // skips the brackets of the chunk array
+                if(!first) {
+                    stream.write(',');
                 }
-                writer.endArray();
+                stream.writeBytes(chunkStream, 1, chunkStream.size() - 1);
+                first = false;
             }
-        } catch (IOException ex) {
-            throw new RuntimeException("could not serialize value", ex);
         }
+        writer.endArray();
+    }
+    private JsonSerializationWriter writeChunk(final Object[] items, final int start, final int end) {
+        final JsonSerializationWriter chunkWriter = new JsonSerializationWriter();
+        chunkWriter.setOnBeforeObjectSerialization(this.onBeforeObjectSerialization);
+        chunkWriter.setOnAfterObjectSerialization(this.onAfterObjectSerialization);
+        chunkWriter.setOnStartObjectSerialization(this.onStartObjectSerialization);
+        chunkWriter.setCollectionsPool(this.collectionsPool);
+        chunkWriter.writer.beginArray();
+        for(int i = start; i < end; i++) {
+            chunkWriter.writeObjectValue(null, (Parsable)items[i]);
+        }
+        chunkWriter.writer.endArray();
+        return chunkWriter;
     }
     public <T extends Enum<T>> void writeCollectionOfEnumValues(@Nullable final String key, @Nullable final Iterable<T> values) {
-        try {
-            if(values != null) { //empty array is meaningful
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                writer.beginArray();
-                for (final T t : values) {
-                    this.writeEnumValue(null, t);
-                }
-                writer.endArray();
+        if(values != null) { //empty array is meaningful
+            writeName(key);
+            writer.beginArray();
+            for (final T t : values) {
+                this.writeEnumValue(null, t);
             }
-        } catch (IOException ex) {
-            throw new RuntimeException("could not serialize value", ex);
+            writer.endArray();
         }
     }
     public <T extends Parsable> void writeObjectValue(final String key, final T value) {
-        try {
-            if(value != null) {
-                if(key != null && !key.isEmpty()) {
-                    writer.name(key);
-                }
-                if(onBeforeObjectSerialization != null) {
-                    onBeforeObjectSerialization.accept(value);
-                }
-                writer.beginObject();
-                if(onStartObjectSerialization != null) {
-                    onStartObjectSerialization.accept(value, this);
-                }
-                value.serialize(this);
-                writer.endObject();
-                if(onAfterObjectSerialization != null) {
-                    onAfterObjectSerialization.accept(value);
-                }
+        if(value != null) {
+            writeName(key);
+            if(onBeforeObjectSerialization != null) {
+                onBeforeObjectSerialization.accept(value);
+            }
+            writer.beginObject();
+            if(onStartObjectSerialization != null) {
+                onStartObjectSerialization.accept(value, this);
+            }
+            value.serialize(this);
+            writer.endObject();
+            if(onAfterObjectSerialization != null) {
+                onAfterObjectSerialization.accept(value);
             }
-        } catch (IOException ex) {
-            throw new RuntimeException("could not serialize value", ex);
         }
     }
     public <T extends Enum<T>> void writeEnumSetValue(@Nullable final String key, @Nullable final EnumSet<T> values) {
         if(values != null && !values.isEmpty()) {
-            final Optional<String> concatenatedValue = values.stream().map(v -> this.getStringValueFromValuedEnum(v)).reduce((x, y) -> { return x + "," + y; });
-            if(concatenatedValue.isPresent()) {
-                this.writeStringValue(key, concatenatedValue.get());
+            final String concatenatedValue = EnumCodec.forClass(values.iterator().next().getDeclaringClass()).formatSet(values);
+            if(concatenatedValue != null) {
+                this.writeStringValue(key, concatenatedValue);
             }
         }
     }
@@ -275,33 +245,53 @@ public class JsonSerializationWriter implements SerializationWriter {
         }
     }
     public void writeNullValue(@Nullable final String key) {
-        try {
-            if(key != null && !key.isEmpty()) {
-                writer.name(key);
-            }
-            writer.nullValue();
-        } catch (IOException ex) {
-            throw new RuntimeException("could not serialize value", ex);
+        writeName(key);
+        writer.nullValue();
+    }
+    /** Last property name handed out as a key, its encoded form is copied when the same key instance is written */
+    private PropertyName propertyName;
+    @Override
+    @Nonnull
+    public String getPropertyKey(@Nonnull final PropertyName name) {
+        this.propertyName = Objects.requireNonNull(name, "parameter name cannot be null");
+        return name.toString();
+    }
+    /** Writes the key unless it's empty */
+    private void writeName(@Nullable final String key) {
+        if(key == null || key.isEmpty()) {
+            return;
+        }
+        final PropertyName name = this.propertyName;
+        if(name != null && name.toString() == key) { // compared by identity, a name left behind by a null value is never written for another key
+            this.propertyName = null;
+            writer.name(name);
+        } else {
+            writer.name(key);
         }
     }
     private <T extends Enum<T>> String getStringValueFromValuedEnum(final T value) {
-        if(value instanceof ValuedEnum) {
-            final ValuedEnum valued = (ValuedEnum)value;
-            return valued.getValue();
-        } else return null;
+        return EnumCodec.forClass(value.getDeclaringClass()).format(value);
     }
     public InputStream getSerializedContent() {
-        try {
-            this.writer.flush();
-            return new ByteArrayInputStream(this.stream.toByteArray());
-            //This copies the whole array in memory could result in memory pressure for large objects, we might want to replace by some kind of piping in the future
-        } catch (IOException ex) {
-            throw new RuntimeException(ex);
-        }
+        return new ByteArrayInputStream(this.stream.toByteArray());
+        //This copies the whole array in memory could result in memory pressure for large objects, we might want to replace by some kind of piping in the future
     }
     public void close() throws IOException {
-        this.writer.close();
-        this.stream.close();
+        if(this.onClose == null) {
+            this.writer.close();
+            this.stream.close();
+        } else {
+            this.reset();
+            this.onClose.accept(this);
+        }
+    }
+    private void reset() {
+        this.stream.reset(maxRetainedBufferSize);
+        this.writer = new JsonTokenWriter(this.stream);
+        this.onBeforeObjectSerialization = null;
+        this.onAfterObjectSerialization = null;
+        this.onStartObjectSerialization = null;
+        this.propertyName = null;
     }
     public void writeAdditionalData(@Nonnull final Map<String, Object> value) {
         if(value == null) return;
@@ -309,58 +299,28 @@ public class JsonSerializationWriter implements SerializationWriter {
             this.writeAnyValue(dataValue.getKey(), dataValue.getValue());
         }
     }
+    private void writeRawValue(final String key, final String rawJson) {
+        writeName(key);
+        this.writer.jsonValue(rawJson);
+    }
     private void writeNonParsableObject(final String key, final Object value) {
-        try {
-            if(key != null && !key.isEmpty())
-                this.writer.name(key);
-            if(value == null)
-                this.writer.nullValue();
-            else {
-                final Class<?> valueClass = value.getClass();
-                for(final Field oProp : valueClass.getFields())
-                    this.writeAnyValue(oProp.getName(), oProp.get(value));
-            }
-        } catch (IOException | IllegalAccessException ex) {
-            throw new RuntimeException("could not serialize value", ex);
-        }
+        if(value == null)
+            this.writeNullValue(key);
+        else if(ValueWriterDispatch.hasProperties(value.getClass())) {
+            writeName(key);
+            this.writer.beginObject();
+            ValueWriterDispatch.forEachProperty(value, this::writeAnyValue);
+            this.writer.endObject();
+        } else
+            this.writeStringValue(key, value.toString());
     }
     private void writeAnyValue(final String key, final Object value) {
         if(value == null) {
             this.writeNullValue(key);
-        } else {
-            final Class<?> valueClass = value.getClass();
-            if(valueClass.equals(String.class))
-                this.writeStringValue(key, (String)value);
-            else if(valueClass.equals(Boolean.class))
-                this.writeBooleanValue(key, (Boolean)value);
-            else if(valueClass.equals(Byte.class))
-                this.writeByteValue(key, (Byte)value);
-            else if(valueClass.equals(Short.class))
-                this.writeShortValue(key, (Short)value);
-            else if(valueClass.equals(BigDecimal.class))
-                this.writeBigDecimalValue(key, (BigDecimal)value);
-            else if(valueClass.equals(Float.class))
-                this.writeFloatValue(key, (Float)value);
-            else if(valueClass.equals(Long.class))
-                this.writeLongValue(key, (Long)value);
-            else if(valueClass.equals(Integer.class))
-                this.writeIntegerValue(key, (Integer)value);
-            else if(valueClass.equals(UUID.class))
-                this.writeUUIDValue(key, (UUID)value);
-            else if(valueClass.equals(OffsetDateTime.class))
-                this.writeOffsetDateTimeValue(key, (OffsetDateTime)value);
-            else if(valueClass.equals(LocalDate.class))
-                this.writeLocalDateValue(key, (LocalDate)value);
-            else if(valueClass.equals(LocalTime.class))
-                this.writeLocalTimeValue(key, (LocalTime)value);
-            else if(valueClass.equals(Period.class))
-                this.writePeriodValue(key, (Period)value);
-            else if(value instanceof Iterable<?>)
-                this.writeCollectionOfPrimitiveValues(key, (Iterable<?>)value);
-            else if(!valueClass.isPrimitive())
-                this.writeNonParsableObject(key, value);
-            else
-                throw new RuntimeException("unknown type to serialize " + valueClass.getName());
+        } else if(value instanceof RawJsonValue || value instanceof JsonElement) {
+            this.writeRawValue(key, value.toString());
+        } else if(!ValueWriterDispatch.write(this, key, value)) {
+            this.writeNonParsableObject(key, value);
         }
     }
     public Consumer<Parsable> getOnBeforeObjectSerialization() {
@@ -388,4 +348,15 @@ public class JsonSerializationWriter implements SerializationWriter {
         if(value != null)
             this.writeStringValue(key, Base64.getEncoder().encodeToString(value));
     }
+    @Override
+    public void writeByteStreamValue(@Nullable final String key, @Nonnull final InputStream value) {
+        if(value != null) {
+            writeName(key);
+            try {
+                writer.base64Value(value);
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+        }
+    }
 }
@@ -1,8 +1,11 @@
 package com.microsoft.kiota.serialization;
 
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import com.microsoft.kiota.serialization.SerializationWriter;
 import com.microsoft.kiota.serialization.SerializationWriterFactory;
@@ -12,6 +15,28 @@ public class JsonSerializationWriterFactory implements SerializationWriterFactor
         return validContentType;
     }
     private static final String validContentType = "application/json";
+    /** Idle writer of the current thread, empty while the writer is in use */
+    private final ThreadLocal<JsonSerializationWriter> pooledWriters;
+    private final ForkJoinPool collectionsPool;
+    public JsonSerializationWriterFactory() {
+        this(false);
+    }
+    /**
+     * Initializes a new factory.
+     * @param reuseWriters whether to keep one writer and its buffers per thread and reuse it once it's closed, instead of creating a new writer for every payload.
+     */
+    public JsonSerializationWriterFactory(final boolean reuseWriters) {
+        this(reuseWriters, null);
+    }
+    /**
+     * Initializes a new factory.
+     * @param reuseWriters whether to keep one writer and its buffers per thread and reuse it once it's closed, instead of creating a new writer for every payload.
+     * @param collectionsPool the pool serializing the items of large collections of objects in parallel, null to serialize them on the calling thread. The order of the items is kept, the serialization callbacks are called from the threads of the pool and must be thread safe.
+     */
+    public JsonSerializationWriterFactory(final boolean reuseWriters, @Nullable final ForkJoinPool collectionsPool) {
+        this.pooledWriters = reuseWriters ? new ThreadLocal<>() : null;
+        this.collectionsPool = collectionsPool;
+    }
     @Override
     @Nonnull
     public SerializationWriter getSerializationWriter(@Nonnull final String contentType) {
@@ -21,6 +46,19 @@ public class JsonSerializationWriterFactory implements SerializationWriterFactor
         } else if (!contentType.equals(validContentType)) {
             throw new IllegalArgumentException("expected a " + validContentType + " content type");
         }
-        return new JsonSerializationWriter();
+        if(pooledWriters == null) {
+            return createWriter(null);
+        }
+        final JsonSerializationWriter pooledWriter = pooledWriters.get();
+        if(pooledWriter == null) {
+            return createWriter(pooledWriters::set);
+        }
+        pooledWriters.set(null);
+        return pooledWriter;
+    }
+    private JsonSerializationWriter createWriter(final Consumer<JsonSerializationWriter> onClose) {
+        final JsonSerializationWriter writer = new JsonSerializationWriter(onClose);
+        writer.setCollectionsPool(collectionsPool);
+        return writer;
     }
 }
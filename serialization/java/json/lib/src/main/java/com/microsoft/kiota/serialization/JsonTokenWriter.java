@@ -0,0 +1,234 @@
+package com.microsoft.kiota.serialization;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Writes compact JSON tokens to a UTF-8 buffer, with the same output and the same validations as the Gson writer.
+ * Names are written as soon as they are received so pre-encoded property names can be copied to the buffer as is.
+ * Not public by intention.
+ */
+final class JsonTokenWriter {
+    private static final int EMPTY_ARRAY = 1;
+    private static final int NONEMPTY_ARRAY = 2;
+    private static final int EMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    private static final int EMPTY_DOCUMENT = 6;
+    private static final int NONEMPTY_DOCUMENT = 7;
+    /** Escape sequences of the ASCII characters, null for the characters written as is */
+    private static final String[] REPLACEMENT_CHARS = new String[128];
+    static {
+        for(int i = 0; i < 0x20; i++) {
+            REPLACEMENT_CHARS[i] = String.format("\\u%04x", i);
+        }
+        REPLACEMENT_CHARS['"'] = "\\\"";
+        REPLACEMENT_CHARS['\\'] = "\\\\";
+        REPLACEMENT_CHARS['\t'] = "\\t";
+        REPLACEMENT_CHARS['\b'] = "\\b";
+        REPLACEMENT_CHARS['\n'] = "\\n";
+        REPLACEMENT_CHARS['\r'] = "\\r";
+        REPLACEMENT_CHARS['\f'] = "\\f";
+    }
+    private final Utf8ByteArrayWriter out;
+    private int[] stack = new int[32];
+    private int stackSize;
+    /** Last name written, for the error raised when the object is closed before its value */
+    private CharSequence danglingName;
+    /**
+     * Initializes a new writer.
+     * @param out the buffer to write to.
+     */
+    JsonTokenWriter(@Nonnull final Utf8ByteArrayWriter out) {
+        this.out = Objects.requireNonNull(out, "parameter out cannot be null");
+        push(EMPTY_DOCUMENT);
+    }
+    void beginArray() {
+        open(EMPTY_ARRAY, '[');
+    }
+    void endArray() {
+        close(EMPTY_ARRAY, NONEMPTY_ARRAY, ']');
+    }
+    void beginObject() {
+        open(EMPTY_OBJECT, '{');
+    }
+    void endObject() {
+        close(EMPTY_OBJECT, NONEMPTY_OBJECT, '}');
+    }
+    private void open(final int empty, final char openBracket) {
+        beforeValue();
+        push(empty);
+        out.write(openBracket);
+    }
+    private void close(final int empty, final int nonempty, final char closeBracket) {
+        final int context = peek();
+        if(context == DANGLING_NAME && empty == EMPTY_OBJECT) {
+            throw new IllegalStateException("Dangling name: " + danglingName);
+        } else if(context != nonempty && context != empty) {
+            throw new IllegalStateException("Nesting problem.");
+        }
+        stackSize--;
+        out.write(closeBracket);
+    }
+    private void push(final int newTop) {
+        if(stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize << 1);
+        }
+        stack[stackSize++] = newTop;
+    }
+    private int peek() {
+        if(stackSize == 0) {
+            throw new IllegalStateException("JsonWriter is closed.");
+        }
+        return stack[stackSize - 1];
+    }
+    void name(@Nonnull final String name) {
+        Objects.requireNonNull(name, "name == null");
+        beforeName();
+        danglingName = name;
+        string(name);
+    }
+    /** Copies the escaped bytes of the name instead of encoding it */
+    void name(@Nonnull final PropertyName name) {
+        Objects.requireNonNull(name, "name == null");
+        beforeName();
+        danglingName = name;
+        final byte[] escapedName = name.getEscapedUtf8Bytes();
+        out.write('"');
+        out.writeBytes(escapedName, 0, escapedName.length);
+        out.write('"');
+    }
+    void value(@Nullable final String value) {
+        if(value == null) {
+            nullValue();
+            return;
+        }
+        beforeValue();
+        string(value);
+    }
+    void value(@Nullable final Boolean value) {
+        if(value == null) {
+            nullValue();
+            return;
+        }
+        beforeValue();
+        out.write(value ? "true" : "false");
+    }
+    void value(@Nullable final Number value) {
+        if(value == null) {
+            nullValue();
+            return;
+        }
+        final String string = value.toString();
+        if(string.equals("-Infinity") || string.equals("Infinity") || string.equals("NaN")) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + string);
+        }
+        beforeValue();
+        out.write(string);
+    }
+    /** Writes a value that is already JSON */
+    void jsonValue(@Nullable final String value) {
+        if(value == null) {
+            nullValue();
+            return;
+        }
+        beforeValue();
+        out.write(value);
+    }
+    /**
+     * Writes the bytes read from the stream as a base64 string, encoding them while they are read.
+     * @param value the stream to read, read to its end and not closed.
+     * @throws IOException when the stream cannot be read.
+     */
+    void base64Value(@Nonnull final InputStream value) throws IOException {
+        Objects.requireNonNull(value, "parameter value cannot be null");
+        beforeValue();
+        out.write('"');
+        try(final OutputStream encoder = Base64.getEncoder().wrap(out.asOutputStream())) { // closing the encoder writes the padding
+            value.transferTo(encoder);
+        }
+        out.write('"');
+    }
+    void nullValue() {
+        beforeValue();
+        out.write("null");
+    }
+    /**
+     * Closes the writer.
+     * @throws IOException when the document is not complete.
+     */
+    void close() throws IOException {
+        final int size = stackSize;
+        if(size > 1 || size == 1 && stack[size - 1] != NONEMPTY_DOCUMENT) {
+            throw new IOException("Incomplete document");
+        }
+        stackSize = 0;
+    }
+    private void string(final String value) {
+        out.write('"');
+        int last = 0;
+        final int length = value.length();
+        for(int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            final String replacement;
+            if(c < 128) {
+                replacement = REPLACEMENT_CHARS[c];
+                if(replacement == null) {
+                    continue;
+                }
+            } else if(c == '\u2028') {
+                replacement = "\\u2028";
+            } else if(c == '\u2029') {
+                replacement = "\\u2029";
+            } else {
+                continue;
+            }
+            if(last < i) {
+                out.write(value, last, i - last);
+            }
+            out.write(replacement);
+            last = i + 1;
+        }
+        if(last < length) {
+            out.write(value, last, length - last);
+        }
+        out.write('"');
+    }
+    private void beforeName() {
+        final int context = peek();
+        if(context == NONEMPTY_OBJECT) {
+            out.write(',');
+        } else if(context != EMPTY_OBJECT) {
+            throw new IllegalStateException("Nesting problem.");
+        }
+        stack[stackSize - 1] = DANGLING_NAME;
+    }
+    private void beforeValue() {
+        switch(peek()) {
+            case NONEMPTY_DOCUMENT:
+                throw new IllegalStateException("JSON must have only one top-level value.");
+            case EMPTY_DOCUMENT:
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                break;
+            case EMPTY_ARRAY:
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                break;
+            case NONEMPTY_ARRAY:
+                out.write(',');
+                break;
+            case DANGLING_NAME:
+                out.write(':');
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                break;
+            default:
+                throw new IllegalStateException("Nesting problem.");
+        }
+    }
+}
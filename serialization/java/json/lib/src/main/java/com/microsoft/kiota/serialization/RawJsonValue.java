@@ -0,0 +1,51 @@
+package com.microsoft.kiota.serialization;
+
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+/**
+ * Holds the raw JSON text of a value that was not decoded during deserialization. The JSON serialization writer writes the text back as is.
+ * The text is the exact text of the payload when the parse node factory uses a structural index, otherwise it's an equivalent compact JSON text of the value.
+ */
+public final class RawJsonValue {
+    private final String rawJson;
+    /**
+     * Initializes a new raw JSON value.
+     * @param rawJson the JSON text of the value.
+     */
+    public RawJsonValue(@Nonnull final String rawJson) {
+        this.rawJson = Objects.requireNonNull(rawJson, "parameter rawJson cannot be null");
+    }
+    /**
+     * Gets the JSON text of the value.
+     * @return the JSON text of the value.
+     */
+    @Nonnull
+    public String getRawJson() {
+        return this.rawJson;
+    }
+    /**
+     * Decodes the value, the result is not cached so the value stays compact.
+     * @return the decoded value.
+     */
+    @Nonnull
+    public JsonElement getJsonElement() {
+        return JsonParser.parseString(this.rawJson);
+    }
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof RawJsonValue && this.rawJson.equals(((RawJsonValue)other).rawJson);
+    }
+    @Override
+    public int hashCode() {
+        return this.rawJson.hashCode();
+    }
+    @Override
+    public String toString() {
+        return this.rawJson;
+    }
+}
@@ -0,0 +1,38 @@
+package com.microsoft.kiota.serialization;
+
+import java.io.InputStream;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+/** Reads the characters of a string of single byte characters, like base64 text, as bytes without copying the string. Not public by intention. */
+final class StringBytesInputStream extends InputStream {
+    private final String value;
+    private int position;
+    StringBytesInputStream(@Nonnull final String value) {
+        this.value = Objects.requireNonNull(value, "parameter value cannot be null");
+    }
+    @Override
+    public int read() {
+        return position < value.length() ? value.charAt(position++) & 0xff : -1;
+    }
+    @Override
+    public int read(@Nonnull final byte[] b, final int off, final int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if(len == 0) {
+            return 0;
+        } else if(position >= value.length()) {
+            return -1;
+        }
+        final int count = Math.min(len, value.length() - position);
+        for(int i = 0; i < count; i++) {
+            b[off + i] = (byte)value.charAt(position + i);
+        }
+        position += count;
+        return count;
+    }
+    @Override
+    public int available() {
+        return value.length() - position;
+    }
+}
@@ -0,0 +1,122 @@
+package com.microsoft.kiota.serialization;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Bounded cache returning the same instance for equal short strings read from payloads, so repeated values like types, statuses or tenant ids are only retained once.
+ * Each string maps to a single slot that the last string read replaces, so the cache never grows and never locks. It can be shared by the parse nodes of several responses and threads.
+ */
+public final class StringCache {
+    private static final int DEFAULT_CAPACITY = 4096;
+    private static final int DEFAULT_MAX_LENGTH = 64;
+    private final String[] entries;
+    private final int mask;
+    private final int maxLength;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    /** Initializes a new cache of 4096 strings of up to 64 characters. */
+    public StringCache() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+    }
+    /**
+     * Initializes a new cache.
+     * @param capacity the number of strings the cache holds, rounded up to a power of two.
+     * @param maxLength the maximum length of the strings to cache, longer strings are returned as is.
+     */
+    public StringCache(final int capacity, final int maxLength) {
+        if(capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        } else if(maxLength < 0) {
+            throw new IllegalArgumentException("maxLength cannot be negative");
+        }
+        this.entries = new String[capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+        this.mask = this.entries.length - 1;
+        this.maxLength = maxLength;
+    }
+    /**
+     * Gets the cached instance equal to the value, and caches the value when there is none.
+     * @param value the value to look up.
+     * @return the cached instance, or the value itself when it was not cached or is too long.
+     */
+    @Nullable
+    public String canonicalize(@Nullable final String value) {
+        if(value == null || value.length() > maxLength) {
+            return value;
+        }
+        final int slot = spread(value.hashCode()) & mask;
+        final String cached = entries[slot];
+        if(value.equals(cached)) {
+            hits.increment();
+            return cached;
+        }
+        entries[slot] = value; // strings are immutable, so a racing reader sees either string whole
+        misses.increment();
+        return value;
+    }
+    /**
+     * Gets the cached instance for ASCII bytes without escape sequences, so no string is allocated for cached values.
+     * @param bytes the bytes holding the value.
+     * @param start the offset of the first byte of the value.
+     * @param end the offset after the last byte of the value.
+     * @return the cached instance, or a new string when it was not cached or is too long.
+     */
+    @Nonnull
+    String canonicalize(@Nonnull final byte[] bytes, final int start, final int end) {
+        final int length = end - start;
+        if(length > maxLength) {
+            return new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+        }
+        int hash = 0;
+        for(int i = start; i < end; i++) {
+            hash = 31 * hash + bytes[i]; // same hash as the string for ASCII characters
+        }
+        final int slot = spread(hash) & mask;
+        final String cached = entries[slot];
+        if(cached != null && cached.length() == length && matches(cached, bytes, start)) {
+            hits.increment();
+            return cached;
+        }
+        final String value = new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+        entries[slot] = value;
+        misses.increment();
+        return value;
+    }
+    private static boolean matches(final String cached, final byte[] bytes, final int start) {
+        for(int i = 0; i < cached.length(); i++) {
+            if(cached.charAt(i) != bytes[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+    /**
+     * Gets the number of lookups that returned a cached instance.
+     * @return the number of lookups that returned a cached instance.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+    /**
+     * Gets the number of lookups of strings short enough to be cached that found no cached instance.
+     * @return the number of lookups that found no cached instance.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+    /**
+     * Gets the share of the lookups that returned a cached instance.
+     * @return the share of the lookups that returned a cached instance, between 0 and 1, 0 when there was no lookup.
+     */
+    public double getHitRate() {
+        final long hitCount = hits.sum();
+        final long total = hitCount + misses.sum();
+        return total == 0 ? 0d : (double)hitCount / total;
+    }
+}
@@ -0,0 +1,181 @@
+package com.microsoft.kiota.serialization;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Index of the structural characters of a UTF-8 JSON document: brackets, colons and commas outside of strings, and the quotes delimiting strings.
+ * The characters are found 64 bytes at a time with bitmasks computed on 8 bytes words, the same way as the first stage of simdjson, so the document is scanned without decoding it.
+ * Not public by intention.
+ */
+final class StructuralIndex {
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW_SEVEN_BITS = 0x7f7f7f7f7f7f7f7fL;
+    /** Moves the high bit of each byte of a word to the matching bit of the lowest byte once shifted */
+    private static final long GATHER_HIGH_BITS = 0x0102040810204080L;
+    private static final int BLOCK_SIZE = 64;
+    /** The document */
+    final byte[] input;
+    /** Length of the document in the input */
+    final int length;
+    /** Offsets of the structural characters in the document, in order */
+    final int[] positions;
+    /** Number of structural characters */
+    final int count;
+    /** Entry of the closing bracket for entries of opening brackets */
+    final int[] matching;
+    private StructuralIndex(final byte[] input, final int length, final int[] positions, final int count, final int[] matching) {
+        this.input = input;
+        this.length = length;
+        this.positions = positions;
+        this.count = count;
+        this.matching = matching;
+    }
+    /**
+     * Indexes a document.
+     * @param input the UTF-8 bytes of the document.
+     * @param length the length of the document.
+     * @return the index of the document.
+     * @throws IllegalArgumentException when a string is not terminated, the brackets are not balanced or data follows the root value.
+     */
+    @Nonnull
+    static StructuralIndex build(@Nonnull final byte[] input, final int length) {
+        int[] positions = new int[Math.max(16, length >>> 2)];
+        int[] matching = new int[positions.length];
+        int[] openings = new int[16];
+        int depth = 0;
+        int count = 0;
+        final byte[] tail = new byte[BLOCK_SIZE];
+        long previousInString = 0L; // all ones when the previous block ended inside a string
+        boolean previousEscaped = false; // whether the first byte of the block is escaped by the previous block
+        for(int blockStart = 0; blockStart < length; blockStart += BLOCK_SIZE) {
+            final byte[] block;
+            final int offset;
+            if(blockStart + BLOCK_SIZE <= length) {
+                block = input;
+                offset = blockStart;
+            } else {
+                Arrays.fill(tail, (byte)' ');
+                System.arraycopy(input, blockStart, tail, 0, length - blockStart);
+                block = tail;
+                offset = 0;
+            }
+            long quotes = 0L;
+            long backslashes = 0L;
+            long structurals = 0L;
+            for(int word = 0; word < 8; word++) {
+                final long value = (long)LONGS.get(block, offset + (word << 3));
+                final int shift = word << 3;
+                quotes |= gather(matches(value, '"')) << shift;
+                backslashes |= gather(matches(value, '\\')) << shift;
+                structurals |= gather(matches(value, '{') | matches(value, '}') | matches(value, '[') |
+                                        matches(value, ']') | matches(value, ':') | matches(value, ',')) << shift;
+            }
+            long escaped = previousEscaped ? 1L : 0L;
+            previousEscaped = false;
+            long pendingBackslashes = backslashes & ~escaped;
+            while(pendingBackslashes != 0) { // backslashes are rare, so they are handled one at a time
+                final int bit = Long.numberOfTrailingZeros(pendingBackslashes);
+                if(bit == 63) {
+                    previousEscaped = true;
+                } else {
+                    escaped |= 1L << (bit + 1);
+                }
+                pendingBackslashes &= ~(3L << bit); // an escaped backslash doesn't escape the next byte
+            }
+            quotes &= ~escaped;
+            final long inString = prefixXor(quotes) ^ previousInString;
+            previousInString = inString >> 63;
+            long entries = (structurals & ~inString) | quotes;
+            final int entryCount = Long.bitCount(entries);
+            if(count + entryCount > positions.length) {
+                positions = Arrays.copyOf(positions, Math.max(positions.length << 1, count + entryCount));
+                matching = Arrays.copyOf(matching, positions.length);
+            }
+            while(entries != 0) {
+                final int position = blockStart + Long.numberOfTrailingZeros(entries);
+                final byte character = input[position];
+                if(character == '{' || character == '[') {
+                    if(depth == openings.length) {
+                        openings = Arrays.copyOf(openings, depth << 1);
+                    }
+                    openings[depth++] = count;
+                } else if(character == '}' || character == ']') {
+                    if(depth == 0 || input[positions[openings[depth - 1]]] != (character == '}' ? '{' : '[')) {
+                        throw new IllegalArgumentException("unbalanced brackets in JSON document at offset " + position);
+                    }
+                    matching[openings[--depth]] = count;
+                }
+                positions[count++] = position;
+                entries &= entries - 1;
+            }
+        }
+        if(previousInString != 0) {
+            throw new IllegalArgumentException("unterminated string in JSON document");
+        } else if(depth != 0) {
+            throw new IllegalArgumentException("unbalanced brackets in JSON document");
+        }
+        checkSingleValue(input, length, positions, count, matching);
+        return new StructuralIndex(input, length, positions, count, matching);
+    }
+    /** Checks only whitespace follows the root value, empty documents are reported by the parse node when read */
+    private static void checkSingleValue(final byte[] input, final int length, final int[] positions, final int count, final int[] matching) {
+        int start = 0;
+        while(start < length && isWhitespace(input[start])) {
+            start++;
+        }
+        if(start == length) {
+            return;
+        }
+        final int lastEntry;
+        final byte first = input[start];
+        if(first == '{' || first == '[') {
+            lastEntry = matching[0];
+        } else if(first == '"') {
+            lastEntry = 1;
+        } else { // the scalar ends at the first whitespace
+            lastEntry = -1;
+            while(start < length && !isWhitespace(input[start])) {
+                start++;
+            }
+        }
+        if(lastEntry >= 0) {
+            start = positions[lastEntry] + 1;
+        }
+        if(lastEntry + 1 < count) {
+            throw new IllegalArgumentException("unexpected data after the JSON value at offset " + positions[lastEntry + 1]);
+        }
+        for(int position = start; position < length; position++) {
+            if(!isWhitespace(input[position])) {
+                throw new IllegalArgumentException("unexpected data after the JSON value at offset " + position);
+            }
+        }
+    }
+    private static boolean isWhitespace(final byte value) {
+        return value == ' ' || value == '\t' || value == '\n' || value == '\r';
+    }
+    /** @return the high bit of each byte of the word set when the byte is the character */
+    private static long matches(final long value, final char character) {
+        final long difference = value ^ (ONES * character);
+        return ~(((difference & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | difference | LOW_SEVEN_BITS);
+    }
+    /** @return one bit per byte of the word, set when the high bit of the byte is set */
+    private static long gather(final long highBits) {
+        return ((highBits >>> 7) * GATHER_HIGH_BITS) >>> 56;
+    }
+    /** @return the mask with each bit set to the parity of the set bits up to it, which marks the bytes between opening and closing quotes */
+    private static long prefixXor(long value) {
+        value ^= value << 1;
+        value ^= value << 2;
+        value ^= value << 4;
+        value ^= value << 8;
+        value ^= value << 16;
+        value ^= value << 32;
+        return value;
+    }
+}
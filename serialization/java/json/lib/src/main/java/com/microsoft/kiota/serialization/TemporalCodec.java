@@ -0,0 +1,275 @@
+package com.microsoft.kiota.serialization;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Parses and formats the ISO 8601 dates, times and UUIDs found in JSON payloads.
+ * The common forms are handled directly on the characters, other forms fall back to java.time so the results and errors are the same. Not public by intention.
+ */
+final class TemporalCodec {
+    private TemporalCodec() {}
+    /**
+     * Parses a date time with offset like 2022-05-06T10:30:45.123Z.
+     * @param value the value to parse.
+     * @return the date time.
+     */
+    @Nonnull
+    static OffsetDateTime parseOffsetDateTime(@Nonnull final String value) {
+        try {
+            if(value.length() >= 17 && value.charAt(10) == 'T' && isDate(value)) {
+                final int timeEnd = scanTime(value, 11);
+                if(timeEnd > 0) {
+                    final ZoneOffset offset = parseOffset(value, timeEnd);
+                    if(offset != null) {
+                        return OffsetDateTime.of(LocalDateTime.of(toDate(value), toTime(value, 11, timeEnd)), offset);
+                    }
+                }
+            }
+        } catch (DateTimeException ex) {
+            // out of range values, let java.time report them
+        }
+        return OffsetDateTime.parse(value);
+    }
+    /**
+     * Parses a date like 2022-05-06.
+     * @param value the value to parse.
+     * @return the date.
+     */
+    @Nonnull
+    static LocalDate parseLocalDate(@Nonnull final String value) {
+        try {
+            if(value.length() == 10 && isDate(value)) {
+                return toDate(value);
+            }
+        } catch (DateTimeException ex) {
+            // out of range values, let java.time report them
+        }
+        return LocalDate.parse(value);
+    }
+    /**
+     * Parses a time like 10:30:45.123.
+     * @param value the value to parse.
+     * @return the time.
+     */
+    @Nonnull
+    static LocalTime parseLocalTime(@Nonnull final String value) {
+        try {
+            if(scanTime(value, 0) == value.length()) {
+                return toTime(value, 0, value.length());
+            }
+        } catch (DateTimeException ex) {
+            // out of range values, let java.time report them
+        }
+        return LocalTime.parse(value);
+    }
+    /**
+     * Parses a UUID in its canonical 36 characters form.
+     * @param value the value to parse.
+     * @return the UUID.
+     */
+    @Nonnull
+    static UUID parseUUID(@Nonnull final String value) {
+        if(value.length() == 36 && value.charAt(8) == '-' && value.charAt(13) == '-' && value.charAt(18) == '-' && value.charAt(23) == '-') {
+            final long part1 = parseHex(value, 0, 8);
+            final long part2 = parseHex(value, 9, 13);
+            final long part3 = parseHex(value, 14, 18);
+            final long part4 = parseHex(value, 19, 23);
+            final long part5 = parseHex(value, 24, 36);
+            if((part1 | part2 | part3 | part4 | part5) >= 0) {
+                return new UUID(part1 << 32 | part2 << 16 | part3, part4 << 48 | part5);
+            }
+        }
+        return UUID.fromString(value);
+    }
+    /**
+     * Formats a date time with offset the same way as DateTimeFormatter.ISO_OFFSET_DATE_TIME.
+     * @param value the value to format.
+     * @return the formatted value.
+     */
+    @Nonnull
+    static String formatOffsetDateTime(@Nonnull final OffsetDateTime value) {
+        final int year = value.getYear();
+        if(year < 0 || year > 9999 || value.getOffset().getTotalSeconds() % 60 != 0) {
+            return value.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        }
+        final char[] buffer = new char[35];
+        int position = writeDate(buffer, 0, year, value.getMonthValue(), value.getDayOfMonth());
+        buffer[position++] = 'T';
+        position = writeTime(buffer, position, value.getHour(), value.getMinute(), value.getSecond(), value.getNano());
+        final int offsetSeconds = value.getOffset().getTotalSeconds();
+        if(offsetSeconds == 0) {
+            buffer[position++] = 'Z';
+        } else {
+            final int offsetMinutes = Math.abs(offsetSeconds) / 60;
+            buffer[position++] = offsetSeconds < 0 ? '-' : '+';
+            position = writeTwoDigits(buffer, position, offsetMinutes / 60);
+            buffer[position++] = ':';
+            position = writeTwoDigits(buffer, position, offsetMinutes % 60);
+        }
+        return new String(buffer, 0, position);
+    }
+    /**
+     * Formats a date the same way as DateTimeFormatter.ISO_LOCAL_DATE.
+     * @param value the value to format.
+     * @return the formatted value.
+     */
+    @Nonnull
+    static String formatLocalDate(@Nonnull final LocalDate value) {
+        final int year = value.getYear();
+        if(year < 0 || year > 9999) {
+            return value.format(DateTimeFormatter.ISO_LOCAL_DATE);
+        }
+        final char[] buffer = new char[10];
+        return new String(buffer, 0, writeDate(buffer, 0, year, value.getMonthValue(), value.getDayOfMonth()));
+    }
+    /**
+     * Formats a time the same way as DateTimeFormatter.ISO_LOCAL_TIME.
+     * @param value the value to format.
+     * @return the formatted value.
+     */
+    @Nonnull
+    static String formatLocalTime(@Nonnull final LocalTime value) {
+        final char[] buffer = new char[18];
+        return new String(buffer, 0, writeTime(buffer, 0, value.getHour(), value.getMinute(), value.getSecond(), value.getNano()));
+    }
+    private static boolean isDate(final String value) {
+        return isDigits(value, 0, 4) && value.charAt(4) == '-' && isDigits(value, 5, 7) && value.charAt(7) == '-' && isDigits(value, 8, 10);
+    }
+    private static LocalDate toDate(final String value) {
+        return LocalDate.of(toInt(value, 0, 4), toInt(value, 5, 7), toInt(value, 8, 10));
+    }
+    /**
+     * Scans a time like HH:mm, HH:mm:ss or HH:mm:ss.fffffffff.
+     * @return the index after the time, -1 if the characters are not a time.
+     */
+    private static int scanTime(final String value, final int start) {
+        final int length = value.length();
+        if(length < start + 5 || !isDigits(value, start, start + 2) || value.charAt(start + 2) != ':' || !isDigits(value, start + 3, start + 5)) {
+            return -1;
+        }
+        int position = start + 5;
+        if(position < length && value.charAt(position) == ':') {
+            if(length < position + 3 || !isDigits(value, position + 1, position + 3)) {
+                return -1;
+            }
+            position += 3;
+            if(position < length && value.charAt(position) == '.') {
+                final int fractionStart = ++position;
+                while(position < length && position - fractionStart < 9 && isDigit(value.charAt(position))) {
+                    position++;
+                }
+                if(position == fractionStart || (position < length && isDigit(value.charAt(position)))) {
+                    return -1;
+                }
+            }
+        }
+        return position;
+    }
+    private static LocalTime toTime(final String value, final int start, final int end) {
+        final int hour = toInt(value, start, start + 2);
+        final int minute = toInt(value, start + 3, start + 5);
+        int second = 0;
+        int nano = 0;
+        if(end > start + 5) {
+            second = toInt(value, start + 6, start + 8);
+            if(end > start + 8) {
+                final int fractionStart = start + 9;
+                nano = toInt(value, fractionStart, end);
+                for(int digits = end - fractionStart; digits < 9; digits++) {
+                    nano *= 10;
+                }
+            }
+        }
+        return LocalTime.of(hour, minute, second, nano);
+    }
+    /**
+     * Parses an offset like Z, +HH:mm or -HH:mm ending the value.
+     * @return the offset, null if the characters are not an offset handled by the fast path.
+     */
+    private static ZoneOffset parseOffset(final String value, final int start) {
+        final int length = value.length();
+        if(length == start + 1 && (value.charAt(start) == 'Z' || value.charAt(start) == 'z')) {
+            return ZoneOffset.UTC;
+        } else if(length == start + 6 && (value.charAt(start) == '+' || value.charAt(start) == '-') &&
+                isDigits(value, start + 1, start + 3) && value.charAt(start + 3) == ':' && isDigits(value, start + 4, start + 6)) {
+            final int hours = toInt(value, start + 1, start + 3);
+            final int minutes = toInt(value, start + 4, start + 6);
+            return value.charAt(start) == '+' ? ZoneOffset.ofHoursMinutes(hours, minutes) : ZoneOffset.ofHoursMinutes(-hours, -minutes);
+        }
+        return null;
+    }
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+    private static boolean isDigits(final String value, final int start, final int end) {
+        for(int i = start; i < end; i++) {
+            if(!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    private static int toInt(final String value, final int start, final int end) {
+        int result = 0;
+        for(int i = start; i < end; i++) {
+            result = result * 10 + (value.charAt(i) - '0');
+        }
+        return result;
+    }
+    /** @return the value of the hexadecimal digits, -1 if a character is not an hexadecimal digit */
+    private static long parseHex(final String value, final int start, final int end) {
+        long result = 0;
+        for(int i = start; i < end; i++) {
+            final int digit = Character.digit(value.charAt(i), 16);
+            if(digit < 0) {
+                return -1;
+            }
+            result = result << 4 | digit;
+        }
+        return result;
+    }
+    private static int writeDate(final char[] buffer, int position, final int year, final int month, final int day) {
+        position = writeTwoDigits(buffer, position, year / 100);
+        position = writeTwoDigits(buffer, position, year % 100);
+        buffer[position++] = '-';
+        position = writeTwoDigits(buffer, position, month);
+        buffer[position++] = '-';
+        return writeTwoDigits(buffer, position, day);
+    }
+    private static int writeTime(final char[] buffer, int position, final int hour, final int minute, final int second, final int nano) {
+        position = writeTwoDigits(buffer, position, hour);
+        buffer[position++] = ':';
+        position = writeTwoDigits(buffer, position, minute);
+        buffer[position++] = ':';
+        position = writeTwoDigits(buffer, position, second);
+        if(nano > 0) {
+            buffer[position++] = '.';
+            int digits = 9;
+            int fraction = nano;
+            while(fraction % 10 == 0) { // same as the formatter, trailing zeros are not written
+                fraction /= 10;
+                digits--;
+            }
+            for(int i = digits - 1; i >= 0; i--) {
+                buffer[position + i] = (char)('0' + fraction % 10);
+                fraction /= 10;
+            }
+            position += digits;
+        }
+        return position;
+    }
+    private static int writeTwoDigits(final char[] buffer, final int position, final int value) {
+        buffer[position] = (char)('0' + value / 10);
+        buffer[position + 1] = (char)('0' + value % 10);
+        return position + 2;
+    }
+}
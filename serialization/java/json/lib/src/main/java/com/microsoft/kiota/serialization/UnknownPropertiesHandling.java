@@ -0,0 +1,11 @@
+package com.microsoft.kiota.serialization;
+
+/** Defines how the JSON parse node stores the properties of a payload that the model doesn't describe in its additional data. */
+public enum UnknownPropertiesHandling {
+    /** Primitive values are decoded and objects and arrays are kept as JSON elements. */
+    DECODE,
+    /** Values are kept as JSON text and only decoded on access, the serialization writer writes them back as equivalent JSON. The text is only the exact text of the payload when the structural index is used. */
+    RAW,
+    /** Values are not stored. */
+    SKIP
+}
@@ -0,0 +1,154 @@
+package com.microsoft.kiota.serialization;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+/** Writer encoding characters to UTF-8 directly into a growable byte array that can be reset and reused, not public by intention */
+class Utf8ByteArrayWriter extends Writer {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private byte[] buffer = new byte[DEFAULT_CAPACITY];
+    private int count;
+    private char pendingHighSurrogate;
+    @Override
+    public void write(final int c) {
+        writeChar((char)c);
+    }
+    @Override
+    public void write(@Nonnull final char[] cbuf, final int off, final int len) {
+        ensureCapacity(len);
+        for(int i = off; i < off + len; i++) {
+            writeChar(cbuf[i]);
+        }
+    }
+    @Override
+    public void write(@Nonnull final String str) {
+        write(str, 0, str.length());
+    }
+    @Override
+    public void write(@Nonnull final String str, final int off, final int len) {
+        ensureCapacity(len);
+        for(int i = off; i < off + len; i++) {
+            writeChar(str.charAt(i));
+        }
+    }
+    private void writeChar(final char c) {
+        if(pendingHighSurrogate != 0) {
+            final char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if(Character.isLowSurrogate(c)) {
+                final int codePoint = Character.toCodePoint(high, c);
+                ensureCapacity(4);
+                buffer[count++] = (byte)(0xF0 | (codePoint >> 18));
+                buffer[count++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[count++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[count++] = (byte)(0x80 | (codePoint & 0x3F));
+                return;
+            }
+            writeReplacement();
+        }
+        if(c < 0x80) {
+            ensureCapacity(1);
+            buffer[count++] = (byte)c;
+        } else if(c < 0x800) {
+            ensureCapacity(2);
+            buffer[count++] = (byte)(0xC0 | (c >> 6));
+            buffer[count++] = (byte)(0x80 | (c & 0x3F));
+        } else if(Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if(Character.isLowSurrogate(c)) {
+            writeReplacement();
+        } else {
+            ensureCapacity(3);
+            buffer[count++] = (byte)(0xE0 | (c >> 12));
+            buffer[count++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+            buffer[count++] = (byte)(0x80 | (c & 0x3F));
+        }
+    }
+    private void writeReplacement() {
+        // same behavior as the JDK encoders for malformed input
+        ensureCapacity(1);
+        buffer[count++] = (byte)'?';
+    }
+    private void ensureCapacity(final int additional) {
+        if(count + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, count + additional));
+        }
+    }
+    @Override
+    public void flush() {
+        // nothing is buffered outside of the array
+    }
+    @Override
+    public void close() {
+        // nothing to release
+    }
+    /**
+     * Appends bytes already encoded to UTF-8.
+     * @param bytes the bytes to append.
+     * @param offset the offset of the first byte to append.
+     * @param length the number of bytes to append.
+     */
+    void writeBytes(@Nonnull final byte[] bytes, final int offset, final int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, count, length);
+        count += length;
+    }
+    /**
+     * Appends bytes already encoded by another writer.
+     * @param source the writer holding the bytes.
+     * @param from the offset of the first byte to append.
+     * @param to the offset after the last byte to append.
+     */
+    void writeBytes(@Nonnull final Utf8ByteArrayWriter source, final int from, final int to) {
+        ensureCapacity(to - from);
+        System.arraycopy(source.buffer, from, buffer, count, to - from);
+        count += to - from;
+    }
+    /**
+     * Gets a stream appending the bytes written to it to this writer, for bytes already encoded to UTF-8.
+     * @return the stream appending to this writer.
+     */
+    @Nonnull
+    OutputStream asOutputStream() {
+        return new OutputStream() {
+            @Override
+            public void write(final int b) {
+                ensureCapacity(1);
+                buffer[count++] = (byte)b;
+            }
+            @Override
+            public void write(@Nonnull final byte[] b, final int off, final int len) {
+                writeBytes(b, off, len);
+            }
+        };
+    }
+    /**
+     * Gets the number of bytes written so far.
+     * @return the number of bytes written so far.
+     */
+    int size() {
+        return count;
+    }
+    /**
+     * Gets a copy of the bytes written so far.
+     * @return a copy of the bytes written so far.
+     */
+    @Nonnull
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+    /**
+     * Discards the bytes written so far so the writer can be reused.
+     * @param maxRetainedCapacity the maximum capacity of the buffer to keep, larger buffers are released.
+     */
+    void reset(final int maxRetainedCapacity) {
+        count = 0;
+        pendingHighSurrogate = 0;
+        if(buffer.length > maxRetainedCapacity) {
+            buffer = new byte[DEFAULT_CAPACITY];
+        }
+    }
+}
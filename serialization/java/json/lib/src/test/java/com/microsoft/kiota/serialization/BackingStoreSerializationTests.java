@@ -0,0 +1,66 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.microsoft.kiota.serialization.mocks.TestBackedEntity;
+import com.microsoft.kiota.store.BackingStoreParseNodeFactory;
+import com.microsoft.kiota.store.BackingStoreSerializationWriterProxyFactory;
+
+class BackingStoreSerializationTests {
+    private static final String contentType = "application/json";
+    @Test
+    void writesChangedValuesOnly() throws IOException {
+        final TestBackedEntity entity = parse("{\"id\":\"1\",\"city\":\"Redmond\",\"addresses\":[{\"id\":\"2\",\"city\":\"Redmond\"}]}");
+        entity.setCity("Seattle");
+        assertEquals("{\"city\":\"Seattle\"}", serialize(entity));
+    }
+    @Test
+    void writesCollectionsWithChangedItemsInFull() throws IOException {
+        final TestBackedEntity entity = parse("{\"id\":\"1\",\"city\":\"Redmond\",\"addresses\":[{\"id\":\"2\",\"city\":\"Redmond\"},{\"id\":\"3\",\"city\":\"Redmond\"}]}");
+        entity.getAddresses().get(1).setCity("Seattle");
+        assertEquals("{\"addresses\":[{\"id\":\"2\",\"city\":\"Redmond\"},{\"id\":\"3\",\"city\":\"Seattle\"}]}", serialize(entity));
+        // the changes were sent, the next payload is empty
+        assertEquals("{}", serialize(entity));
+    }
+    @Test
+    void writesReassignedCollectionsInFull() throws IOException {
+        final TestBackedEntity entity = parse("{\"id\":\"1\",\"addresses\":[{\"id\":\"2\",\"city\":\"Redmond\"}]}");
+        final var addresses = entity.getAddresses();
+        addresses.add(addresses.get(0));
+        entity.setAddresses(addresses);
+        assertEquals("{\"addresses\":[{\"id\":\"2\",\"city\":\"Redmond\"},{\"id\":\"2\",\"city\":\"Redmond\"}]}", serialize(entity));
+    }
+    @Test
+    void readsDoNotFlagNestedModelsForLaterPayloads() throws IOException {
+        final TestBackedEntity entity = parse("{\"id\":\"1\",\"addresses\":[{\"id\":\"2\",\"city\":\"Redmond\"}]}");
+        final var address = entity.getAddresses().get(0);
+        address.setCity("Seattle");
+        // reading the nested model several times, and outside of a serialization, doesn't change what is written
+        entity.getBackingStore().setReturnOnlyChangedValues(true);
+        assertSame(address, entity.getAddresses().get(0));
+        assertSame(address, entity.getAddresses().get(0));
+        assertTrue(entity.getBackingStore().hasChanges());
+        entity.getBackingStore().setReturnOnlyChangedValues(false);
+        assertEquals("{\"addresses\":[{\"id\":\"2\",\"city\":\"Seattle\"}]}", serialize(entity));
+        address.setCity("Bellevue");
+        assertEquals("{\"city\":\"Bellevue\"}", serialize(address));
+        assertEquals("{}", serialize(address));
+    }
+    private static TestBackedEntity parse(final String json) {
+        final var factory = new BackingStoreParseNodeFactory(new JsonParseNodeFactory());
+        final var parseNode = factory.getParseNode(contentType, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        return parseNode.getObjectValue(TestBackedEntity::createFromDiscriminatorValue);
+    }
+    private static String serialize(final TestBackedEntity entity) throws IOException {
+        final var factory = new BackingStoreSerializationWriterProxyFactory(new JsonSerializationWriterFactory());
+        try(final SerializationWriter writer = factory.getSerializationWriter(contentType)) {
+            writer.writeObjectValue(null, entity);
+            return JsonSerializationWriterFactoryTests.read(writer.getSerializedContent());
+        }
+    }
+}
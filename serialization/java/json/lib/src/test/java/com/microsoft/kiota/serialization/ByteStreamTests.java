@@ -0,0 +1,89 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import java.util.function.Consumer;
+
+class ByteStreamTests {
+    private static final String contentType = "application/json";
+    private static final int[] lengths = { 0, 1, 2, 3, 4, 5, 6, 7, 100, 20_000 };
+    @Test
+    void writesTheSameBase64AsByteArrays() throws IOException {
+        for(final int length : lengths) {
+            final byte[] value = getBytes(length);
+            final String expected = serialize(w -> w.writeByteArrayValue((String)null, value));
+            assertEquals(expected, serialize(w -> w.writeByteStreamValue(null, new ByteArrayInputStream(value))), "length " + length);
+            assertEquals("\"" + Base64.getEncoder().encodeToString(value) + "\"", expected);
+        }
+    }
+    @Test
+    void roundTripsEveryPaddingCase() throws IOException {
+        for(final boolean useStructuralIndex : new boolean[] { false, true }) {
+            for(final int length : lengths) {
+                final byte[] value = getBytes(length);
+                final String json = serialize(w -> w.writeByteStreamValue(null, new ByteArrayInputStream(value)));
+                final String message = "length " + length + (useStructuralIndex ? " indexed" : "");
+                assertArrayEquals(value, readAll(parse(json, useStructuralIndex).getByteArrayStream()), message);
+                assertArrayEquals(value, readByByte(parse(json, useStructuralIndex).getByteArrayStream()), message);
+                assertArrayEquals(value, readInChunks(parse(json, useStructuralIndex).getByteArrayStream(), 7), message);
+            }
+        }
+    }
+    @Test
+    void readsEscapedAndNullValues() throws IOException {
+        for(final boolean useStructuralIndex : new boolean[] { false, true }) {
+            // the writers don't escape slashes, other writers may
+            assertArrayEquals(new byte[] { -1, -1, -1 }, readAll(parse("\"\\/\\/\\/\\/\"", useStructuralIndex).getByteArrayStream()));
+            assertNull(parse("null", useStructuralIndex).getByteArrayStream());
+        }
+    }
+    private static byte[] getBytes(final int length) {
+        final byte[] result = new byte[length];
+        new Random(length).nextBytes(result);
+        return result;
+    }
+    private static byte[] readAll(final InputStream stream) throws IOException {
+        try(stream) {
+            return stream.readAllBytes();
+        }
+    }
+    private static byte[] readByByte(final InputStream stream) throws IOException {
+        final var result = new ByteArrayOutputStream();
+        try(stream) {
+            int value;
+            while((value = stream.read()) >= 0) {
+                result.write(value);
+            }
+        }
+        return result.toByteArray();
+    }
+    private static byte[] readInChunks(final InputStream stream, final int chunkSize) throws IOException {
+        final var result = new ByteArrayOutputStream();
+        final byte[] chunk = new byte[chunkSize];
+        try(stream) {
+            int read;
+            while((read = stream.read(chunk, 0, chunkSize)) >= 0) {
+                result.write(chunk, 0, read);
+            }
+        }
+        return result.toByteArray();
+    }
+    private static String serialize(final Consumer<SerializationWriter> writer) throws IOException {
+        try(final SerializationWriter serializationWriter = new JsonSerializationWriterFactory().getSerializationWriter(contentType)) {
+            writer.accept(serializationWriter);
+            return JsonSerializationWriterFactoryTests.read(serializationWriter.getSerializedContent());
+        }
+    }
+    private static ParseNode parse(final String json, final boolean useStructuralIndex) {
+        final var factory = new JsonParseNodeFactory(UnknownPropertiesHandling.DECODE, useStructuralIndex);
+        return factory.getParseNode(contentType, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,74 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import com.google.gson.stream.JsonReader;
+import com.microsoft.kiota.serialization.mocks.TestEntity;
+
+class FieldProjectionTests {
+    private static final String contentType = "application/json";
+    private static final String payload = "{\"id\":\"1\",\"officeLocation\":\"Redmond\",\"extra\":{\"deep\":[1,2,3]}," +
+        "\"manager\":{\"id\":\"2\",\"officeLocation\":\"Seattle\",\"manager\":{\"id\":\"3\",\"officeLocation\":\"Paris\"}}," +
+        "\"reports\":[{\"id\":\"4\",\"officeLocation\":\"Oslo\",\"tags\":[\"a\"]},{\"id\":\"5\",\"tags\":[\"b\",\"c\"]}],\"tags\":[\"x\",\"y\"]}";
+    @Test
+    void keepsTopLevelFields() throws IOException {
+        assertEquals("{\"id\":\"1\",\"tags\":[\"x\",\"y\"]}", project(Set.of("id", "tags")));
+    }
+    @Test
+    void keepsNestedPaths() throws IOException {
+        assertEquals("{\"manager\":{\"id\":\"2\",\"manager\":{\"officeLocation\":\"Paris\"}}}", project(Set.of("manager/id", "manager/manager/officeLocation")));
+    }
+    @Test
+    void traversesCollectionsTransparently() throws IOException {
+        assertEquals("{\"reports\":[{\"id\":\"4\",\"tags\":[\"a\"]},{\"id\":\"5\",\"tags\":[\"b\",\"c\"]}]}", project(Set.of("reports/id", "reports/tags")));
+    }
+    @Test
+    void keepsWholeValuesForPathsEndingOnObjects() throws IOException {
+        final String manager = "{\"manager\":{\"id\":\"2\",\"officeLocation\":\"Seattle\",\"manager\":{\"id\":\"3\",\"officeLocation\":\"Paris\"}}}";
+        assertEquals(manager, project(Set.of("manager")));
+        // the shorter path wins whatever the order of the paths
+        assertEquals(manager, project(Set.of("manager/id", "manager")));
+        assertEquals(manager, project(Set.of("manager", "manager/manager/id")));
+        assertEquals("{\"extra\":{\"deep\":[1,2,3]}}", project(Set.of("extra")));
+    }
+    @Test
+    void skipsFieldsMissingFromTheProjection() throws IOException {
+        assertEquals("{}", project(Set.of("missing")));
+        assertEquals("{\"manager\":{}}", project(Set.of("missing", "manager/missing/id")));
+        assertEquals("{}", project(Set.of()));
+    }
+    @Test
+    void ignoresProjectedChildrenOfPrimitiveValues() throws IOException {
+        assertEquals("{\"id\":\"1\",\"tags\":[\"x\",\"y\"]}", project(Set.of("id/child", "tags/child")));
+    }
+    @Test
+    void deserializesOnlyTheProjectedFields() {
+        final var factory = new JsonParseNodeFactory();
+        final var parseNode = factory.getParseNode(contentType, new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)),
+            Set.of("id", "manager/officeLocation", "reports/id"));
+        final TestEntity entity = parseNode.getObjectValue(TestEntity::createFromDiscriminatorValue);
+        assertEquals("1", entity.getId());
+        assertNull(entity.getOfficeLocation());
+        assertNull(entity.getTags());
+        assertTrue(entity.getAdditionalData().isEmpty());
+        assertEquals("Seattle", entity.getManager().getOfficeLocation());
+        assertNull(entity.getManager().getId());
+        assertNull(entity.getManager().getManager());
+        assertEquals(2, entity.getReports().size());
+        assertEquals("5", entity.getReports().get(1).getId());
+        assertNull(entity.getReports().get(0).getOfficeLocation());
+        assertNull(entity.getReports().get(0).getTags());
+    }
+    private static String project(final Set<String> fieldPaths) throws IOException {
+        try(final JsonReader reader = new JsonReader(new StringReader(payload))) {
+            return FieldProjection.of(fieldPaths).read(reader).toString();
+        }
+    }
+}
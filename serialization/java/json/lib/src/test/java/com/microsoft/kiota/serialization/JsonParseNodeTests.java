@@ -0,0 +1,95 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+
+import com.microsoft.kiota.serialization.mocks.TestEntity;
+
+class JsonParseNodeTests {
+    @Test
+    void nodesKeptByFieldDeserializersKeepTheirValue() {
+        final var parseNode = new JsonParseNode("{\"a\":\"1\",\"b\":{\"c\":\"2\"},\"d\":[\"3\",\"4\"],\"e\":\"5\"}");
+        final NodeKeepingEntity result = parseNode.getObjectValue(n -> new NodeKeepingEntity());
+        assertEquals("1", result.nodes.get("a").getStringValue());
+        assertEquals("2", result.nodes.get("b").getChildNode("c").getStringValue());
+        assertEquals(List.of("3", "4"), result.nodes.get("d").getCollectionOfPrimitiveValues(String.class));
+        assertEquals("5", result.nodes.get("e").getStringValue());
+    }
+    @Test
+    void nodesKeptByFactoriesKeepTheirValue() {
+        final var parseNode = new JsonParseNode("[{\"id\":\"1\"},{\"id\":\"2\"},{\"id\":\"3\"}]");
+        final var nodes = new ArrayList<ParseNode>();
+        final List<TestEntity> result = parseNode.getCollectionOfObjectValues(n -> {
+            nodes.add(n);
+            return new TestEntity();
+        });
+        assertEquals(3, result.size());
+        for(int i = 0; i < 3; i++) {
+            assertEquals(String.valueOf(i + 1), result.get(i).getId());
+            assertEquals(String.valueOf(i + 1), nodes.get(i).getChildNode("id").getStringValue());
+        }
+    }
+    @Test
+    void settingsChangedOnAKeptNodeDoNotLeakToItsSiblings() {
+        final var parseNode = new JsonParseNode("{\"a\":{\"a\":\"1\"},\"b\":{\"a\":\"2\"},\"c\":[{\"a\":\"3\"}]}");
+        final var rootCalls = new AtomicInteger();
+        final var childCalls = new AtomicInteger();
+        parseNode.setOnBeforeAssignFieldValues(x -> rootCalls.incrementAndGet());
+        final NodeKeepingEntity result = parseNode.getObjectValue(n -> new NodeKeepingEntity(node -> {
+            node.setOnBeforeAssignFieldValues(x -> childCalls.incrementAndGet());
+            node.getObjectValue(m -> new NodeKeepingEntity());
+        }));
+        assertEquals(2, childCalls.get()); // the objects of a and b, which read them with their own callback
+        assertEquals(1, rootCalls.get()); // the root, the callback of the root isn't replaced
+        final var itemCalls = new AtomicInteger();
+        result.nodes.get("c").setOnBeforeAssignFieldValues(x -> itemCalls.incrementAndGet());
+        result.nodes.get("c").getCollectionOfObjectValues(m -> new NodeKeepingEntity());
+        assertEquals(1, itemCalls.get());
+        assertEquals(1, rootCalls.get());
+    }
+    @Test
+    void readsPrimitiveAndEnumItemsWithTheReusedCursor() {
+        final var parseNode = new JsonParseNode("{\"tags\":[\"a\",\"b\",\"c\"],\"reports\":[{\"tags\":[\"d\"]},{\"tags\":[\"e\",\"f\"]}]}");
+        final TestEntity result = parseNode.getObjectValue(TestEntity::createFromDiscriminatorValue);
+        assertEquals(List.of("a", "b", "c"), result.getTags());
+        assertEquals(List.of("d"), result.getReports().get(0).getTags());
+        assertEquals(List.of("e", "f"), result.getReports().get(1).getTags());
+        assertEquals(List.of(1, 2, 3), new JsonParseNode("[1,2,3]").getCollectionOfPrimitiveValues(Integer.class));
+    }
+    /** Model keeping the nodes handed to its field deserializers */
+    private static class NodeKeepingEntity implements Parsable {
+        final Map<String, ParseNode> nodes = new HashMap<>();
+        private final Consumer<ParseNode> onField;
+        NodeKeepingEntity() {
+            this(null);
+        }
+        NodeKeepingEntity(final Consumer<ParseNode> onField) {
+            this.onField = onField;
+        }
+        @Nonnull
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            final var result = new HashMap<String, Consumer<ParseNode>>();
+            for(final String name : new String[] { "a", "b", "c", "d", "e" }) {
+                result.put(name, n -> {
+                    nodes.put(name, n);
+                    if(onField != null && !"c".equals(name)) {
+                        onField.accept(n);
+                    }
+                });
+            }
+            return result;
+        }
+        public void serialize(@Nonnull final SerializationWriter writer) {
+            // only used for deserialization
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.microsoft.kiota.serialization.mocks.TestEntity;
+
+class JsonSerializationWriterFactoryTests {
+    private static final String contentType = "application/json";
+    @Test
+    void reusedWritersDoNotKeepPreviousOutput() throws IOException {
+        final var factory = new JsonSerializationWriterFactory(true);
+        final SerializationWriter first = factory.getSerializationWriter(contentType);
+        first.setOnBeforeObjectSerialization(x -> ((TestEntity)x).setOfficeLocation("set by the callback"));
+        first.writeObjectValue(null, getEntity("1", "x".repeat(100_000)));
+        final InputStream firstContent = first.getSerializedContent();
+        first.close();
+
+        final SerializationWriter second = factory.getSerializationWriter(contentType);
+        assertSame(first, second);
+        assertNull(second.getOnBeforeObjectSerialization());
+        second.writeObjectValue(null, getEntity("2", "short"));
+        assertEquals("{\"id\":\"2\",\"officeLocation\":\"short\"}", read(second.getSerializedContent()));
+        second.close();
+
+        final String firstJson = read(firstContent);
+        assertTrue(firstJson.startsWith("{\"id\":\"1\",\"officeLocation\":\"set by the callback\""));
+    }
+    @Test
+    void writersInUseAreNotShared() throws IOException {
+        final var factory = new JsonSerializationWriterFactory(true);
+        try(final SerializationWriter first = factory.getSerializationWriter(contentType);
+            final SerializationWriter second = factory.getSerializationWriter(contentType)) {
+            assertNotSame(first, second);
+            first.writeStringValue(null, "first");
+            second.writeStringValue(null, "second");
+            assertEquals("\"first\"", read(first.getSerializedContent()));
+            assertEquals("\"second\"", read(second.getSerializedContent()));
+        }
+    }
+    @Test
+    void writersAreNotReusedByDefault() throws IOException {
+        final var factory = new JsonSerializationWriterFactory();
+        final SerializationWriter first = factory.getSerializationWriter(contentType);
+        first.writeStringValue(null, "first");
+        first.close();
+        assertNotSame(first, factory.getSerializationWriter(contentType));
+    }
+    static TestEntity getEntity(final String id, final String officeLocation) {
+        final var result = new TestEntity();
+        result.setId(id);
+        result.setOfficeLocation(officeLocation);
+        return result;
+    }
+    static String read(final InputStream content) throws IOException {
+        try(content) {
+            return new String(content.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.microsoft.kiota.serialization.mocks.TestEntity;
+
+class JsonSerializationWriterTests {
+    private static final String contentType = "application/json";
+    @Test
+    void writesAdditionalDataOfEveryKind() throws IOException {
+        final var entity = new TestEntity();
+        entity.setId("1");
+        final var nested = new LinkedHashMap<String, Object>();
+        nested.put("a", 2);
+        nested.put("b", null);
+        final var manager = new TestEntity();
+        manager.setId("2");
+        entity.getAdditionalData().put("dbl", 1.5d);
+        entity.getAdditionalData().put("big", new BigInteger("123456789012345678901234567890"));
+        entity.getAdditionalData().put("extra", Arrays.asList(1, nested));
+        entity.getAdditionalData().put("manager", manager);
+        entity.getAdditionalData().put("opaque", new OpaqueValue());
+        entity.getAdditionalData().put("public", new PublicValue());
+        assertEquals("{\"id\":\"1\",\"dbl\":1.5,\"big\":123456789012345678901234567890,\"extra\":[1,{\"a\":2,\"b\":null}]," +
+            "\"manager\":{\"id\":\"2\"},\"opaque\":\"opaque value\",\"public\":{\"name\":\"value\"}}", serialize(entity));
+    }
+    @Test
+    void writesPreEncodedPropertyNames() throws IOException {
+        final PropertyName quoted = new PropertyName("say \"hi\"");
+        final PropertyName skipped = new PropertyName("skipped");
+        final PropertyName count = new PropertyName("count");
+        final Parsable value = new Parsable() {
+            @Override
+            public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+                return Map.of();
+            }
+            @Override
+            public void serialize(final SerializationWriter writer) {
+                writer.writeStringValue(writer.getPropertyKey(quoted), "hi");
+                writer.writeStringValue(writer.getPropertyKey(skipped), null);
+                writer.writeStringValue("other", "value");
+                writer.writeIntegerValue(writer.getPropertyKey(count), 2);
+                writer.writeCollectionOfPrimitiveValues(writer.getPropertyKey(skipped), Arrays.asList("a"));
+            }
+        };
+        assertEquals("{\"say \\\"hi\\\"\":\"hi\",\"other\":\"value\",\"count\":2,\"skipped\":[\"a\"]}", serialize(value));
+    }
+    private static String serialize(final Parsable value) throws IOException {
+        try(final SerializationWriter writer = new JsonSerializationWriterFactory().getSerializationWriter(contentType)) {
+            writer.writeObjectValue(null, value);
+            return JsonSerializationWriterFactoryTests.read(writer.getSerializedContent());
+        }
+    }
+    static class OpaqueValue {
+        public String name = "value";
+        @Override
+        public String toString() {
+            return "opaque value";
+        }
+    }
+    public static class PublicValue {
+        public String name = "value";
+    }
+}
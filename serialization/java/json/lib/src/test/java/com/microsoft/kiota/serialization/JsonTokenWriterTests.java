@@ -0,0 +1,242 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.google.gson.stream.JsonWriter;
+
+class JsonTokenWriterTests {
+    private static final String[] pieces = { "a", "\u00e9", "\u6c34", "\ud83d\ude00", "\"", "\\", "/", "<", ">", "&", "=", "'", "\u007f", "\u2028", "\u2029", "\ud83d", "\ude00", "\u0000", "\u001f", "\t", "\b", "\n", "\r", "\f" };
+    private static final Number[] numbers = { 0, -1, Long.MAX_VALUE, 1.5d, -0.0d, 1e300d, Float.MIN_VALUE, new BigDecimal("1.10"), new BigInteger("123456789012345678901234567890"), Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Float.NaN };
+    @Test
+    void escapesStringsLikeGson() throws IOException {
+        final var values = new ArrayList<String>();
+        for(final String piece : pieces) {
+            values.add(piece);
+            values.add("x" + piece + "y");
+        }
+        for(int c = 0; c < 0x20; c++) {
+            values.add(String.valueOf((char)c));
+        }
+        values.add("\ud83d\ude00\ude00\ud83d");
+        for(final String value : values) {
+            assertSameOutput(List.of(w -> w.beginObject(), w -> w.name(value), w -> w.value(value), w -> w.endObject(), Token.CLOSE));
+        }
+    }
+    @Test
+    void escapesPropertyNamesLikeGson() throws IOException {
+        for(final String piece : pieces) {
+            final String name = "n" + piece;
+            final var expected = new StringWriter();
+            try(final var gson = new JsonWriter(expected)) {
+                gson.beginObject().name(name).value(1).endObject();
+            }
+            final var actual = new Utf8ByteArrayWriter();
+            final var writer = new JsonTokenWriter(actual);
+            writer.beginObject();
+            writer.name(new PropertyName(name));
+            writer.value(1);
+            writer.endObject();
+            writer.close();
+            assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8), actual.toByteArray(), name);
+        }
+    }
+    @Test
+    void rejectsNonFiniteNumbersLikeGson() throws IOException {
+        for(final Number number : numbers) {
+            assertSameOutput(List.of(w -> w.beginArray(), w -> w.value(number), w -> w.endArray(), Token.CLOSE));
+        }
+    }
+    @Test
+    void rejectsNestingErrorsLikeGson() throws IOException {
+        final List<List<Token>> documents = List.of(
+            List.of(w -> w.beginArray(), w -> w.endObject()),
+            List.of(w -> w.beginObject(), w -> w.endArray()),
+            List.of(w -> w.beginObject(), w -> w.value("no name")),
+            List.of(w -> w.beginObject(), w -> w.name("a"), w -> w.endObject()),
+            List.of(w -> w.beginObject(), w -> w.name("a"), w -> w.endArray()),
+            List.of(w -> w.endArray()),
+            List.of(w -> w.value(1), w -> w.value(2)),
+            List.of(w -> w.beginArray(), w -> w.endArray(), w -> w.beginObject()),
+            List.of(w -> w.beginArray(), Token.CLOSE),
+            List.of(Token.CLOSE),
+            List.of(w -> w.value(true), Token.CLOSE, w -> w.value(false)),
+            List.of(w -> w.value(true), Token.CLOSE, w -> w.endArray())
+        );
+        for(final List<Token> document : documents) {
+            assertSameOutput(document);
+        }
+    }
+    @Test
+    void namesOutsideOfObjectsFailRightAway() throws IOException {
+        // Gson defers names until their value, the token writer writes them right away and can't take them back
+        final var gson = new JsonWriter(new StringWriter());
+        gson.beginArray().name("a");
+        final var expected = assertThrows(IllegalStateException.class, () -> gson.value(1));
+        final var writer = new JsonTokenWriter(new Utf8ByteArrayWriter());
+        writer.beginArray();
+        final var actual = assertThrows(IllegalStateException.class, () -> writer.name("a"));
+        assertEquals(expected.getMessage(), actual.getMessage());
+        final var objectWriter = new JsonTokenWriter(new Utf8ByteArrayWriter());
+        objectWriter.beginObject();
+        objectWriter.name(new PropertyName("b"));
+        assertThrows(IllegalStateException.class, () -> objectWriter.name("c"));
+    }
+    @Test
+    void writesRandomDocumentsLikeGson() throws IOException {
+        final var random = new Random(42);
+        for(int i = 0; i < 5_000; i++) {
+            assertSameOutput(getRandomDocument(random));
+        }
+    }
+    /** Operation applied the same way to both writers */
+    private interface Token {
+        void apply(Writer writer) throws IOException;
+        Token CLOSE = Writer::close;
+    }
+    /** Common shape of the Gson writer and of the token writer */
+    private interface Writer {
+        void beginArray() throws IOException;
+        void endArray() throws IOException;
+        void beginObject() throws IOException;
+        void endObject() throws IOException;
+        void name(String name) throws IOException;
+        void value(String value) throws IOException;
+        void value(Number value) throws IOException;
+        void value(boolean value) throws IOException;
+        void nullValue() throws IOException;
+        void close() throws IOException;
+    }
+    private static void assertSameOutput(final List<Token> document) throws IOException {
+        final var expected = new StringWriter();
+        final var gson = new JsonWriter(expected);
+        final var actual = new Utf8ByteArrayWriter();
+        final var writer = new JsonTokenWriter(actual);
+        final Writer gsonWriter = new Writer() {
+            public void beginArray() throws IOException { gson.beginArray(); }
+            public void endArray() throws IOException { gson.endArray(); }
+            public void beginObject() throws IOException { gson.beginObject(); }
+            public void endObject() throws IOException { gson.endObject(); }
+            public void name(String name) throws IOException { gson.name(name); }
+            public void value(String value) throws IOException { gson.value(value); }
+            public void value(Number value) throws IOException { gson.value(value); }
+            public void value(boolean value) throws IOException { gson.value(value); }
+            public void nullValue() throws IOException { gson.nullValue(); }
+            public void close() throws IOException { gson.close(); }
+        };
+        final Writer tokenWriter = new Writer() {
+            public void beginArray() { writer.beginArray(); }
+            public void endArray() { writer.endArray(); }
+            public void beginObject() { writer.beginObject(); }
+            public void endObject() { writer.endObject(); }
+            // alternates between encoded and pre-encoded names
+            public void name(String name) { if(name.length() % 2 == 0) { writer.name(name); } else { writer.name(new PropertyName(name)); } }
+            public void value(String value) { writer.value(value); }
+            public void value(Number value) { writer.value(value); }
+            public void value(boolean value) { writer.value(value); }
+            public void nullValue() { writer.nullValue(); }
+            public void close() throws IOException { writer.close(); }
+        };
+        for(final Token token : document) {
+            final Exception expectedException = apply(token, gsonWriter);
+            final Exception actualException = apply(token, tokenWriter);
+            if(expectedException != null || actualException != null) {
+                assertNotNull(expectedException, () -> "unexpected " + actualException + " after " + expected);
+                assertNotNull(actualException, () -> "expected " + expectedException + " after " + expected);
+                assertEquals(expectedException.getClass(), actualException.getClass(), expected::toString);
+                assertEquals(expectedException.getMessage(), actualException.getMessage(), expected::toString);
+                return; // the output of failed documents differs as Gson defers names until their value
+            }
+        }
+        // unpaired surrogates are written as question marks, like the UTF-8 encoding of the Gson output
+        assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8), actual.toByteArray(), expected::toString);
+    }
+    private static Exception apply(final Token token, final Writer writer) {
+        try {
+            token.apply(writer);
+            return null;
+        } catch(IOException | RuntimeException ex) {
+            return ex;
+        }
+    }
+    private static List<Token> getRandomDocument(final Random random) {
+        final var result = new ArrayList<Token>();
+        final var stack = new ArrayList<Boolean>(); // true for objects
+        boolean named = false;
+        final int length = 1 + random.nextInt(40);
+        for(int i = 0; i < length || !stack.isEmpty(); i++) {
+            final boolean inObject = !stack.isEmpty() && stack.get(stack.size() - 1);
+            if(random.nextInt(50) == 0) { // mostly valid documents, with a few misplaced tokens
+                final int kind = random.nextInt(8); // misplaced names fail earlier than with Gson, see namesOutsideOfObjectsFailRightAway
+                result.add(getRandomToken(random, kind < 4 ? kind : kind + 1));
+                break;
+            } else if(inObject && !named) {
+                if(i >= length || random.nextInt(4) == 0) {
+                    stack.remove(stack.size() - 1);
+                    result.add(w -> w.endObject());
+                } else {
+                    result.add(getRandomToken(random, 4));
+                    named = true;
+                }
+            } else if(!stack.isEmpty() && !inObject && (i >= length || random.nextInt(4) == 0)) {
+                stack.remove(stack.size() - 1);
+                result.add(w -> w.endArray());
+            } else {
+                named = false;
+                final int kind = random.nextInt(i >= length ? 4 : 6);
+                if(kind == 4) {
+                    stack.add(false);
+                    result.add(w -> w.beginArray());
+                } else if(kind == 5) {
+                    stack.add(true);
+                    result.add(w -> w.beginObject());
+                } else {
+                    result.add(getRandomToken(random, 5 + kind));
+                }
+                if(stack.isEmpty()) {
+                    break;
+                }
+            }
+        }
+        result.add(Token.CLOSE);
+        return result;
+    }
+    private static Token getRandomToken(final Random random, final int kind) {
+        switch(kind) {
+            case 0: return w -> w.beginArray();
+            case 1: return w -> w.endArray();
+            case 2: return w -> w.beginObject();
+            case 3: return w -> w.endObject();
+            case 4:
+                final String name = getRandomString(random);
+                return w -> w.name(name);
+            case 5:
+                final String value = getRandomString(random);
+                return w -> w.value(value);
+            case 6:
+                final Number number = numbers[random.nextInt(numbers.length)];
+                return w -> w.value(number);
+            case 7:
+                final boolean bool = random.nextBoolean();
+                return w -> w.value(bool);
+            default: return w -> w.nullValue();
+        }
+    }
+    private static String getRandomString(final Random random) {
+        final var result = new StringBuilder();
+        final int length = random.nextInt(12);
+        for(int i = 0; i < length; i++) {
+            result.append(pieces[random.nextInt(pieces.length)]);
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import com.microsoft.kiota.serialization.mocks.TestEntity;
+
+class ParallelDeserializationTests {
+    private static final String contentType = "application/json";
+    @Test
+    void keepsTheOrderOfItemsOnBothSidesOfTheThreshold() {
+        final var pool = new ForkJoinPool(4);
+        try {
+            for(final int size : new int[] { 2047, 2048, 5000 }) {
+                final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+                final ParseNode parseNode = parse(getPayload(size), pool);
+                parseNode.setOnAfterAssignFieldValues(x -> threads.add(Thread.currentThread()));
+                final List<TestEntity> items = parseNode.getCollectionOfObjectValues(TestEntity::createFromDiscriminatorValue);
+                assertEquals(size, items.size());
+                for(int i = 0; i < size; i++) {
+                    assertEquals(String.valueOf(i), items.get(i).getId());
+                    assertEquals(List.of("t" + i), items.get(i).getTags());
+                }
+                final boolean usedPool = threads.stream().anyMatch(ForkJoinWorkerThread.class::isInstance);
+                assertEquals(size >= 2048, usedPool, "size " + size);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    @Test
+    void propagatesFailuresOfAnItemOnBothSidesOfTheThreshold() {
+        final var pool = new ForkJoinPool(4);
+        try {
+            for(final int size : new int[] { 2047, 2048, 5000 }) {
+                final ParseNode parseNode = parse(getPayload(size), pool);
+                final String failingId = String.valueOf(size - 10);
+                final var exception = assertThrows(IllegalStateException.class, () -> parseNode.getCollectionOfObjectValues(n -> {
+                    if(failingId.equals(n.getChildNode("id").getStringValue())) {
+                        throw new IllegalStateException("cannot read item " + failingId);
+                    }
+                    return new TestEntity();
+                }));
+                assertTrue(hasMessage(exception, "cannot read item " + failingId), "size " + size);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    private static boolean hasMessage(final Throwable exception, final String message) {
+        // the pool may rethrow a copy of the exception with the original as its cause
+        for(Throwable current = exception; current != null; current = current.getCause()) {
+            if(message.equals(current.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    private static String getPayload(final int size) {
+        final var payload = new StringBuilder("[");
+        for(int i = 0; i < size; i++) {
+            if(i > 0) {
+                payload.append(',');
+            }
+            payload.append("{\"id\":\"").append(i).append("\",\"tags\":[\"t").append(i).append("\"]}");
+        }
+        return payload.append(']').toString();
+    }
+    private static ParseNode parse(final String json, final ForkJoinPool pool) {
+        final var factory = new JsonParseNodeFactory(UnknownPropertiesHandling.DECODE, true, pool);
+        return factory.getParseNode(contentType, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,110 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import com.microsoft.kiota.serialization.mocks.TestEntity;
+
+class ParallelSerializationTests {
+    private static final String contentType = "application/json";
+    @Test
+    void writesTheSameBytesAsSequentialSerializationOnBothSidesOfTheThreshold() throws IOException {
+        final var pool = new ForkJoinPool(4);
+        try {
+            for(final int size : new int[] { 2047, 2048, 5000 }) {
+                final List<TestEntity> items = getItems(size);
+                final byte[] expected = serialize(new JsonSerializationWriterFactory(), items, null);
+                final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+                final byte[] actual = serialize(new JsonSerializationWriterFactory(false, pool), items, threads);
+                assertArrayEquals(expected, actual, "size " + size);
+                final boolean usedPool = threads.stream().anyMatch(ForkJoinWorkerThread.class::isInstance);
+                assertEquals(size >= 2048, usedPool, "size " + size);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    @Test
+    void keepsTheOrderOfItems() throws IOException {
+        final var pool = new ForkJoinPool(4);
+        try {
+            final List<TestEntity> items = getItems(5000);
+            final byte[] payload = serialize(new JsonSerializationWriterFactory(false, pool), items, null);
+            final var parseNode = new JsonParseNodeFactory().getParseNode(contentType, new ByteArrayInputStream(payload));
+            final List<TestEntity> result = parseNode.getObjectValue(TestEntity::createFromDiscriminatorValue).getReports();
+            assertEquals(items.size(), result.size());
+            for(int i = 0; i < items.size(); i++) {
+                assertEquals(items.get(i).getId(), result.get(i).getId());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    @Test
+    void propagatesFailuresOfAnItemOnBothSidesOfTheThreshold() {
+        final var pool = new ForkJoinPool(4);
+        try {
+            for(final int size : new int[] { 2047, 2048, 5000 }) {
+                final String failingId = String.valueOf(size - 10);
+                // the failed writer holds an incomplete document and isn't closed
+                final SerializationWriter writer = new JsonSerializationWriterFactory(false, pool).getSerializationWriter(contentType);
+                writer.setOnBeforeObjectSerialization(x -> {
+                    if(x instanceof TestEntity && failingId.equals(((TestEntity)x).getId())) {
+                        throw new IllegalStateException("cannot write item " + failingId);
+                    }
+                });
+                final var root = new TestEntity();
+                root.setReports(getItems(size));
+                final var exception = assertThrows(RuntimeException.class, () -> writer.writeObjectValue(null, root));
+                assertTrue(hasMessage(exception, "cannot write item " + failingId), "size " + size);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    private static boolean hasMessage(final Throwable exception, final String message) {
+        // the pool may rethrow a copy of the exception with the original as its cause
+        for(Throwable current = exception; current != null; current = current.getCause()) {
+            if(message.equals(current.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    private static byte[] serialize(final JsonSerializationWriterFactory factory, final List<TestEntity> items, final Set<Thread> threads) throws IOException {
+        try(final SerializationWriter writer = factory.getSerializationWriter(contentType)) {
+            if(threads != null) {
+                writer.setOnBeforeObjectSerialization(x -> threads.add(Thread.currentThread()));
+            }
+            final var root = new TestEntity();
+            root.setReports(items);
+            writer.writeObjectValue(null, root);
+            try(final var content = writer.getSerializedContent()) {
+                return content.readAllBytes();
+            }
+        }
+    }
+    private static List<TestEntity> getItems(final int size) {
+        final var result = new ArrayList<TestEntity>(size);
+        for(int i = 0; i < size; i++) {
+            final TestEntity item = JsonSerializationWriterFactoryTests.getEntity(String.valueOf(i), i % 3 == 0 ? "Redmond \"\u6c34\" \ud83d\ude00" : null);
+            item.setRank(i);
+            item.setTags(List.of("t" + i));
+            if(i % 7 == 0) {
+                item.setManager(JsonSerializationWriterFactoryTests.getEntity("m" + i, null));
+                item.getAdditionalData().put("extra", i);
+            }
+            result.add(item);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,88 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class StringCacheTests {
+    @Test
+    void returnsTheCachedInstanceOnHits() {
+        final var cache = new StringCache();
+        final String first = new String("value");
+        final String second = new String("value");
+        assertSame(first, cache.canonicalize(first));
+        assertSame(first, cache.canonicalize(second));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5d, cache.getHitRate());
+    }
+    @Test
+    void returnsEqualStringsOnCollisions() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        final var cache = new StringCache();
+        assertEquals("Aa", cache.canonicalize("Aa"));
+        assertEquals("BB", cache.canonicalize("BB"));
+        assertEquals("Aa", cache.canonicalize("Aa"));
+        assertEquals("BB", cache.canonicalize(bytes("BB"), 0, 2));
+        assertEquals("Aa", cache.canonicalize(bytes("Aa"), 0, 2));
+        assertEquals(0, cache.getHitCount());
+
+        final var singleSlot = new StringCache(1, 64);
+        for(int i = 0; i < 100; i++) {
+            final String value = String.valueOf(i % 3);
+            assertEquals(value, singleSlot.canonicalize(value));
+            assertEquals(value, singleSlot.canonicalize(bytes("x" + value + "x"), 1, 2));
+        }
+    }
+    @Test
+    void sharesInstancesBetweenBytesAndStrings() {
+        final var cache = new StringCache();
+        final String fromBytes = cache.canonicalize(bytes("\"active\""), 1, 7);
+        assertEquals("active", fromBytes);
+        assertSame(fromBytes, cache.canonicalize(new String("active")));
+        assertSame(fromBytes, cache.canonicalize(bytes("active"), 0, 6));
+        assertEquals(2, cache.getHitCount());
+    }
+    @Test
+    void doesNotCacheStringsLongerThanTheLimit() {
+        final var cache = new StringCache(16, 3);
+        final String atLimit = new String("abc");
+        assertSame(atLimit, cache.canonicalize(atLimit));
+        assertSame(atLimit, cache.canonicalize(new String("abc")));
+        final String overLimit = new String("abcd");
+        assertSame(overLimit, cache.canonicalize(overLimit));
+        assertNotSame(overLimit, cache.canonicalize(new String("abcd")));
+        assertEquals("abcd", cache.canonicalize(bytes("abcd"), 0, 4));
+        assertNotSame(cache.canonicalize(bytes("abcd"), 0, 4), cache.canonicalize(bytes("abcd"), 0, 4));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount()); // strings over the limit are not counted
+        assertNull(cache.canonicalize(null));
+    }
+    @Test
+    void validatesItsSize() {
+        assertThrows(IllegalArgumentException.class, () -> new StringCache(0, 64));
+        assertThrows(IllegalArgumentException.class, () -> new StringCache((1 << 30) + 1, 64));
+        assertThrows(IllegalArgumentException.class, () -> new StringCache(16, -1));
+        assertEquals(0d, new StringCache().getHitRate());
+    }
+    @Test
+    void parseNodesReturnEqualValuesWithTheCache() {
+        final String json = "[\"active\",\"active\",\"Aa\",\"BB\",\"caf\\u00e9\",\"caf\u00e9\",\"a\\\"b\",\"" + "x".repeat(100) + "\",\"\"]";
+        final List<String> expected = List.of("active", "active", "Aa", "BB", "caf\u00e9", "caf\u00e9", "a\"b", "x".repeat(100), "");
+        for(final boolean useStructuralIndex : new boolean[] { false, true }) {
+            final var cache = new StringCache();
+            final var factory = new JsonParseNodeFactory(UnknownPropertiesHandling.DECODE, useStructuralIndex, null, cache);
+            final List<String> values = factory.getParseNode("application/json", new ByteArrayInputStream(bytes(json))).getCollectionOfPrimitiveValues(String.class);
+            assertEquals(expected, values);
+            assertSame(values.get(0), values.get(1));
+            assertSame(values.get(4), values.get(5));
+            assertTrue(cache.getHitCount() >= 2);
+        }
+    }
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,109 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.google.gson.JsonPrimitive;
+import com.microsoft.kiota.serialization.mocks.TestEntity;
+
+class StructuralIndexTests {
+    private static final String contentType = "application/json";
+    @Test
+    void indexesStructuralCharactersOutsideOfStrings() {
+        final var index = build("{\"a,\":[1,{\"b\":\"}\"}]}");
+        final var characters = new StringBuilder();
+        for(int i = 0; i < index.count; i++) {
+            characters.append((char)index.input[index.positions[i]]);
+        }
+        assertEquals("{\"\":[,{\"\":\"\"}]}", characters.toString());
+        assertEquals(index.count - 1, index.matching[0]);
+    }
+    @Test
+    void readsEscapesAcrossWordAndBlockBoundaries() {
+        final String[] values = { "\\\"", "\\\\", "\\\\\\\"", "a\\\\", "\\u00e9", "\\ud83d\\ude00", "\\/\\b\\f\\n\\r\\t", "\u00e9", "\u6c34", "\ud83d\ude00", "\u2028" };
+        for(final String value : values) {
+            for(int padding = 0; padding < 140; padding++) {
+                // the escape starts at every offset of the words and blocks it spans
+                final String json = "[\"" + "x".repeat(padding) + value + "\",\"" + value + "x\"]";
+                assertSameStrings(json);
+            }
+        }
+    }
+    @Test
+    void readsRandomStringsLikeGson() {
+        final var random = new Random(42);
+        final String[] pieces = { "a", "\"", "\\", "\u00e9", "\u6c34", "\ud83d\ude00", "\n", "\u0001", "/", "{", "]", ",", ":", " " };
+        for(int i = 0; i < 2_000; i++) {
+            final var items = new ArrayList<String>();
+            final int itemCount = 1 + random.nextInt(4);
+            for(int item = 0; item < itemCount; item++) {
+                final var value = new StringBuilder();
+                final int length = random.nextInt(80);
+                for(int c = 0; c < length; c++) {
+                    value.append(pieces[random.nextInt(pieces.length)]);
+                }
+                items.add(new JsonPrimitive(value.toString()).toString());
+            }
+            assertSameStrings("[" + " ".repeat(random.nextInt(70)) + String.join(",", items) + "]");
+        }
+    }
+    @Test
+    void rejectsUnterminatedStrings() {
+        for(final String json : List.of("\"abc", "[\"abc]", "{\"a\":\"b\\\"}", "[\"" + "x".repeat(62) + "\\\"]", "\"\\")) {
+            assertThrows(IllegalArgumentException.class, () -> build(json), json);
+        }
+    }
+    @Test
+    void rejectsUnbalancedBrackets() {
+        for(final String json : List.of("[", "]", "{", "}", "[}", "{]", "[[]", "{\"a\":[1}]", "[" + " ".repeat(70) + "}")) {
+            assertThrows(IllegalArgumentException.class, () -> build(json), json);
+        }
+    }
+    @Test
+    void rejectsDataAfterTheRootValue() {
+        for(final String json : List.of("{\"s\":\"a\"} junk", "{}{}", "[1],", "\"a\" \"b\"", "\"a\"x", "1 2", "1,2", "true false", "null]", "{}" + " ".repeat(100) + "x")) {
+            assertThrows(IllegalArgumentException.class, () -> build(json), json);
+        }
+        for(final String json : List.of("{\"s\":\"a\"} \r\n\t", " [1] ", "\"a\"  ", " 12 ", "true", "", "   ")) {
+            assertDoesNotThrow(() -> build(json), json);
+        }
+    }
+    @Test
+    void deserializesLikeTheTreeBasedParseNode() throws IOException {
+        final String[] payloads = {
+            "{\"id\":\"1\",\"officeLocation\":\"Redmond \\\"HQ\\\" \u6c34\",\"birthday\":\"1969-12-31\",\"createdDateTime\":\"2022-05-06T10:30:45.123-07:00\",\"rank\":-42}",
+            " { \"id\" : \"2\" , \"manager\" : { \"id\" : \"3\" , \"reports\" : [ ] } , \"tags\" : [ \"a\" , \"\\u00e9\" ] } ",
+            "{\"reports\":[{\"id\":\"4\",\"manager\":{\"id\":\"5\"}},{\"id\":\"6\",\"tags\":[\"x,y\",\"]\"]}],\"extra\":{\"nested\":[1,2.5,true,null,\"s\"]},\"unknown\":\"\ud83d\ude00\"}",
+            "{\"id\":null,\"rank\":null,\"tags\":null,\"manager\":null}",
+        };
+        for(final String payload : payloads) {
+            assertEquals(roundTrip(payload, false), roundTrip(payload, true), payload);
+        }
+    }
+    private static void assertSameStrings(final String json) {
+        final List<String> expected = parse(json, false).getCollectionOfPrimitiveValues(String.class);
+        assertEquals(expected, parse(json, true).getCollectionOfPrimitiveValues(String.class), json);
+    }
+    private static String roundTrip(final String json, final boolean useStructuralIndex) throws IOException {
+        final TestEntity entity = parse(json, useStructuralIndex).getObjectValue(TestEntity::createFromDiscriminatorValue);
+        try(final SerializationWriter writer = new JsonSerializationWriterFactory().getSerializationWriter(contentType)) {
+            writer.writeObjectValue(null, entity);
+            return JsonSerializationWriterFactoryTests.read(writer.getSerializedContent());
+        }
+    }
+    private static ParseNode parse(final String json, final boolean useStructuralIndex) {
+        final var factory = new JsonParseNodeFactory(UnknownPropertiesHandling.DECODE, useStructuralIndex);
+        return factory.getParseNode(contentType, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+    private static StructuralIndex build(final String json) {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return StructuralIndex.build(bytes, bytes.length);
+    }
+}
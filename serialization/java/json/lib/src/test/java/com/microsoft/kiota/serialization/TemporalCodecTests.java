@@ -0,0 +1,111 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+class TemporalCodecTests {
+    private static final List<String> dates = List.of("0001-01-01", "1600-02-29", "1900-02-28", "1969-12-31", "1970-01-01", "2000-02-29", "2023-06-15", "2024-02-29", "9999-12-31");
+    private static final List<String> times = List.of("00:00", "10:30", "23:59:59", "10:30:45", "10:30:00.000", "10:30:45.1", "10:30:45.12", "10:30:45.123", "10:30:45.1234",
+        "10:30:45.12345", "10:30:45.123456", "10:30:45.1234567", "10:30:45.12345678", "10:30:45.123456789", "10:30:45.100000000", "10:30:45.000000001");
+    private static final List<String> offsets = List.of("Z", "z", "+00:00", "-00:00", "+05:30", "-08:00", "-00:30", "-03:45", "+14:00", "-18:00");
+    @Test
+    void parsesDateTimesLikeJavaTime() {
+        for(final String date : dates) {
+            for(final String time : times) {
+                for(final String offset : offsets) {
+                    final String value = date + "T" + time + offset;
+                    assertEquals(OffsetDateTime.parse(value), TemporalCodec.parseOffsetDateTime(value), value);
+                }
+            }
+        }
+    }
+    @Test
+    void parsesDatesAndTimesLikeJavaTime() {
+        for(final String date : dates) {
+            assertEquals(LocalDate.parse(date), TemporalCodec.parseLocalDate(date), date);
+        }
+        for(final String time : times) {
+            assertEquals(LocalTime.parse(time), TemporalCodec.parseLocalTime(time), time);
+        }
+    }
+    @Test
+    void formatsLikeJavaTime() {
+        final var random = new Random(42);
+        final int[] offsetSeconds = { 0, 19800, -28800, -1800, -13500, 50400, -64800, 3661 };
+        for(int i = 0; i < 10_000; i++) {
+            final var date = LocalDate.ofEpochDay(random.nextInt(1_200_000) - 700_000); // from about year 53 to year 3200
+            final int nanoDigits = random.nextInt(10);
+            int nano = random.nextInt(1_000_000_000);
+            for(int digit = nanoDigits; digit < 9; digit++) {
+                nano -= nano % (int)Math.pow(10, 9 - digit);
+            }
+            final var time = LocalTime.ofNanoOfDay(random.nextInt(86_400) * 1_000_000_000L + (nanoDigits == 0 ? 0 : nano));
+            final var dateTime = OffsetDateTime.of(date, time, ZoneOffset.ofTotalSeconds(offsetSeconds[i % offsetSeconds.length]));
+            final String expected = dateTime.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+            assertEquals(expected, TemporalCodec.formatOffsetDateTime(dateTime));
+            assertEquals(dateTime, TemporalCodec.parseOffsetDateTime(expected), expected);
+            assertEquals(date.format(DateTimeFormatter.ISO_LOCAL_DATE), TemporalCodec.formatLocalDate(date));
+            assertEquals(time.format(DateTimeFormatter.ISO_LOCAL_TIME), TemporalCodec.formatLocalTime(time));
+        }
+    }
+    @Test
+    void formatsYearsOutsideOfFourDigitsLikeJavaTime() {
+        for(final int year : new int[] { -1, 0, 1, 999, 1969, 9999, 10000, 999_999_999 }) {
+            final var date = LocalDate.of(year, 2, 28);
+            assertEquals(date.format(DateTimeFormatter.ISO_LOCAL_DATE), TemporalCodec.formatLocalDate(date));
+            final var dateTime = OffsetDateTime.of(date, LocalTime.NOON, ZoneOffset.ofHours(-5));
+            assertEquals(dateTime.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME), TemporalCodec.formatOffsetDateTime(dateTime));
+        }
+    }
+    @Test
+    void rejectsInvalidValuesLikeJavaTime() {
+        for(final String value : List.of("2023-02-29T10:30:00Z", "2023-13-01T10:30:00Z", "2023-04-31T10:30:00Z", "2023-06-15T24:00:00Z", "2023-06-15T23:59:60Z",
+                "2023-06-15T10:60Z", "2023-06-15T10:30:45.1234567890Z", "2023-06-15T10:30:45.Z", "2023-06-15T10:30:45", "2023-06-15T10:30:45+19:00",
+                "2023-06-15T10:30:45+05:60", "2023-06-15T10:30:45+0530", "2023-06-15 10:30:45Z", "2023-6-15T10:30:45Z", "2023-06-15T1:30:45Z", "")) {
+            assertSameOutcome(OffsetDateTime::parse, TemporalCodec::parseOffsetDateTime, value);
+        }
+        for(final String value : List.of("2023-02-29", "1900-02-29", "2023-00-10", "2023-06-1a", "20230615", "2023-06-15T")) {
+            assertSameOutcome(LocalDate::parse, TemporalCodec::parseLocalDate, value);
+        }
+        for(final String value : List.of("24:00", "10:61", "10:30:45.", "10:30:45.1234567890", "10:30:4", "1030")) {
+            assertSameOutcome(LocalTime::parse, TemporalCodec::parseLocalTime, value);
+        }
+    }
+    @Test
+    void parsesUUIDsLikeJavaUtil() {
+        final var random = new Random(42);
+        for(int i = 0; i < 1_000; i++) {
+            final var uuid = new UUID(random.nextLong(), random.nextLong());
+            assertEquals(uuid, TemporalCodec.parseUUID(uuid.toString()));
+            assertEquals(uuid, TemporalCodec.parseUUID(uuid.toString().toUpperCase()));
+        }
+        for(final String value : List.of("1-2-3-4-5", "0000000g-0000-0000-0000-000000000000", "00000000-0000-0000-0000-00000000000")) {
+            assertSameOutcome(UUID::fromString, TemporalCodec::parseUUID, value);
+        }
+    }
+    private static <T> void assertSameOutcome(final Function<String, T> expected, final Function<String, T> actual, final String value) {
+        RuntimeException expectedException = null;
+        T expectedResult = null;
+        try {
+            expectedResult = expected.apply(value);
+        } catch (RuntimeException ex) {
+            expectedException = ex;
+        }
+        if(expectedException == null) {
+            assertEquals(expectedResult, actual.apply(value), value);
+        } else {
+            final RuntimeException actualException = assertThrows(RuntimeException.class, () -> actual.apply(value), value);
+            assertEquals(expectedException.getClass(), actualException.getClass(), value);
+        }
+    }
+}
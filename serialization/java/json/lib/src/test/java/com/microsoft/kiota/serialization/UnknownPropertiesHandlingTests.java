@@ -0,0 +1,74 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.microsoft.kiota.serialization.mocks.TestEntity;
+
+class UnknownPropertiesHandlingTests {
+    private static final String contentType = "application/json";
+    private static final String payload = "{\"id\":\"1\",\"text\":\"caf\u00e9\",\"flag\":true,\"count\":12.5,\"nested\":{\"a\":[1,2]},\"list\":[\"x\",{\"b\":null}],\"empty\":null}";
+    @Test
+    void decodesUnknownProperties() {
+        for(final boolean useStructuralIndex : new boolean[] { false, true }) {
+            final TestEntity entity = parse(UnknownPropertiesHandling.DECODE, useStructuralIndex);
+            assertEquals("1", entity.getId());
+            final var additionalData = entity.getAdditionalData();
+            assertEquals(5, additionalData.size(), "null values are not stored");
+            assertEquals("caf\u00e9", additionalData.get("text"));
+            assertEquals(Boolean.TRUE, additionalData.get("flag"));
+            assertEquals(12.5f, additionalData.get("count"));
+            assertEquals(2, ((JsonObject)additionalData.get("nested")).getAsJsonArray("a").size());
+            assertEquals("x", ((JsonArray)additionalData.get("list")).get(0).getAsString());
+        }
+    }
+    @Test
+    void keepsUnknownPropertiesAsRawJson() throws IOException {
+        for(final boolean useStructuralIndex : new boolean[] { false, true }) {
+            final TestEntity entity = parse(UnknownPropertiesHandling.RAW, useStructuralIndex);
+            final var additionalData = entity.getAdditionalData();
+            assertEquals(5, additionalData.size());
+            assertEquals(new RawJsonValue("\"caf\u00e9\""), additionalData.get("text"));
+            assertEquals(new RawJsonValue("12.5"), additionalData.get("count"));
+            assertEquals(new RawJsonValue("{\"a\":[1,2]}"), additionalData.get("nested"));
+            assertEquals(1, ((RawJsonValue)additionalData.get("list")).getJsonElement().getAsJsonArray().get(1).getAsJsonObject().size());
+            assertEquals(payload.replace(",\"empty\":null", ""), serialize(entity), "raw values are written back as equivalent JSON");
+        }
+    }
+    @Test
+    void keepsRawJsonTextOnlyWithStructuralIndex() {
+        final String spacedPayload = "{\"id\":\"1\",\"nested\": { \"a\" : [1, 2.50] }}";
+        final TestEntity indexed = parse(spacedPayload, UnknownPropertiesHandling.RAW, true);
+        assertEquals(new RawJsonValue("{ \"a\" : [1, 2.50] }"), indexed.getAdditionalData().get("nested"));
+        final TestEntity decoded = parse(spacedPayload, UnknownPropertiesHandling.RAW, false);
+        assertEquals(new RawJsonValue("{\"a\":[1,2.50]}"), decoded.getAdditionalData().get("nested"));
+    }
+    @Test
+    void skipsUnknownProperties() {
+        for(final boolean useStructuralIndex : new boolean[] { false, true }) {
+            final TestEntity entity = parse(UnknownPropertiesHandling.SKIP, useStructuralIndex);
+            assertEquals("1", entity.getId());
+            assertTrue(entity.getAdditionalData().isEmpty());
+        }
+    }
+    private static TestEntity parse(final UnknownPropertiesHandling unknownPropertiesHandling, final boolean useStructuralIndex) {
+        return parse(payload, unknownPropertiesHandling, useStructuralIndex);
+    }
+    private static TestEntity parse(final String json, final UnknownPropertiesHandling unknownPropertiesHandling, final boolean useStructuralIndex) {
+        final var factory = new JsonParseNodeFactory(unknownPropertiesHandling, useStructuralIndex);
+        final var parseNode = factory.getParseNode(contentType, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        return parseNode.getObjectValue(TestEntity::createFromDiscriminatorValue);
+    }
+    private static String serialize(final TestEntity entity) throws IOException {
+        try(final SerializationWriter writer = new JsonSerializationWriterFactory().getSerializationWriter(contentType)) {
+            writer.writeObjectValue(null, entity);
+            return JsonSerializationWriterFactoryTests.read(writer.getSerializedContent());
+        }
+    }
+}
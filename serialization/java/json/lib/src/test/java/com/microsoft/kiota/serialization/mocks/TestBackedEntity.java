@@ -0,0 +1,66 @@
+package com.microsoft.kiota.serialization.mocks;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.microsoft.kiota.store.BackedModel;
+import com.microsoft.kiota.store.BackingStore;
+import com.microsoft.kiota.store.BackingStoreFactorySingleton;
+
+public class TestBackedEntity implements Parsable, BackedModel {
+    private final BackingStore _backingStore = BackingStoreFactorySingleton.instance.createBackingStore();
+    @Nonnull
+    public static TestBackedEntity createFromDiscriminatorValue(@Nonnull final ParseNode parseNode) {
+        Objects.requireNonNull(parseNode, "parseNode parameter cannot be null");
+        return new TestBackedEntity();
+    }
+    @Nonnull
+    public BackingStore getBackingStore() {
+        return this._backingStore;
+    }
+    @Nullable
+    public String getId() {
+        return this._backingStore.get("id");
+    }
+    public void setId(@Nullable final String value) {
+        this._backingStore.set("id", value);
+    }
+    @Nullable
+    public String getCity() {
+        return this._backingStore.get("city");
+    }
+    public void setCity(@Nullable final String value) {
+        this._backingStore.set("city", value);
+    }
+    @Nullable
+    public List<TestBackedEntity> getAddresses() {
+        return this._backingStore.get("addresses");
+    }
+    public void setAddresses(@Nullable final List<TestBackedEntity> value) {
+        this._backingStore.set("addresses", value);
+    }
+    @Nonnull
+    public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+        final TestBackedEntity currentObject = this;
+        return new HashMap<>(3) {{
+            this.put("id", (n) -> { currentObject.setId(n.getStringValue()); });
+            this.put("city", (n) -> { currentObject.setCity(n.getStringValue()); });
+            this.put("addresses", (n) -> { currentObject.setAddresses(n.getCollectionOfObjectValues(TestBackedEntity::createFromDiscriminatorValue)); });
+        }};
+    }
+    public void serialize(@Nonnull final SerializationWriter writer) {
+        Objects.requireNonNull(writer);
+        writer.writeStringValue("id", getId());
+        writer.writeStringValue("city", getCity());
+        writer.writeCollectionOfObjectValues("addresses", getAddresses());
+    }
+}
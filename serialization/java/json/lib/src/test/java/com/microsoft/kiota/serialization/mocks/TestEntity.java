@@ -0,0 +1,121 @@
+package com.microsoft.kiota.serialization.mocks;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.microsoft.kiota.serialization.AdditionalDataHolder;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.SerializationWriter;
+
+public class TestEntity implements Parsable, AdditionalDataHolder {
+    private Map<String, Object> _additionalData = new LinkedHashMap<>();
+    private String _id;
+    private String _officeLocation;
+    private LocalDate _birthday;
+    private OffsetDateTime _createdDateTime;
+    private Integer _rank;
+    private TestEntity _manager;
+    private List<TestEntity> _reports;
+    private List<String> _tags;
+    @Nonnull
+    public static TestEntity createFromDiscriminatorValue(@Nonnull final ParseNode parseNode) {
+        Objects.requireNonNull(parseNode, "parseNode parameter cannot be null");
+        return new TestEntity();
+    }
+    @Nonnull
+    public Map<String, Object> getAdditionalData() {
+        return this._additionalData;
+    }
+    @Nullable
+    public String getId() {
+        return this._id;
+    }
+    public void setId(@Nullable final String value) {
+        this._id = value;
+    }
+    @Nullable
+    public String getOfficeLocation() {
+        return this._officeLocation;
+    }
+    public void setOfficeLocation(@Nullable final String value) {
+        this._officeLocation = value;
+    }
+    @Nullable
+    public LocalDate getBirthday() {
+        return this._birthday;
+    }
+    public void setBirthday(@Nullable final LocalDate value) {
+        this._birthday = value;
+    }
+    @Nullable
+    public OffsetDateTime getCreatedDateTime() {
+        return this._createdDateTime;
+    }
+    public void setCreatedDateTime(@Nullable final OffsetDateTime value) {
+        this._createdDateTime = value;
+    }
+    @Nullable
+    public Integer getRank() {
+        return this._rank;
+    }
+    public void setRank(@Nullable final Integer value) {
+        this._rank = value;
+    }
+    @Nullable
+    public TestEntity getManager() {
+        return this._manager;
+    }
+    public void setManager(@Nullable final TestEntity value) {
+        this._manager = value;
+    }
+    @Nullable
+    public List<TestEntity> getReports() {
+        return this._reports;
+    }
+    public void setReports(@Nullable final List<TestEntity> value) {
+        this._reports = value;
+    }
+    @Nullable
+    public List<String> getTags() {
+        return this._tags;
+    }
+    public void setTags(@Nullable final List<String> value) {
+        this._tags = value;
+    }
+    @Nonnull
+    public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+        final TestEntity currentObject = this;
+        return new HashMap<>(8) {{
+            this.put("id", (n) -> { currentObject.setId(n.getStringValue()); });
+            this.put("officeLocation", (n) -> { currentObject.setOfficeLocation(n.getStringValue()); });
+            this.put("birthday", (n) -> { currentObject.setBirthday(n.getLocalDateValue()); });
+            this.put("createdDateTime", (n) -> { currentObject.setCreatedDateTime(n.getOffsetDateTimeValue()); });
+            this.put("rank", (n) -> { currentObject.setRank(n.getIntegerValue()); });
+            this.put("manager", (n) -> { currentObject.setManager(n.getObjectValue(TestEntity::createFromDiscriminatorValue)); });
+            this.put("reports", (n) -> { currentObject.setReports(n.getCollectionOfObjectValues(TestEntity::createFromDiscriminatorValue)); });
+            this.put("tags", (n) -> { currentObject.setTags(n.getCollectionOfPrimitiveValues(String.class)); });
+        }};
+    }
+    public void serialize(@Nonnull final SerializationWriter writer) {
+        Objects.requireNonNull(writer);
+        writer.writeStringValue("id", getId());
+        writer.writeStringValue("officeLocation", getOfficeLocation());
+        writer.writeLocalDateValue("birthday", getBirthday());
+        writer.writeOffsetDateTimeValue("createdDateTime", getCreatedDateTime());
+        writer.writeIntegerValue("rank", getRank());
+        writer.writeObjectValue("manager", getManager());
+        writer.writeCollectionOfObjectValues("reports", getReports());
+        writer.writeCollectionOfPrimitiveValues("tags", getTags());
+        writer.writeAdditionalData(getAdditionalData());
+    }
+}
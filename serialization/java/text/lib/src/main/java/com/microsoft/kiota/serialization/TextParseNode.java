@@ -2,6 +2,7 @@ package com.microsoft.kiota.serialization;
 
 import com.google.common.collect.Lists;
 
+import java.io.InputStream;
 import java.lang.UnsupportedOperationException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -95,15 +96,7 @@ public class TextParseNode implements ParseNode {
         if(rawValue == null || rawValue.isEmpty()) {
             return null;
         }
-        return getEnumValueInt(rawValue, targetEnum);
-    }
-    @SuppressWarnings("unchecked")
-    private <T extends Enum<T>> T getEnumValueInt(@Nonnull final String rawValue, @Nonnull final Class<T> targetEnum) {
-        try {
-            return (T)targetEnum.getMethod("forValue", String.class).invoke(null, rawValue);
-        } catch (Exception ex) {
-            return null;
-        }
+        return EnumCodec.forClass(targetEnum).parse(rawValue);
     }
     @Nullable
     public <T extends Enum<T>> EnumSet<T> getEnumSetValue(@Nonnull final Class<T> targetEnum) {
@@ -123,6 +116,39 @@ public class TextParseNode implements ParseNode {
     public void setOnAfterAssignFieldValues(final Consumer<Parsable> value) {
         this.onAfterAssignFieldValues = value;
     }
+    @Nullable
+    public InputStream getByteArrayStream() {
+        final var base64 = this.getStringValue();
+        if(base64 == null) {
+            return null;
+        }
+        return Base64.getDecoder().wrap(new InputStream() { // reads the base64 characters without copying them
+            private int position;
+            @Override
+            public int read() {
+                return position < base64.length() ? base64.charAt(position++) & 0xff : -1;
+            }
+            @Override
+            public int read(@Nonnull final byte[] b, final int off, final int len) {
+                Objects.checkFromIndexSize(off, len, b.length);
+                if(len == 0) {
+                    return 0;
+                } else if(position >= base64.length()) {
+                    return -1;
+                }
+                final int count = Math.min(len, base64.length() - position);
+                for(int i = 0; i < count; i++) {
+                    b[off + i] = (byte)base64.charAt(position + i);
+                }
+                position += count;
+                return count;
+            }
+            @Override
+            public int available() {
+                return base64.length() - position;
+            }
+        });
+    }
     public byte[] getByteArrayValue() {
         final var base64 = this.getStringValue();
         if(base64 == null || base64.isEmpty()) {
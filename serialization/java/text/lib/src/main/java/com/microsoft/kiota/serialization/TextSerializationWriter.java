@@ -1,7 +1,6 @@
 package com.microsoft.kiota.serialization;
 
 import com.microsoft.kiota.serialization.SerializationWriter;
-import com.microsoft.kiota.serialization.ValuedEnum;
 import com.microsoft.kiota.serialization.Parsable;
 
 import java.lang.Enum;
@@ -12,6 +11,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -21,7 +21,6 @@ import java.time.format.DateTimeFormatter;
 import java.util.Base64;
 import java.util.EnumSet;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.BiConsumer;
@@ -128,10 +127,7 @@ public class TextSerializationWriter implements SerializationWriter {
         writeStringValue(null, "null");
     }
     private <T extends Enum<T>> String getStringValueFromValuedEnum(final T value) {
-        if(value instanceof ValuedEnum) {
-            final ValuedEnum valued = (ValuedEnum)value;
-            return valued.getValue();
-        } else return null;
+        return EnumCodec.forClass(value.getDeclaringClass()).format(value);
     }
     public InputStream getSerializedContent() {
         try {
@@ -170,6 +166,25 @@ public class TextSerializationWriter implements SerializationWriter {
     public void setOnStartObjectSerialization(final BiConsumer<Parsable, SerializationWriter> value) {
         this.onStartObjectSerialization = value;
     }
+    @Override
+    public void writeByteStreamValue(@Nullable final String key, @Nonnull final InputStream value) {
+        if(key != null && !key.isEmpty())
+            throw new UnsupportedOperationException(NoStructuredDataMessage);
+        if(value != null)
+            if(written)
+                throw new UnsupportedOperationException("a value was already written for this serialization writer, text content only supports a single value");
+            else {
+                written = true;
+                try {
+                    writer.flush();
+                    try(final OutputStream encoder = Base64.getEncoder().wrap(stream)) { // closing the encoder writes the padding, closing the byte array stream has no effect
+                        value.transferTo(encoder);
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+    }
     public void writeByteArrayValue(@Nullable final String key, @Nonnull final byte[] value) {
         if(value != null)
             this.writeStringValue(key, Base64.getEncoder().encodeToString(value));
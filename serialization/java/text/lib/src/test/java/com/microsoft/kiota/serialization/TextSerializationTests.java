@@ -0,0 +1,44 @@
+package com.microsoft.kiota.serialization;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.function.Consumer;
+
+class TextSerializationTests {
+    @Test
+    void roundTripsByteStreams() throws IOException {
+        for(final int length : new int[] { 0, 1, 2, 3, 4, 5, 100, 20_000 }) {
+            final byte[] value = new byte[length];
+            new Random(length).nextBytes(value);
+            final String text = serialize(w -> w.writeByteStreamValue(null, new ByteArrayInputStream(value)));
+            assertEquals(serialize(w -> w.writeByteArrayValue(null, value)), text, "length " + length);
+            try(final InputStream stream = new TextParseNode(text).getByteArrayStream()) {
+                assertArrayEquals(value, stream.readAllBytes(), "length " + length);
+            }
+            try(final InputStream stream = new TextParseNode(text).getByteArrayStream()) {
+                final var result = new ByteArrayOutputStream();
+                final byte[] chunk = new byte[7];
+                int read;
+                while((read = stream.read(chunk, 0, chunk.length)) >= 0) {
+                    result.write(chunk, 0, read);
+                }
+                assertArrayEquals(value, result.toByteArray(), "length " + length);
+            }
+        }
+    }
+    private static String serialize(final Consumer<SerializationWriter> writer) throws IOException {
+        try(final SerializationWriter serializationWriter = new TextSerializationWriter()) {
+            writer.accept(serializationWriter);
+            try(final InputStream content = serializationWriter.getSerializedContent()) {
+                return new String(content.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+}
@@ -16,6 +16,8 @@ public class CodeMethodWriter : BaseElementWriter<CodeMethod, JavaConventionServ
         if(!(codeElement.Parent is CodeClass)) throw new InvalidOperationException("the parent of a method should be a class");
 
         var returnType = conventions.GetTypeString(codeElement.ReturnType, codeElement);
+        if(codeElement.IsOfKind(CodeMethodKind.Serializer))
+            WritePropertyNameConstants(codeElement.Parent as CodeClass, writer);
         WriteMethodDocumentation(codeElement, writer);
         if(returnType.Equals("void", StringComparison.OrdinalIgnoreCase))
         {
@@ -189,8 +191,23 @@ public class CodeMethodWriter : BaseElementWriter<CodeMethod, JavaConventionServ
         if(backingStore == null)
             writer.WriteLine($"this.{codeElement.AccessedProperty?.NamePrefix}{codeElement.AccessedProperty?.Name?.ToFirstCharacterLowerCase()} = value;");
         else
-            writer.WriteLine($"this.get{backingStore.Name.ToFirstCharacterUpperCase()}().set(\"{codeElement.AccessedProperty?.Name?.ToFirstCharacterLowerCase()}\", value);");
+            writer.WriteLine($"this.get{backingStore.Name.ToFirstCharacterUpperCase()}().set({GetBackingStoreSlotArgument(parentClass, codeElement.AccessedProperty)}\"{codeElement.AccessedProperty?.Name?.ToFirstCharacterLowerCase()}\", value);");
     }
+    /// <summary>
+    /// Gets the slot argument for the backing store accessors. Slots are assigned by name order within each class, after the slots of the parent classes.
+    /// The backing store falls back to the key when the slot is unknown or taken, so this only needs to be stable, not exhaustive.
+    /// </summary>
+    private static string GetBackingStoreSlotArgument(CodeClass parentClass, CodeProperty property) {
+        if(property == null) return string.Empty;
+        var slot = GetBackedProperties(parentClass).Select(x => x.Name).ToList().IndexOf(property.Name);
+        if(slot < 0) return string.Empty;
+        for(var ancestor = parentClass.GetParentClass(); ancestor != null; ancestor = ancestor.GetParentClass())
+            slot += GetBackedProperties(ancestor).Count();
+        return $"{slot}, ";
+    }
+    private static IEnumerable<CodeProperty> GetBackedProperties(CodeClass codeClass) =>
+        codeClass.GetPropertiesOfKind(CodePropertyKind.Custom, CodePropertyKind.AdditionalData)
+                .OrderBy(x => x.Name, StringComparer.Ordinal);
     private void WriteGetterBody(CodeMethod codeElement, LanguageWriter writer, CodeClass parentClass) {
         var backingStore = parentClass.GetBackingStoreProperty();
         if(backingStore == null || (codeElement.AccessedProperty?.IsOfKind(CodePropertyKind.BackingStore) ?? false))
@@ -199,7 +216,7 @@ public class CodeMethodWriter : BaseElementWriter<CodeMethod, JavaConventionServ
             if(!(codeElement.AccessedProperty?.Type?.IsNullable ?? true) &&
                 !(codeElement.AccessedProperty?.ReadOnly ?? true) &&
                 !string.IsNullOrEmpty(codeElement.AccessedProperty?.DefaultValue)) {
-                writer.WriteLines($"{conventions.GetTypeString(codeElement.AccessedProperty.Type, codeElement)} value = this.{backingStore.NamePrefix}{backingStore.Name.ToFirstCharacterLowerCase()}.get(\"{codeElement.AccessedProperty.Name.ToFirstCharacterLowerCase()}\");",
+                writer.WriteLines($"{conventions.GetTypeString(codeElement.AccessedProperty.Type, codeElement)} value = this.{backingStore.NamePrefix}{backingStore.Name.ToFirstCharacterLowerCase()}.get({GetBackingStoreSlotArgument(parentClass, codeElement.AccessedProperty)}\"{codeElement.AccessedProperty.Name.ToFirstCharacterLowerCase()}\");",
                     "if(value == null) {");
                 writer.IncreaseIndent();
                 writer.WriteLines($"value = {codeElement.AccessedProperty.DefaultValue};",
@@ -207,7 +224,7 @@ public class CodeMethodWriter : BaseElementWriter<CodeMethod, JavaConventionServ
                 writer.DecreaseIndent();
                 writer.WriteLines("}", "return value;");
             } else
-                writer.WriteLine($"return this.get{backingStore.Name.ToFirstCharacterUpperCase()}().get(\"{codeElement.AccessedProperty?.Name?.ToFirstCharacterLowerCase()}\");");
+                writer.WriteLine($"return this.get{backingStore.Name.ToFirstCharacterUpperCase()}().get({GetBackingStoreSlotArgument(parentClass, codeElement.AccessedProperty)}\"{codeElement.AccessedProperty?.Name?.ToFirstCharacterLowerCase()}\");");
 
     }
     private void WriteIndexerBody(CodeMethod codeElement, CodeClass parentClass, LanguageWriter writer, string returnType) {
@@ -339,11 +356,35 @@ public class CodeMethodWriter : BaseElementWriter<CodeMethod, JavaConventionServ
         var additionalDataProperty = parentClass.GetPropertyOfKind(CodePropertyKind.AdditionalData);
         if(inherits)
             writer.WriteLine("super.serialize(writer);");
+        var constantNames = GetPropertyNameConstantNames(parentClass);
         foreach(var otherProp in parentClass.GetPropertiesOfKind(CodePropertyKind.Custom))
-            writer.WriteLine($"writer.{GetSerializationMethodName(otherProp.Type, method)}(\"{otherProp.SerializationName ?? otherProp.Name.ToFirstCharacterLowerCase()}\", this.{otherProp.Getter?.Name ?? "get" + otherProp.Name.ToFirstCharacterLowerCase()}());");
+            writer.WriteLine($"writer.{GetSerializationMethodName(otherProp.Type, method)}(writer.getPropertyKey({constantNames[otherProp]}), this.{otherProp.Getter?.Name ?? "get" + otherProp.Name.ToFirstCharacterLowerCase()}());");
         if(additionalDataProperty != null)
             writer.WriteLine($"writer.writeAdditionalData(this.get{additionalDataProperty.Name.ToFirstCharacterUpperCase()}());");
     }
+    private const string PropertyNameTypeName = "com.microsoft.kiota.serialization.PropertyName";
+    /// <summary>
+    /// Gets the names of the property name constants of the class, suffixed with a number when the names of several properties map to the same constant name, like fooBar and foo_bar.
+    /// </summary>
+    private static Dictionary<CodeProperty, string> GetPropertyNameConstantNames(CodeClass parentClass) {
+        var result = new Dictionary<CodeProperty, string>();
+        var usedNames = new HashSet<string>(StringComparer.Ordinal);
+        foreach(var property in parentClass.GetPropertiesOfKind(CodePropertyKind.Custom)) {
+            var baseName = property.Name.ToSnakeCase().ToUpperInvariant();
+            var constantName = $"{baseName}_PROPERTY_NAME";
+            for(var suffix = 2; !usedNames.Add(constantName); suffix++)
+                constantName = $"{baseName}{suffix}_PROPERTY_NAME";
+            result.Add(property, constantName);
+        }
+        return result;
+    }
+    /// <summary>
+    /// Writes the serialized names of the properties as constants so the serialization writers can reuse their encoded form.
+    /// </summary>
+    private static void WritePropertyNameConstants(CodeClass parentClass, LanguageWriter writer) {
+        foreach(var (property, constantName) in GetPropertyNameConstantNames(parentClass))
+            writer.WriteLine($"private static final {PropertyNameTypeName} {constantName} = new {PropertyNameTypeName}(\"{property.SerializationName ?? property.Name.ToFirstCharacterLowerCase()}\");");
+    }
     private static readonly CodeParameterOrderComparer parameterOrderComparer = new();
     private void WriteMethodPrototype(CodeMethod code, LanguageWriter writer, string returnType) {
         var accessModifier = conventions.GetAccessModifier(code.Access);
@@ -1,6 +1,7 @@
 using System;
 using System.IO;
 using System.Linq;
+using System.Text.RegularExpressions;
 using Kiota.Builder.Extensions;
 using Kiota.Builder.Refiners;
 using Kiota.Builder.Tests;
@@ -533,6 +534,40 @@ public class CodeMethodWriterTests : IDisposable {
         AssertExtensions.CurlyBracesAreClosed(result);
     }
     [Fact]
+    public void WritesSerializerPropertyNameConstants() {
+        method.Kind = CodeMethodKind.Serializer;
+        method.IsAsync = false;
+        AddSerializationProperties();
+        writer.Write(method);
+        var result = tw.ToString();
+        Assert.Contains("private static final com.microsoft.kiota.serialization.PropertyName DUMMY_PROP_PROPERTY_NAME = new com.microsoft.kiota.serialization.PropertyName(\"dummyProp\");", result);
+        Assert.Contains("writer.writeStringValue(writer.getPropertyKey(DUMMY_PROP_PROPERTY_NAME), ", result);
+        Assert.DoesNotContain("ADDITIONAL_DATA_PROPERTY_NAME", result);
+        AssertExtensions.CurlyBracesAreClosed(result);
+    }
+    [Fact]
+    public void WritesDistinctPropertyNameConstantsForCollidingNames() {
+        method.Kind = CodeMethodKind.Serializer;
+        method.IsAsync = false;
+        foreach(var name in new [] { "fooBar", "foo_bar" }) {
+            var property = parentClass.AddProperty(new CodeProperty {
+                Name = name,
+            }).First();
+            property.Type = new CodeType {
+                Name = "string"
+            };
+        }
+        writer.Write(method);
+        var result = tw.ToString();
+        var constantNames = new [] { "fooBar", "foo_bar" }
+                                .Select(x => Regex.Match(result, $"PropertyName (\\w+) = new com\\.microsoft\\.kiota\\.serialization\\.PropertyName\\(\"{x}\"\\);").Groups[1].Value)
+                                .ToArray();
+        Assert.Equal(new [] { "FOO_BAR2_PROPERTY_NAME", "FOO_BAR_PROPERTY_NAME" }, constantNames.OrderBy(x => x, StringComparer.Ordinal));
+        Assert.Contains($"writer.writeStringValue(writer.getPropertyKey({constantNames[0]}), this.getfooBar());", result);
+        Assert.Contains($"writer.writeStringValue(writer.getPropertyKey({constantNames[1]}), this.getfoo_bar());", result);
+        AssertExtensions.CurlyBracesAreClosed(result);
+    }
+    [Fact]
     public void WritesMethodAsyncDescription() {
         
         method.Description = MethodDescription;
@@ -678,7 +713,7 @@ public class CodeMethodWriterTests : IDisposable {
         method.Kind = CodeMethodKind.Getter;
         writer.Write(method);
         var result = tw.ToString();
-        Assert.Contains("this.getBackingStore().get(\"someProperty\")", result);
+        Assert.Contains("this.getBackingStore().get(0, \"someProperty\")", result);
     }
     [Fact]
     public void WritesGetterToBackingStoreWithNonnullProperty() {
@@ -703,7 +738,7 @@ public class CodeMethodWriterTests : IDisposable {
         method.Kind = CodeMethodKind.Setter;
         writer.Write(method);
         var result = tw.ToString();
-        Assert.Contains("this.getBackingStore().set(\"someProperty\", value)", result);
+        Assert.Contains("this.getBackingStore().set(0, \"someProperty\", value)", result);
     }
     [Fact]
     public void WritesGetterToField() {